@@ -0,0 +1,83 @@
+package org.example.cpusched.bench;
+
+import org.example.cpusched.engine.SimulationEngine;
+import org.example.cpusched.metrics.MetricsCollector;
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.SchedulerFactory;
+import org.example.cpusched.workload.WorkloadGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of SimulationEngine.run(): one op is one complete simulation.
+ * The full parameter matrix is large; narrow it from the command line, e.g.
+ * {@code -p processCount=1000000 -p algorithm=RR,MLFQ -p engineMode=EVENT -prof gc}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EngineBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int processCount;
+
+    @Param({"interactive", "batch", "mixed"})
+    public String workloadType;
+
+    @Param({"FCFS", "SJF", "SRTF", "PRIORITY", "RR", "MLFQ"})
+    public String algorithm;
+
+    @Param({"0", "1", "3"})
+    public int contextSwitchCost;
+
+    @Param({"TICK", "EVENT"})
+    public String engineMode;
+
+    @Param({"4"})
+    public int quantum;
+
+    private List<Process> template;
+    private SimulationEngine engine;
+    private MetricsCollector metrics;
+
+    @Setup(Level.Trial)
+    public void generateWorkload() {
+        template = new WorkloadGenerator(12345).generateWorkload(workloadType, processCount);
+    }
+
+    // A run consumes its processes, so every invocation starts from a fresh copy.
+    // Copying and sorting happen here so that only run() is measured.
+    @Setup(Level.Invocation)
+    public void prepareRun() {
+        List<Process> workload = new ArrayList<>(template.size());
+        for (Process p : template) {
+            workload.add(new Process(p));
+        }
+        metrics = new MetricsCollector();
+        engine = new SimulationEngine(SchedulerFactory.create(algorithm, quantum), workload, metrics,
+                contextSwitchCost, SimulationEngine.Mode.valueOf(engineMode));
+    }
+
+    @Benchmark
+    public MetricsCollector run() {
+        engine.run();
+        return metrics;
+    }
+}
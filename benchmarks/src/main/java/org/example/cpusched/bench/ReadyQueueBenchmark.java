@@ -0,0 +1,98 @@
+package org.example.cpusched.bench;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.queue.PriorityBuckets;
+import org.example.cpusched.scheduler.queue.ProcessHeap;
+import org.example.cpusched.workload.WorkloadGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PriorityQueue with a comparator chain (the old SJF/SRTF/Priority ready queue) against the packed-key
+ * ProcessHeap that replaced it, and the O(1) PriorityBuckets used for bounded priorities.
+ * One op = add one process + poll the head, at constant queue depth.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReadyQueueBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int queueDepth;
+
+    // Which scheduler's key: burst (SJF), priority (PRIORITY)
+    @Param({"burst", "priority"})
+    public String key;
+
+    private PriorityQueue<Process> priorityQueue;
+    private ProcessHeap heap;
+    private Process pqRunning;
+    private Process heapRunning;
+    private PriorityBuckets buckets;
+    private Process bucketRunning;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        List<Process> workload = new WorkloadGenerator(12345).generateWorkload("mixed", queueDepth + 1);
+        Comparator<Process> comparator = key.equals("burst")
+                ? Comparator.comparingInt(Process::getBurstTime).thenComparingInt(Process::getArrivalTime)
+                : Comparator.comparingInt(Process::getPriority).thenComparingInt(Process::getArrivalTime);
+        priorityQueue = new PriorityQueue<>(comparator);
+        heap = new ProcessHeap();
+        for (int i = 0; i < queueDepth; i++) {
+            priorityQueue.add(workload.get(i));
+            heap.add(workload.get(i), heapKey(workload.get(i)));
+        }
+        // Buckets are keyed by priority whatever the key param says
+        buckets = new PriorityBuckets(WorkloadGenerator.MIN_PRIORITY, WorkloadGenerator.MAX_PRIORITY);
+        for (int i = 0; i < queueDepth; i++) {
+            buckets.add(workload.get(i));
+        }
+        pqRunning = workload.get(queueDepth);
+        heapRunning = workload.get(queueDepth);
+        bucketRunning = workload.get(queueDepth);
+    }
+
+    @Benchmark
+    public Process priorityQueue() {
+        priorityQueue.add(pqRunning);
+        pqRunning = priorityQueue.poll();
+        return pqRunning;
+    }
+
+    @Benchmark
+    public Process processHeap() {
+        heap.add(heapRunning, heapKey(heapRunning));
+        heapRunning = heap.poll();
+        return heapRunning;
+    }
+
+    @Benchmark
+    public Process priorityBuckets() {
+        buckets.add(bucketRunning);
+        bucketRunning = buckets.poll();
+        return bucketRunning;
+    }
+
+    private long heapKey(Process p) {
+        return ProcessHeap.key(key.equals("burst") ? p.getBurstTime() : p.getPriority(), p.getArrivalTime());
+    }
+}
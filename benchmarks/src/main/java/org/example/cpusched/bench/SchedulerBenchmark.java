@@ -0,0 +1,75 @@
+package org.example.cpusched.bench;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.Scheduler;
+import org.example.cpusched.scheduler.SchedulerFactory;
+import org.example.cpusched.workload.WorkloadGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the scheduler hooks the engine invokes on every tick,
+ * measured against a ready queue that already holds queueDepth processes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SchedulerBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int queueDepth;
+
+    @Param({"interactive", "batch", "mixed"})
+    public String workloadType;
+
+    @Param({"FCFS", "SJF", "SRTF", "PRIORITY", "RR", "MLFQ"})
+    public String algorithm;
+
+    @Param({"4"})
+    public int quantum;
+
+    private Scheduler scheduler;
+    private Process running;
+    private int currentTime;
+
+    @Setup(Level.Trial)
+    public void fillReadyQueue() {
+        List<Process> workload = new WorkloadGenerator(12345).generateWorkload(workloadType, queueDepth + 1);
+        scheduler = SchedulerFactory.create(algorithm, quantum);
+        for (int i = 0; i < queueDepth; i++) {
+            scheduler.onProcessArrival(workload.get(i));
+        }
+        running = workload.get(queueDepth);
+        currentTime = running.getArrivalTime();
+    }
+
+    // Requeue the running process and pick the next one: one arrival plus one dispatch,
+    // with the queue depth held constant.
+    @Benchmark
+    public Process arrivalAndPick() {
+        scheduler.onProcessArrival(running);
+        running = scheduler.pickNextProcess(currentTime++);
+        return running;
+    }
+
+    @Benchmark
+    public boolean shouldPreempt() {
+        return scheduler.shouldPreempt(running, currentTime, 1);
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.cpusched.bench;
+
+import org.example.cpusched.engine.SimulationEngine;
+import org.example.cpusched.metrics.MetricsCollector;
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.SchedulerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one simulated tick once the engine is in steady state: one op is one tick.
+ * "busy" keeps a few long processes cycling through the ready queue (every quantum expiry is a requeue),
+ * "idle" leaves the CPU empty for most of the run. Each run only allocates its handful of processes,
+ * so with -prof gc, gc.alloc.rate.norm shows what the engine loop itself allocates per tick; it should be
+ * a small fraction of a byte.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SteadyStateBenchmark {
+    static final int TICKS = 1 << 20;
+    private static final int BUSY_PROCESSES = 64;
+
+    @Param({"busy", "idle"})
+    public String load;
+
+    @Param({"FCFS", "SRTF", "PRIORITY", "RR", "MLFQ", "CFS"})
+    public String algorithm;
+
+    @Param({"0", "2"})
+    public int contextSwitchCost;
+
+    @Param({"TICK", "EVENT"})
+    public String engineMode;
+
+    private SimulationEngine engine;
+    private MetricsCollector metrics;
+
+    // Both loads take TICKS ticks without switch costs
+    @Setup(Level.Invocation)
+    public void prepareRun() {
+        List<Process> workload = new ArrayList<>(BUSY_PROCESSES);
+        if (load.equals("busy")) {
+            for (int i = 0; i < BUSY_PROCESSES; i++) {
+                workload.add(new Process(i + 1, 0, TICKS / BUSY_PROCESSES, i % 10 + 1));
+            }
+        } else {
+            workload.add(new Process(1, TICKS - 1024, 1024, 5));
+        }
+        metrics = new MetricsCollector(MetricsCollector.Mode.STREAMING);
+        engine = new SimulationEngine(SchedulerFactory.create(algorithm, 4), workload, metrics,
+                contextSwitchCost, SimulationEngine.Mode.valueOf(engineMode));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public MetricsCollector run() {
+        engine.run();
+        return metrics;
+    }
+}
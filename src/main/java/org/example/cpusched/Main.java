@@ -1,24 +1,141 @@
 package org.example.cpusched;
 
+import org.example.cpusched.cache.CacheKey;
+import org.example.cpusched.cache.ResultCache;
+import org.example.cpusched.engine.MultiCoreSimulationEngine;
 import org.example.cpusched.engine.SimulationEngine;
+import org.example.cpusched.engine.TableSimulationEngine;
+import org.example.cpusched.live.LiveQueue;
+import org.example.cpusched.live.LiveReport;
+import org.example.cpusched.live.LiveResult;
+import org.example.cpusched.live.LiveRunner;
 import org.example.cpusched.metrics.MetricsCollector;
+import org.example.cpusched.model.CacheAffinityModel;
 import org.example.cpusched.model.Process;
+import org.example.cpusched.model.ProcessTable;
+import org.example.cpusched.model.RealTimeTask;
+import org.example.cpusched.monitor.Monitoring;
+import org.example.cpusched.monitor.SimulationMonitor;
+import org.example.cpusched.monitor.SimulationProbe;
+import org.example.cpusched.monitor.SweepProgress;
+import org.example.cpusched.replication.Replication;
+import org.example.cpusched.replication.ReplicationReport;
+import org.example.cpusched.replication.ReplicationResult;
+import org.example.cpusched.replication.ReplicationRunner;
 import org.example.cpusched.scheduler.*;
+import org.example.cpusched.scheduler.table.TableScheduler;
+import org.example.cpusched.sweep.SweepGrid;
+import org.example.cpusched.sweep.SweepReport;
+import org.example.cpusched.sweep.SweepResult;
+import org.example.cpusched.sweep.SweepRunner;
+import org.example.cpusched.timeline.ChromeTraceExporter;
+import org.example.cpusched.timeline.GanttChart;
+import org.example.cpusched.timeline.TimelineReader;
+import org.example.cpusched.timeline.TimelineRecorder;
+import org.example.cpusched.trace.TraceImporter;
+import org.example.cpusched.trace.TraceReader;
+import org.example.cpusched.trace.TraceWriter;
+import org.example.cpusched.tuning.QuantumTuner;
+import org.example.cpusched.tuning.TuningPoint;
+import org.example.cpusched.tuning.TuningReport;
+import org.example.cpusched.workload.ArrivalProcess;
+import org.example.cpusched.workload.Distribution;
+import org.example.cpusched.workload.JobReleaseGenerator;
+import org.example.cpusched.workload.SyntheticWorkload;
 import org.example.cpusched.workload.WorkloadGenerator;
+import org.example.cpusched.workload.WorkloadSource;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
 
 public class Main {
+    // Synthetic workload defaults: the arrival rate and burst mix of the "mixed" profile
+    private static final String DEFAULT_ARRIVALS = "poisson(0.5)";
+    private static final String DEFAULT_BURSTS = "bimodal(0.7,uniform(1,10),uniform(20,200))";
+
     public static void main(String[] args) {
         // Defaults
+        // algorithm, quantum, workload and switch are kept as text: in --sweep mode they are comma-separated lists
         String algorithm = "FCFS";
-        int quantum = 4;
+        String quantum = "4";
         String workloadType = "mixed";
         int processCount = 20;
-        int contextSwitch = 0;
+        String contextSwitch = "0";
         String outputFile = null;
+        SimulationEngine.Mode engineMode = SimulationEngine.Mode.TICK;
+        boolean tableStore = false;
+        boolean sweep = false;
+        String seeds = "12345";
+        int threads = Runtime.getRuntime().availableProcessors();
+        SchedulerConfig schedulerConfig = new SchedulerConfig();
+        MetricsCollector.Mode metricsMode = MetricsCollector.Mode.EXACT;
+        double[] percentiles = new double[0];
+        int cores = 1;
+        MultiCoreSimulationEngine.LoadBalancing balancing = MultiCoreSimulationEngine.LoadBalancing.WORK_STEALING;
+        int balanceInterval = 10;
+        int migrationCost = 0;
+        int coldStall = 0;
+        int cacheHalfLife = 20;
+        int numaNodes = 1;
+        int numaDistance = 21;
+        int rtTasks = 8;
+        double rtUtilization = 0.7;
+        int horizon = 100000;
+        boolean sporadic = false;
+        double rtExecution = 1.0;
+        int ioDevices = 1;
+        String traceFile = null;
+        String arrivalsSpec = null;
+        String burstsSpec = null;
+        double utilization = 0; // 0 = use the arrival rate as given
+        String saveTraceFile = null;
+        String resultsTraceFile = null;
+        String convertFile = null;
+        String importFile = null;
+        TraceImporter.Format importFormat = null; // null = guess from the file name
+        String importUnit = "ms";
+        double tickMicros = TraceImporter.MICROS_PER_MS;
+        int importWindow = 1000;
+        String jfrFile = null;
+        int jfrSample = 1;
+        boolean jmx = false;
+        String checkpointFile = null;
+        int checkpointEvery = 1_000_000;
+        int checkpointAt = 0; // 0 = checkpoint periodically instead of stopping
+        String restoreFile = null;
+        int replications = 0; // 0 = a single run
+        int minReplications = 5;
+        double ciLevel = 0.95;
+        double ciWidth = 0; // 0 = always run all replications
+        String ciMetric = null; // null = every metric
+        boolean warmup = true;
+        String cacheDir = null;
+        long cacheSizeMb = 1024;
+        String timelineFile = null;
+        String ganttFile = null;
+        String chromeTraceFile = null;
+        String window = "0-100";
+        int ganttWidth = 100;
+        int ganttRows = 40;
+        boolean live = false;
+        String liveQueues = "all";
+        int producers = 4;
+        int dispatchers = 2;
+        long liveTickNanos = 0;
+        String adaptiveSpec = null; // null = AdaptiveQuantum.DEFAULT
+        String tuneQuanta = null; // null = no quantum search
 
         // Parse Args
         for (int i = 0; i < args.length; i++) {
@@ -27,7 +144,7 @@ public class Main {
                     if (i + 1 < args.length) algorithm = args[++i];
                     break;
                 case "--quantum":
-                    if (i + 1 < args.length) quantum = Integer.parseInt(args[++i]);
+                    if (i + 1 < args.length) quantum = args[++i];
                     break;
                 case "--workload":
                     if (i + 1 < args.length) workloadType = args[++i];
@@ -36,68 +153,1206 @@ public class Main {
                     if (i + 1 < args.length) processCount = Integer.parseInt(args[++i]);
                     break;
                 case "--switch":
-                    if (i + 1 < args.length) contextSwitch = Integer.parseInt(args[++i]);
+                    if (i + 1 < args.length) contextSwitch = args[++i];
                     break;
                 case "--out":
                     if (i + 1 < args.length) outputFile = args[++i];
                     break;
+                case "--engine":
+                    if (i + 1 < args.length) engineMode = SimulationEngine.Mode.valueOf(args[++i].toUpperCase());
+                    break;
+                case "--mlfq-quanta":
+                    if (i + 1 < args.length) schedulerConfig.setMlfqQuantums(parseMlfqQuanta(args[++i]));
+                    break;
+                case "--aging":
+                    if (i + 1 < args.length) schedulerConfig.setAgingThreshold(Integer.parseInt(args[++i]));
+                    break;
+                case "--metrics":
+                    if (i + 1 < args.length) metricsMode = MetricsCollector.Mode.valueOf(args[++i].toUpperCase());
+                    break;
+                case "--percentiles":
+                    if (i + 1 < args.length) percentiles = parsePercentiles(args[++i]);
+                    break;
+                case "--cores":
+                    if (i + 1 < args.length) cores = Integer.parseInt(args[++i]);
+                    break;
+                case "--balance":
+                    if (i + 1 < args.length) balancing = parseBalancing(args[++i]);
+                    break;
+                case "--balance-interval":
+                    if (i + 1 < args.length) balanceInterval = Integer.parseInt(args[++i]);
+                    break;
+                case "--migration-cost":
+                    if (i + 1 < args.length) migrationCost = Integer.parseInt(args[++i]);
+                    break;
+                case "--cold-stall":
+                    if (i + 1 < args.length) coldStall = Integer.parseInt(args[++i]);
+                    break;
+                case "--cache-half-life":
+                    if (i + 1 < args.length) cacheHalfLife = Integer.parseInt(args[++i]);
+                    break;
+                case "--numa-nodes":
+                    if (i + 1 < args.length) numaNodes = Integer.parseInt(args[++i]);
+                    break;
+                case "--numa-distance":
+                    if (i + 1 < args.length) numaDistance = Integer.parseInt(args[++i]);
+                    break;
+                case "--cfs-latency":
+                    if (i + 1 < args.length) schedulerConfig.setCfsLatency(Integer.parseInt(args[++i]));
+                    break;
+                case "--cfs-min-gran":
+                    if (i + 1 < args.length) schedulerConfig.setCfsMinGranularity(Integer.parseInt(args[++i]));
+                    break;
+                case "--lookahead":
+                    if (i + 1 < args.length) schedulerConfig.setAffinityLookahead(Integer.parseInt(args[++i]));
+                    break;
+                case "--rt-tasks":
+                    if (i + 1 < args.length) rtTasks = Integer.parseInt(args[++i]);
+                    break;
+                case "--rt-util":
+                    if (i + 1 < args.length) rtUtilization = Double.parseDouble(args[++i]);
+                    break;
+                case "--horizon":
+                    if (i + 1 < args.length) horizon = Integer.parseInt(args[++i]);
+                    break;
+                case "--sporadic":
+                    sporadic = true;
+                    break;
+                case "--rt-exec":
+                    if (i + 1 < args.length) rtExecution = Double.parseDouble(args[++i]);
+                    break;
+                case "--io-devices":
+                    if (i + 1 < args.length) ioDevices = Integer.parseInt(args[++i]);
+                    break;
+                case "--trace":
+                    if (i + 1 < args.length) traceFile = args[++i];
+                    break;
+                case "--save-trace":
+                    if (i + 1 < args.length) saveTraceFile = args[++i];
+                    break;
+                case "--out-trace":
+                    if (i + 1 < args.length) resultsTraceFile = args[++i];
+                    break;
+                case "--import":
+                    if (i + 1 < args.length) importFile = args[++i];
+                    break;
+                case "--import-format":
+                    if (i + 1 < args.length) importFormat = TraceImporter.Format.valueOf(args[++i].toUpperCase());
+                    break;
+                case "--import-unit":
+                    if (i + 1 < args.length) importUnit = args[++i];
+                    break;
+                case "--import-window":
+                    if (i + 1 < args.length) importWindow = Integer.parseInt(args[++i]);
+                    break;
+                case "--tick-us":
+                    if (i + 1 < args.length) tickMicros = Double.parseDouble(args[++i]);
+                    break;
+                case "--convert":
+                    if (i + 1 < args.length) convertFile = args[++i];
+                    break;
+                case "--store":
+                    if (i + 1 < args.length) tableStore = args[++i].equalsIgnoreCase("table");
+                    break;
+                case "--sweep":
+                    sweep = true;
+                    break;
+                case "--seeds":
+                    if (i + 1 < args.length) seeds = args[++i];
+                    break;
+                case "--arrivals":
+                    if (i + 1 < args.length) arrivalsSpec = args[++i];
+                    break;
+                case "--bursts":
+                    if (i + 1 < args.length) burstsSpec = args[++i];
+                    break;
+                case "--utilization":
+                    if (i + 1 < args.length) utilization = Double.parseDouble(args[++i]);
+                    break;
+                case "--jfr":
+                    if (i + 1 < args.length) jfrFile = args[++i];
+                    break;
+                case "--jfr-sample":
+                    if (i + 1 < args.length) jfrSample = Integer.parseInt(args[++i]);
+                    break;
+                case "--jmx":
+                    jmx = true;
+                    break;
+                case "--checkpoint":
+                    if (i + 1 < args.length) checkpointFile = args[++i];
+                    break;
+                case "--checkpoint-every":
+                    if (i + 1 < args.length) checkpointEvery = Integer.parseInt(args[++i]);
+                    break;
+                case "--checkpoint-at":
+                    if (i + 1 < args.length) checkpointAt = Integer.parseInt(args[++i]);
+                    break;
+                case "--restore":
+                    if (i + 1 < args.length) restoreFile = args[++i];
+                    break;
+                case "--replications":
+                    if (i + 1 < args.length) replications = Integer.parseInt(args[++i]);
+                    break;
+                case "--min-replications":
+                    if (i + 1 < args.length) minReplications = Integer.parseInt(args[++i]);
+                    break;
+                case "--ci-level":
+                    if (i + 1 < args.length) ciLevel = Double.parseDouble(args[++i]);
+                    break;
+                case "--ci-width":
+                    if (i + 1 < args.length) ciWidth = Double.parseDouble(args[++i]);
+                    break;
+                case "--ci-metric":
+                    if (i + 1 < args.length) ciMetric = args[++i];
+                    break;
+                case "--warmup":
+                    if (i + 1 < args.length) warmup = !args[++i].equalsIgnoreCase("none");
+                    break;
+                case "--cache":
+                    if (i + 1 < args.length) cacheDir = args[++i];
+                    break;
+                case "--cache-size":
+                    if (i + 1 < args.length) cacheSizeMb = Long.parseLong(args[++i]);
+                    break;
+                case "--timeline":
+                    if (i + 1 < args.length) timelineFile = args[++i];
+                    break;
+                case "--gantt":
+                    if (i + 1 < args.length) ganttFile = args[++i];
+                    break;
+                case "--chrome-trace":
+                    if (i + 1 < args.length) chromeTraceFile = args[++i];
+                    break;
+                case "--window":
+                    if (i + 1 < args.length) window = args[++i];
+                    break;
+                case "--gantt-width":
+                    if (i + 1 < args.length) ganttWidth = Integer.parseInt(args[++i]);
+                    break;
+                case "--gantt-rows":
+                    if (i + 1 < args.length) ganttRows = Integer.parseInt(args[++i]);
+                    break;
+                case "--live":
+                    live = true;
+                    break;
+                case "--live-queue":
+                    if (i + 1 < args.length) liveQueues = args[++i];
+                    break;
+                case "--producers":
+                    if (i + 1 < args.length) producers = Integer.parseInt(args[++i]);
+                    break;
+                case "--dispatchers":
+                    if (i + 1 < args.length) dispatchers = Integer.parseInt(args[++i]);
+                    break;
+                case "--live-tick-ns":
+                    if (i + 1 < args.length) liveTickNanos = Long.parseLong(args[++i]);
+                    break;
+                case "--adaptive":
+                    if (i + 1 < args.length) adaptiveSpec = args[++i];
+                    break;
+                case "--tune":
+                    if (i + 1 < args.length) tuneQuanta = args[++i];
+                    break;
+                case "--threads":
+                    if (i + 1 < args.length) threads = Integer.parseInt(args[++i]);
+                    break;
                 case "--help":
                     printHelp();
                     return;
             }
         }
 
+        if (convertFile != null) {
+            convertTrace(convertFile, outputFile);
+            return;
+        }
+        if (ganttFile != null) {
+            printGantt(ganttFile, window, ganttWidth, ganttRows);
+            return;
+        }
+        if (chromeTraceFile != null) {
+            exportChromeTrace(chromeTraceFile, outputFile, tickMicros);
+            return;
+        }
+        if (jfrSample < 1) {
+            System.err.println("--jfr-sample must be >= 1: " + jfrSample);
+            return;
+        }
+        if (checkpointEvery < 1) {
+            System.err.println("--checkpoint-every must be >= 1: " + checkpointEvery);
+            return;
+        }
+
+        if (adaptiveSpec != null) {
+            try {
+                schedulerConfig.setAdaptive(AdaptiveQuantum.parse(adaptiveSpec));
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                return;
+            }
+        }
+
+        // Pluggable distributions replace the named workload profile
+        ArrivalProcess arrivals = null;
+        Distribution bursts = null;
+        if (arrivalsSpec != null || burstsSpec != null || utilization > 0) {
+            try {
+                arrivals = ArrivalProcess.parse(arrivalsSpec != null ? arrivalsSpec : DEFAULT_ARRIVALS);
+                bursts = Distribution.parse(burstsSpec != null ? burstsSpec : DEFAULT_BURSTS);
+                if (utilization > 0) {
+                    arrivals = arrivals.calibrate(utilization, bursts, cores);
+                }
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                return;
+            }
+            workloadType = "synthetic";
+        }
+
+        if (tuneQuanta != null) {
+            if (sweep || replications > 0 || traceFile != null || importFile != null || saveTraceFile != null) {
+                System.err.println("The quantum search generates its own workloads: drop --sweep, --replications, --trace, "
+                        + "--import and --save-trace");
+                return;
+            }
+            if (cores > 1 || tableStore || checkpointFile != null || restoreFile != null
+                    || workloadType.equalsIgnoreCase("realtime")) {
+                System.err.println("The quantum search runs the single-core engine on generated workloads only");
+                return;
+            }
+            schedulerConfig.setQuantum(Integer.parseInt(quantum));
+            runTuning(algorithm, tuneQuanta, contextSwitch, workloadType, processCount, parseSeeds(seeds), threads,
+                    engineMode, schedulerConfig, ioDevices, arrivals, bursts, outputFile);
+            return;
+        }
+
+        if (replications > 0) {
+            // Every replication needs a fresh workload, so there is nothing to replay or capture
+            if (sweep || traceFile != null || importFile != null || saveTraceFile != null) {
+                System.err.println("Replications generate a new workload per seed: drop --sweep, --trace, --import and --save-trace");
+                return;
+            }
+            if (cores > 1 || tableStore || checkpointFile != null || restoreFile != null
+                    || workloadType.equalsIgnoreCase("realtime")) {
+                System.err.println("Replications run the single-core engine on generated workloads only");
+                return;
+            }
+            runReplications(algorithm, contextSwitch, workloadType, processCount, parseSeeds(seeds).get(0), threads,
+                    engineMode, schedulerConfig, ioDevices, arrivals, bursts, replications, minReplications, ciLevel,
+                    ciWidth, ciMetric, warmup, outputFile);
+            return;
+        }
+
+        if (live) {
+            if (sweep || importFile != null || cores > 1 || tableStore || checkpointFile != null || restoreFile != null) {
+                System.err.println("Live mode runs its own threads on a generated or --trace workload: "
+                        + "drop --sweep, --import, --cores, --store, --checkpoint and --restore");
+                return;
+            }
+            if (workloadType.equalsIgnoreCase("realtime") || WorkloadGenerator.isIoProfile(workloadType)) {
+                System.err.println("Live mode runs CPU-only processes without deadlines, not " + workloadType);
+                return;
+            }
+            schedulerConfig.setQuantum(Integer.parseInt(quantum));
+            runLive(algorithm, liveQueues, producers, dispatchers, liveTickNanos, workloadType, processCount,
+                    traceFile, arrivals, bursts, threads, schedulerConfig, outputFile);
+            return;
+        }
+
+        // Random task set (UUniFast), periods 10-1000; jobs are released up to the horizon
+        List<RealTimeTask> rtTaskSet = workloadType.equalsIgnoreCase("realtime")
+                ? JobReleaseGenerator.randomTaskSet(12345, rtTasks, rtUtilization, 10, 1000, sporadic) : null;
+        if (rtTaskSet != null) {
+            // Job priorities are the tasks' rate-monotonic ranks 1..n
+            schedulerConfig.setPriorityRange(1, Math.max(WorkloadGenerator.MAX_PRIORITY, rtTaskSet.size()));
+        }
+
+        // Capture the workload once (imported or generated); the run below then replays it like any other trace
+        if (saveTraceFile != null && traceFile == null && (!sweep || importFile != null)) {
+            try {
+                long written;
+                Path savePath = Paths.get(saveTraceFile);
+                if (importFile != null) {
+                    try (TraceImporter importer = openImport(importFile, importFormat, importUnit, tickMicros,
+                            importWindow, threads)) {
+                        written = TraceWriter.writeWorkload(importer, savePath);
+                    }
+                } else if (arrivals != null) {
+                    try (SyntheticWorkload synthetic = new WorkloadGenerator(12345).stream(arrivals, bursts,
+                            processCount, threads)) {
+                        written = TraceWriter.writeWorkload(synthetic, savePath);
+                    }
+                } else if (rtTaskSet != null) {
+                    written = TraceWriter.writeWorkload(
+                            new JobReleaseGenerator(rtTaskSet, horizon, 12345, rtExecution), savePath);
+                } else {
+                    written = TraceWriter.writeWorkload(
+                            new WorkloadGenerator(12345).stream(workloadType, processCount), savePath);
+                }
+                System.out.println("Workload saved to " + saveTraceFile + " (" + written + " processes)");
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error writing trace: " + e.getMessage());
+                return;
+            }
+            traceFile = saveTraceFile;
+            importFile = null;
+        }
+
+        if (sweep) {
+            if (importFile != null) {
+                System.err.println("Sweeps replay binary traces: add --save-trace <file> to convert the import first");
+                return;
+            }
+            if (restoreFile != null) {
+                System.err.println("Sweeps resume by themselves: run the same sweep again with the same --checkpoint <dir>");
+                return;
+            }
+            if (rtTaskSet != null && traceFile == null) {
+                System.err.println("Sweeps generate the profile workloads only; run realtime as a single run "
+                        + "or sweep a saved --trace of it");
+                return;
+            }
+            runSweep(algorithm, quantum, contextSwitch, workloadType, seeds, processCount, threads, engineMode,
+                    schedulerConfig, metricsMode, ioDevices, outputFile, traceFile, arrivals, bursts, jfrFile, jfrSample,
+                    jmx, checkpointFile, checkpointEvery, cacheDir, cacheSizeMb);
+            return;
+        }
+
+        // Caches and affinity are only modeled by the multi-core engine, which also runs a single core
+        boolean multiCore = cores > 1 || coldStall > 0 || algorithm.equalsIgnoreCase("AFFINITY");
+        if (multiCore && (checkpointFile != null || restoreFile != null)) {
+            System.err.println("Checkpoints are only supported by the single-core engine");
+            return;
+        }
+
+        TraceReader trace = null;
+        if (traceFile != null) {
+            try {
+                trace = new TraceReader(Paths.get(traceFile));
+            } catch (IOException e) {
+                System.err.println("Error reading trace: " + e.getMessage());
+                return;
+            }
+            workloadType = "trace " + traceFile;
+            processCount = (int) Math.min(trace.getRowCount(), Integer.MAX_VALUE);
+        }
+
+        if (tableStore && rtTaskSet != null) {
+            System.err.println("The table store has no deadlines; run realtime with --store objects");
+            return;
+        }
+
         System.out.println("Starting Simulation...");
         System.out.println("Algorithm: " + algorithm);
-        System.out.println("Workload: " + workloadType + " (" + processCount + " processes)");
+        if (importFile != null) {
+            System.out.println("Workload: import " + importFile + " (streamed)");
+        } else {
+            System.out.println("Workload: " + workloadType + " (" + processCount + " processes)");
+        }
+        if (arrivals != null && trace == null) {
+            printSynthetic(arrivals, bursts, cores);
+        }
+
+        MetricsCollector metrics = new MetricsCollector(metricsMode);
+        metrics.setExtraPercentiles(percentiles);
+        if (rtTaskSet != null) {
+            metrics.setTaskSet(rtTaskSet, rtUtilization);
+        }
+
+        if (tableStore) {
+            if (importFile != null) {
+                System.err.println("The table store needs the whole workload up front; add --save-trace <file>");
+                return;
+            }
+            if (checkpointFile != null || restoreFile != null) {
+                System.err.println("The table store does not support checkpoints; use --store objects");
+                return;
+            }
+            if (WorkloadGenerator.isIoProfile(workloadType)) {
+                System.err.println("The table store has no I/O bursts; run " + workloadType + " with --store objects");
+                return;
+            }
+            schedulerConfig.setQuantum(Integer.parseInt(quantum));
+            ProcessTable table;
+            try {
+                if (trace != null) {
+                    table = trace.readTable();
+                } else if (arrivals != null) {
+                    try (SyntheticWorkload synthetic = new WorkloadGenerator(12345).stream(arrivals, bursts,
+                            processCount, threads)) {
+                        table = synthetic.toTable();
+                    }
+                } else {
+                    table = new WorkloadGenerator(12345).generateTable(workloadType, processCount);
+                }
+            } catch (IOException | IllegalStateException e) {
+                System.err.println("Error reading trace: " + e.getMessage());
+                return;
+            } finally {
+                closeQuietly(trace);
+            }
+            if (jmx || jfrFile != null) {
+                System.err.println("Note: the table store has no simulator events or MBean; --jfr records the JVM only");
+            }
+            if (cacheDir != null) {
+                System.err.println("Note: --cache covers single-core runs of generated or trace workloads; running uncached");
+            }
+            if (timelineFile != null) {
+                System.err.println("Note: the table store records no timeline; use --store objects");
+            }
+            Recording recording = startRecording(jfrFile);
+            try {
+                runColumnar(algorithm, schedulerConfig, table, Integer.parseInt(contextSwitch), metrics, outputFile,
+                        resultsTraceFile);
+            } finally {
+                stopRecording(recording, jfrFile);
+            }
+            return;
+        }
         
         // 1. Setup Scheduler
-        Scheduler scheduler = createScheduler(algorithm, quantum);
+        schedulerConfig.setQuantum(Integer.parseInt(quantum));
+        CacheAffinityModel cacheModel = null;
+        if (coldStall > 0) {
+            cacheModel = new CacheAffinityModel(cacheHalfLife, coldStall, Math.max(1, (cores + numaNodes - 1) / numaNodes),
+                    CacheAffinityModel.uniformDistances(numaNodes, numaDistance));
+            schedulerConfig.setCacheModel(cacheModel);
+        }
+        Scheduler scheduler = SchedulerFactory.create(algorithm, schedulerConfig);
         if (scheduler == null) {
             System.err.println("Unknown algorithm: " + algorithm);
             printHelp();
             return;
         }
 
-        // 2. Generate Workload
+        // An identical earlier run (same settings, workload and simulator code) is served from the result cache
+        ResultCache cache = null;
+        CacheKey cacheKey = null;
+        if (cacheDir != null) {
+            if (multiCore || importFile != null || rtTaskSet != null || checkpointFile != null || restoreFile != null) {
+                System.err.println("Note: --cache covers single-core runs of generated or trace workloads; running uncached");
+            } else {
+                try {
+                    cache = new ResultCache(Paths.get(cacheDir), cacheSizeMb << 20);
+                    String fingerprint = trace != null ? CacheKey.traceWorkload(Paths.get(traceFile))
+                            : arrivals != null ? CacheKey.syntheticWorkload(arrivals, bursts, 12345, processCount)
+                            : CacheKey.profileWorkload(workloadType, 12345, processCount);
+                    cacheKey = CacheKey.forRun(algorithm, scheduler, schedulerConfig, Integer.parseInt(contextSwitch),
+                            engineMode, metricsMode, ioDevices, fingerprint);
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("Error opening cache: " + e.getMessage());
+                    closeQuietly(trace);
+                    return;
+                }
+                if (cache.get(cacheKey, metrics)) {
+                    System.out.println("Cached result " + cacheKey.getDigest().substring(0, 12) + " from " + cacheDir);
+                    metrics.printMetrics(scheduler.getName());
+                    if (outputFile != null) {
+                        metrics.exportToCsv(outputFile);
+                    }
+                    if (resultsTraceFile != null) {
+                        metrics.exportToTrace(resultsTraceFile);
+                    }
+                    closeQuietly(trace);
+                    return;
+                }
+            }
+        }
+
+        // 2. Generate Workload (streamed: processes are created as they arrive)
         WorkloadGenerator generator = new WorkloadGenerator(12345); // Fixed seed for reproducibility
-        List<Process> workload = generator.generateWorkload(workloadType, processCount);
+        WorkloadSource workload;
+        TraceImporter importer = null;
+        SyntheticWorkload synthetic = null;
+        if (trace != null) {
+            workload = trace.replay(); // Reads straight from the mapped file as the engine pulls
+        } else if (importFile != null) {
+            try {
+                importer = openImport(importFile, importFormat, importUnit, tickMicros, importWindow, threads);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error reading " + importFile + ": " + e.getMessage());
+                return;
+            }
+            workload = importer; // Parsed in parallel chunks as the engine pulls
+        } else if (arrivals != null) {
+            synthetic = generator.stream(arrivals, bursts, processCount, threads);
+            workload = synthetic; // Bursts are generated on worker threads ahead of the engine
+        } else if (rtTaskSet != null) {
+            workload = new JobReleaseGenerator(rtTaskSet, horizon, 12345, rtExecution);
+        } else {
+            workload = generator.stream(workloadType, processCount);
+        }
+
+        // 3. Metrics were set up above (exact or streaming)
 
-        // 3. Setup Metrics
-        MetricsCollector metrics = new MetricsCollector();
+        // Live instrumentation: JFR events while a recording runs, progress over JMX.
+        // Without either the engines keep a null probe and skip every hook.
+        SimulationProbe probe = null;
+        if (jmx || jfrFile != null || isRecording()) {
+            SimulationMonitor monitor = null;
+            if (jmx) {
+                monitor = new SimulationMonitor();
+                registerMBean(monitor, "Simulation");
+            }
+            probe = new SimulationProbe(jfrSample, monitor);
+        }
+        // Continue (same algorithm) or fork (another one) a checkpointed run; the workload is rebuilt from
+        // the same options and fast-forwarded past what the checkpoint had already admitted
+        SimulationEngine restored = null;
+        if (restoreFile != null) {
+            try {
+                restored = SimulationEngine.restore(Paths.get(restoreFile), scheduler, workload, metrics);
+            } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+                System.err.println("Error reading checkpoint: " + e.getMessage());
+                closeQuietly(trace);
+                closeQuietly(importer);
+                closeQuietly(synthetic);
+                return;
+            }
+            System.out.println("Restored " + restoreFile + " at tick " + restored.getCurrentTime()
+                    + (restored.getRestoredScheduler().equals(scheduler.getName())
+                            ? "" : " (forked from " + restored.getRestoredScheduler() + ")"));
+        }
+        // Run-length slices of who ran when, written by a background thread while the engine runs
+        TimelineRecorder timeline = null;
+        if (timelineFile != null) {
+            try {
+                timeline = new TimelineRecorder(Paths.get(timelineFile), multiCore ? cores : 1);
+            } catch (IOException e) {
+                System.err.println("Error writing timeline: " + e.getMessage());
+                closeQuietly(trace);
+                closeQuietly(importer);
+                closeQuietly(synthetic);
+                return;
+            }
+        }
+        Recording recording = startRecording(jfrFile);
 
         // 4. Run Engine
-        SimulationEngine engine = new SimulationEngine(scheduler, workload, metrics, contextSwitch);
-        engine.run();
+        boolean paused = false;
+        try {
+            if (multiCore) {
+                // One scheduler per core; the one created above only validated the name and provides the label
+                System.out.println("Cores: " + cores + " (" + balancing.name().toLowerCase() + ")");
+                String name = algorithm;
+                MultiCoreSimulationEngine engine = new MultiCoreSimulationEngine(cores,
+                        core -> SchedulerFactory.createForCore(name, schedulerConfig, core), workload,
+                        metrics, Integer.parseInt(contextSwitch), migrationCost, balancing, balanceInterval);
+                engine.setCacheModel(cacheModel);
+                engine.setIoDeviceCount(ioDevices);
+                engine.setProbe(probe);
+                engine.setTimeline(timeline);
+                engine.run();
+            } else {
+                SimulationEngine engine = restored;
+                if (engine == null) {
+                    engine = new SimulationEngine(scheduler, workload, metrics, Integer.parseInt(contextSwitch), engineMode);
+                    engine.setIoDeviceCount(ioDevices);
+                }
+                engine.setProbe(probe);
+                engine.setTimeline(timeline);
+                if (checkpointFile != null && checkpointAt > 0) {
+                    // Warm up to a point, save it and stop
+                    paused = !engine.runUntil(checkpointAt);
+                    if (paused) {
+                        engine.writeCheckpoint(Paths.get(checkpointFile));
+                        System.out.println("Checkpoint written to " + checkpointFile + " at tick "
+                                + engine.getCurrentTime() + "; continue or fork it with --restore " + checkpointFile);
+                    }
+                } else {
+                    if (checkpointFile != null) {
+                        engine.setCheckpointing(Paths.get(checkpointFile), checkpointEvery);
+                    }
+                    engine.run();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing checkpoint: " + e.getMessage());
+            closeQuietly(timeline);
+            return;
+        } catch (RuntimeException e) {
+            if (importer == null) throw e;
+            // Bad or out-of-order lines only show up once the engine pulls them
+            System.err.println("Error reading " + importFile + ": " + e.getMessage());
+            closeQuietly(importer);
+            closeQuietly(timeline);
+            return;
+        } finally {
+            stopRecording(recording, jfrFile);
+        }
+        if (timeline != null) {
+            try {
+                timeline.close();
+                System.out.println("Timeline written to " + timelineFile + " (" + timeline.getSliceCount() + " slices)");
+            } catch (IOException e) {
+                System.err.println("Error writing timeline: " + e.getMessage());
+            }
+        }
 
         // 5. Output Results
+        if (paused) {
+            closeQuietly(trace);
+            closeQuietly(importer);
+            closeQuietly(synthetic);
+            return;
+        }
         metrics.printMetrics(scheduler.getName());
+        if (cacheKey != null) {
+            try {
+                cache.put(cacheKey, metrics);
+            } catch (IOException e) {
+                System.err.println("Error writing cache: " + e.getMessage());
+            }
+        }
         
         if (outputFile != null) {
             metrics.exportToCsv(outputFile);
         }
+        if (resultsTraceFile != null) {
+            metrics.exportToTrace(resultsTraceFile);
+        }
+        closeQuietly(trace);
+        closeQuietly(importer);
+        closeQuietly(synthetic);
+    }
+
+    // Columnar path: the workload lives in a ProcessTable and the engine works on int handles
+    private static void runColumnar(String algorithm, SchedulerConfig schedulerConfig, ProcessTable table,
+                                    int contextSwitch, MetricsCollector metrics, String outputFile,
+                                    String resultsTraceFile) {
+        TableScheduler scheduler = SchedulerFactory.createTable(algorithm, schedulerConfig, table);
+        if (scheduler == null) {
+            System.err.println("Unknown algorithm: " + algorithm);
+            printHelp();
+            return;
+        }
+        new TableSimulationEngine(scheduler, table, metrics, contextSwitch).run();
+
+        metrics.printMetrics(scheduler.getName());
+        if (outputFile != null) {
+            metrics.exportToCsv(outputFile);
+        }
+        if (resultsTraceFile != null) {
+            metrics.exportToTrace(resultsTraceFile);
+        }
+    }
+
+    private static void convertTrace(String traceFile, String csvFile) {
+        if (csvFile == null) {
+            System.err.println("--convert needs --out <file.csv>");
+            return;
+        }
+        try (TraceReader reader = new TraceReader(Paths.get(traceFile))) {
+            reader.toCsv(Paths.get(csvFile));
+            System.out.println("Converted " + reader.getRowCount() + " " + reader.getKind().name().toLowerCase()
+                    + " rows to " + csvFile);
+        } catch (IOException e) {
+            System.err.println("Error converting trace: " + e.getMessage());
+        }
+    }
+
+    private static void printGantt(String timelineFile, String window, int width, int rows) {
+        int dash = window.indexOf('-');
+        try (TimelineReader reader = new TimelineReader(Paths.get(timelineFile))) {
+            if (dash < 0) {
+                throw new IllegalArgumentException("--window must be from-to, e.g. 0-100: " + window);
+            }
+            GanttChart.render(reader, Integer.parseInt(window.substring(0, dash).trim()),
+                    Integer.parseInt(window.substring(dash + 1).trim()), width, rows, System.out);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading timeline: " + e.getMessage());
+        }
+    }
+
+    private static void exportChromeTrace(String timelineFile, String jsonFile, double tickMicros) {
+        if (jsonFile == null) {
+            System.err.println("--chrome-trace needs an output file: --out <file.json>");
+            return;
+        }
+        try (TimelineReader reader = new TimelineReader(Paths.get(timelineFile))) {
+            long events = ChromeTraceExporter.export(reader, Paths.get(jsonFile), tickMicros);
+            System.out.println("Wrote " + events + " slices to " + jsonFile + " (open in chrome://tracing or ui.perfetto.dev)");
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error converting timeline: " + e.getMessage());
+        }
+    }
+
+    private static void printSynthetic(ArrivalProcess arrivals, Distribution bursts, int cores) {
+        System.out.println("Arrivals: " + arrivals);
+        System.out.println("Bursts: " + bursts);
+        System.out.printf("Offered load: %.3f%n", arrivals.getMeanRate() * bursts.getTickMean() / cores);
+    }
+
+    private static TraceImporter openImport(String file, TraceImporter.Format format, String unit, double tickMicros,
+                                            int reorderWindow, int parallelism) throws IOException {
+        Path path = Paths.get(file);
+        return TraceImporter.open(path, format != null ? format : TraceImporter.guessFormat(path),
+                TraceImporter.unitMicros(unit), tickMicros, reorderWindow, parallelism);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) return;
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            System.err.println("Error closing trace: " + e.getMessage());
+        }
+    }
+
+    private static void runSweep(String algorithms, String quanta, String switchCosts, String workloadTypes,
+                                 String seeds, int processCount, int threads, SimulationEngine.Mode engineMode,
+                                 SchedulerConfig schedulerConfig, MetricsCollector.Mode metricsMode,
+                                 int ioDevices, String outputFile, String traceFile, ArrivalProcess arrivals,
+                                 Distribution bursts, String jfrFile, int jfrSample, boolean jmx,
+                                 String checkpointDir, int checkpointEvery, String cacheDir, long cacheSizeMb) {
+        List<String> algorithmList = algorithms.equalsIgnoreCase("all")
+                ? SchedulerFactory.ALGORITHMS
+                : Arrays.asList(algorithms.toUpperCase().split(","));
+        for (String name : algorithmList) {
+            if (SchedulerFactory.create(name, 1) == null) {
+                System.err.println("Unknown algorithm: " + name);
+                printHelp();
+                return;
+            }
+        }
+
+        SweepGrid grid;
+        if (traceFile != null) {
+            // Every cell replays the same file; workload and seed only label the rows
+            grid = new SweepGrid(algorithmList, parseIntList(quanta), parseIntList(switchCosts),
+                    List.of(Paths.get(traceFile).getFileName().toString()), List.of(0L), processCount);
+        } else if (arrivals != null) {
+            // One synthetic workload, regenerated per seed
+            grid = new SweepGrid(algorithmList, parseIntList(quanta), parseIntList(switchCosts),
+                    List.of("synthetic"), parseSeeds(seeds), processCount);
+        } else {
+            grid = new SweepGrid(algorithmList, parseIntList(quanta), parseIntList(switchCosts),
+                    Arrays.asList(workloadTypes.split(",")), parseSeeds(seeds), processCount);
+        }
+        System.out.println("Starting Sweep...");
+        System.out.println("Cells: " + grid.cells().size() + " on " + threads + " threads");
+        if (arrivals != null && traceFile == null) {
+            printSynthetic(arrivals, bursts, 1);
+        }
+
+        long start = System.nanoTime();
+        SweepRunner runner = new SweepRunner(threads, engineMode, schedulerConfig);
+        runner.setMetricsMode(metricsMode);
+        try {
+            runner.setIoDeviceCount(ioDevices);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        if (traceFile != null) {
+            runner.setTrace(Paths.get(traceFile));
+        } else if (arrivals != null) {
+            runner.setSynthetic(arrivals, bursts);
+        }
+        if (jfrFile != null || isRecording()) {
+            runner.setEventSampling(jfrSample);
+        }
+        if (checkpointDir != null) {
+            try {
+                runner.setCheckpointing(Files.createDirectories(Paths.get(checkpointDir)), checkpointEvery);
+            } catch (IOException e) {
+                System.err.println("Error creating checkpoint directory: " + e.getMessage());
+                return;
+            }
+        }
+        ResultCache cache = null;
+        if (cacheDir != null) {
+            try {
+                cache = new ResultCache(Paths.get(cacheDir), cacheSizeMb << 20);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error opening cache: " + e.getMessage());
+                return;
+            }
+            runner.setCache(cache);
+        }
+        if (jmx) {
+            SweepProgress progress = new SweepProgress();
+            registerMBean(progress, "Sweep");
+            runner.setProgress(progress);
+        }
+        Recording recording = startRecording(jfrFile);
+        List<SweepResult> results;
+        try {
+            results = runner.run(grid);
+        } finally {
+            stopRecording(recording, jfrFile);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        SweepReport.printTable(results);
+        System.out.println("Sweep finished in " + elapsedMs + " ms");
+        if (cache != null) {
+            System.out.println("Cache: " + cache.getHits() + " cells reused, " + cache.getMisses() + " computed"
+                    + (cache.getEvictions() > 0 ? ", " + cache.getEvictions() + " old entries evicted" : ""));
+        }
+        if (outputFile != null) {
+            SweepReport.exportToCsv(results, outputFile);
+        }
+    }
+
+    private static void runReplications(String algorithms, String contextSwitch, String workloadType,
+                                        int processCount, long baseSeed, int threads,
+                                        SimulationEngine.Mode engineMode, SchedulerConfig schedulerConfig,
+                                        int ioDevices, ArrivalProcess arrivals, Distribution bursts,
+                                        int maxReplications, int minReplications, double ciLevel, double ciWidth,
+                                        String ciMetric, boolean warmup, String outputFile) {
+        List<String> algorithmList = algorithms.equalsIgnoreCase("all")
+                ? SchedulerFactory.ALGORITHMS
+                : Arrays.asList(algorithms.toUpperCase().split(","));
+        for (String name : algorithmList) {
+            if (SchedulerFactory.create(name, 1) == null) {
+                System.err.println("Unknown algorithm: " + name);
+                printHelp();
+                return;
+            }
+        }
+        ReplicationRunner runner = new ReplicationRunner(threads, engineMode, schedulerConfig);
+        try {
+            runner.setContextSwitchCost(Integer.parseInt(contextSwitch.trim()));
+            runner.setIoDeviceCount(ioDevices);
+            runner.setLevel(ciLevel);
+            runner.setTarget(ciWidth, ciMetric != null ? Replication.Metric.parse(ciMetric) : null);
+            runner.setReplications(Math.min(minReplications, maxReplications), maxReplications);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        runner.setWarmupDetection(warmup);
+        if (arrivals != null) {
+            runner.setSynthetic(arrivals, bursts);
+        }
+
+        System.out.println("Starting Replications...");
+        System.out.println("Algorithms: " + String.join(", ", algorithmList));
+        System.out.println("Workload: " + workloadType + " (" + processCount + " processes), base seed " + baseSeed);
+        if (arrivals != null) {
+            printSynthetic(arrivals, bursts, 1);
+        }
+        long start = System.nanoTime();
+        ReplicationResult result = runner.run(algorithmList, workloadType, processCount, baseSeed);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        ReplicationReport.printTable(result);
+        System.out.println("Replications finished in " + elapsedMs + " ms");
+        if (outputFile != null) {
+            ReplicationReport.exportToCsv(result, outputFile);
+        }
+    }
+
+    private static void runTuning(String algorithm, String quanta, String contextSwitch, String workloadType,
+                                  int processCount, List<Long> seeds, int threads, SimulationEngine.Mode engineMode,
+                                  SchedulerConfig schedulerConfig, int ioDevices, ArrivalProcess arrivals,
+                                  Distribution bursts, String outputFile) {
+        if (!QuantumTuner.isTunable(algorithm)) {
+            System.err.println("The quantum search tunes RR or MLFQ, not " + algorithm);
+            return;
+        }
+        QuantumTuner tuner = new QuantumTuner(threads, engineMode, schedulerConfig);
+        tuner.setContextSwitchCost(Integer.parseInt(contextSwitch.trim()));
+        tuner.setIoDeviceCount(ioDevices);
+        if (arrivals != null) {
+            tuner.setSynthetic(arrivals, bursts);
+        }
+        List<Integer> quantumList = new ArrayList<>();
+        for (long q : parseSeeds(quanta)) { // Same list and range syntax as --seeds
+            quantumList.add((int) q);
+        }
+
+        System.out.println("Starting Quantum Search...");
+        System.out.println("Algorithm: " + algorithm.toUpperCase() + ", quanta " + quanta + ", adaptive "
+                + schedulerConfig.getAdaptive());
+        System.out.println("Workload: " + workloadType + " (" + processCount + " processes), " + seeds.size()
+                + " seed(s)");
+        if (arrivals != null) {
+            printSynthetic(arrivals, bursts, 1);
+        }
+        long start = System.nanoTime();
+        List<TuningPoint> points;
+        try {
+            points = tuner.run(algorithm, quantumList, workloadType, processCount, seeds);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println();
+        TuningReport.printTable(points);
+        System.out.println("Search finished in " + elapsedMs + " ms");
+        if (outputFile != null) {
+            TuningReport.exportToCsv(points, outputFile);
+        }
+    }
+
+    private static void runLive(String algorithms, String queues, int producers, int dispatchers, long tickNanos,
+                                String workloadType, int processCount, String traceFile, ArrivalProcess arrivals,
+                                Distribution bursts, int threads, SchedulerConfig schedulerConfig, String outputFile) {
+        List<String> algorithmList = algorithms.equalsIgnoreCase("all")
+                ? SchedulerFactory.ALGORITHMS
+                : Arrays.asList(algorithms.toUpperCase().split(","));
+        for (String name : algorithmList) {
+            if (SchedulerFactory.create(name, 1) == null) {
+                System.err.println("Unknown algorithm: " + name);
+                printHelp();
+                return;
+            }
+        }
+        LiveRunner runner = new LiveRunner(schedulerConfig);
+        List<LiveQueue> queueList;
+        try {
+            queueList = LiveQueue.parseList(queues);
+            runner.setProducers(producers);
+            runner.setDispatchers(dispatchers);
+            runner.setTickNanos(tickNanos);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
+        // The whole workload up front, so producers measure submission and not generation
+        List<Process> workload = new ArrayList<>();
+        try {
+            if (traceFile != null) {
+                try (TraceReader trace = new TraceReader(Paths.get(traceFile))) {
+                    trace.replay().forEachRemaining(workload::add);
+                }
+                workloadType = "trace " + traceFile;
+            } else if (arrivals != null) {
+                try (SyntheticWorkload synthetic = new WorkloadGenerator(12345).stream(arrivals, bursts,
+                        processCount, threads)) {
+                    synthetic.forEachRemaining(workload::add);
+                }
+            } else {
+                new WorkloadGenerator(12345).stream(workloadType, processCount).forEachRemaining(workload::add);
+            }
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("Error reading trace: " + e.getMessage());
+            return;
+        }
+
+        System.out.println("Starting Live Mode...");
+        System.out.println("Algorithms: " + String.join(", ", algorithmList));
+        System.out.println("Workload: " + workloadType + " (" + workload.size() + " processes), "
+                + (tickNanos > 0 ? "paced at " + tickNanos + " ns per tick" : "unpaced (as fast as possible)"));
+        List<LiveResult> results = new ArrayList<>();
+        for (String name : algorithmList) {
+            for (LiveQueue queue : queueList) {
+                if (!queue.supports(name)) {
+                    System.out.println("Note: the " + queue.getLabel() + " queue is FIFO only; skipping " + name);
+                    continue;
+                }
+                try {
+                    results.add(runner.run(name, queue, workload));
+                } catch (IllegalArgumentException e) {
+                    System.err.println(e.getMessage());
+                    return;
+                }
+            }
+        }
+        System.out.println();
+        LiveReport.printTable(results);
+        if (outputFile != null) {
+            LiveReport.exportToCsv(results, outputFile);
+        }
+    }
+
+    // A recording started with -XX:StartFlightRecording picks up the simulator events too
+    private static boolean isRecording() {
+        return FlightRecorder.isInitialized() && !FlightRecorder.getFlightRecorder().getRecordings().isEmpty();
     }
 
-    private static Scheduler createScheduler(String name, int quantum) {
-        switch (name.toUpperCase()) {
-            case "FCFS": return new FCFS();
-            case "SJF": return new SJF();
-            case "SRTF": return new SRTF();
-            case "PRIORITY": return new PriorityScheduler();
-            case "RR": return new RoundRobin(quantum);
-            case "MLFQ": return new MLFQ();
-            default: return null;
+    // JVM profile settings (allocation, CPU samples, GC) plus the simulator events, written to file on stop.
+    // Returns null without a file, or if the recording could not be started.
+    private static Recording startRecording(String file) {
+        if (file == null) return null;
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.setName("cpu-sim");
+            recording.setDestination(Paths.get(file));
+            recording.start();
+            return recording;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.err.println("Error starting flight recording: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void stopRecording(Recording recording, String file) {
+        if (recording == null) return;
+        recording.stop(); // Writes the destination file
+        recording.close();
+        System.out.println("Flight recording written to " + file);
+    }
+
+    private static void registerMBean(Object mbean, String type) {
+        try {
+            System.out.println("JMX: " + Monitoring.register(mbean, type));
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    private static List<Integer> parseIntList(String value) {
+        List<Integer> values = new ArrayList<>();
+        for (String part : value.split(",")) {
+            values.add(Integer.parseInt(part.trim()));
+        }
+        return values;
+    }
+
+    // "4,8,fcfs": one quantum per MLFQ level, highest first; "fcfs" means run to completion
+    private static int[] parseMlfqQuanta(String value) {
+        String[] parts = value.split(",");
+        int[] quanta = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            quanta[i] = part.equalsIgnoreCase("fcfs") ? Integer.MAX_VALUE : Integer.parseInt(part);
+        }
+        return quanta;
+    }
+
+    // "50,90,99.9,max" -> 0.5, 0.9, 0.999, 1.0
+    private static double[] parsePercentiles(String value) {
+        String[] parts = value.split(",");
+        double[] quantiles = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            quantiles[i] = part.equalsIgnoreCase("max") ? 1.0 : Double.parseDouble(part) / 100.0;
+        }
+        return quantiles;
+    }
+
+    private static MultiCoreSimulationEngine.LoadBalancing parseBalancing(String value) {
+        switch (value.toLowerCase()) {
+            case "none": return MultiCoreSimulationEngine.LoadBalancing.NONE;
+            case "steal": return MultiCoreSimulationEngine.LoadBalancing.WORK_STEALING;
+            case "periodic": return MultiCoreSimulationEngine.LoadBalancing.PERIODIC;
+            default: throw new IllegalArgumentException("Unknown load balancing: " + value);
+        }
+    }
+
+    // Accepts "1,2,3" as well as ranges like "1-10"
+    private static List<Long> parseSeeds(String value) {
+        List<Long> values = new ArrayList<>();
+        for (String part : value.split(",")) {
+            int dash = part.indexOf('-', 1);
+            if (dash > 0) {
+                long from = Long.parseLong(part.substring(0, dash).trim());
+                long to = Long.parseLong(part.substring(dash + 1).trim());
+                for (long s = from; s <= to; s++) values.add(s);
+            } else {
+                values.add(Long.parseLong(part.trim()));
+            }
         }
+        return values;
     }
 
     private static void printHelp() {
         System.out.println("Usage: java -jar cpu-sim.jar [options]");
         System.out.println("Options:");
-        System.out.println("  --algorithm <name>   Algorithm: FCFS, SJF, SRTF, PRIORITY, RR, MLFQ");
-        System.out.println("  --quantum <int>      Time quantum for RR (default: 4)");
-        System.out.println("  --workload <type>    Workload: interactive, batch, mixed");
+        System.out.println("  --algorithm <name>   Algorithm: FCFS, SJF, SRTF, PRIORITY, RR, MLFQ, CFS, AFFINITY (cache-aware RR), EDF, RMS,");
+        System.out.println("                       ARR, AMLFQ (RR and MLFQ with adaptive quanta)");
+        System.out.println("  --quantum <int>      Time quantum for RR, starting quantum for ARR (default: 4)");
+        System.out.println("  --mlfq-quanta <list> MLFQ levels as quanta, highest first; fcfs = no limit (default: 4,8,fcfs)");
+        System.out.println("  --adaptive <spec>    ARR/AMLFQ policy: burst(q) sizes quanta so a share q of CPU bursts fit,");
+        System.out.println("                       p99(target) steers them toward a p99 response goal (default: burst(0.8))");
+        System.out.println("  --aging <int>        MLFQ wait before promotion by one level, 0 = off (default: 100)");
+        System.out.println("  --cfs-latency <int>  CFS: scheduling period shared by all runnable processes (default: 24)");
+        System.out.println("  --cfs-min-gran <int> CFS: minimum timeslice (default: 3)");
+        System.out.println("  --workload <type>    Workload: interactive, batch, mixed, realtime (periodic jobs with deadlines),");
+        System.out.println("                       interactive-io, batch-io, mixed-io (alternating CPU and I/O bursts)");
+        System.out.println("  --arrivals <spec>    Arrival process instead of a profile: poisson(rate), mmpp(rate0,rate1,hold0,hold1),");
+        System.out.println("                       diurnal(rate,amplitude,period); rates per tick (default: poisson(0.5))");
+        System.out.println("  --bursts <spec>      Burst distribution: const(v), uniform(min,max), exp(mean), pareto(alpha,xm),");
+        System.out.println("                       lognormal(mean,sigma), bimodal(p,a,b) (default: the mixed profile)");
+        System.out.println("  --utilization <rho>  Scale the arrival rate so the offered load per core is rho");
+        System.out.println("  --io-devices <int>   I/O devices serving the -io workloads (default: 1)");
+        System.out.println("  --rt-tasks <int>     realtime: number of tasks (default: 8)");
+        System.out.println("  --rt-util <double>   realtime: total task utilization (default: 0.7)");
+        System.out.println("  --horizon <int>      realtime: release jobs until this time (default: 100000)");
+        System.out.println("  --sporadic           realtime: random extra delay between releases");
+        System.out.println("  --rt-exec <double>   realtime: jobs run between this fraction of WCET and WCET (default: 1.0)");
         System.out.println("  --processes <int>    Number of processes (default: 20)");
         System.out.println("  --switch <int>       Context switch cost (default: 0)");
         System.out.println("  --out <file>         Output CSV file");
+        System.out.println("  --out-trace <file>   Per-process results as a binary trace (compact, fast for large runs)");
+        System.out.println("  --save-trace <file>  Save the generated workload as a binary trace, then run it");
+        System.out.println("  --trace <file>       Replay a saved workload trace instead of generating one (also in sweeps)");
+        System.out.println("  --import <file>      Stream a recorded trace: CSV task table or perf/ftrace sched_switch text");
+        System.out.println("  --import-format <f>  csv or sched (default: csv for *.csv, sched otherwise)");
+        System.out.println("  --import-unit <u>    CSV time unit: ns, us, ms or s (default: ms)");
+        System.out.println("  --tick-us <double>   Length of one engine tick in microseconds, for imports and --chrome-trace (default: 1000)");
+        System.out.println("  --import-window <int> Ticks a CSV row may be out of arrival order (default: 1000)");
+        System.out.println("  --convert <file>     Convert a workload or results trace to the CSV given by --out, then exit");
+        System.out.println("  --engine <mode>      Engine: tick (1 unit per step) or event (jump to next event) (default: tick)");
+        System.out.println("  --store <kind>       Process storage: objects or table (columnar, event-driven) (default: objects)");
+        System.out.println("  --cores <int>        Simulated cores, each with its own run queue (tick engine) (default: 1)");
+        System.out.println("  --balance <mode>     Multi-core load balancing: none, steal (idle cores steal), periodic (default: steal)");
+        System.out.println("  --balance-interval <int> Ticks between periodic rebalancing passes (default: 10)");
+        System.out.println("  --migration-cost <int>   Extra switch ticks when a process resumes on another core (default: 0)");
+        System.out.println("  --cold-stall <int>   Enable the cache model: ticks a fully cold resume stalls (default: 0 = off)");
+        System.out.println("  --cache-half-life <int> Off-CPU ticks after which half the cache is gone (default: 20)");
+        System.out.println("  --numa-nodes <int>   NUMA nodes the cores are split into (default: 1)");
+        System.out.println("  --numa-distance <int> Remote node distance, local = 10 (default: 21)");
+        System.out.println("  --lookahead <int>    AFFINITY: waiting processes checked for a warm cache (default: 8)");
+        System.out.println("  --metrics <mode>     exact (per-process, CSV export) or streaming (constant memory, ~0.8% percentiles) (default: exact)");
+        System.out.println("  --percentiles <list> Extra waiting/turnaround/response percentiles, e.g. 50,90,99.9,max");
+        System.out.println("  --jfr <file>         Flight recording of the run: JVM profile plus schedule decision, preemption,");
+        System.out.println("                       context switch and completion events (also in sweeps)");
+        System.out.println("  --jfr-sample <int>   Record every n-th simulator event of each kind (default: 1)");
+        System.out.println("  --jmx                Publish progress as MBeans under org.example.cpusched (Simulation, Sweep)");
+        System.out.println("  --checkpoint <file>  Save the engine state to this file every --checkpoint-every ticks (single core)");
+        System.out.println("  --checkpoint-every <int> Ticks between checkpoints (default: 1000000)");
+        System.out.println("  --checkpoint-at <int> Run until this tick, save the checkpoint and stop (e.g. after a warm-up)");
+        System.out.println("  --restore <file>     Continue from a checkpoint; with a different --algorithm the run forks from it.");
+        System.out.println("                       Pass the same workload options as the original run");
+        System.out.println("  --cache <dir>        Reuse results of identical earlier runs (settings, workload and simulator code)");
+        System.out.println("                       and store new ones; single-core runs and sweeps");
+        System.out.println("  --cache-size <MB>    Bound of the cache directory; least recently used results go first (default: 1024)");
+        System.out.println("  --timeline <file>    Record who ran when (compact binary slices) for --gantt and --chrome-trace");
+        System.out.println("  --gantt <file>       Print a recorded timeline as an ASCII Gantt chart, then exit");
+        System.out.println("  --window <from-to>   Ticks the chart shows (default: 0-100)");
+        System.out.println("  --gantt-width <int>  Chart columns; wider windows put several ticks in a column (default: 100)");
+        System.out.println("  --gantt-rows <int>   Processes shown, in the order they first ran (default: 40)");
+        System.out.println("  --chrome-trace <file> Convert a recorded timeline to Chrome trace JSON given by --out, then exit");
+        System.out.println();
+        System.out.println("Sweep mode (--sweep): --algorithm, --quantum, --switch and --workload take comma-separated lists");
+        System.out.println("  --sweep              Run every combination in parallel and print one summary table");
+        System.out.println("  --algorithm all      Sweep all algorithms");
+        System.out.println("  --seeds <list>       Workload seeds, e.g. 1,2,3 or 1-10 (default: 12345)");
+        System.out.println("  --threads <int>      Worker threads (default: available processors)");
+        System.out.println("  --out <file>         Summary CSV file (one row per cell)");
+        System.out.println("  --checkpoint <dir>   Checkpoint every cell; rerunning an interrupted sweep resumes its cells");
+        System.out.println();
+        System.out.println("Replication mode (--replications): --algorithm takes a comma-separated list (or all)");
+        System.out.println("  --replications <int> Run up to this many seeds per algorithm in parallel, report means with CIs");
+        System.out.println("  --min-replications <int> Replications before the first precision check (default: 5)");
+        System.out.println("  --ci-level <double>  Confidence level (default: 0.95)");
+        System.out.println("  --ci-width <double>  Stop once the CI half-width is within this fraction of the mean, e.g. 0.05");
+        System.out.println("  --ci-metric <name>   Metric the width applies to: wait, tat, resp, p95, p99, thru (default: all)");
+        System.out.println("  --warmup <mode>      mser (drop the initial transient, MSER-5) or none (default: mser)");
+        System.out.println("  --seeds <seed>       Base seed the replication seeds are drawn from (default: 12345)");
+        System.out.println("  --out <file>         CSV with one row per replication");
+        System.out.println();
+        System.out.println("Live mode (--live): real threads in wall-clock time; --algorithm takes a comma-separated list (or all)");
+        System.out.println("  --live               Producers submit the workload, dispatchers run it; reports ops/s and latency");
+        System.out.println("  --live-queue <list>  locked, striped, partitioned, lockfree (FCFS/RR only) or all (default: all)");
+        System.out.println("  --producers <int>    Threads submitting processes (default: 4)");
+        System.out.println("  --dispatchers <int>  Threads dispatching them (default: 2)");
+        System.out.println("  --live-tick-ns <int> Wall-clock tick: pace arrivals and spin for each slice, 0 = flat out (default: 0)");
+        System.out.println("  --out <file>         CSV with one row per algorithm and queue");
+        System.out.println();
+        System.out.println("Quantum search (--tune): --algorithm RR or MLFQ");
+        System.out.println("  --tune <list>        Quanta to try, e.g. 1-16 or 2,4,8,16 (the top level for MLFQ, lower levels scale along);");
+        System.out.println("                       the adaptive variant runs too. Prints the Pareto frontier of throughput,");
+        System.out.println("                       p99 response and context switches");
+        System.out.println("  --seeds <list>       Workload seeds every candidate runs on, e.g. 1-5 (default: 12345)");
+        System.out.println("  --threads <int>      Worker threads (default: available processors)");
+        System.out.println("  --out <file>         CSV with one row per candidate");
     }
 }
@@ -0,0 +1,95 @@
+package org.example.cpusched.cache;
+
+import org.example.cpusched.engine.SimulationEngine;
+import org.example.cpusched.metrics.MetricsCollector;
+import org.example.cpusched.scheduler.Scheduler;
+import org.example.cpusched.scheduler.SchedulerConfig;
+import org.example.cpusched.trace.TraceReader;
+import org.example.cpusched.workload.ArrivalProcess;
+import org.example.cpusched.workload.Distribution;
+import org.example.cpusched.workload.WorkloadGenerator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Identity of a simulation result: every setting that can change it, one name=value line each, addressed
+ * by the SHA-256 of that text. The text itself is stored with the entry and compared on lookup.
+ */
+public final class CacheKey {
+    private final StringBuilder text = new StringBuilder();
+
+    public CacheKey add(String name, Object value) {
+        text.append(name).append('=').append(value).append('\n');
+        return this;
+    }
+
+    public String getText() {
+        return text.toString();
+    }
+
+    public String getDigest() {
+        return hex(sha256().digest(text.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Key of one single-core engine run.
+     * @param workload Fingerprint from one of the workload methods below.
+     */
+    public static CacheKey forRun(String algorithm, Scheduler scheduler, SchedulerConfig config, int contextSwitchCost,
+                                  SimulationEngine.Mode engineMode, MetricsCollector.Mode metricsMode, int ioDevices,
+                                  String workload) {
+        return new CacheKey()
+                .add("algorithm", algorithm.toUpperCase())
+                .add("scheduler", config)
+                .add("switch", contextSwitchCost)
+                .add("engine", engineMode)
+                .add("metrics", metricsMode)
+                .add("ioDevices", ioDevices)
+                .add("workload", workload)
+                .add("code", CodeVersion.of(scheduler.getClass(), SimulationEngine.class, MetricsCollector.class,
+                        WorkloadGenerator.class, TraceReader.class));
+    }
+
+    public static String profileWorkload(String type, long seed, long count) {
+        return "profile(" + type.toLowerCase() + ",seed=" + seed + ",count=" + count + ")";
+    }
+
+    public static String syntheticWorkload(ArrivalProcess arrivals, Distribution bursts, long seed, long count) {
+        return "synthetic(" + arrivals + "," + bursts + ",seed=" + seed + ",count=" + count + ")";
+    }
+
+    /**
+     * Content hash of a trace file; reads the whole file, so compute it once per file.
+     */
+    public static String traceWorkload(Path trace) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(trace)) {
+            for (int n; (n = in.read(buffer)) > 0; ) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return "trace(sha256=" + hex(digest.digest()) + ",size=" + Files.size(trace) + ")";
+    }
+
+    static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Every JVM has SHA-256
+        }
+    }
+}
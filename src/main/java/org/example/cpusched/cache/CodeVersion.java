@@ -0,0 +1,113 @@
+package org.example.cpusched.cache;
+
+import org.example.cpusched.scheduler.Scheduler;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Version stamp of the simulator code behind a result: SHA-256 over the bytecode of the given classes and
+ * every project class they reference, found by scanning the class files' constant pools (which name every
+ * class a class uses, including its nested, anonymous and lambda-holding ones). Recompiling a changed
+ * class changes the stamp, so cached results computed by older code are never served again.
+ *
+ * Scheduler implementations other than the roots are not followed: the engine names MLFQ for its queue
+ * depth probe, but an edit to MLFQ should only invalidate MLFQ results.
+ */
+public final class CodeVersion {
+    private static final String PROJECT = "org/example/cpusched/";
+    private static final Pattern REFERENCE = Pattern.compile(PROJECT + "[A-Za-z0-9_$/]+");
+    private static final Map<List<Class<?>>, String> CACHE = new ConcurrentHashMap<>();
+
+    private CodeVersion() {
+    }
+
+    /**
+     * Hex stamp of the roots and everything they reach; computed once per set of roots.
+     */
+    public static String of(Class<?>... roots) {
+        return CACHE.computeIfAbsent(List.of(roots), CodeVersion::compute);
+    }
+
+    private static String compute(List<Class<?>> roots) {
+        ClassLoader loader = roots.get(0).getClassLoader();
+        Map<String, byte[]> classes = new TreeMap<>(); // Sorted, so the digest doesn't depend on visiting order
+        Deque<String> pending = new ArrayDeque<>();
+        for (Class<?> root : roots) {
+            pending.add(root.getName().replace('.', '/'));
+        }
+        while (!pending.isEmpty()) {
+            String name = pending.poll();
+            if (classes.containsKey(name) || name.equals(PROJECT + "Main")) continue;
+            byte[] bytes = read(loader, name);
+            if (bytes == null || isOtherScheduler(loader, name, roots)) continue;
+            classes.put(name, bytes);
+            for (String utf8 : constantStrings(bytes)) {
+                Matcher m = REFERENCE.matcher(utf8);
+                while (m.find()) {
+                    pending.add(m.group());
+                }
+            }
+        }
+        MessageDigest digest = CacheKey.sha256();
+        for (Map.Entry<String, byte[]> e : classes.entrySet()) {
+            digest.update(e.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update(e.getValue());
+        }
+        return CacheKey.hex(digest.digest());
+    }
+
+    private static boolean isOtherScheduler(ClassLoader loader, String name, List<Class<?>> roots) {
+        try {
+            Class<?> c = Class.forName(name.replace('/', '.'), false, loader);
+            return !c.isInterface() && Scheduler.class.isAssignableFrom(c) && !roots.contains(c);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static byte[] read(ClassLoader loader, String name) {
+        try (InputStream in = loader.getResourceAsStream(name + ".class")) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // The CONSTANT_Utf8 entries of a class file: class names, descriptors and signatures among them
+    private static List<String> constantStrings(byte[] classFile) {
+        List<String> strings = new ArrayList<>();
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+            in.skipBytes(8); // magic, minor, major
+            int count = in.readUnsignedShort();
+            for (int i = 1; i < count; i++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case 1: strings.add(in.readUTF()); break; // Utf8 (modified UTF-8, as readUTF expects)
+                    case 7: case 8: case 16: case 19: case 20: in.skipBytes(2); break;
+                    case 15: in.skipBytes(3); break;
+                    case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18: in.skipBytes(4); break;
+                    case 5: case 6: in.skipBytes(8); i++; break; // Long and double take two slots
+                    default: throw new IOException("Unknown constant pool tag " + tag);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable class file: " + e.getMessage(), e);
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.cpusched.cache;
+
+import org.example.cpusched.metrics.MetricsCollector;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Content-addressed store of finished runs on local disk: one file per CacheKey digest, holding the
+ * MetricsCollector state (summary accumulators, plus the per-process rows in EXACT mode).
+ * A hit restores a collector that prints and exports exactly like the run that produced it.
+ *
+ * The directory is bounded to maxBytes with least-recently-used eviction. Recency is the file's
+ * modification time, touched on every hit, so it survives restarts. Entries whose key no longer
+ * matches anything (old code versions) are never read again and age out the same way.
+ * Safe for the threads of one process; files are moved into place whole, so a crash or a second
+ * process never sees half an entry.
+ */
+public class ResultCache {
+    private static final int MAGIC = 0x43524553; // "CRES"
+    private static final int FORMAT = 1;
+    private static final String SUFFIX = ".res";
+
+    private final Path dir;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>(16, 0.75f, true); // Access order = LRU first
+    private long totalBytes = 0;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicInteger evictions = new AtomicInteger();
+
+    public ResultCache(Path dir, long maxBytes) throws IOException {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Cache size must be >= 1 byte: " + maxBytes);
+        }
+        this.dir = Files.createDirectories(dir);
+        this.maxBytes = maxBytes;
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        Map<Path, FileTime> times = new HashMap<>();
+        for (Path file : files) {
+            times.put(file, Files.getLastModifiedTime(file));
+        }
+        files.sort(Comparator.comparing(times::get)); // Oldest first, as the access order would have them
+        for (Path file : files) {
+            long size = Files.size(file);
+            sizes.put(digestOf(file), size);
+            totalBytes += size;
+        }
+        evict();
+    }
+
+    /**
+     * Restores the cached result for key into metrics, a fresh collector of the mode the key was made for.
+     * @return false on a miss; metrics is then untouched.
+     */
+    public boolean get(CacheKey key, MetricsCollector metrics) {
+        String digest = key.getDigest();
+        Path file = dir.resolve(digest + SUFFIX);
+        byte[] payload;
+        try {
+            payload = readPayload(file, key.getText());
+            if (payload == null) {
+                // Damaged or a different key under the same name: drop it, the run will store a good one
+                remove(digest);
+                misses.incrementAndGet();
+                return false;
+            }
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            misses.incrementAndGet(); // Usually not cached (no file); unreadable counts the same
+            return false;
+        }
+        try {
+            metrics.readState(new DataInputStream(new ByteArrayInputStream(payload)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cache entry " + file + " passed its checksum but could not be read", e);
+        }
+        synchronized (this) {
+            sizes.get(digest); // Mark as recently used
+        }
+        hits.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Stores the finished run's metrics under key, evicting least recently used entries beyond the size
+     * bound. A result bigger than the whole bound is not kept.
+     */
+    public void put(CacheKey key, MetricsCollector metrics) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        metrics.writeState(new DataOutputStream(bytes));
+        byte[] payload = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        String digest = key.getDigest();
+        Path file = dir.resolve(digest + SUFFIX);
+        Path tmp = Files.createTempFile(dir, digest, ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tmp))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeUTF(key.getText());
+            out.writeInt(payload.length);
+            out.writeLong(crc.getValue());
+            out.write(payload);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (this) {
+            Long old = sizes.put(digest, Files.size(file));
+            totalBytes += sizes.get(digest) - (old != null ? old : 0);
+            evict();
+        }
+    }
+
+    public int getHits() { return hits.get(); }
+    public int getMisses() { return misses.get(); }
+    public int getEvictions() { return evictions.get(); }
+
+    public synchronized int getEntryCount() { return sizes.size(); }
+    public synchronized long getTotalBytes() { return totalBytes; }
+
+    // null if the file is not a complete entry for this key
+    private static byte[] readPayload(Path file, String keyText) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT || !in.readUTF().equals(keyText)) {
+                return null;
+            }
+            int length = in.readInt();
+            long checksum = in.readLong();
+            if (length < 0 || length != in.available()) return null;
+            byte[] payload = in.readNBytes(length);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return crc.getValue() == checksum ? payload : null;
+        } catch (EOFException | UTFDataFormatException e) {
+            return null;
+        }
+    }
+
+    private synchronized void remove(String digest) {
+        Long size = sizes.remove(digest);
+        if (size != null) totalBytes -= size;
+        try {
+            Files.deleteIfExists(dir.resolve(digest + SUFFIX));
+        } catch (IOException ignored) {
+            // Tried again on the next eviction pass or overwritten by the next put
+        }
+    }
+
+    // Caller holds the lock (or is the constructor)
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> it = sizes.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            try {
+                Files.deleteIfExists(dir.resolve(eldest.getKey() + SUFFIX));
+            } catch (IOException e) {
+                continue; // Keep counting it; the next pass tries again
+            }
+            totalBytes -= eldest.getValue();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static String digestOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - SUFFIX.length());
+    }
+}
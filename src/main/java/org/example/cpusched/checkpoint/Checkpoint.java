@@ -0,0 +1,52 @@
+package org.example.cpusched.checkpoint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Checkpoint file layout: MAGIC, VERSION, then whatever the engine writes (big-endian, see
+ * SimulationEngine.writeCheckpoint). Files are written next to the target and moved into place,
+ * so a crash while writing leaves the previous checkpoint intact.
+ */
+public final class Checkpoint {
+    public static final int MAGIC = 0x4B505543; // "CUPK"
+    public static final int VERSION = 1;
+
+    private Checkpoint() {
+    }
+
+    public interface Writer {
+        void write(CheckpointOutput out) throws IOException;
+    }
+
+    public interface Reader<T> {
+        T read(CheckpointInput in) throws IOException;
+    }
+
+    public static void save(Path file, Writer writer) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (CheckpointOutput out = new CheckpointOutput(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writer.write(out);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static <T> T load(Path file, Reader<T> reader) throws IOException {
+        try (CheckpointInput in = new CheckpointInput(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a checkpoint");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version + " (expected " + VERSION + ")");
+            }
+            return reader.read(in);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.cpusched.checkpoint;
+
+import org.example.cpusched.model.Process;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads what CheckpointOutput wrote; every reference to the same process resolves to one object again.
+ */
+public class CheckpointInput extends DataInputStream {
+    private final List<Process> read = new ArrayList<>();
+
+    public CheckpointInput(InputStream in) {
+        super(in);
+    }
+
+    public Process readProcess() throws IOException {
+        int index = readInt();
+        if (index < read.size()) {
+            return read.get(index);
+        }
+        if (index != read.size()) {
+            throw new IOException("Corrupt checkpoint: process #" + index + " before #" + read.size());
+        }
+        Process p = Process.readState(this);
+        read.add(p);
+        return p;
+    }
+}
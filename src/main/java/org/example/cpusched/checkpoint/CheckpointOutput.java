@@ -0,0 +1,32 @@
+package org.example.cpusched.checkpoint;
+
+import org.example.cpusched.model.Process;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * DataOutputStream that also writes Process references. A process can sit in several places at once
+ * (the CPU, a ready queue, an I/O device), so its state is written the first time it is seen and
+ * later references are just its index.
+ */
+public class CheckpointOutput extends DataOutputStream {
+    private final Map<Process, Integer> written = new IdentityHashMap<>();
+
+    public CheckpointOutput(OutputStream out) {
+        super(out);
+    }
+
+    public void writeProcess(Process p) throws IOException {
+        Integer index = written.get(p);
+        if (index != null) {
+            writeInt(index);
+            return;
+        }
+        writeInt(written.size()); // A new index means the state follows
+        written.put(p, written.size());
+        p.writeState(this);
+    }
+}
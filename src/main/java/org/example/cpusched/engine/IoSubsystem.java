@@ -0,0 +1,121 @@
+package org.example.cpusched.engine;
+
+import org.example.cpusched.checkpoint.CheckpointInput;
+import org.example.cpusched.checkpoint.CheckpointOutput;
+import org.example.cpusched.metrics.MetricsCollector;
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.queue.ProcessHeap;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * I/O devices shared by all processes. A process that finishes a CPU burst with more bursts to go
+ * blocks here: it is served by the first free device for the length of its I/O burst, or waits in FIFO
+ * order while every device is busy. Blocked processes wake up in order of I/O completion time
+ * (ties in submission order) and go back to the ready queue.
+ */
+public class IoSubsystem {
+    private final int deviceCount;
+    private final MetricsCollector metrics;
+    private final ArrayDeque<Process> waiting = new ArrayDeque<>();
+    // Processes being served, keyed by (completion time, submission sequence)
+    private final ProcessHeap inService = new ProcessHeap();
+    private int busyDevices = 0;
+    private int sequence = 0;
+
+    public IoSubsystem(int deviceCount, MetricsCollector metrics) {
+        if (deviceCount < 1) {
+            throw new IllegalArgumentException("I/O device count must be >= 1: " + deviceCount);
+        }
+        this.deviceCount = deviceCount;
+        this.metrics = metrics;
+        metrics.setIoDeviceCount(deviceCount);
+    }
+
+    public int getDeviceCount() {
+        return deviceCount;
+    }
+
+    /**
+     * Blocks the process for its next I/O burst, starting at time (or later if every device is busy).
+     */
+    public void submit(Process p, int time) {
+        p.setBlocked(true);
+        if (busyDevices < deviceCount) {
+            start(p, time);
+        } else {
+            waiting.add(p);
+        }
+    }
+
+    /**
+     * Time of the next wake-up, or Integer.MAX_VALUE if nothing is doing I/O.
+     */
+    public int nextWakeupTime() {
+        return inService.isEmpty() ? Integer.MAX_VALUE : (int) (inService.peekKey() >>> 32);
+    }
+
+    /**
+     * Removes the process with the earliest completed I/O, moves it on to its next CPU burst and hands its
+     * device to the next waiting process. Only call when nextWakeupTime() has been reached.
+     */
+    public Process pollWakeup() {
+        int time = nextWakeupTime();
+        Process p = inService.poll();
+        busyDevices--;
+        if (!waiting.isEmpty()) {
+            start(waiting.poll(), time);
+        }
+        p.setBlocked(false);
+        p.startNextCpuBurst();
+        return p;
+    }
+
+    /**
+     * Processes waiting for or doing I/O.
+     */
+    public int blockedCount() {
+        return inService.size() + waiting.size();
+    }
+
+    /**
+     * Devices in service (with their wake-up keys, in heap order, so the heap comes back identical),
+     * then the FIFO of waiting processes.
+     */
+    void writeState(CheckpointOutput out) throws IOException {
+        out.writeInt(busyDevices);
+        out.writeInt(sequence);
+        List<Process> serving = inService.toList();
+        out.writeInt(serving.size());
+        for (int i = 0; i < serving.size(); i++) {
+            out.writeProcess(serving.get(i));
+            out.writeLong(inService.keyAt(i));
+        }
+        out.writeInt(waiting.size());
+        for (Process p : waiting) {
+            out.writeProcess(p);
+        }
+    }
+
+    void readState(CheckpointInput in) throws IOException {
+        busyDevices = in.readInt();
+        sequence = in.readInt();
+        int serving = in.readInt();
+        for (int i = 0; i < serving; i++) {
+            Process p = in.readProcess();
+            inService.add(p, in.readLong());
+        }
+        int waitingCount = in.readInt();
+        for (int i = 0; i < waitingCount; i++) {
+            waiting.add(in.readProcess());
+        }
+    }
+
+    private void start(Process p, int time) {
+        busyDevices++;
+        int burst = p.getNextIoBurst();
+        metrics.addIoBusyTime(burst);
+        inService.add(p, ProcessHeap.key(time + burst, sequence++));
+    }
+}
@@ -0,0 +1,326 @@
+package org.example.cpusched.engine;
+
+import org.example.cpusched.metrics.MetricsCollector;
+import org.example.cpusched.model.CacheAffinityModel;
+import org.example.cpusched.model.Process;
+import org.example.cpusched.monitor.SimulationProbe;
+import org.example.cpusched.scheduler.Scheduler;
+import org.example.cpusched.timeline.TimelineFormat;
+import org.example.cpusched.timeline.TimelineRecorder;
+import org.example.cpusched.workload.ListWorkloadSource;
+import org.example.cpusched.workload.WorkloadSource;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Tick-driven engine for N cores. Every core has its own run queue (its own Scheduler instance) and
+ * runs the same state machine as SimulationEngine in TICK mode, so with one core the results are identical.
+ *
+ * New arrivals go to the least loaded core. Load balancing:
+ * - WORK_STEALING: a core with an empty run queue takes the next process from the longest other queue.
+ * - PERIODIC: every balanceInterval ticks, processes move from the longest to the shortest queue
+ *   until they differ by at most one.
+ * A process that runs on a different core than last time counts as a migration and pays
+ * migrationCost extra switch ticks.
+ *
+ * With a CacheAffinityModel set, resuming on a cold core also stalls the process (busy, but no
+ * progress) and migration costs scale with NUMA node distance.
+ *
+ * Processes with I/O bursts block on a shared IoSubsystem and, when they wake up, are placed
+ * on the least loaded core just like new arrivals.
+ */
+public class MultiCoreSimulationEngine {
+
+    public enum LoadBalancing { NONE, WORK_STEALING, PERIODIC }
+
+    private final Scheduler[] schedulers;
+    private final WorkloadSource workload;
+    private final MetricsCollector metrics;
+    private final int contextSwitchCost;
+    private final int migrationCost;
+    private final LoadBalancing balancing;
+    private final int balanceInterval;
+
+    // Per-core state, same meaning as the fields of SimulationEngine
+    private final Process[] currentProcess;
+    private final int[] quantumElapsed;
+    private final int[] switchCountdown;
+    private final boolean[] isSwitching;
+    private final int[] stallCountdown;
+    private final int[] dispatchSlice; // Per core, for the timeline: time slice the process was dispatched with
+    private CacheAffinityModel cacheModel = null;
+    private IoSubsystem io;
+    private SimulationProbe probe = null;
+    private TimelineRecorder timeline = null;
+
+    private int currentTime = 0;
+    private int admittedCount = 0;
+    private int completedCount = 0;
+    // Per-tick accounting, handed to metrics once at the end instead of a call per core and tick
+    private final long[] busyTicks;
+    private long idleTicks = 0;
+    private long stallTicks = 0;
+
+    public MultiCoreSimulationEngine(int coreCount, Supplier<Scheduler> schedulerFactory, List<Process> workload,
+                                     MetricsCollector metrics, int contextSwitchCost, int migrationCost,
+                                     LoadBalancing balancing, int balanceInterval) {
+        this(coreCount, schedulerFactory, new ListWorkloadSource(workload), metrics, contextSwitchCost,
+                migrationCost, balancing, balanceInterval);
+    }
+
+    /**
+     * @param schedulerFactory Called once per core; every call must return a new Scheduler.
+     * @param balanceInterval Ticks between rebalancing passes, only used with PERIODIC.
+     */
+    public MultiCoreSimulationEngine(int coreCount, Supplier<Scheduler> schedulerFactory, WorkloadSource workload,
+                                     MetricsCollector metrics, int contextSwitchCost, int migrationCost,
+                                     LoadBalancing balancing, int balanceInterval) {
+        this(coreCount, core -> schedulerFactory.get(), workload, metrics, contextSwitchCost, migrationCost,
+                balancing, balanceInterval);
+    }
+
+    /**
+     * Same as above for schedulers that need to know which core they serve (e.g. AffinityRoundRobin).
+     * @param schedulerFactory Called once per core with the core index.
+     */
+    public MultiCoreSimulationEngine(int coreCount, IntFunction<Scheduler> schedulerFactory, WorkloadSource workload,
+                                     MetricsCollector metrics, int contextSwitchCost, int migrationCost,
+                                     LoadBalancing balancing, int balanceInterval) {
+        if (coreCount < 1) {
+            throw new IllegalArgumentException("Core count must be >= 1: " + coreCount);
+        }
+        if (balancing == LoadBalancing.PERIODIC && balanceInterval < 1) {
+            throw new IllegalArgumentException("Balance interval must be >= 1: " + balanceInterval);
+        }
+        this.schedulers = new Scheduler[coreCount];
+        for (int c = 0; c < coreCount; c++) {
+            schedulers[c] = schedulerFactory.apply(c);
+        }
+        this.workload = workload;
+        this.metrics = metrics;
+        this.contextSwitchCost = contextSwitchCost;
+        this.migrationCost = migrationCost;
+        this.balancing = balancing;
+        this.balanceInterval = balanceInterval;
+
+        this.currentProcess = new Process[coreCount];
+        this.quantumElapsed = new int[coreCount];
+        this.switchCountdown = new int[coreCount];
+        this.isSwitching = new boolean[coreCount];
+        this.stallCountdown = new int[coreCount];
+        this.dispatchSlice = new int[coreCount];
+        this.busyTicks = new long[coreCount];
+        metrics.setCoreCount(coreCount);
+        this.io = new IoSubsystem(1, metrics);
+    }
+
+    /**
+     * Enables cold-resume stalls and NUMA-scaled migration costs. Call before run().
+     */
+    public void setCacheModel(CacheAffinityModel cacheModel) {
+        this.cacheModel = cacheModel;
+    }
+
+    /**
+     * Number of I/O devices serving processes with I/O bursts (default 1). Call before run().
+     */
+    public void setIoDeviceCount(int devices) {
+        this.io = new IoSubsystem(devices, metrics);
+    }
+
+    /**
+     * Reports scheduling decisions and progress to JFR and JMX. Call before run().
+     */
+    public void setProbe(SimulationProbe probe) {
+        this.probe = probe;
+    }
+
+    /**
+     * Records every slice of CPU time, one track per core. The caller closes the recorder after the run.
+     */
+    public void setTimeline(TimelineRecorder timeline) {
+        this.timeline = timeline;
+    }
+
+    public void run() {
+        if (probe != null) probe.start(schedulers);
+        while (workload.hasNext() || completedCount < admittedCount) {
+            if (probe != null) probe.onProgress(currentTime, admittedCount, completedCount);
+            // 1. Arrivals and I/O wake-ups go to the least loaded core, in time order (arrivals first on ties)
+            while (true) {
+                int arrival = workload.hasNext() ? workload.peek().getArrivalTime() : Integer.MAX_VALUE;
+                int wakeup = io.nextWakeupTime();
+                if (Math.min(arrival, wakeup) > currentTime) break;
+                if (arrival <= wakeup) {
+                    Process p = workload.next();
+                    schedulers[leastLoadedCore()].onProcessArrival(p, arrival);
+                    admittedCount++;
+                } else {
+                    Process p = io.pollWakeup();
+                    schedulers[leastLoadedCore()].onProcessArrival(p, wakeup);
+                }
+            }
+
+            if (balancing == LoadBalancing.PERIODIC && currentTime > 0 && currentTime % balanceInterval == 0) {
+                rebalance();
+            }
+
+            // 2. One tick on every core
+            for (int c = 0; c < schedulers.length; c++) {
+                tick(c);
+            }
+
+            currentTime++;
+        }
+        metrics.addIdleTime(idleTicks);
+        metrics.addCacheStallTime(stallTicks);
+        for (int c = 0; c < busyTicks.length; c++) {
+            metrics.addCoreBusyTime(c, busyTicks[c]);
+        }
+        metrics.setTotalSimulationTime(currentTime);
+        if (probe != null) probe.finish(currentTime, admittedCount, completedCount);
+    }
+
+    public int getCoreCount() {
+        return schedulers.length;
+    }
+
+    private void tick(int core) {
+        Scheduler scheduler = schedulers[core];
+
+        // Schedule if this core is free
+        if (currentProcess[core] == null && !isSwitching[core]) {
+            Process next = scheduler.pickNextProcess(currentTime);
+            if (next == null && balancing == LoadBalancing.WORK_STEALING) {
+                next = steal(core);
+            }
+            if (next == null) {
+                idleTicks++;
+                return;
+            }
+            currentProcess[core] = next;
+            metrics.incrementContextSwitches();
+            int cost = contextSwitchCost;
+            if (next.getLastCore() != -1 && next.getLastCore() != core) {
+                metrics.incrementMigrations();
+                cost += cacheModel != null
+                        ? cacheModel.migrationTicks(migrationCost, next.getLastCore(), core) : migrationCost;
+            }
+            if (cacheModel != null) {
+                stallCountdown[core] = cacheModel.stallTicks(next, core, currentTime);
+            }
+            if (probe != null) probe.onDispatch(next, currentTime, core, cost);
+            if (timeline != null) {
+                dispatchSlice[core] = scheduler.getTimeSlice(next);
+                timeline.onDispatch(core, next.getPid(), currentTime, Math.max(0, cost - 1));
+            }
+            if (cost > 0) {
+                isSwitching[core] = true;
+                switchCountdown[core] = cost;
+            }
+        }
+
+        // Context switch in progress. As in SimulationEngine, the selection tick itself counts as the
+        // first unit of the cost, so a cost of c keeps the core busy for c - 1 ticks.
+        if (isSwitching[core]) {
+            switchCountdown[core]--;
+            if (switchCountdown[core] > 0) {
+                idleTicks++;
+                return;
+            }
+            isSwitching[core] = false;
+        }
+
+        Process p = currentProcess[core];
+        if (p.getStartTime() == -1) {
+            p.setStartTime(currentTime);
+        }
+
+        // Refilling a cold cache: the core is busy but the burst does not advance
+        if (stallCountdown[core] > 0) {
+            stallCountdown[core]--;
+            busyTicks[core]++;
+            stallTicks++;
+            return;
+        }
+
+        // Execute one tick
+        p.setLastCore(core);
+        p.setLastRunTime(currentTime);
+        p.decreaseRemainingTime(1);
+        quantumElapsed[core]++;
+        busyTicks[core]++;
+
+        if (p.isFinished()) {
+            if (timeline != null) {
+                timeline.onStop(core, currentTime + 1,
+                        p.hasMoreBursts() ? TimelineFormat.Reason.IO : TimelineFormat.Reason.COMPLETE);
+            }
+            scheduler.onBurstComplete(p, currentTime + 1);
+            if (p.hasMoreBursts()) {
+                io.submit(p, currentTime + 1);
+            } else {
+                p.setCompletionTime(currentTime + 1);
+                metrics.addCompletedProcess(p);
+                if (probe != null) probe.onCompletion(p);
+                completedCount++;
+            }
+            currentProcess[core] = null;
+            quantumElapsed[core] = 0;
+        } else if (scheduler.shouldPreempt(p, currentTime, quantumElapsed[core])) {
+            if (timeline != null) {
+                // Before the re-queue, with the smaller slice as in SimulationEngine.preemptReason
+                int slice = Math.min(dispatchSlice[core], scheduler.getTimeSlice(p));
+                timeline.onStop(core, currentTime + 1, quantumElapsed[core] >= slice
+                        ? TimelineFormat.Reason.QUANTUM : TimelineFormat.Reason.PREEMPT);
+            }
+            scheduler.onProcessArrival(p, currentTime); // Re-queue on the same core
+            if (probe != null) probe.onPreempt(p, currentTime, core, quantumElapsed[core]);
+            currentProcess[core] = null;
+            quantumElapsed[core] = 0;
+        }
+    }
+
+    // Queue length plus the process on the CPU (or switching in); lowest index wins ties
+    private int leastLoadedCore() {
+        int best = 0;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int c = 0; c < schedulers.length; c++) {
+            int load = schedulers[c].size() + (currentProcess[c] != null ? 1 : 0);
+            if (load < bestLoad) {
+                best = c;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    // Takes the process the longest other queue would run next, or null if every queue is empty
+    private Process steal(int thief) {
+        int victim = -1;
+        int victimSize = 0;
+        for (int c = 0; c < schedulers.length; c++) {
+            if (c != thief && schedulers[c].size() > victimSize) {
+                victim = c;
+                victimSize = schedulers[c].size();
+            }
+        }
+        return victim == -1 ? null : schedulers[victim].pickNextProcess(currentTime);
+    }
+
+    private void rebalance() {
+        while (true) {
+            int longest = 0, shortest = 0;
+            for (int c = 1; c < schedulers.length; c++) {
+                if (schedulers[c].size() > schedulers[longest].size()) longest = c;
+                if (schedulers[c].size() < schedulers[shortest].size()) shortest = c;
+            }
+            if (schedulers[longest].size() - schedulers[shortest].size() <= 1) {
+                return;
+            }
+            Process p = schedulers[longest].pickNextProcess(currentTime);
+            schedulers[shortest].onProcessArrival(p, currentTime);
+        }
+    }
+}
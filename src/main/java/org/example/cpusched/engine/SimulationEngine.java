@@ -1,44 +1,172 @@
 package org.example.cpusched.engine;
 
+import org.example.cpusched.checkpoint.Checkpoint;
+import org.example.cpusched.checkpoint.CheckpointInput;
+import org.example.cpusched.checkpoint.CheckpointOutput;
 import org.example.cpusched.metrics.MetricsCollector;
 import org.example.cpusched.model.Process;
+import org.example.cpusched.monitor.SimulationProbe;
 import org.example.cpusched.scheduler.Scheduler;
-import java.util.Comparator;
-import java.util.List;
+import org.example.cpusched.timeline.TimelineFormat;
+import org.example.cpusched.timeline.TimelineRecorder;
+import org.example.cpusched.workload.ListWorkloadSource;
+import org.example.cpusched.workload.WorkloadSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 
 public class SimulationEngine {
+
+    /**
+     * TICK advances time one unit per loop iteration.
+     * EVENT jumps straight to the next arrival, I/O wake-up, completion, preemption point or switch-done event.
+     * Both modes produce identical results.
+     */
+    public enum Mode { TICK, EVENT }
+
     private final Scheduler scheduler;
-    private final List<Process> workload;
+    private final WorkloadSource workload;
     private final MetricsCollector metrics;
     private final int contextSwitchCost;
-    
+    private final Mode mode;
+
     private int currentTime = 0;
     private Process currentProcess = null;
     private int quantumElapsed = 0;
     private int switchCountdown = 0;
     private boolean isSwitching = false;
+    private int admittedCount = 0;
+    private int completedCount = 0;
+    private int lastArrivalTime = Integer.MIN_VALUE;
+    private IoSubsystem io;
+    private SimulationProbe probe = null; // null = no instrumentation, the hooks below are skipped
+    private TimelineRecorder timeline = null; // null = no timeline
+    private int dispatchSlice = 0; // Time slice the running process was dispatched with, for the timeline
+    private boolean started = false;
+    private long pauseTime = Long.MAX_VALUE;
+    // Periodic checkpoints
+    private Path checkpointFile = null;
+    private int checkpointInterval = 0;
+    private long nextCheckpoint = Long.MAX_VALUE;
+    private String restoredScheduler = null;
 
     public SimulationEngine(Scheduler scheduler, List<Process> workload, MetricsCollector metrics, int contextSwitchCost) {
+        this(scheduler, workload, metrics, contextSwitchCost, Mode.TICK);
+    }
+
+    public SimulationEngine(Scheduler scheduler, List<Process> workload, MetricsCollector metrics, int contextSwitchCost, Mode mode) {
+        this(scheduler, new ListWorkloadSource(workload), metrics, contextSwitchCost, mode); // Sorts only if unsorted
+    }
+
+    /**
+     * Pulls processes from the source as they arrive, so only arrived-but-unfinished processes are held.
+     * The source must yield processes in arrival order.
+     */
+    public SimulationEngine(Scheduler scheduler, WorkloadSource workload, MetricsCollector metrics, int contextSwitchCost, Mode mode) {
         this.scheduler = scheduler;
-        this.workload = new ArrayList<>(workload); // Copy to avoid modifying original if needed
-        this.workload.sort(Comparator.comparingInt(Process::getArrivalTime)); // Ensure sorted by arrival
+        this.workload = workload;
         this.metrics = metrics;
         this.contextSwitchCost = contextSwitchCost;
+        this.mode = mode;
+        this.io = new IoSubsystem(1, metrics);
+    }
+
+    /**
+     * Number of I/O devices serving processes with I/O bursts (default 1). Call before run().
+     */
+    public void setIoDeviceCount(int devices) {
+        this.io = new IoSubsystem(devices, metrics);
+    }
+
+    /**
+     * Reports scheduling decisions and progress to JFR and JMX. Call before run().
+     */
+    public void setProbe(SimulationProbe probe) {
+        this.probe = probe;
+    }
+
+    /**
+     * Records every slice of CPU time (single-core timeline). The caller closes the recorder after the run.
+     */
+    public void setTimeline(TimelineRecorder timeline) {
+        this.timeline = timeline;
+    }
+
+    /**
+     * Writes a checkpoint to file every interval simulated ticks, overwriting the previous one, so a crashed
+     * run can continue from the last one with restore(). Call before run().
+     */
+    public void setCheckpointing(Path file, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be >= 1: " + interval);
+        }
+        this.checkpointFile = file;
+        this.checkpointInterval = interval;
+        this.nextCheckpoint = (currentTime / interval + 1) * (long) interval;
     }
 
     public void run() {
-        int completedCount = 0;
-        int totalProcesses = workload.size();
-        int workloadIndex = 0;
-
-        while (completedCount < totalProcesses) {
-            // 1. Check Arrivals
-            while (workloadIndex < totalProcesses && workload.get(workloadIndex).getArrivalTime() <= currentTime) {
-                Process p = workload.get(workloadIndex);
-                scheduler.onProcessArrival(p);
-                workloadIndex++;
+        runUntil(Long.MAX_VALUE);
+    }
+
+    /**
+     * Runs until the first step at or after the given tick (exactly that tick in TICK mode; EVENT mode may
+     * jump past it) and returns false, or returns true if the simulation finished first. In between,
+     * writeCheckpoint() can save the state, and run() or runUntil() continue.
+     */
+    public boolean runUntil(long time) {
+        if (!started) {
+            started = true;
+            if (probe != null) probe.start(new Scheduler[] {scheduler});
+            if (timeline != null && currentProcess != null) {
+                recordDispatch(currentProcess, 0); // Restored mid-slice
             }
+        }
+        pauseTime = time;
+        if (mode == Mode.EVENT) {
+            runEventDriven();
+        } else {
+            runTickDriven();
+        }
+        if (workload.hasNext() || completedCount < admittedCount) {
+            return false;
+        }
+        metrics.setTotalSimulationTime(currentTime);
+        if (probe != null) probe.finish(currentTime, admittedCount, completedCount);
+        return true;
+    }
+
+    public int getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Name of the scheduler a restored checkpoint was taken with, or null if this run was not restored.
+     * Differs from the current scheduler's name when the run was forked.
+     */
+    public String getRestoredScheduler() {
+        return restoredScheduler;
+    }
+
+    private void runTickDriven() {
+        int idleTicks = 0; // Handed to metrics once at the end instead of a call per idle tick
+
+        while (workload.hasNext() || completedCount < admittedCount) {
+            if (probe != null) probe.onProgress(currentTime, admittedCount, completedCount);
+            if (currentTime >= nextCheckpoint || currentTime >= pauseTime) {
+                metrics.addIdleTime(idleTicks); // The checkpoint includes the idle time so far
+                idleTicks = 0;
+                if (currentTime >= pauseTime) break;
+                checkpoint();
+            }
+            // 1. Check Arrivals (and processes whose I/O has completed)
+            admitDue();
 
             // 2. Handle Context Switching
             if (isSwitching) {
@@ -54,7 +182,7 @@ public class SimulationEngine {
                     // If switching, decrement. If 0, become RUNNING (if we have a process).
                 } else {
                     currentTime++;
-                    metrics.addIdleTime(1); // Arguably switching is overhead, not useful work. Count as idle/overhead? 
+                    idleTicks++; // Arguably switching is overhead, not useful work. Count as idle/overhead? 
                     // Usually "CPU Utilization" excludes switch time. So yes.
                     continue; 
                 }
@@ -70,6 +198,8 @@ public class SimulationEngine {
                         switchCountdown = contextSwitchCost;
                         currentProcess = next; // We claim it, but don't run it yet.
                         metrics.incrementContextSwitches();
+                        if (probe != null) probe.onDispatch(next, currentTime, 0, contextSwitchCost);
+                        if (timeline != null) recordDispatch(next, contextSwitchCost - 1);
                         
                         // We need to consume this tick for switching? 
                         // If cost=1, we switch now, next tick we run?
@@ -79,11 +209,13 @@ public class SimulationEngine {
                         // Instant switch
                         currentProcess = next;
                         metrics.incrementContextSwitches();
+                        if (probe != null) probe.onDispatch(next, currentTime, 0, contextSwitchCost);
+                        if (timeline != null) recordDispatch(next, 0);
                     }
                 } else {
                     // No process ready. IDLE.
                     currentTime++;
-                    metrics.addIdleTime(1);
+                    idleTicks++;
                     continue;
                 }
             }
@@ -102,9 +234,16 @@ public class SimulationEngine {
             
             // 5. Check Completion
             if (currentProcess.isFinished()) {
-                currentProcess.setCompletionTime(currentTime + 1); // Finished at END of this tick
-                metrics.addCompletedProcess(currentProcess);
-                completedCount++;
+                if (timeline != null) timeline.onStop(0, currentTime + 1, stopReason(currentProcess));
+                scheduler.onBurstComplete(currentProcess, currentTime + 1);
+                if (currentProcess.hasMoreBursts()) {
+                    io.submit(currentProcess, currentTime + 1); // CPU burst done, blocks from the END of this tick
+                } else {
+                    currentProcess.setCompletionTime(currentTime + 1); // Finished at END of this tick
+                    metrics.addCompletedProcess(currentProcess);
+                    if (probe != null) probe.onCompletion(currentProcess);
+                    completedCount++;
+                }
                 currentProcess = null;
                 quantumElapsed = 0;
                 
@@ -114,7 +253,9 @@ public class SimulationEngine {
                 // 6. Check Preemption
                 if (scheduler.shouldPreempt(currentProcess, currentTime, quantumElapsed)) {
                     // Preempt!
-                    scheduler.onProcessArrival(currentProcess); // Re-queue
+                    if (timeline != null) timeline.onStop(0, currentTime + 1, preemptReason(currentProcess));
+                    scheduler.onProcessArrival(currentProcess, currentTime); // Re-queue
+                    if (probe != null) probe.onPreempt(currentProcess, currentTime, 0, quantumElapsed);
                     currentProcess = null;
                     quantumElapsed = 0;
                     // Next tick loop will pick new process and incur switch cost.
@@ -123,7 +264,238 @@ public class SimulationEngine {
 
             currentTime++;
         }
-        
-        metrics.setTotalSimulationTime(currentTime);
+        metrics.addIdleTime(idleTicks);
+    }
+
+    // Same state machine as runTickDriven(), but each iteration covers a whole segment of time
+    // in which nothing observable can happen. The ready queue only changes on arrivals and wake-ups, so between
+    // two of them the scheduler can tell us up front how long the current process may keep the CPU.
+    private void runEventDriven() {
+        while (workload.hasNext() || completedCount < admittedCount) {
+            if (probe != null) probe.onProgress(currentTime, admittedCount, completedCount);
+            if (currentTime >= pauseTime) break;
+            if (currentTime >= nextCheckpoint) checkpoint();
+            // 1. Admit everything that has arrived or woken up by now
+            admitDue();
+            int nextArrival = workload.hasNext() ? workload.peek().getArrivalTime() : Integer.MAX_VALUE;
+            int nextEvent = Math.min(nextArrival, io.nextWakeupTime());
+
+            // 2. Schedule if CPU is free
+            if (currentProcess == null) {
+                Process next = scheduler.pickNextProcess(currentTime);
+                if (next == null) {
+                    if (nextEvent == Integer.MAX_VALUE) {
+                        throw new IllegalStateException(scheduler.getName() + " has no ready process but "
+                                + (admittedCount - completedCount) + " processes are unfinished");
+                    }
+                    // Idle until the next arrival or wake-up
+                    metrics.addIdleTime(nextEvent - currentTime);
+                    currentTime = nextEvent;
+                    continue;
+                }
+                currentProcess = next;
+                metrics.incrementContextSwitches();
+                if (probe != null) probe.onDispatch(next, currentTime, 0, contextSwitchCost);
+                if (timeline != null) recordDispatch(next, Math.max(0, contextSwitchCost - 1));
+                if (contextSwitchCost > 1) {
+                    // Switch-done event. The tick engine applies the first unit of the cost on the
+                    // selection tick itself, so a cost of c keeps the CPU busy for c - 1 ticks.
+                    metrics.addIdleTime(contextSwitchCost - 1);
+                    currentTime += contextSwitchCost - 1;
+                    continue; // Admit arrivals that came in during the switch
+                }
+            }
+
+            // 3. Execute until the next event: completion, preemption point, next arrival or wake-up
+            int runFor = Math.min(currentProcess.getRemainingTime(), nextEvent - currentTime);
+            runFor = Math.min(runFor, scheduler.ticksUntilPreemption(currentProcess, currentTime, quantumElapsed));
+            runFor = Math.max(runFor, 1);
+
+            if (currentProcess.getStartTime() == -1) {
+                currentProcess.setStartTime(currentTime);
+            }
+            currentProcess.decreaseRemainingTime(runFor);
+            quantumElapsed += runFor;
+            int lastTick = currentTime + runFor - 1;
+
+            // 4. Completion / preemption, evaluated at the last executed tick just like the tick engine
+            if (currentProcess.isFinished()) {
+                if (timeline != null) timeline.onStop(0, lastTick + 1, stopReason(currentProcess));
+                scheduler.onBurstComplete(currentProcess, lastTick + 1);
+                if (currentProcess.hasMoreBursts()) {
+                    io.submit(currentProcess, lastTick + 1);
+                } else {
+                    currentProcess.setCompletionTime(lastTick + 1);
+                    metrics.addCompletedProcess(currentProcess);
+                    if (probe != null) probe.onCompletion(currentProcess);
+                    completedCount++;
+                }
+                currentProcess = null;
+                quantumElapsed = 0;
+            } else if (scheduler.shouldPreempt(currentProcess, lastTick, quantumElapsed)) {
+                if (timeline != null) timeline.onStop(0, lastTick + 1, preemptReason(currentProcess));
+                scheduler.onProcessArrival(currentProcess, lastTick); // Re-queue
+                if (probe != null) probe.onPreempt(currentProcess, lastTick, 0, quantumElapsed);
+                currentProcess = null;
+                quantumElapsed = 0;
+            }
+
+            currentTime = lastTick + 1;
+        }
+    }
+
+    private static TimelineFormat.Reason stopReason(Process p) {
+        return p.hasMoreBursts() ? TimelineFormat.Reason.IO : TimelineFormat.Reason.COMPLETE;
+    }
+
+    private void recordDispatch(Process p, int switchTicks) {
+        dispatchSlice = scheduler.getTimeSlice(p);
+        timeline.onDispatch(0, p.getPid(), currentTime, switchTicks);
+    }
+
+    // Called before the re-queue. MLFQ has already demoted the process, which only lengthens its slice, and a
+    // CFS slice only shrinks while the process runs, so the smaller of the two is the slice it just used up.
+    // Asking once per slice rather than every tick keeps the timeline off the per-tick path.
+    private TimelineFormat.Reason preemptReason(Process p) {
+        int slice = Math.min(dispatchSlice, scheduler.getTimeSlice(p));
+        return quantumElapsed >= slice ? TimelineFormat.Reason.QUANTUM : TimelineFormat.Reason.PREEMPT;
+    }
+
+    private void checkpoint() {
+        try {
+            writeCheckpoint(checkpointFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing checkpoint " + checkpointFile, e);
+        }
+        nextCheckpoint = (currentTime / checkpointInterval + 1) * (long) checkpointInterval;
+    }
+
+    /**
+     * Saves the engine, the ready queue, blocked processes and the metrics accumulators. Valid before run(),
+     * after runUntil() returned, and from the periodic checkpoints. The workload source is not saved: restore()
+     * takes a fresh one and skips what was already admitted.
+     */
+    public void writeCheckpoint(Path file) throws IOException {
+        Checkpoint.save(file, out -> {
+            out.writeUTF(mode.name());
+            out.writeUTF(scheduler.getName());
+            out.writeInt(contextSwitchCost);
+            out.writeInt(io.getDeviceCount());
+            out.writeInt(currentTime);
+            out.writeInt(quantumElapsed);
+            out.writeInt(switchCountdown);
+            out.writeBoolean(isSwitching);
+            out.writeInt(admittedCount);
+            out.writeInt(completedCount);
+            out.writeInt(lastArrivalTime);
+            out.writeBoolean(currentProcess != null);
+            if (currentProcess != null) {
+                out.writeProcess(currentProcess);
+            }
+            io.writeState(out);
+            metrics.writeState(out);
+            // The queued processes on their own, so a different scheduler can take them over (a fork)...
+            List<Process> queued = scheduler.getReadyQueueSnapshot();
+            out.writeInt(queued.size());
+            for (Process p : queued) {
+                out.writeProcess(p);
+            }
+            // ...and the scheduler's own state, which only the same scheduler reads back
+            ByteArrayOutputStream state = new ByteArrayOutputStream();
+            scheduler.writeState(new DataOutputStream(state));
+            out.writeInt(state.size());
+            state.writeTo(out);
+        });
+    }
+
+    /**
+     * Continues a run from a checkpoint. mode, switch cost and I/O devices come from the checkpoint; workload
+     * must be a fresh copy of the original source (it is fast-forwarded past the admitted processes) and
+     * metrics a fresh collector of the same mode.
+     *
+     * With a scheduler of the same name the run continues exactly as it would have without the checkpoint.
+     * With a different one it forks: the waiting processes are handed to the new scheduler as arrivals at the
+     * checkpoint time, so several algorithms can be compared from one warmed-up state.
+     */
+    public static SimulationEngine restore(Path file, Scheduler scheduler, WorkloadSource workload,
+                                           MetricsCollector metrics) throws IOException {
+        return Checkpoint.load(file, in -> {
+            Mode mode = Mode.valueOf(in.readUTF());
+            String savedScheduler = in.readUTF();
+            int contextSwitchCost = in.readInt();
+            SimulationEngine engine = new SimulationEngine(scheduler, workload, metrics, contextSwitchCost, mode);
+            engine.setIoDeviceCount(in.readInt());
+            engine.readState(in, savedScheduler);
+            return engine;
+        });
+    }
+
+    private void readState(CheckpointInput in, String savedScheduler) throws IOException {
+        restoredScheduler = savedScheduler;
+        currentTime = in.readInt();
+        quantumElapsed = in.readInt();
+        switchCountdown = in.readInt();
+        isSwitching = in.readBoolean();
+        admittedCount = in.readInt();
+        completedCount = in.readInt();
+        lastArrivalTime = in.readInt();
+        currentProcess = in.readBoolean() ? in.readProcess() : null;
+        io.readState(in);
+        metrics.readState(in);
+        int queuedCount = in.readInt();
+        List<Process> queued = new ArrayList<>(queuedCount);
+        for (int i = 0; i < queuedCount; i++) {
+            queued.add(in.readProcess());
+        }
+        byte[] state = new byte[in.readInt()];
+        in.readFully(state);
+        if (scheduler.getName().equals(savedScheduler)) {
+            scheduler.restoreState(queued, new DataInputStream(new ByteArrayInputStream(state)));
+        } else {
+            for (Process p : queued) {
+                scheduler.onProcessArrival(p, currentTime);
+            }
+        }
+
+        // Fast-forward the source past everything that was admitted before the checkpoint
+        Process last = null;
+        for (int i = 0; i < admittedCount; i++) {
+            if (!workload.hasNext()) {
+                throw new IllegalStateException("Workload ends after " + i + " processes, but the checkpoint had admitted "
+                        + admittedCount);
+            }
+            last = workload.next();
+        }
+        if (last != null && last.getArrivalTime() != lastArrivalTime) {
+            throw new IllegalStateException("Workload does not match the checkpoint: process " + admittedCount
+                    + " arrives at " + last.getArrivalTime() + ", expected " + lastArrivalTime);
+        }
+    }
+
+    // Arrivals and I/O wake-ups up to now, merged in time order (arrivals first on ties), so both modes hand
+    // them to the scheduler in the same order no matter how far a step jumped
+    private void admitDue() {
+        while (true) {
+            int arrival = workload.hasNext() ? workload.peek().getArrivalTime() : Integer.MAX_VALUE;
+            int wakeup = io.nextWakeupTime();
+            if (Math.min(arrival, wakeup) > currentTime) {
+                return;
+            }
+            if (arrival <= wakeup) {
+                admit(workload.next());
+            } else {
+                scheduler.onProcessArrival(io.pollWakeup(), wakeup);
+            }
+        }
+    }
+
+    private void admit(Process p) {
+        if (p.getArrivalTime() < lastArrivalTime) {
+            throw new IllegalStateException("Workload source is not in arrival order: P" + p.getPid()
+                    + " arrives at " + p.getArrivalTime() + " after an arrival at " + lastArrivalTime);
+        }
+        lastArrivalTime = p.getArrivalTime();
+        scheduler.onProcessArrival(p, p.getArrivalTime());
+        admittedCount++;
     }
 }
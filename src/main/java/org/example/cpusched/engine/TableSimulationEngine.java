@@ -0,0 +1,101 @@
+package org.example.cpusched.engine;
+
+import org.example.cpusched.metrics.MetricsCollector;
+import org.example.cpusched.model.ProcessTable;
+import org.example.cpusched.scheduler.table.TableScheduler;
+
+/**
+ * Event-driven engine over a columnar ProcessTable, for million-process workloads.
+ * Produces the same results as SimulationEngine in EVENT mode, but every process is an int handle:
+ * no Process objects are created and the loop itself does not allocate.
+ */
+public class TableSimulationEngine {
+    private final TableScheduler scheduler;
+    private final ProcessTable table;
+    private final MetricsCollector metrics;
+    private final int contextSwitchCost;
+
+    private int currentTime = 0;
+    private int currentProcess = TableScheduler.NO_PROCESS;
+    private int quantumElapsed = 0;
+
+    /**
+     * The scheduler must have been created for the same table. An unsorted table is sorted by arrival
+     * in place, which invalidates handles held elsewhere.
+     */
+    public TableSimulationEngine(TableScheduler scheduler, ProcessTable table, MetricsCollector metrics, int contextSwitchCost) {
+        this.scheduler = scheduler;
+        this.table = table;
+        if (!table.isSortedByArrival()) {
+            table.sortByArrival();
+        }
+        this.metrics = metrics;
+        this.contextSwitchCost = contextSwitchCost;
+    }
+
+    public void run() {
+        int completedCount = 0;
+        int totalProcesses = table.size();
+        int nextHandle = 0; // Rows are in arrival order, so the next arrival is simply the next row
+
+        while (completedCount < totalProcesses) {
+            // 1. Admit everything that has arrived by now
+            while (nextHandle < totalProcesses && table.getArrivalTime(nextHandle) <= currentTime) {
+                scheduler.onProcessArrival(nextHandle, table.getArrivalTime(nextHandle));
+                nextHandle++;
+            }
+            int nextArrival = nextHandle < totalProcesses ? table.getArrivalTime(nextHandle) : Integer.MAX_VALUE;
+
+            // 2. Schedule if CPU is free
+            if (currentProcess == TableScheduler.NO_PROCESS) {
+                int next = scheduler.pickNextProcess(currentTime);
+                if (next == TableScheduler.NO_PROCESS) {
+                    if (nextArrival == Integer.MAX_VALUE) {
+                        throw new IllegalStateException(scheduler.getName() + " has no ready process but "
+                                + (totalProcesses - completedCount) + " processes are unfinished");
+                    }
+                    metrics.addIdleTime(nextArrival - currentTime);
+                    currentTime = nextArrival;
+                    continue;
+                }
+                currentProcess = next;
+                metrics.incrementContextSwitches();
+                if (contextSwitchCost > 1) {
+                    // Same accounting as SimulationEngine: a cost of c keeps the CPU busy for c - 1 ticks
+                    metrics.addIdleTime(contextSwitchCost - 1);
+                    currentTime += contextSwitchCost - 1;
+                    continue;
+                }
+            }
+
+            // 3. Execute until the next event: completion, preemption point or next arrival
+            int runFor = Math.min(table.getRemainingTime(currentProcess), nextArrival - currentTime);
+            runFor = Math.min(runFor, scheduler.ticksUntilPreemption(currentProcess, currentTime, quantumElapsed));
+            runFor = Math.max(runFor, 1);
+
+            if (table.getStartTime(currentProcess) == -1) {
+                table.setStartTime(currentProcess, currentTime);
+            }
+            table.decreaseRemainingTime(currentProcess, runFor);
+            quantumElapsed += runFor;
+            int lastTick = currentTime + runFor - 1;
+
+            // 4. Completion / preemption at the last executed tick
+            if (table.isFinished(currentProcess)) {
+                table.setCompletionTime(currentProcess, lastTick + 1);
+                metrics.addCompletedProcess(table, currentProcess);
+                completedCount++;
+                currentProcess = TableScheduler.NO_PROCESS;
+                quantumElapsed = 0;
+            } else if (scheduler.shouldPreempt(currentProcess, lastTick, quantumElapsed)) {
+                scheduler.onProcessArrival(currentProcess, lastTick); // Re-queue
+                currentProcess = TableScheduler.NO_PROCESS;
+                quantumElapsed = 0;
+            }
+
+            currentTime = lastTick + 1;
+        }
+
+        metrics.setTotalSimulationTime(currentTime);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.cpusched.live;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How live mode shares ready processes between producer and dispatcher threads.
+ */
+public enum LiveQueue {
+    /** One scheduler behind one lock, fed by one MPSC inbox: a global run queue. */
+    LOCKED("locked"),
+    /** One scheduler per dispatcher, each behind its own lock and MPSC inbox; idle dispatchers steal. */
+    STRIPED("striped"),
+    /** One scheduler per dispatcher that only its owner touches: per-CPU run queues without balancing. */
+    PARTITIONED("partitioned"),
+    /** A shared lock-free FIFO instead of a scheduler; FIFO orders only (FCFS, RR). */
+    LOCKFREE("lockfree");
+
+    private final String label;
+
+    LiveQueue(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Whether this queue can run the algorithm: the lock-free queue has no ordering of its own.
+     */
+    public boolean supports(String algorithm) {
+        return this != LOCKFREE || algorithm.equalsIgnoreCase("FCFS") || algorithm.equalsIgnoreCase("RR");
+    }
+
+    /**
+     * Comma-separated labels, or "all".
+     */
+    public static List<LiveQueue> parseList(String value) {
+        if (value.equalsIgnoreCase("all")) {
+            return List.of(values());
+        }
+        List<LiveQueue> queues = new ArrayList<>();
+        for (String part : value.split(",")) {
+            queues.add(parse(part.trim()));
+        }
+        return queues;
+    }
+
+    public static LiveQueue parse(String value) {
+        for (LiveQueue q : values()) {
+            if (q.label.equalsIgnoreCase(value)) return q;
+        }
+        throw new IllegalArgumentException("Unknown live queue: " + value + " (locked, striped, partitioned, lockfree)");
+    }
+}
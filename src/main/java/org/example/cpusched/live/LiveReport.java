@@ -0,0 +1,56 @@
+package org.example.cpusched.live;
+
+import org.example.cpusched.metrics.LatencyHistogram;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Renders live runs side by side: throughput and enqueue-to-dispatch latency percentiles (console, in
+ * microseconds) or one CSV row per run (nanoseconds).
+ */
+public final class LiveReport {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private LiveReport() {}
+
+    public static void printTable(List<LiveResult> results) {
+        if (results.isEmpty()) return;
+        LiveResult first = results.get(0);
+        System.out.println("Live runs: " + first.getProcessCount() + " processes, " + first.getProducers()
+                + " producers, " + first.getDispatchers() + " dispatchers");
+        System.out.println();
+        String header = String.format("%-9s %-11s %12s %12s %9s %9s %9s %9s %10s %9s %9s", "Algorithm", "Queue",
+                "Submit/s", "Dispatch/s", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us", "Stalls", "Steals");
+        System.out.println(header);
+        System.out.println("-".repeat(header.length()));
+        for (LiveResult r : results) {
+            LatencyHistogram latency = r.getLatency();
+            System.out.printf("%-9s %-11s %12.0f %12.0f", r.getAlgorithm(), r.getQueue().getLabel(),
+                    r.getSubmitRate(), r.getDispatchRate());
+            for (double q : QUANTILES) {
+                System.out.printf(" %9.1f", latency.getValueAtQuantile(q) / 1000);
+            }
+            System.out.printf(" %10.1f %9d %9d%n", latency.getMax() / 1000.0, r.getStallCount(), r.getStealCount());
+        }
+    }
+
+    public static void exportToCsv(List<LiveResult> results, String filename) {
+        try (PrintWriter writer = new PrintWriter(filename)) {
+            writer.println("Algorithm,Scheduler,Queue,Producers,Dispatchers,Processes,Dispatches,ElapsedNs,"
+                    + "SubmitPerSec,DispatchPerSec,P50Ns,P90Ns,P99Ns,P999Ns,MaxNs,Stalls,Steals");
+            for (LiveResult r : results) {
+                LatencyHistogram latency = r.getLatency();
+                writer.printf("%s,\"%s\",%s,%d,%d,%d,%d,%d,%.1f,%.1f,%.0f,%.0f,%.0f,%.0f,%d,%d,%d%n",
+                        r.getAlgorithm(), r.getSchedulerName(), r.getQueue().getLabel(), r.getProducers(),
+                        r.getDispatchers(), r.getProcessCount(), r.getDispatchCount(), r.getElapsedNanos(),
+                        r.getSubmitRate(), r.getDispatchRate(), latency.getValueAtQuantile(0.5),
+                        latency.getValueAtQuantile(0.9), latency.getValueAtQuantile(0.99),
+                        latency.getValueAtQuantile(0.999), latency.getMax(), r.getStallCount(), r.getStealCount());
+            }
+            System.out.println("Live results exported to " + filename);
+        } catch (IOException e) {
+            System.err.println("Error writing CSV: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.cpusched.live;
+
+import org.example.cpusched.metrics.LatencyHistogram;
+
+/**
+ * Outcome of one live run: throughput of both sides and the enqueue-to-dispatch latency in nanoseconds.
+ */
+public class LiveResult {
+    private final String algorithm;
+    private final String schedulerName;
+    private final LiveQueue queue;
+    private final int producers;
+    private final int dispatchers;
+    private final int processes;
+    private final long dispatches;
+    private final long steals;
+    private final long stalls;
+    private final long submitNanos;
+    private final long elapsedNanos;
+    private final LatencyHistogram latency;
+
+    LiveResult(String algorithm, String schedulerName, LiveQueue queue, int producers, int dispatchers,
+               int processes, long dispatches, long steals, long stalls, long submitNanos, long elapsedNanos,
+               LatencyHistogram latency) {
+        this.algorithm = algorithm;
+        this.schedulerName = schedulerName;
+        this.queue = queue;
+        this.producers = producers;
+        this.dispatchers = dispatchers;
+        this.processes = processes;
+        this.dispatches = dispatches;
+        this.steals = steals;
+        this.stalls = stalls;
+        this.submitNanos = submitNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+    }
+
+    public String getAlgorithm() { return algorithm; }
+    public String getSchedulerName() { return schedulerName; }
+    public LiveQueue getQueue() { return queue; }
+    public int getProducers() { return producers; }
+    public int getDispatchers() { return dispatchers; }
+    public int getProcessCount() { return processes; }
+
+    /**
+     * Every pick counts, so a process preempted k times is dispatched k + 1 times.
+     */
+    public long getDispatchCount() { return dispatches; }
+
+    /**
+     * Dispatches that took a process from another dispatcher's stripe (STRIPED only).
+     */
+    public long getStealCount() { return steals; }
+
+    /**
+     * Times a producer found its inbox full and had to retry.
+     */
+    public long getStallCount() { return stalls; }
+
+    /**
+     * Wall-clock time from the start until the last producer submitted its last process.
+     */
+    public long getSubmitNanos() { return submitNanos; }
+
+    /**
+     * Wall-clock time from the start until the last process finished.
+     */
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public double getSubmitRate() {
+        return submitNanos > 0 ? processes * 1e9 / submitNanos : 0;
+    }
+
+    public double getDispatchRate() {
+        return elapsedNanos > 0 ? dispatches * 1e9 / elapsedNanos : 0;
+    }
+
+    /**
+     * Nanoseconds from entering the ready queue (submission or re-queue) to being dispatched, one sample
+     * per dispatch. Samples are capped at Integer.MAX_VALUE (about 2.1 s).
+     */
+    public LatencyHistogram getLatency() { return latency; }
+}
@@ -0,0 +1,270 @@
+package org.example.cpusched.live;
+
+import org.example.cpusched.metrics.LatencyHistogram;
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.Scheduler;
+import org.example.cpusched.scheduler.SchedulerConfig;
+import org.example.cpusched.scheduler.SchedulerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live mode: the schedulers as a real dispatcher instead of a simulation. Producer threads submit the
+ * workload's processes into a ReadyStructure and dispatcher threads take them out and "run" them, all in
+ * wall-clock time, so what gets measured is the queues themselves under real concurrency.
+ *
+ * A dispatch runs the process for one time slice (Scheduler.getTimeSlice, capped by what it has left);
+ * unfinished processes go back to the ready queue. Arrivals don't preempt a running slice, so SRTF and
+ * preemptive priority behave like their non-preemptive versions here. With a tick length of 0 producers
+ * submit as fast as they can and a slice takes no time, which measures pure queue overhead under
+ * saturation; with a tick length, producers wait for each arrival time and dispatchers busy-wait for the
+ * slice. The schedulers see the elapsed time in ticks, or in microseconds when the tick length is 0.
+ *
+ * Each run gets fresh copies of the processes, renumbered 1..n so per-process state fits in arrays.
+ */
+public class LiveRunner {
+    private static final int WARMUP_PROCESSES = 20_000;
+    private static final int SPINS_BEFORE_YIELD = 64;
+    private static final long YIELD_NANOS = 50_000;
+
+    private final SchedulerConfig config;
+    private int producers = 4;
+    private int dispatchers = 2;
+    private long tickNanos = 0;
+    private int inboxCapacity = 1 << 14;
+    private boolean warmup = true;
+
+    public LiveRunner(SchedulerConfig config) {
+        this.config = new SchedulerConfig(config);
+    }
+
+    public void setProducers(int producers) {
+        if (producers < 1) {
+            throw new IllegalArgumentException("Producers must be >= 1: " + producers);
+        }
+        this.producers = producers;
+    }
+
+    public void setDispatchers(int dispatchers) {
+        if (dispatchers < 1) {
+            throw new IllegalArgumentException("Dispatchers must be >= 1: " + dispatchers);
+        }
+        this.dispatchers = dispatchers;
+    }
+
+    /**
+     * Wall-clock length of one tick, 0 = run as fast as possible.
+     */
+    public void setTickNanos(long tickNanos) {
+        if (tickNanos < 0) {
+            throw new IllegalArgumentException("Tick length must be >= 0: " + tickNanos);
+        }
+        this.tickNanos = tickNanos;
+    }
+
+    /**
+     * Capacity of each MPSC inbox; producers stall while theirs is full.
+     */
+    public void setInboxCapacity(int inboxCapacity) {
+        this.inboxCapacity = inboxCapacity;
+    }
+
+    /**
+     * Whether to run every configuration once on a prefix of the workload before measuring, so the JIT
+     * has compiled its paths and the first configuration isn't penalized (default: on).
+     */
+    public void setWarmup(boolean warmup) {
+        this.warmup = warmup;
+    }
+
+    public LiveResult run(String algorithm, LiveQueue queue, List<Process> workload) {
+        if (SchedulerFactory.create(algorithm, config) == null) {
+            throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+        if (!queue.supports(algorithm)) {
+            throw new IllegalArgumentException("The " + queue.getLabel() + " queue is FIFO and runs FCFS or RR only, not "
+                    + algorithm);
+        }
+        if (warmup) {
+            runOnce(algorithm, queue, workload.subList(0, Math.min(workload.size(), WARMUP_PROCESSES)));
+        }
+        return runOnce(algorithm, queue, workload);
+    }
+
+    private LiveResult runOnce(String algorithm, LiveQueue queue, List<Process> workload) {
+        List<Process> processes = new ArrayList<>(workload.size());
+        for (Process p : workload) {
+            if (p.hasIoBursts() || p.hasDeadline()) {
+                throw new IllegalArgumentException("Live mode runs CPU-only processes without deadlines; pid "
+                        + p.getPid() + " has I/O bursts or a deadline");
+            }
+            processes.add(new Process(processes.size() + 1, p.getArrivalTime(), p.getBurstTime(), p.getPriority()));
+        }
+        return new Run(algorithm, queue, processes).execute();
+    }
+
+    // State of one run, shared by its threads
+    private final class Run {
+        final String algorithm;
+        final LiveQueue queue;
+        final List<Process> processes;
+        final ReadyStructure ready;
+        final String schedulerName;
+        final long[] enqueuedAt; // Per process, nanoTime of its last submission or re-queue
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicLong lastSubmit = new AtomicLong();
+        final long[] dispatches = new long[dispatchers];
+        final long[] stalls = new long[producers];
+        final LatencyHistogram[] latencies = new LatencyHistogram[dispatchers];
+        volatile Throwable failure = null;
+        long startNanos;
+
+        Run(String algorithm, LiveQueue queue, List<Process> processes) {
+            this.algorithm = algorithm;
+            this.queue = queue;
+            this.processes = processes;
+            this.enqueuedAt = new long[processes.size()];
+            Scheduler first = SchedulerFactory.create(algorithm, config);
+            this.schedulerName = first.getName();
+            this.ready = queue == LiveQueue.LOCKFREE
+                    ? new LockFreeReady(dispatchers, first)
+                    : new StripedReady(queue, dispatchers, () -> SchedulerFactory.create(algorithm, config),
+                            inboxCapacity);
+            for (int i = 0; i < dispatchers; i++) {
+                latencies[i] = new LatencyHistogram();
+            }
+        }
+
+        LiveResult execute() {
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < dispatchers; i++) {
+                int d = i;
+                threads.add(new Thread(() -> guard(() -> dispatch(d)), "live-dispatcher-" + i));
+            }
+            for (int i = 0; i < producers; i++) {
+                int p = i;
+                threads.add(new Thread(() -> guard(() -> produce(p)), "live-producer-" + i));
+            }
+            startNanos = System.nanoTime();
+            lastSubmit.set(startNanos);
+            for (Thread t : threads) {
+                t.start();
+            }
+            try {
+                for (Thread t : threads) {
+                    t.join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+                for (Thread t : threads) {
+                    t.interrupt();
+                }
+            }
+            long elapsed = System.nanoTime() - startNanos;
+            if (failure != null) {
+                throw new IllegalStateException("Live run of " + algorithm + " on the " + queue.getLabel()
+                        + " queue failed: " + failure, failure);
+            }
+
+            LatencyHistogram latency = new LatencyHistogram();
+            long totalDispatches = 0;
+            long totalSteals = 0;
+            long totalStalls = 0;
+            for (int i = 0; i < dispatchers; i++) {
+                latency.add(latencies[i]);
+                totalDispatches += dispatches[i];
+                totalSteals += ready.steals[i];
+            }
+            for (long s : stalls) {
+                totalStalls += s;
+            }
+            return new LiveResult(algorithm, schedulerName, queue, producers, dispatchers, processes.size(),
+                    totalDispatches, totalSteals, totalStalls, lastSubmit.get() - startNanos, elapsed, latency);
+        }
+
+        // Producer p submits every producers-th process, in arrival order
+        void produce(int producer) {
+            for (int i = producer; i < processes.size() && failure == null; i += producers) {
+                Process p = processes.get(i);
+                if (tickNanos > 0) {
+                    long due = startNanos + p.getArrivalTime() * tickNanos;
+                    for (long left = due - System.nanoTime(); left > 0; left = due - System.nanoTime()) {
+                        if (left > YIELD_NANOS) {
+                            Thread.yield(); // Far off: leave the CPU to the dispatchers
+                        } else {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }
+                // Stamped before the first attempt: time spent stalled on a full inbox counts as queueing
+                enqueuedAt[i] = System.nanoTime();
+                int tries = 0;
+                while (!ready.submit(p)) {
+                    stalls[producer]++;
+                    backOff(++tries);
+                    if (failure != null) return;
+                }
+            }
+            lastSubmit.accumulateAndGet(System.nanoTime(), Math::max);
+        }
+
+        void dispatch(int dispatcher) {
+            LatencyHistogram latency = latencies[dispatcher];
+            int total = processes.size();
+            int idle = 0;
+            while (completed.get() < total && failure == null) {
+                Process p = ready.take(dispatcher, now());
+                if (p == null) {
+                    backOff(++idle);
+                    continue;
+                }
+                idle = 0;
+                int index = p.getPid() - 1;
+                latency.record((int) Math.min(Integer.MAX_VALUE, Math.max(0, System.nanoTime() - enqueuedAt[index])));
+                dispatches[dispatcher]++;
+
+                int ran = Math.min(p.getRemainingTime(), ready.slices[dispatcher]);
+                if (tickNanos > 0) {
+                    long until = System.nanoTime() + ran * tickNanos;
+                    while (System.nanoTime() < until) {
+                        Thread.onSpinWait();
+                    }
+                }
+                p.decreaseRemainingTime(ran);
+                if (p.isFinished()) {
+                    completed.incrementAndGet();
+                } else {
+                    enqueuedAt[index] = System.nanoTime();
+                    ready.requeue(dispatcher, p, ran, now());
+                }
+            }
+        }
+
+        // Scheduler clock: ticks, or microseconds when a tick takes no time
+        int now() {
+            long elapsed = (System.nanoTime() - startNanos) / (tickNanos > 0 ? tickNanos : 1000);
+            return (int) Math.min(Integer.MAX_VALUE, elapsed);
+        }
+
+        // A failure in any thread stops the others, which would otherwise wait forever for completions
+        void guard(Runnable body) {
+            try {
+                body.run();
+            } catch (Throwable t) {
+                if (failure == null) failure = t;
+            }
+        }
+    }
+
+    // Spin briefly, then give the CPU away so waiting threads don't starve busy ones on small machines
+    private static void backOff(int tries) {
+        if (tries < SPINS_BEFORE_YIELD) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.cpusched.live;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.Scheduler;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * One shared lock-free FIFO (Michael-Scott queue) that producers and dispatchers all use directly:
+ * no inbox, no lock, no scheduler in between. FIFO is the whole policy, so it can only stand in for
+ * FCFS and RR; the scheduler is only asked for the time slice, which for these two holds no state.
+ */
+final class LockFreeReady extends ReadyStructure {
+    private final ConcurrentLinkedQueue<Process> queue = new ConcurrentLinkedQueue<>();
+    private final Scheduler policy;
+
+    LockFreeReady(int dispatchers, Scheduler policy) {
+        super(dispatchers);
+        this.policy = policy;
+    }
+
+    @Override
+    boolean submit(Process p) {
+        return queue.offer(p); // Unbounded
+    }
+
+    @Override
+    Process take(int dispatcher, int now) {
+        Process next = queue.poll();
+        if (next != null) {
+            slices[dispatcher] = policy.getTimeSlice(next);
+        }
+        return next;
+    }
+
+    @Override
+    void requeue(int dispatcher, Process p, int ran, int now) {
+        queue.offer(p);
+    }
+}
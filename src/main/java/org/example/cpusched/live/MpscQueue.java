@@ -0,0 +1,84 @@
+package org.example.cpusched.live;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free multi-producer single-consumer queue (Vyukov's array queue).
+ * Every slot carries a sequence number that says whose turn it is: a producer claims a slot with one CAS
+ * on the tail and publishes it by bumping the sequence; the single consumer needs no CAS at all.
+ * Nothing is allocated per element. offer() fails instead of blocking when the queue is full.
+ *
+ * Any number of threads may call offer(). poll() must only be called by one thread at a time
+ * (the owner, or whoever holds a lock that guards the consumer side).
+ */
+public final class MpscQueue<E> {
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] sequence;
+    private final Object[] buffer;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // Next slot a producer claims
+    private long head = 0; // Next slot the consumer reads; consumer only
+
+    /**
+     * @param capacity Rounded up to a power of two.
+     */
+    public MpscQueue(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Queue capacity must be in [2, 2^30]: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.sequence = new long[size];
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequence[i] = i; // Slot i is free for the producer that claims ticket i
+        }
+    }
+
+    /**
+     * @return false if the queue is full.
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        long ticket = tail.get();
+        while (true) {
+            int slot = (int) ticket & mask;
+            long diff = (long) SEQUENCE.getAcquire(sequence, slot) - ticket;
+            if (diff == 0) {
+                if (tail.compareAndSet(ticket, ticket + 1)) {
+                    buffer[slot] = element;
+                    SEQUENCE.setRelease(sequence, slot, ticket + 1); // Publishes the element to the consumer
+                    return true;
+                }
+                ticket = tail.get(); // Another producer got it
+            } else if (diff < 0) {
+                return false; // The consumer hasn't freed this slot from the previous lap yet
+            } else {
+                ticket = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return The oldest element, or null if the queue is empty (or the next one is still being published).
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        int slot = (int) head & mask;
+        if ((long) SEQUENCE.getAcquire(sequence, slot) != head + 1) return null;
+        E element = (E) buffer[slot];
+        buffer[slot] = null;
+        SEQUENCE.setRelease(sequence, slot, head + mask + 1); // Free for the producer one lap later
+        head++;
+        return element;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.cpusched.live;
+
+import org.example.cpusched.model.Process;
+
+/**
+ * Where live mode keeps ready processes between the producer threads that submit them and the
+ * dispatcher threads that run them. Implementations decide what is shared and how it is guarded.
+ */
+abstract class ReadyStructure {
+    // Time slice of the process take() last returned to each dispatcher, written by that dispatcher only
+    final int[] slices;
+    final long[] steals;
+
+    ReadyStructure(int dispatchers) {
+        this.slices = new int[dispatchers];
+        this.steals = new long[dispatchers];
+    }
+
+    /**
+     * Producer side, safe from any thread.
+     * @return false if the structure is full; the producer backs off and tries again.
+     */
+    abstract boolean submit(Process p);
+
+    /**
+     * The next process for this dispatcher, or null if it found none. Its slice is then in slices[dispatcher].
+     */
+    abstract Process take(int dispatcher, int now);
+
+    /**
+     * The process ran ran ticks of its slice without finishing and goes back to the ready queue.
+     */
+    abstract void requeue(int dispatcher, Process p, int ran, int now);
+}
@@ -0,0 +1,110 @@
+package org.example.cpusched.live;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.Scheduler;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Ready processes split into stripes, each a Scheduler with an MPSC inbox in front of it. Producers only
+ * ever touch the inboxes (lock-free); whoever consumes a stripe moves its inbox into the scheduler before
+ * picking, so the schedulers stay single-threaded. Covers three of the live queues:
+ *
+ * - LOCKED: one stripe, one lock, shared by every dispatcher
+ * - STRIPED: a stripe per dispatcher, each with its own lock; a dispatcher whose stripe is empty
+ *   tries the others with tryLock and steals from the first one it gets
+ * - PARTITIONED: a stripe per dispatcher and no locks, since only the owner ever consumes it
+ */
+final class StripedReady extends ReadyStructure {
+    private final Scheduler[] schedulers;
+    private final MpscQueue<Process>[] inboxes;
+    private final ReentrantLock[] locks; // null = every stripe has exactly one consumer
+    private final boolean stealing;
+
+    @SuppressWarnings({"unchecked", "rawtypes"}) // No generic array creation for the inboxes
+    StripedReady(LiveQueue kind, int dispatchers, Supplier<Scheduler> factory, int inboxCapacity) {
+        super(dispatchers);
+        int stripes = kind == LiveQueue.LOCKED ? 1 : dispatchers;
+        this.schedulers = new Scheduler[stripes];
+        this.inboxes = new MpscQueue[stripes];
+        for (int i = 0; i < stripes; i++) {
+            schedulers[i] = factory.get();
+            inboxes[i] = new MpscQueue<>(inboxCapacity);
+        }
+        if (kind == LiveQueue.PARTITIONED) {
+            this.locks = null;
+        } else {
+            this.locks = new ReentrantLock[stripes];
+            for (int i = 0; i < stripes; i++) {
+                locks[i] = new ReentrantLock();
+            }
+        }
+        this.stealing = kind == LiveQueue.STRIPED && stripes > 1;
+    }
+
+    @Override
+    boolean submit(Process p) {
+        return inboxes[(p.getPid() - 1) % inboxes.length].offer(p);
+    }
+
+    @Override
+    Process take(int dispatcher, int now) {
+        int home = home(dispatcher);
+        Process p = takeFrom(home, dispatcher, now, true);
+        if (p == null && stealing) {
+            for (int k = 1; k < schedulers.length; k++) {
+                p = takeFrom((home + k) % schedulers.length, dispatcher, now, false);
+                if (p != null) {
+                    steals[dispatcher]++;
+                    break;
+                }
+            }
+        }
+        return p;
+    }
+
+    @Override
+    void requeue(int dispatcher, Process p, int ran, int now) {
+        // Back to the dispatcher's own stripe, so a stolen process stays with its thief
+        int stripe = home(dispatcher);
+        ReentrantLock lock = locks == null ? null : locks[stripe];
+        if (lock != null) lock.lock();
+        try {
+            Scheduler scheduler = schedulers[stripe];
+            scheduler.shouldPreempt(p, now, ran); // Lets MLFQ demote a process that used up its quantum
+            scheduler.onProcessArrival(p, now);
+        } finally {
+            if (lock != null) lock.unlock();
+        }
+    }
+
+    private int home(int dispatcher) {
+        return schedulers.length == 1 ? 0 : dispatcher;
+    }
+
+    // wait = lock the stripe; otherwise give up if someone else holds it
+    private Process takeFrom(int stripe, int dispatcher, int now, boolean wait) {
+        ReentrantLock lock = locks == null ? null : locks[stripe];
+        if (lock != null) {
+            if (wait) {
+                lock.lock();
+            } else if (!lock.tryLock()) {
+                return null;
+            }
+        }
+        try {
+            Scheduler scheduler = schedulers[stripe];
+            MpscQueue<Process> inbox = inboxes[stripe];
+            for (Process p = inbox.poll(); p != null; p = inbox.poll()) {
+                scheduler.onProcessArrival(p, now);
+            }
+            Process next = scheduler.pickNextProcess(now);
+            if (next != null) {
+                slices[dispatcher] = scheduler.getTimeSlice(next);
+            }
+            return next;
+        } finally {
+            if (lock != null) lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.cpusched.metrics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear histogram of non-negative int values (HDR histogram layout).
+ * Values below 128 get their own bucket and are exact; above that every power of two is split into
+ * 64 linear sub-buckets, so any reported quantile is within 1/128 (< 0.8%) of the true value.
+ * Recording is O(1) and the whole histogram is {@value #BUCKET_COUNT} longs, whatever the number of samples.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 7;
+    private static final int HALF = 1 << (SUB_BITS - 1); // 64 sub-buckets per power of two
+    // int values have at most 31 significant bits, i.e. shifts of up to 31 - SUB_BITS
+    public static final int BUCKET_COUNT = (31 - SUB_BITS + 1) * HALF + HALF;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount = 0;
+    private int min = Integer.MAX_VALUE;
+    private int max = 0;
+
+    public void record(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        counts[indexOf(value)]++;
+        totalCount++;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    public long getCount() { return totalCount; }
+    public int getMin() { return totalCount == 0 ? 0 : min; }
+    public int getMax() { return max; }
+
+    /**
+     * Value at the given quantile (0 < q <= 1), using the same rank as the exact metrics:
+     * element (int) (n * q) of the sorted samples, clamped to the last one.
+     */
+    public double getValueAtQuantile(double q) {
+        if (totalCount == 0) return 0;
+        long rank = Math.min((long) (totalCount * q), totalCount - 1);
+        if (rank == totalCount - 1) return max; // Tracked exactly
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                // Middle of the bucket, but never outside what was actually recorded
+                double mid = (lowestValue(i) + highestValue(i)) / 2.0;
+                return Math.max(min, Math.min(max, mid));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Adds all samples of other, e.g. to combine per-thread histograms after a run.
+     */
+    public void add(LatencyHistogram other) {
+        if (other.totalCount == 0) return;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        min = Integer.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Only the non-empty buckets, as (index, count) pairs.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(totalCount);
+        out.writeInt(min);
+        out.writeInt(max);
+        int used = 0;
+        for (long c : counts) {
+            if (c != 0) used++;
+        }
+        out.writeInt(used);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] != 0) {
+                out.writeInt(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    public void readState(DataInput in) throws IOException {
+        reset();
+        totalCount = in.readLong();
+        min = in.readInt();
+        max = in.readInt();
+        int used = in.readInt();
+        for (int i = 0; i < used; i++) {
+            int index = in.readInt();
+            counts[index] = in.readLong();
+        }
+    }
+
+    private static int indexOf(int value) {
+        if (value < 2 * HALF) {
+            return value;
+        }
+        int shift = (31 - Integer.numberOfLeadingZeros(value)) - (SUB_BITS - 1); // >= 1
+        return shift * HALF + (value >>> shift);
+    }
+
+    private static long lowestValue(int index) {
+        if (index < 2 * HALF) {
+            return index;
+        }
+        int shift = index / HALF - 1;
+        long sub = index - (long) shift * HALF;
+        return sub << shift;
+    }
+
+    private static long highestValue(int index) {
+        if (index < 2 * HALF) {
+            return index;
+        }
+        int shift = index / HALF - 1;
+        long sub = index - (long) shift * HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -1,20 +1,275 @@
 package org.example.cpusched.metrics;
 
 import org.example.cpusched.model.Process;
+import org.example.cpusched.model.ProcessTable;
+import org.example.cpusched.model.RealTimeTask;
+import org.example.cpusched.trace.TraceFormat;
+import org.example.cpusched.trace.TraceWriter;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
-import java.io.PrintWriter;
+import java.io.BufferedWriter;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 public class MetricsCollector {
-    private final List<Process> completedProcesses = new ArrayList<>();
+
+    /**
+     * EXACT keeps one row per completed process: exact percentiles and per-process CSV export.
+     * STREAMING keeps running sums and one LatencyHistogram per metric: constant memory and O(1) per
+     * completion, percentiles within 0.8%, no per-process export. Use it for very large runs.
+     */
+    public enum Mode { EXACT, STREAMING }
+
+    private final Mode mode;
+    // EXACT: completed processes are copied into a columnar table, so finished Process objects can be collected
+    // and the table-backed engine can report without ever materializing them.
+    private final ProcessTable completed;
+    // STREAMING
+    private final LatencyHistogram waitingHistogram;
+    private final LatencyHistogram turnaroundHistogram;
+    private final LatencyHistogram responseHistogram;
+    private long sumWait = 0, sumTurnaround = 0, sumResponse = 0;
+
+    // Fairness: x = (burst + I/O) / turnaround (share of its time in the system a process spent being served)
+    private double sumShare = 0, sumShareSquared = 0;
+    private int shareCount = 0;
+
+    private double[] extraPercentiles = new double[0];
     private int totalContextSwitches = 0;
     private int totalSimulationTime = 0;
-    private int totalIdleTime = 0; // CPU idle time
+    private long totalIdleTime = 0; // CPU idle time, summed over all cores
+    // Multi-core runs only
+    private int coreCount = 1;
+    private long[] coreBusyTime = new long[1];
+    private int migrations = 0;
+    private long cacheStallTime = 0; // Busy ticks spent refilling cold caches
+    // Processes with I/O bursts
+    private int ioDeviceCount = 1;
+    private long ioBusyTime = 0; // Device ticks spent serving I/O, summed over all devices
+    // Real-time jobs (processes with a deadline). Lateness = completion - deadline, tardiness = max(0, lateness).
+    private int deadlineJobs = 0;
+    private int deadlineMisses = 0;
+    private long sumLateness = 0;
+    private int maxLateness = Integer.MIN_VALUE;
+    private final LatencyHistogram tardinessHistogram = new LatencyHistogram();
+    private List<RealTimeTask> taskSet = null;
+    private double requestedUtilization = Double.NaN;
+
+    public MetricsCollector() {
+        this(Mode.EXACT);
+    }
+
+    public MetricsCollector(Mode mode) {
+        this.mode = mode;
+        if (mode == Mode.STREAMING) {
+            completed = null;
+            waitingHistogram = new LatencyHistogram();
+            turnaroundHistogram = new LatencyHistogram();
+            responseHistogram = new LatencyHistogram();
+        } else {
+            completed = new ProcessTable(1024);
+            waitingHistogram = null;
+            turnaroundHistogram = null;
+            responseHistogram = null;
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Quantiles (0 < q <= 1, 1 = max) reported for waiting, turnaround and response time on top of the
+     * fixed p95/p99 response time, e.g. 0.5, 0.9, 0.999, 1.0.
+     */
+    public void setExtraPercentiles(double... quantiles) {
+        for (double q : quantiles) {
+            if (!(q > 0 && q <= 1)) {
+                throw new IllegalArgumentException("Percentile must be in (0, 1]: " + q);
+            }
+        }
+        this.extraPercentiles = quantiles.clone();
+    }
 
     public void addCompletedProcess(Process p) {
-        completedProcesses.add(p);
+        recordShare(p.getBurstTime() + p.getTotalIoTime(), p.getCompletionTime() - p.getArrivalTime());
+        if (p.hasDeadline()) {
+            recordDeadline(p.getCompletionTime() - p.getDeadline());
+        }
+        if (mode == Mode.STREAMING) {
+            record(p.getArrivalTime(), p.getBurstTime() + p.getTotalIoTime(), p.getStartTime(), p.getCompletionTime());
+        } else {
+            completed.add(p);
+        }
+    }
+
+    public void addCompletedProcess(ProcessTable table, int handle) {
+        recordShare(table.getBurstTime(handle) + table.getIoTime(handle), table.getTurnaroundTime(handle));
+        if (mode == Mode.STREAMING) {
+            record(table.getArrivalTime(handle), table.getBurstTime(handle) + table.getIoTime(handle),
+                    table.getStartTime(handle),
+                    table.getCompletionTime(handle));
+            return;
+        }
+        int h = completed.add(table.getPid(handle), table.getArrivalTime(handle), table.getBurstTime(handle),
+                table.getPriority(handle));
+        completed.setRemainingTime(h, table.getRemainingTime(handle));
+        completed.setStartTime(h, table.getStartTime(handle));
+        completed.setCompletionTime(h, table.getCompletionTime(handle));
+        completed.setQueueLevel(h, table.getQueueLevel(handle));
+        completed.setIoTime(h, table.getIoTime(handle));
+    }
+
+    // service = CPU time plus I/O time; whatever is left of the turnaround was spent waiting
+    private void record(int arrival, int service, int start, int completion) {
+        int turnaround = completion - arrival;
+        int waiting = turnaround - service;
+        int response = start - arrival;
+        sumTurnaround += turnaround;
+        sumWait += waiting;
+        sumResponse += response;
+        turnaroundHistogram.record(turnaround);
+        waitingHistogram.record(waiting);
+        responseHistogram.record(response);
+    }
+
+    private void recordShare(int burst, int turnaround) {
+        double share = turnaround > 0 ? (double) burst / turnaround : 1.0;
+        sumShare += share;
+        sumShareSquared += share * share;
+        shareCount++;
+    }
+
+    /**
+     * Jain's fairness index over burst / turnaround of all completed processes:
+     * (sum x)^2 / (n * sum x^2), 1 when every process was slowed down equally, 1/n in the worst case.
+     */
+    public double getJainsFairnessIndex() {
+        return shareCount == 0 || sumShareSquared == 0 ? 1.0 : sumShare * sumShare / (shareCount * sumShareSquared);
+    }
+
+    private void recordDeadline(int lateness) {
+        deadlineJobs++;
+        if (lateness > 0) deadlineMisses++;
+        sumLateness += lateness;
+        maxLateness = Math.max(maxLateness, lateness);
+        tardinessHistogram.record(Math.max(0, lateness));
+    }
+
+    /**
+     * Task set that released the jobs, for the utilization-bound check in printMetrics.
+     * requestedUtilization is what the set was generated for, printed next to what it actually has.
+     */
+    public void setTaskSet(List<RealTimeTask> taskSet, double requestedUtilization) {
+        this.taskSet = new ArrayList<>(taskSet);
+        this.requestedUtilization = requestedUtilization;
+    }
+
+    public int getDeadlineJobs() { return deadlineJobs; }
+    public int getDeadlineMisses() { return deadlineMisses; }
+    public double getDeadlineMissRatio() { return deadlineJobs == 0 ? 0 : (double) deadlineMisses / deadlineJobs; }
+    public double getAvgLateness() { return deadlineJobs == 0 ? 0 : (double) sumLateness / deadlineJobs; }
+    public int getMaxLateness() { return deadlineJobs == 0 ? 0 : maxLateness; }
+    public double getTardinessAtQuantile(double q) { return tardinessHistogram.getValueAtQuantile(q); }
+
+    /**
+     * Writes every accumulator, for checkpoints. Settings (percentiles, task set) are not included.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeUTF(mode.name());
+        if (mode == Mode.STREAMING) {
+            waitingHistogram.writeState(out);
+            turnaroundHistogram.writeState(out);
+            responseHistogram.writeState(out);
+        } else {
+            out.writeInt(completed.size());
+            for (int h = 0; h < completed.size(); h++) {
+                out.writeInt(completed.getPid(h));
+                out.writeInt(completed.getArrivalTime(h));
+                out.writeInt(completed.getBurstTime(h));
+                out.writeInt(completed.getPriority(h));
+                out.writeInt(completed.getRemainingTime(h));
+                out.writeInt(completed.getStartTime(h));
+                out.writeInt(completed.getCompletionTime(h));
+                out.writeInt(completed.getQueueLevel(h));
+                out.writeInt(completed.getIoTime(h));
+            }
+        }
+        out.writeLong(sumWait);
+        out.writeLong(sumTurnaround);
+        out.writeLong(sumResponse);
+        out.writeDouble(sumShare);
+        out.writeDouble(sumShareSquared);
+        out.writeInt(shareCount);
+        out.writeInt(totalContextSwitches);
+        out.writeInt(totalSimulationTime);
+        out.writeLong(totalIdleTime);
+        out.writeInt(coreCount);
+        for (long busy : coreBusyTime) {
+            out.writeLong(busy);
+        }
+        out.writeInt(migrations);
+        out.writeLong(cacheStallTime);
+        out.writeInt(ioDeviceCount);
+        out.writeLong(ioBusyTime);
+        out.writeInt(deadlineJobs);
+        out.writeInt(deadlineMisses);
+        out.writeLong(sumLateness);
+        out.writeInt(maxLateness);
+        tardinessHistogram.writeState(out);
+    }
+
+    /**
+     * Restores what writeState wrote into a fresh collector of the same mode.
+     */
+    public void readState(DataInput in) throws IOException {
+        String saved = in.readUTF();
+        if (!saved.equals(mode.name())) {
+            throw new IllegalArgumentException("Checkpoint has " + saved.toLowerCase() + " metrics, this run uses "
+                    + mode.name().toLowerCase());
+        }
+        if (mode == Mode.STREAMING) {
+            waitingHistogram.readState(in);
+            turnaroundHistogram.readState(in);
+            responseHistogram.readState(in);
+        } else {
+            completed.clear();
+            int rows = in.readInt();
+            for (int i = 0; i < rows; i++) {
+                int h = completed.add(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+                completed.setRemainingTime(h, in.readInt());
+                completed.setStartTime(h, in.readInt());
+                completed.setCompletionTime(h, in.readInt());
+                completed.setQueueLevel(h, in.readInt());
+                completed.setIoTime(h, in.readInt());
+            }
+        }
+        sumWait = in.readLong();
+        sumTurnaround = in.readLong();
+        sumResponse = in.readLong();
+        sumShare = in.readDouble();
+        sumShareSquared = in.readDouble();
+        shareCount = in.readInt();
+        totalContextSwitches = in.readInt();
+        totalSimulationTime = in.readInt();
+        totalIdleTime = in.readLong();
+        setCoreCount(in.readInt());
+        for (int c = 0; c < coreCount; c++) {
+            coreBusyTime[c] = in.readLong();
+        }
+        migrations = in.readInt();
+        cacheStallTime = in.readLong();
+        ioDeviceCount = in.readInt();
+        ioBusyTime = in.readLong();
+        deadlineJobs = in.readInt();
+        deadlineMisses = in.readInt();
+        sumLateness = in.readLong();
+        maxLateness = in.readInt();
+        tardinessHistogram.readState(in);
     }
 
     public void incrementContextSwitches() {
@@ -24,55 +279,261 @@ public class MetricsCollector {
     public void setTotalSimulationTime(int time) {
         this.totalSimulationTime = time;
     }
+
+    public int getTotalSimulationTime() {
+        return totalSimulationTime;
+    }
     
-    public void addIdleTime(int time) {
+    public void addIdleTime(long time) {
         this.totalIdleTime += time;
     }
 
+    public void setCoreCount(int coreCount) {
+        if (coreCount < 1) {
+            throw new IllegalArgumentException("Core count must be >= 1: " + coreCount);
+        }
+        this.coreCount = coreCount;
+        this.coreBusyTime = new long[coreCount];
+    }
+
+    public int getCoreCount() {
+        return coreCount;
+    }
+
+    public void addCoreBusyTime(int core, long time) {
+        coreBusyTime[core] += time;
+    }
+
+    public void incrementMigrations() {
+        migrations++;
+    }
+
+    public int getMigrations() {
+        return migrations;
+    }
+
+    public void addCacheStallTime(long time) {
+        cacheStallTime += time;
+    }
+
+    public long getCacheStallTime() {
+        return cacheStallTime;
+    }
+
+    public void setIoDeviceCount(int devices) {
+        if (devices < 1) {
+            throw new IllegalArgumentException("I/O device count must be >= 1: " + devices);
+        }
+        this.ioDeviceCount = devices;
+    }
+
+    public void addIoBusyTime(int time) {
+        ioBusyTime += time;
+    }
+
+    public long getIoBusyTime() {
+        return ioBusyTime;
+    }
+
+    /**
+     * Busy share of the I/O devices over the whole run, averaged over all devices.
+     */
+    public double getIoUtilization() {
+        return totalSimulationTime == 0 ? 0 : (double) ioBusyTime / ((long) totalSimulationTime * ioDeviceCount) * 100.0;
+    }
+
+    public double getCoreUtilization(int core) {
+        return totalSimulationTime == 0 ? 0 : (double) coreBusyTime[core] / totalSimulationTime * 100.0;
+    }
+
+    /**
+     * Completed processes in completion order, EXACT mode only (null when STREAMING). Read-only.
+     */
+    public ProcessTable getCompletedTable() {
+        return completed;
+    }
+
+    public int getCompletedCount() {
+        return mode == Mode.STREAMING ? (int) responseHistogram.getCount() : completed.size();
+    }
+
+    public MetricsSummary summarize() {
+        int n = getCompletedCount();
+        if (n == 0) {
+            return new MetricsSummary(0, 0, 0, 0, 0, 0, 0, 0, totalContextSwitches, totalSimulationTime);
+        }
+
+        double avgWait, avgTurnaround, avgResponse, p95, p99;
+        double[] waitingPct, turnaroundPct, responsePct;
+        if (mode == Mode.STREAMING) {
+            avgWait = (double) sumWait / n;
+            avgTurnaround = (double) sumTurnaround / n;
+            avgResponse = (double) sumResponse / n;
+            p95 = responseHistogram.getValueAtQuantile(0.95);
+            p99 = responseHistogram.getValueAtQuantile(0.99);
+            waitingPct = percentiles(waitingHistogram);
+            turnaroundPct = percentiles(turnaroundHistogram);
+            responsePct = percentiles(responseHistogram);
+        } else {
+            long sumWait = 0, sumTurnaround = 0, sumResponse = 0;
+            int[] waitingTimes = new int[n];
+            int[] turnaroundTimes = new int[n];
+            int[] responseTimes = new int[n];
+            for (int h = 0; h < n; h++) {
+                waitingTimes[h] = completed.getWaitingTime(h);
+                turnaroundTimes[h] = completed.getTurnaroundTime(h);
+                responseTimes[h] = completed.getResponseTime(h);
+                sumWait += waitingTimes[h];
+                sumTurnaround += turnaroundTimes[h];
+                sumResponse += responseTimes[h];
+            }
+            avgWait = (double) sumWait / n;
+            avgTurnaround = (double) sumTurnaround / n;
+            avgResponse = (double) sumResponse / n;
+
+            // Percentiles
+            Arrays.sort(responseTimes);
+            p95 = responseTimes[(int)(n * 0.95)];
+            p99 = responseTimes[(int)(n * 0.99)];
+            responsePct = percentiles(responseTimes);
+            if (extraPercentiles.length > 0) {
+                Arrays.sort(waitingTimes);
+                Arrays.sort(turnaroundTimes);
+            }
+            waitingPct = percentiles(waitingTimes);
+            turnaroundPct = percentiles(turnaroundTimes);
+        }
+
+        double throughput = (double) n / totalSimulationTime * 1000.0; // Processes per sec (assuming 1ms tick)
+        long capacity = (long) totalSimulationTime * coreCount; // Average over all cores
+        double cpuUtil = ((double)(capacity - totalIdleTime) / capacity) * 100.0;
+
+        return new MetricsSummary(n, avgWait, avgTurnaround, avgResponse, p95, p99,
+                throughput, cpuUtil, totalContextSwitches, totalSimulationTime,
+                extraPercentiles, waitingPct, turnaroundPct, responsePct);
+    }
+
+    // sorted must be sorted ascending
+    private double[] percentiles(int[] sorted) {
+        double[] values = new double[extraPercentiles.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = sorted[Math.min((int) (sorted.length * extraPercentiles[i]), sorted.length - 1)];
+        }
+        return values;
+    }
+
+    private double[] percentiles(LatencyHistogram histogram) {
+        double[] values = new double[extraPercentiles.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = histogram.getValueAtQuantile(extraPercentiles[i]);
+        }
+        return values;
+    }
+
     public void printMetrics(String algorithmName) {
-        if (completedProcesses.isEmpty()) {
+        if (getCompletedCount() == 0) {
             System.out.println("No processes completed.");
             return;
         }
 
-        double avgWait = completedProcesses.stream().mapToInt(Process::getTotalWaitingTime).average().orElse(0);
-        double avgTurnaround = completedProcesses.stream().mapToInt(Process::getTurnaroundTime).average().orElse(0);
-        double avgResponse = completedProcesses.stream().mapToInt(Process::getResponseTime).average().orElse(0);
-        
-        // Percentiles
-        List<Integer> responseTimes = completedProcesses.stream().map(Process::getResponseTime).sorted().toList();
-        double p95 = responseTimes.get((int)(responseTimes.size() * 0.95));
-        double p99 = responseTimes.get((int)(responseTimes.size() * 0.99));
-
-        double throughput = (double) completedProcesses.size() / totalSimulationTime * 1000.0; // Processes per sec (assuming 1ms tick)
-        double cpuUtil = ((double)(totalSimulationTime - totalIdleTime) / totalSimulationTime) * 100.0;
-
+        MetricsSummary s = summarize();
         System.out.println("==========================================");
         System.out.println("Algorithm: " + algorithmName);
         System.out.println("------------------------------------------");
-        System.out.printf("Average Waiting Time:    %.2f ms%n", avgWait);
-        System.out.printf("Average Turnaround Time: %.2f ms%n", avgTurnaround);
-        System.out.printf("Average Response Time:   %.2f ms%n", avgResponse);
-        System.out.printf("95th %% Response Time:    %.2f ms%n", p95);
-        System.out.printf("99th %% Response Time:    %.2f ms%n", p99);
-        System.out.printf("Throughput:              %.2f processes/sec%n", throughput);
-        System.out.printf("CPU Utilization:         %.2f%%%n", cpuUtil);
-        System.out.printf("Context Switches:        %d%n", totalContextSwitches);
+        System.out.printf("Average Waiting Time:    %.2f ms%n", s.getAvgWaitingTime());
+        System.out.printf("Average Turnaround Time: %.2f ms%n", s.getAvgTurnaroundTime());
+        System.out.printf("Average Response Time:   %.2f ms%n", s.getAvgResponseTime());
+        System.out.printf("95th %% Response Time:    %.2f ms%n", s.getP95ResponseTime());
+        System.out.printf("99th %% Response Time:    %.2f ms%n", s.getP99ResponseTime());
+        System.out.printf("Throughput:              %.2f processes/sec%n", s.getThroughput());
+        System.out.printf("CPU Utilization:         %.2f%%%n", s.getCpuUtilization());
+        System.out.printf("Context Switches:        %d%n", s.getContextSwitches());
+        System.out.printf("Jain's Fairness Index:   %.4f%n", getJainsFairnessIndex());
+        if (deadlineJobs > 0) {
+            System.out.printf("Deadline Misses:         %d / %d (%.2f%%)%n", deadlineMisses, deadlineJobs,
+                    getDeadlineMissRatio() * 100);
+            System.out.printf("Average Lateness:        %.2f ms%n", getAvgLateness());
+            System.out.printf("Max Lateness:            %d ms%n", getMaxLateness());
+            System.out.printf("Tardiness p50/p99/max:   %.2f / %.2f / %.2f ms%n", getTardinessAtQuantile(0.5),
+                    getTardinessAtQuantile(0.99), getTardinessAtQuantile(1.0));
+        }
+        if (taskSet != null) {
+            double u = RealTimeTask.totalUtilization(taskSet);
+            double bound = RealTimeTask.liuLaylandBound(taskSet.size());
+            System.out.printf("Task Utilization:        %.3f (%d tasks, requested %.3f)%n", u, taskSet.size(),
+                    requestedUtilization);
+            System.out.printf("Liu & Layland Bound:     %.3f -> RMS %s, EDF %s (implicit deadlines)%n", bound,
+                    u <= bound ? "guaranteed" : "not guaranteed",
+                    u <= 1.0 ? "feasible" : "infeasible (U > 1)");
+        }
+        if (ioBusyTime > 0) {
+            System.out.printf("I/O Utilization:         %.2f%% (%d device%s)%n", getIoUtilization(), ioDeviceCount,
+                    ioDeviceCount == 1 ? "" : "s");
+        }
+        if (cacheStallTime > 0) {
+            System.out.printf("Cache Stall Ticks:       %d%n", cacheStallTime);
+        }
+        if (coreCount > 1) {
+            System.out.printf("Cores:                   %d%n", coreCount);
+            System.out.printf("Migrations:              %d%n", migrations);
+            System.out.println("Core Utilization:");
+            for (int c = 0; c < coreCount; c++) {
+                System.out.printf("  %3d: %6.2f%%", c, getCoreUtilization(c));
+                if (c % 8 == 7 || c == coreCount - 1) System.out.println();
+            }
+        }
+        if (extraPercentiles.length > 0) {
+            System.out.println("------------------------------------------");
+            System.out.printf("%-10s %10s %10s %10s%n", "ms", "Waiting", "Turnaround", "Response");
+            for (int i = 0; i < extraPercentiles.length; i++) {
+                System.out.printf("%-10s %10.2f %10.2f %10.2f%n", MetricsSummary.percentileLabel(extraPercentiles[i]),
+                        s.getWaitingPercentiles()[i], s.getTurnaroundPercentiles()[i], s.getResponsePercentiles()[i]);
+            }
+        }
         System.out.println("==========================================");
     }
 
     public void exportToCsv(String filename) {
-        try (PrintWriter writer = new PrintWriter(filename)) {
-            writer.println("PID,Arrival,Burst,Priority,Start,Completion,Turnaround,Waiting,Response");
-            for (Process p : completedProcesses) {
-                writer.printf("%d,%d,%d,%d,%d,%d,%d,%d,%d%n",
-                    p.getPid(), p.getArrivalTime(), p.getBurstTime(), p.getPriority(),
-                    p.getStartTime(), p.getCompletionTime(),
-                    p.getTurnaroundTime(), p.getTotalWaitingTime(), p.getResponseTime());
+        if (mode == Mode.STREAMING) {
+            System.err.println("Per-process CSV is not available in streaming metrics mode");
+            return;
+        }
+        // One StringBuilder per row instead of a printf: formatting dominated the export of large runs
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filename))) {
+            writer.write("PID,Arrival,Burst,Priority,Start,Completion,Turnaround,Waiting,Response");
+            writer.newLine();
+            StringBuilder line = new StringBuilder(64);
+            for (int h = 0; h < completed.size(); h++) {
+                line.setLength(0);
+                line.append(completed.getPid(h)).append(',').append(completed.getArrivalTime(h)).append(',')
+                    .append(completed.getBurstTime(h)).append(',').append(completed.getPriority(h)).append(',')
+                    .append(completed.getStartTime(h)).append(',').append(completed.getCompletionTime(h)).append(',')
+                    .append(completed.getTurnaroundTime(h)).append(',').append(completed.getWaitingTime(h)).append(',')
+                    .append(completed.getResponseTime(h));
+                writer.append(line);
+                writer.newLine();
             }
             System.out.println("Detailed metrics exported to " + filename);
         } catch (IOException e) {
             System.err.println("Error writing CSV: " + e.getMessage());
         }
     }
+
+    /**
+     * Per-process results as a binary RESULTS trace (see TraceFormat); convert with TraceReader.toCsv.
+     */
+    public void exportToTrace(String filename) {
+        if (mode == Mode.STREAMING) {
+            System.err.println("Per-process results are not available in streaming metrics mode");
+            return;
+        }
+        try (TraceWriter writer = new TraceWriter(Paths.get(filename), TraceFormat.Kind.RESULTS)) {
+            for (int h = 0; h < completed.size(); h++) {
+                writer.appendResult(completed, h);
+            }
+            System.out.println("Detailed metrics exported to " + filename);
+        } catch (IOException e) {
+            System.err.println("Error writing trace: " + e.getMessage());
+        }
+    }
 }
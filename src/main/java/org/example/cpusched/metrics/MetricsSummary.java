@@ -0,0 +1,73 @@
+package org.example.cpusched.metrics;
+
+/**
+ * Immutable snapshot of the aggregate numbers a MetricsCollector prints at the end of a run.
+ * Used wherever results of several runs have to be compared side by side (sweeps, tables).
+ */
+public class MetricsSummary {
+    private final int completedCount;
+    private final double avgWaitingTime;
+    private final double avgTurnaroundTime;
+    private final double avgResponseTime;
+    private final double p95ResponseTime;
+    private final double p99ResponseTime;
+    private final double throughput; // processes/sec
+    private final double cpuUtilization; // percent
+    private final int contextSwitches;
+    private final int totalSimulationTime;
+    // Optional extra percentiles; the three value arrays line up with extraPercentiles
+    private final double[] extraPercentiles;
+    private final double[] waitingPercentiles;
+    private final double[] turnaroundPercentiles;
+    private final double[] responsePercentiles;
+
+    public MetricsSummary(int completedCount, double avgWaitingTime, double avgTurnaroundTime, double avgResponseTime,
+                          double p95ResponseTime, double p99ResponseTime, double throughput, double cpuUtilization,
+                          int contextSwitches, int totalSimulationTime) {
+        this(completedCount, avgWaitingTime, avgTurnaroundTime, avgResponseTime, p95ResponseTime, p99ResponseTime,
+                throughput, cpuUtilization, contextSwitches, totalSimulationTime,
+                new double[0], new double[0], new double[0], new double[0]);
+    }
+
+    public MetricsSummary(int completedCount, double avgWaitingTime, double avgTurnaroundTime, double avgResponseTime,
+                          double p95ResponseTime, double p99ResponseTime, double throughput, double cpuUtilization,
+                          int contextSwitches, int totalSimulationTime, double[] extraPercentiles,
+                          double[] waitingPercentiles, double[] turnaroundPercentiles, double[] responsePercentiles) {
+        this.completedCount = completedCount;
+        this.avgWaitingTime = avgWaitingTime;
+        this.avgTurnaroundTime = avgTurnaroundTime;
+        this.avgResponseTime = avgResponseTime;
+        this.p95ResponseTime = p95ResponseTime;
+        this.p99ResponseTime = p99ResponseTime;
+        this.throughput = throughput;
+        this.cpuUtilization = cpuUtilization;
+        this.contextSwitches = contextSwitches;
+        this.totalSimulationTime = totalSimulationTime;
+        this.extraPercentiles = extraPercentiles.clone();
+        this.waitingPercentiles = waitingPercentiles.clone();
+        this.turnaroundPercentiles = turnaroundPercentiles.clone();
+        this.responsePercentiles = responsePercentiles.clone();
+    }
+
+    public int getCompletedCount() { return completedCount; }
+    public double getAvgWaitingTime() { return avgWaitingTime; }
+    public double getAvgTurnaroundTime() { return avgTurnaroundTime; }
+    public double getAvgResponseTime() { return avgResponseTime; }
+    public double getP95ResponseTime() { return p95ResponseTime; }
+    public double getP99ResponseTime() { return p99ResponseTime; }
+    public double getThroughput() { return throughput; }
+    public double getCpuUtilization() { return cpuUtilization; }
+    public int getContextSwitches() { return contextSwitches; }
+    public int getTotalSimulationTime() { return totalSimulationTime; }
+    public double[] getExtraPercentiles() { return extraPercentiles.clone(); }
+    public double[] getWaitingPercentiles() { return waitingPercentiles.clone(); }
+    public double[] getTurnaroundPercentiles() { return turnaroundPercentiles.clone(); }
+    public double[] getResponsePercentiles() { return responsePercentiles.clone(); }
+
+    // 0.5 -> "p50", 0.999 -> "p99.9", 1.0 -> "max"
+    public static String percentileLabel(double quantile) {
+        if (quantile >= 1.0) return "max";
+        double pct = quantile * 100;
+        return pct == Math.rint(pct) ? "p" + (long) pct : "p" + String.valueOf(Math.round(pct * 1000) / 1000.0);
+    }
+}
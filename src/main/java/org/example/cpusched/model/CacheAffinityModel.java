@@ -0,0 +1,114 @@
+package org.example.cpusched.model;
+
+import java.util.Arrays;
+
+/**
+ * Cost model for cache affinity and NUMA placement, used by the multi-core engine.
+ *
+ * A process leaves a warm cache behind on the core it last ran on. The warmth halves every
+ * warmthHalfLife ticks the process spends off the CPU, and it is zero on any other core.
+ * Resuming with warmth w stalls the process for (1 - w) * coldStallTicks ticks before it makes
+ * progress again. Moving to another NUMA node scales both that refill stall and the migration
+ * cost by the node distance (SLIT convention: {@value #LOCAL_DISTANCE} = local).
+ */
+public class CacheAffinityModel {
+    public static final int LOCAL_DISTANCE = 10;
+
+    private final int warmthHalfLife;
+    private final int coldStallTicks;
+    private final int coresPerNode;
+    private final int[][] nodeDistance;
+
+    /**
+     * Single NUMA node.
+     */
+    public CacheAffinityModel(int warmthHalfLife, int coldStallTicks) {
+        this(warmthHalfLife, coldStallTicks, Integer.MAX_VALUE, new int[][] {{LOCAL_DISTANCE}});
+    }
+
+    /**
+     * @param coresPerNode Cores 0..coresPerNode-1 are node 0, the next coresPerNode are node 1, and so on.
+     * @param nodeDistance Square matrix of relative distances between nodes, LOCAL_DISTANCE on the diagonal.
+     */
+    public CacheAffinityModel(int warmthHalfLife, int coldStallTicks, int coresPerNode, int[][] nodeDistance) {
+        if (warmthHalfLife < 1) {
+            throw new IllegalArgumentException("Warmth half-life must be >= 1: " + warmthHalfLife);
+        }
+        if (coldStallTicks < 0) {
+            throw new IllegalArgumentException("Cold stall must be >= 0: " + coldStallTicks);
+        }
+        if (coresPerNode < 1) {
+            throw new IllegalArgumentException("Cores per node must be >= 1: " + coresPerNode);
+        }
+        for (int[] row : nodeDistance) {
+            if (row.length != nodeDistance.length) {
+                throw new IllegalArgumentException("Node distance matrix must be square");
+            }
+        }
+        this.warmthHalfLife = warmthHalfLife;
+        this.coldStallTicks = coldStallTicks;
+        this.coresPerNode = coresPerNode;
+        this.nodeDistance = new int[nodeDistance.length][];
+        for (int i = 0; i < nodeDistance.length; i++) {
+            this.nodeDistance[i] = nodeDistance[i].clone();
+        }
+    }
+
+    /**
+     * Distance matrix with LOCAL_DISTANCE on the diagonal and remoteDistance everywhere else.
+     */
+    public static int[][] uniformDistances(int nodes, int remoteDistance) {
+        int[][] distance = new int[nodes][nodes];
+        for (int i = 0; i < nodes; i++) {
+            for (int j = 0; j < nodes; j++) {
+                distance[i][j] = i == j ? LOCAL_DISTANCE : remoteDistance;
+            }
+        }
+        return distance;
+    }
+
+    public int getNodeCount() {
+        return nodeDistance.length;
+    }
+
+    public int nodeOf(int core) {
+        return Math.min(core / coresPerNode, nodeDistance.length - 1);
+    }
+
+    public int distance(int fromCore, int toCore) {
+        return nodeDistance[nodeOf(fromCore)][nodeOf(toCore)];
+    }
+
+    /**
+     * Fraction of the process's working set still cached on this core, from 1 (just ran here) to 0 (cold).
+     */
+    public double warmth(Process p, int core, int currentTime) {
+        if (p.getLastCore() != core || p.getLastRunTime() < 0) {
+            return 0;
+        }
+        int offCpu = Math.max(0, currentTime - p.getLastRunTime() - 1);
+        return Math.pow(0.5, (double) offCpu / warmthHalfLife);
+    }
+
+    /**
+     * Ticks the process stalls without progress when it resumes on this core.
+     */
+    public int stallTicks(Process p, int core, int currentTime) {
+        double cold = 1 - warmth(p, core, currentTime);
+        int distance = p.getLastCore() < 0 ? LOCAL_DISTANCE : distance(p.getLastCore(), core);
+        return (int) Math.round(cold * coldStallTicks * distance / LOCAL_DISTANCE);
+    }
+
+    /**
+     * Migration cost between two cores, scaled by their node distance.
+     */
+    public int migrationTicks(int migrationCost, int fromCore, int toCore) {
+        return migrationCost * distance(fromCore, toCore) / LOCAL_DISTANCE;
+    }
+
+    @Override
+    public String toString() {
+        return "cache(" + warmthHalfLife + "," + coldStallTicks + "," + coresPerNode + ","
+                + Arrays.deepToString(nodeDistance) + ")";
+    }
+}
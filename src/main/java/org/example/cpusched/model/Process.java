@@ -1,5 +1,9 @@
 package org.example.cpusched.model;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Represents a process in the CPU scheduling simulation.
  * This class acts as a data container for process attributes and runtime statistics.
@@ -10,34 +14,148 @@ public class Process implements Comparable<Process> {
     private final int burstTime;
     private final int priority; // Lower value = Higher priority
 
+    // Real-time jobs only (see RealTimeTask): absolute deadline and the period of the releasing task
+    private int deadline = -1; // -1 = no deadline
+    private int period = 0;    // 0 = not periodic
+
+    // Alternating CPU and I/O bursts: cpuBursts[0], ioBursts[0], cpuBursts[1], ..., cpuBursts[n-1].
+    // null for a plain single-burst process. burstTime is the total CPU demand over all bursts.
+    private final int[] cpuBursts;
+    private final int[] ioBursts;
+    private final int totalIoTime;
+
     // Runtime state
     private int remainingTime;
     private int startTime = -1;
     private int completionTime = -1;
     private int totalWaitingTime = 0;
     private int lastActiveTime = -1; // To calculate waiting time during simulation
+    private int burstIndex = 0; // Current CPU burst; remainingTime counts down within it
+    private int cpuTimeBeforeBurst = 0; // CPU time of the bursts already finished
+    private boolean blocked = false; // Waiting for or doing I/O
 
     // For MLFQ or other complex schedulers
     private int currentQueueLevel = 0;
     private int timeInCurrentQueue = 0;
+    private int queueEntryTime = -1; // When the process last entered a ready queue (for aging)
+    private long vruntime = 0; // CFS: weighted CPU time received
+    private int accountedRuntime = 0; // CFS: executed ticks already added to vruntime
+
+    // Multi-core: core this process last ran on and the last tick it executed, -1 if it never ran
+    private int lastCore = -1;
+    private int lastRunTime = -1;
 
     public Process(int pid, int arrivalTime, int burstTime, int priority) {
+        this(pid, arrivalTime, burstTime, null, null, 0, priority);
+    }
+
+    /**
+     * Process that alternates CPU and I/O: it runs cpuBursts[0], blocks for ioBursts[0], runs cpuBursts[1]
+     * and so on, finishing with its last CPU burst. Needs exactly one I/O burst between each pair of CPU bursts.
+     */
+    public Process(int pid, int arrivalTime, int[] cpuBursts, int[] ioBursts, int priority) {
+        this(pid, arrivalTime, sum(cpuBursts), cpuBursts.clone(), ioBursts.clone(), sum(ioBursts), priority);
+        if (cpuBursts.length == 0 || ioBursts.length != cpuBursts.length - 1) {
+            throw new IllegalArgumentException("Need n CPU bursts and n - 1 I/O bursts, got "
+                    + cpuBursts.length + " and " + ioBursts.length);
+        }
+        for (int b : cpuBursts) {
+            if (b < 1) throw new IllegalArgumentException("CPU bursts must be >= 1: " + b);
+        }
+        for (int b : ioBursts) {
+            if (b < 1) throw new IllegalArgumentException("I/O bursts must be >= 1: " + b);
+        }
+    }
+
+    private Process(int pid, int arrivalTime, int burstTime, int[] cpuBursts, int[] ioBursts, int totalIoTime,
+                    int priority) {
         this.pid = pid;
         this.arrivalTime = arrivalTime;
         this.burstTime = burstTime;
         this.priority = priority;
-        this.remainingTime = burstTime;
+        this.cpuBursts = cpuBursts;
+        this.ioBursts = ioBursts;
+        this.totalIoTime = totalIoTime;
+        this.remainingTime = cpuBursts == null ? burstTime : cpuBursts[0];
         this.lastActiveTime = arrivalTime; // Initially waits from arrival
     }
 
-    // Copy constructor for simulation reproducibility if needed, 
-    // but typically we just reset or generate new ones.
-    
+    private static int sum(int[] values) {
+        int total = 0;
+        for (int v : values) total += v;
+        return total;
+    }
+
+    /**
+     * Copy constructor for simulation reproducibility: copies the static attributes
+     * and starts with fresh runtime state, so the copy can be fed to another run.
+     */
+    public Process(Process other) {
+        this(other.pid, other.arrivalTime, other.burstTime, other.cpuBursts, other.ioBursts, other.totalIoTime,
+                other.priority); // Burst arrays are never modified, so sharing them is safe
+        this.deadline = other.deadline;
+        this.period = other.period;
+    }
+
     public int getPid() { return pid; }
     public int getArrivalTime() { return arrivalTime; }
     public int getBurstTime() { return burstTime; }
     public int getPriority() { return priority; }
+
+    public int getDeadline() { return deadline; }
+    public void setDeadline(int deadline) { this.deadline = deadline; }
+    public boolean hasDeadline() { return deadline >= 0; }
+
+    public int getPeriod() { return period; }
+    public void setPeriod(int period) { this.period = period; }
     
+    public boolean hasIoBursts() { return cpuBursts != null; }
+    public int getCpuBurstCount() { return cpuBursts == null ? 1 : cpuBursts.length; }
+    public int getTotalIoTime() { return totalIoTime; }
+    public int getCpuBurst(int i) { return cpuBursts == null ? burstTime : cpuBursts[i]; }
+    public int getIoBurst(int i) { return ioBursts[i]; }
+
+    public boolean isBlocked() { return blocked; }
+    public void setBlocked(boolean blocked) { this.blocked = blocked; }
+
+    /**
+     * True if the current CPU burst is followed by an I/O burst.
+     */
+    public boolean hasMoreBursts() {
+        return cpuBursts != null && burstIndex < cpuBursts.length - 1;
+    }
+
+    /**
+     * Length of the I/O burst that follows the current CPU burst.
+     */
+    public int getNextIoBurst() {
+        return ioBursts[burstIndex];
+    }
+
+    /**
+     * Length of the current CPU burst; the whole burst time for a single-burst process.
+     */
+    public int getCurrentCpuBurst() {
+        return cpuBursts == null ? burstTime : cpuBursts[burstIndex];
+    }
+
+    /**
+     * Moves on to the next CPU burst once the I/O in between has completed.
+     */
+    public void startNextCpuBurst() {
+        cpuTimeBeforeBurst += cpuBursts[burstIndex];
+        burstIndex++;
+        remainingTime = cpuBursts[burstIndex];
+    }
+
+    /**
+     * CPU time received so far, over all bursts.
+     */
+    public int getExecutedTime() {
+        if (cpuBursts == null) return burstTime - remainingTime;
+        return cpuTimeBeforeBurst + cpuBursts[burstIndex] - remainingTime;
+    }
+
     public int getRemainingTime() { return remainingTime; }
     public void setRemainingTime(int remainingTime) { this.remainingTime = remainingTime; }
     public void decreaseRemainingTime(int amount) { this.remainingTime -= amount; }
@@ -48,7 +166,7 @@ public class Process implements Comparable<Process> {
     public int getCompletionTime() { return completionTime; }
     public void setCompletionTime(int completionTime) { 
         this.completionTime = completionTime; 
-        this.totalWaitingTime = (completionTime - arrivalTime) - burstTime;
+        this.totalWaitingTime = (completionTime - arrivalTime) - burstTime - totalIoTime;
     }
 
     public int getTotalWaitingTime() { return totalWaitingTime; }
@@ -62,6 +180,24 @@ public class Process implements Comparable<Process> {
     public void setTimeInCurrentQueue(int time) { this.timeInCurrentQueue = time; }
     public void addTimeInCurrentQueue(int time) { this.timeInCurrentQueue += time; }
 
+    public int getQueueEntryTime() { return queueEntryTime; }
+    public void setQueueEntryTime(int time) { this.queueEntryTime = time; }
+
+    public long getVruntime() { return vruntime; }
+    public void setVruntime(long vruntime) { this.vruntime = vruntime; }
+
+    public int getAccountedRuntime() { return accountedRuntime; }
+    public void setAccountedRuntime(int ticks) { this.accountedRuntime = ticks; }
+
+    public int getLastCore() { return lastCore; }
+    public void setLastCore(int core) { this.lastCore = core; }
+
+    public int getLastRunTime() { return lastRunTime; }
+    public void setLastRunTime(int time) { this.lastRunTime = time; }
+
+    /**
+     * True once the current CPU burst is done; the process is complete if there are no more bursts.
+     */
     public boolean isFinished() { return remainingTime <= 0; }
 
     public int getTurnaroundTime() {
@@ -72,6 +208,86 @@ public class Process implements Comparable<Process> {
         return startTime - arrivalTime;
     }
 
+    /**
+     * Writes the attributes and the whole runtime state, for checkpoints.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(pid);
+        out.writeInt(arrivalTime);
+        out.writeInt(burstTime);
+        out.writeInt(priority);
+        out.writeInt(deadline);
+        out.writeInt(period);
+        writeBursts(out, cpuBursts);
+        writeBursts(out, ioBursts);
+        out.writeInt(remainingTime);
+        out.writeInt(startTime);
+        out.writeInt(completionTime);
+        out.writeInt(totalWaitingTime);
+        out.writeInt(lastActiveTime);
+        out.writeInt(burstIndex);
+        out.writeInt(cpuTimeBeforeBurst);
+        out.writeBoolean(blocked);
+        out.writeInt(currentQueueLevel);
+        out.writeInt(timeInCurrentQueue);
+        out.writeInt(queueEntryTime);
+        out.writeLong(vruntime);
+        out.writeInt(accountedRuntime);
+        out.writeInt(lastCore);
+        out.writeInt(lastRunTime);
+    }
+
+    /**
+     * Reads a process written by writeState, runtime state included.
+     */
+    public static Process readState(DataInput in) throws IOException {
+        int pid = in.readInt();
+        int arrivalTime = in.readInt();
+        int burstTime = in.readInt();
+        int priority = in.readInt();
+        int deadline = in.readInt();
+        int period = in.readInt();
+        int[] cpuBursts = readBursts(in);
+        int[] ioBursts = readBursts(in);
+        Process p = new Process(pid, arrivalTime, burstTime, cpuBursts, ioBursts,
+                ioBursts == null ? 0 : sum(ioBursts), priority);
+        p.deadline = deadline;
+        p.period = period;
+        p.remainingTime = in.readInt();
+        p.startTime = in.readInt();
+        p.completionTime = in.readInt();
+        p.totalWaitingTime = in.readInt();
+        p.lastActiveTime = in.readInt();
+        p.burstIndex = in.readInt();
+        p.cpuTimeBeforeBurst = in.readInt();
+        p.blocked = in.readBoolean();
+        p.currentQueueLevel = in.readInt();
+        p.timeInCurrentQueue = in.readInt();
+        p.queueEntryTime = in.readInt();
+        p.vruntime = in.readLong();
+        p.accountedRuntime = in.readInt();
+        p.lastCore = in.readInt();
+        p.lastRunTime = in.readInt();
+        return p;
+    }
+
+    private static void writeBursts(DataOutput out, int[] bursts) throws IOException {
+        if (bursts == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(bursts.length);
+        for (int b : bursts) out.writeInt(b);
+    }
+
+    private static int[] readBursts(DataInput in) throws IOException {
+        int n = in.readInt();
+        if (n < 0) return null;
+        int[] bursts = new int[n];
+        for (int i = 0; i < n; i++) bursts[i] = in.readInt();
+        return bursts;
+    }
+
     @Override
     public int compareTo(Process o) {
         return Integer.compare(this.pid, o.pid);
@@ -79,6 +295,7 @@ public class Process implements Comparable<Process> {
 
     @Override
     public String toString() {
-        return "P" + pid + "[Arr=" + arrivalTime + ", Burst=" + burstTime + ", Prio=" + priority + "]";
+        return "P" + pid + "[Arr=" + arrivalTime + ", Burst=" + burstTime + ", Prio=" + priority
+                + (cpuBursts != null ? ", CPU bursts=" + cpuBursts.length + ", IO=" + totalIoTime : "") + "]";
     }
 }
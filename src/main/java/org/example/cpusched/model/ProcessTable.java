@@ -0,0 +1,177 @@
+package org.example.cpusched.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar (struct-of-arrays) process store for large workloads.
+ * Each process is an int handle into nine parallel int arrays, so a process costs
+ * {@value #BYTES_PER_PROCESS} bytes instead of a full Process object plus the references
+ * that point to it. Process objects are only created on request via {@link #toProcess(int)}.
+ */
+public class ProcessTable {
+    public static final int BYTES_PER_PROCESS = 9 * Integer.BYTES;
+
+    private int[] pid;
+    private int[] arrivalTime;
+    private int[] burstTime;
+    private int[] priority; // Lower value = Higher priority
+    private int[] remainingTime;
+    private int[] startTime;
+    private int[] completionTime;
+    private int[] queueLevel;
+    private int[] ioTime; // Total I/O time of a process with I/O bursts, 0 otherwise
+    private int size = 0;
+
+    public ProcessTable(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        pid = new int[capacity];
+        arrivalTime = new int[capacity];
+        burstTime = new int[capacity];
+        priority = new int[capacity];
+        remainingTime = new int[capacity];
+        startTime = new int[capacity];
+        completionTime = new int[capacity];
+        queueLevel = new int[capacity];
+        ioTime = new int[capacity];
+    }
+
+    public static ProcessTable fromProcesses(List<Process> processes) {
+        ProcessTable table = new ProcessTable(processes.size());
+        for (Process p : processes) {
+            table.add(p);
+        }
+        return table;
+    }
+
+    /**
+     * Appends a fresh (never scheduled) process and returns its handle.
+     */
+    public int add(int pid, int arrivalTime, int burstTime, int priority) {
+        if (size == this.pid.length) {
+            grow();
+        }
+        int h = size++;
+        this.pid[h] = pid;
+        this.arrivalTime[h] = arrivalTime;
+        this.burstTime[h] = burstTime;
+        this.priority[h] = priority;
+        this.remainingTime[h] = burstTime;
+        this.startTime[h] = -1;
+        this.completionTime[h] = -1;
+        this.queueLevel[h] = 0;
+        this.ioTime[h] = 0;
+        return h;
+    }
+
+    /**
+     * Appends a copy of the process including its runtime state and returns its handle.
+     */
+    public int add(Process p) {
+        int h = add(p.getPid(), p.getArrivalTime(), p.getBurstTime(), p.getPriority());
+        remainingTime[h] = p.getRemainingTime();
+        startTime[h] = p.getStartTime();
+        completionTime[h] = p.getCompletionTime();
+        queueLevel[h] = p.getCurrentQueueLevel();
+        ioTime[h] = p.getTotalIoTime();
+        return h;
+    }
+
+    /**
+     * Materializes the row behind a handle as a standalone Process object.
+     * The individual bursts of a process with I/O are not stored, so it comes back as a single burst.
+     */
+    public Process toProcess(int h) {
+        Process p = new Process(pid[h], arrivalTime[h], burstTime[h], priority[h]);
+        p.setRemainingTime(remainingTime[h]);
+        p.setStartTime(startTime[h]);
+        if (completionTime[h] != -1) {
+            p.setCompletionTime(completionTime[h]);
+        }
+        p.setCurrentQueueLevel(queueLevel[h]);
+        return p;
+    }
+
+    public int size() { return size; }
+    public void clear() { size = 0; }
+
+    public int getPid(int h) { return pid[h]; }
+    public int getArrivalTime(int h) { return arrivalTime[h]; }
+    public int getBurstTime(int h) { return burstTime[h]; }
+    public int getPriority(int h) { return priority[h]; }
+
+    public int getRemainingTime(int h) { return remainingTime[h]; }
+    public void setRemainingTime(int h, int time) { remainingTime[h] = time; }
+    public void decreaseRemainingTime(int h, int amount) { remainingTime[h] -= amount; }
+
+    public int getStartTime(int h) { return startTime[h]; }
+    public void setStartTime(int h, int time) { startTime[h] = time; }
+
+    public int getCompletionTime(int h) { return completionTime[h]; }
+    public void setCompletionTime(int h, int time) { completionTime[h] = time; }
+
+    public int getQueueLevel(int h) { return queueLevel[h]; }
+    public void setQueueLevel(int h, int level) { queueLevel[h] = level; }
+
+    public int getIoTime(int h) { return ioTime[h]; }
+    public void setIoTime(int h, int time) { ioTime[h] = time; }
+
+    public boolean isFinished(int h) { return remainingTime[h] <= 0; }
+
+    public int getTurnaroundTime(int h) { return completionTime[h] - arrivalTime[h]; }
+    public int getWaitingTime(int h) { return (completionTime[h] - arrivalTime[h]) - burstTime[h] - ioTime[h]; }
+    public int getResponseTime(int h) { return startTime[h] - arrivalTime[h]; }
+
+    public boolean isSortedByArrival() {
+        for (int h = 1; h < size; h++) {
+            if (arrivalTime[h] < arrivalTime[h - 1]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stable sort of all rows by arrival time. Handles obtained before the sort are invalidated.
+     */
+    public void sortByArrival() {
+        // Pack (arrival, original row) so a primitive sort is stable and gives us the permutation
+        long[] order = new long[size];
+        for (int h = 0; h < size; h++) {
+            order[h] = ((long) arrivalTime[h] << 32) | h;
+        }
+        Arrays.sort(order);
+        int[] perm = new int[size];
+        for (int i = 0; i < size; i++) {
+            perm[i] = (int) order[i];
+        }
+        pid = permute(pid, perm);
+        arrivalTime = permute(arrivalTime, perm);
+        burstTime = permute(burstTime, perm);
+        priority = permute(priority, perm);
+        remainingTime = permute(remainingTime, perm);
+        startTime = permute(startTime, perm);
+        completionTime = permute(completionTime, perm);
+        queueLevel = permute(queueLevel, perm);
+        ioTime = permute(ioTime, perm);
+    }
+
+    private int[] permute(int[] column, int[] perm) {
+        int[] sorted = new int[column.length];
+        for (int i = 0; i < perm.length; i++) {
+            sorted[i] = column[perm[i]];
+        }
+        return sorted;
+    }
+
+    private void grow() {
+        int capacity = pid.length + (pid.length >> 1);
+        pid = Arrays.copyOf(pid, capacity);
+        arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+        burstTime = Arrays.copyOf(burstTime, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        remainingTime = Arrays.copyOf(remainingTime, capacity);
+        startTime = Arrays.copyOf(startTime, capacity);
+        completionTime = Arrays.copyOf(completionTime, capacity);
+        queueLevel = Arrays.copyOf(queueLevel, capacity);
+        ioTime = Arrays.copyOf(ioTime, capacity);
+    }
+}
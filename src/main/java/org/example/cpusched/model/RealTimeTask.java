@@ -0,0 +1,72 @@
+package org.example.cpusched.model;
+
+import java.util.List;
+
+/**
+ * A periodic or sporadic real-time task. Every release produces one job (a Process) that must finish
+ * within relativeDeadline ticks and needs at most wcet ticks of CPU.
+ * Periodic tasks release exactly every period ticks starting at phase; for sporadic tasks the period
+ * is the minimum time between two releases.
+ */
+public class RealTimeTask {
+    private final int taskId;
+    private final int period;
+    private final int relativeDeadline;
+    private final int wcet; // Worst-case execution time
+    private final int phase; // First release
+    private final boolean sporadic;
+
+    public RealTimeTask(int taskId, int period, int relativeDeadline, int wcet, int phase, boolean sporadic) {
+        if (period < 1 || relativeDeadline < 1 || wcet < 1) {
+            throw new IllegalArgumentException("Period, deadline and WCET must be >= 1 (task " + taskId + ")");
+        }
+        if (wcet > relativeDeadline) {
+            throw new IllegalArgumentException("WCET exceeds the deadline (task " + taskId + ")");
+        }
+        this.taskId = taskId;
+        this.period = period;
+        this.relativeDeadline = relativeDeadline;
+        this.wcet = wcet;
+        this.phase = phase;
+        this.sporadic = sporadic;
+    }
+
+    /**
+     * Periodic task with an implicit deadline (deadline = period) released at time 0.
+     */
+    public RealTimeTask(int taskId, int period, int wcet) {
+        this(taskId, period, period, wcet, 0, false);
+    }
+
+    public int getTaskId() { return taskId; }
+    public int getPeriod() { return period; }
+    public int getRelativeDeadline() { return relativeDeadline; }
+    public int getWcet() { return wcet; }
+    public int getPhase() { return phase; }
+    public boolean isSporadic() { return sporadic; }
+
+    public double getUtilization() {
+        return (double) wcet / period;
+    }
+
+    public static double totalUtilization(List<RealTimeTask> tasks) {
+        double u = 0;
+        for (RealTimeTask t : tasks) {
+            u += t.getUtilization();
+        }
+        return u;
+    }
+
+    /**
+     * Liu & Layland bound n(2^(1/n) - 1): RMS meets every deadline of n implicit-deadline tasks whose
+     * total utilization is at or below it (sufficient, not necessary). Tends to ln 2 ~ 0.693.
+     */
+    public static double liuLaylandBound(int n) {
+        return n == 0 ? 1.0 : n * (Math.pow(2.0, 1.0 / n) - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("T%d[T=%d, D=%d, C=%d%s]", taskId, period, relativeDeadline, wcet, sporadic ? ", sporadic" : "");
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.cpusched.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.cpusched.Completion")
+@Label("Process Completion")
+@Description("A process finished its last CPU burst")
+@Category({"CPU Scheduling Simulator"})
+@StackTrace(false)
+public class CompletionEvent extends jdk.jfr.Event {
+    @Label("PID")
+    int pid;
+
+    @Label("Arrival Time")
+    int arrivalTime;
+
+    @Label("Start Time")
+    int startTime;
+
+    @Label("Completion Time")
+    int completionTime;
+
+    @Label("Turnaround Time")
+    int turnaroundTime;
+
+    @Label("Waiting Time")
+    int waitingTime;
+}
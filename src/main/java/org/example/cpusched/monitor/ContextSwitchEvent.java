@@ -0,0 +1,31 @@
+package org.example.cpusched.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.cpusched.ContextSwitch")
+@Label("Context Switch")
+@Description("A core switched to a different process than the one it ran last")
+@Category({"CPU Scheduling Simulator"})
+@StackTrace(false)
+public class ContextSwitchEvent extends jdk.jfr.Event {
+    @Label("Simulated Time")
+    int simulatedTime;
+
+    @Label("Core")
+    int core;
+
+    @Label("Previous PID")
+    @Description("0 if the core had not run anything yet")
+    int previousPid;
+
+    @Label("Next PID")
+    int nextPid;
+
+    @Label("Switch Cost")
+    @Description("Configured context-switch cost in ticks")
+    int cost;
+}
@@ -0,0 +1,33 @@
+package org.example.cpusched.monitor;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registers monitors with the platform MBean server, where jconsole, VisualVM or JMC find them.
+ */
+public final class Monitoring {
+    public static final String DOMAIN = "org.example.cpusched";
+
+    private Monitoring() {
+    }
+
+    /**
+     * Registers the MBean as DOMAIN:type=&lt;type&gt;, replacing an earlier one of the same type.
+     */
+    public static ObjectName register(Object mbean, String type) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=" + type);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(mbean, name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + type + " MBean: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.cpusched.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.cpusched.Preemption")
+@Label("Preemption")
+@Description("A running process was preempted and requeued")
+@Category({"CPU Scheduling Simulator"})
+@StackTrace(false)
+public class PreemptionEvent extends jdk.jfr.Event {
+    @Label("Simulated Time")
+    int simulatedTime;
+
+    @Label("Core")
+    int core;
+
+    @Label("PID")
+    int pid;
+
+    @Label("Ran For")
+    @Description("Ticks the process ran since it was dispatched")
+    int ranFor;
+
+    @Label("Remaining Time")
+    int remainingTime;
+}
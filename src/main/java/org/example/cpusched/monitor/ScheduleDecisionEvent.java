@@ -0,0 +1,30 @@
+package org.example.cpusched.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.cpusched.ScheduleDecision")
+@Label("Schedule Decision")
+@Description("The scheduler picked a process to run")
+@Category({"CPU Scheduling Simulator"})
+@StackTrace(false)
+public class ScheduleDecisionEvent extends jdk.jfr.Event {
+    @Label("Simulated Time")
+    int simulatedTime;
+
+    @Label("Core")
+    int core;
+
+    @Label("PID")
+    int pid;
+
+    @Label("Remaining Time")
+    int remainingTime;
+
+    @Label("Ready Queue Depth")
+    @Description("Processes still waiting on this core after the pick")
+    int readyQueueDepth;
+}
@@ -0,0 +1,73 @@
+package org.example.cpusched.monitor;
+
+/**
+ * Latest published state of one simulation. Written only by the engine thread (through SimulationProbe),
+ * read by JMX clients; each value is volatile on its own, so a reader may see a mix of two refreshes.
+ */
+public class SimulationMonitor implements SimulationMonitorMBean {
+    private volatile String algorithm = "";
+    private volatile boolean running = false;
+    private volatile long simulatedTime = 0;
+    private volatile long admittedCount = 0;
+    private volatile long completedCount = 0;
+    private volatile int readyQueueDepth = 0;
+    private volatile int[] readyQueueDepthPerLevel = new int[0];
+    private volatile double ticksPerSecond = 0;
+    private volatile double averageTicksPerSecond = 0;
+    private volatile double elapsedSeconds = 0;
+
+    void start(String algorithm) {
+        this.algorithm = algorithm;
+        this.running = true;
+    }
+
+    void finish() {
+        this.running = false;
+    }
+
+    void publish(long simulatedTime, long admittedCount, long completedCount, int[] perLevel,
+                 double ticksPerSecond, double averageTicksPerSecond, double elapsedSeconds) {
+        int depth = 0;
+        for (int n : perLevel) {
+            depth += n;
+        }
+        this.simulatedTime = simulatedTime;
+        this.admittedCount = admittedCount;
+        this.completedCount = completedCount;
+        this.readyQueueDepth = depth;
+        this.readyQueueDepthPerLevel = perLevel;
+        this.ticksPerSecond = ticksPerSecond;
+        this.averageTicksPerSecond = averageTicksPerSecond;
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    @Override
+    public String getAlgorithm() { return algorithm; }
+
+    @Override
+    public boolean isRunning() { return running; }
+
+    @Override
+    public long getSimulatedTime() { return simulatedTime; }
+
+    @Override
+    public long getAdmittedCount() { return admittedCount; }
+
+    @Override
+    public long getCompletedCount() { return completedCount; }
+
+    @Override
+    public int getReadyQueueDepth() { return readyQueueDepth; }
+
+    @Override
+    public int[] getReadyQueueDepthPerLevel() { return readyQueueDepthPerLevel.clone(); }
+
+    @Override
+    public double getSimulatedTicksPerSecond() { return ticksPerSecond; }
+
+    @Override
+    public double getAverageTicksPerSecond() { return averageTicksPerSecond; }
+
+    @Override
+    public double getElapsedSeconds() { return elapsedSeconds; }
+}
@@ -0,0 +1,39 @@
+package org.example.cpusched.monitor;
+
+/**
+ * JMX view of a running simulation, registered as org.example.cpusched:type=Simulation.
+ * Values are refreshed by the engine thread about every 100 ms of wall time, and once more at the end.
+ */
+public interface SimulationMonitorMBean {
+    String getAlgorithm();
+
+    boolean isRunning();
+
+    long getSimulatedTime();
+
+    long getAdmittedCount();
+
+    long getCompletedCount();
+
+    /**
+     * Processes waiting in the ready queues of all cores.
+     */
+    int getReadyQueueDepth();
+
+    /**
+     * Ready processes per MLFQ level (highest first), summed over cores. A single entry for other algorithms.
+     */
+    int[] getReadyQueueDepthPerLevel();
+
+    /**
+     * Simulated ticks per wall-clock second since the previous refresh.
+     */
+    double getSimulatedTicksPerSecond();
+
+    /**
+     * Simulated ticks per wall-clock second since the run started.
+     */
+    double getAverageTicksPerSecond();
+
+    double getElapsedSeconds();
+}
@@ -0,0 +1,173 @@
+package org.example.cpusched.monitor;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.MLFQ;
+import org.example.cpusched.scheduler.Scheduler;
+
+/**
+ * Hooks the engines call at scheduling decisions, preemptions, completions and once per loop iteration.
+ * Emits the JFR events (only while a recording has them enabled) and feeds an optional SimulationMonitor.
+ *
+ * Engines hold a null probe unless monitoring was asked for, so a plain run pays one null check per hook.
+ * With a probe but no recording, a hook costs an event allocation the JIT usually removes and an isEnabled() check.
+ *
+ * Sampling: with sampleEvery = n, only every n-th event of each kind is emitted, which keeps recordings
+ * of production-size runs small. Counts in the metrics are unaffected.
+ * One probe serves one engine run on one thread.
+ */
+public final class SimulationProbe {
+    private static final int PROGRESS_MASK = 1023; // Look at the clock every 1024 loop iterations
+    private static final long PUBLISH_NANOS = 100_000_000L;
+
+    private final int sampleEvery;
+    private final SimulationMonitor monitor; // null = JFR only
+
+    private Scheduler[] schedulers = new Scheduler[0];
+    private int[] lastPid = new int[0]; // Per core, 0 = nothing ran yet
+    private int decisions = 0;
+    private int preemptions = 0;
+    private int switches = 0;
+    private int completions = 0;
+    private int iterations = 0;
+    private long startNanos;
+    private long lastPublishNanos;
+    private long lastPublishTime;
+
+    /**
+     * @param sampleEvery Emit every n-th event of each kind, 1 = all of them.
+     * @param monitor Receives progress for JMX, or null.
+     */
+    public SimulationProbe(int sampleEvery, SimulationMonitor monitor) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("Event sampling must be >= 1: " + sampleEvery);
+        }
+        this.sampleEvery = sampleEvery;
+        this.monitor = monitor;
+    }
+
+    /**
+     * Called by the engine before the first tick, with one scheduler per core.
+     */
+    public void start(Scheduler[] schedulers) {
+        this.schedulers = schedulers;
+        this.lastPid = new int[schedulers.length];
+        startNanos = System.nanoTime();
+        lastPublishNanos = startNanos;
+        lastPublishTime = 0;
+        if (monitor != null) {
+            monitor.start(schedulers[0].getName());
+        }
+    }
+
+    /**
+     * A process was taken off the ready queue of this core. cost is the switch cost it pays, in ticks.
+     */
+    public void onDispatch(Process p, int time, int core, int cost) {
+        if (++decisions == sampleEvery) {
+            decisions = 0;
+            ScheduleDecisionEvent event = new ScheduleDecisionEvent();
+            if (event.isEnabled()) {
+                event.simulatedTime = time;
+                event.core = core;
+                event.pid = p.getPid();
+                event.remainingTime = p.getRemainingTime();
+                event.readyQueueDepth = schedulers[core].size();
+                event.commit();
+            }
+        }
+        if (++switches == sampleEvery) {
+            switches = 0;
+            ContextSwitchEvent event = new ContextSwitchEvent();
+            if (event.isEnabled()) {
+                event.simulatedTime = time;
+                event.core = core;
+                event.previousPid = lastPid[core];
+                event.nextPid = p.getPid();
+                event.cost = cost;
+                event.commit();
+            }
+        }
+        lastPid[core] = p.getPid();
+    }
+
+    /**
+     * The process was put back on the ready queue at the given tick after running ranFor ticks.
+     */
+    public void onPreempt(Process p, int time, int core, int ranFor) {
+        if (++preemptions != sampleEvery) return;
+        preemptions = 0;
+        PreemptionEvent event = new PreemptionEvent();
+        if (event.isEnabled()) {
+            event.simulatedTime = time;
+            event.core = core;
+            event.pid = p.getPid();
+            event.ranFor = ranFor;
+            event.remainingTime = p.getRemainingTime();
+            event.commit();
+        }
+    }
+
+    /**
+     * The process finished its last burst; its completion time is already set.
+     */
+    public void onCompletion(Process p) {
+        if (++completions != sampleEvery) return;
+        completions = 0;
+        CompletionEvent event = new CompletionEvent();
+        if (event.isEnabled()) {
+            event.pid = p.getPid();
+            event.arrivalTime = p.getArrivalTime();
+            event.startTime = p.getStartTime();
+            event.completionTime = p.getCompletionTime();
+            event.turnaroundTime = p.getTurnaroundTime();
+            event.waitingTime = p.getTotalWaitingTime();
+            event.commit();
+        }
+    }
+
+    /**
+     * Called at the top of every engine loop iteration.
+     */
+    public void onProgress(int time, int admitted, int completed) {
+        if ((++iterations & PROGRESS_MASK) != 0 || monitor == null) return;
+        long now = System.nanoTime();
+        if (now - lastPublishNanos >= PUBLISH_NANOS) {
+            publish(now, time, admitted, completed);
+        }
+    }
+
+    public void finish(int time, int admitted, int completed) {
+        if (monitor == null) return;
+        publish(System.nanoTime(), time, admitted, completed);
+        monitor.finish();
+    }
+
+    private void publish(long now, int time, int admitted, int completed) {
+        double window = (now - lastPublishNanos) / 1e9;
+        double elapsed = (now - startNanos) / 1e9;
+        monitor.publish(time, admitted, completed, readyQueueDepths(),
+                window > 0 ? (time - lastPublishTime) / window : 0,
+                elapsed > 0 ? time / elapsed : 0, elapsed);
+        lastPublishNanos = now;
+        lastPublishTime = time;
+    }
+
+    // Per level when every core runs MLFQ, otherwise one total
+    private int[] readyQueueDepths() {
+        if (schedulers.length > 0 && schedulers[0] instanceof MLFQ) {
+            int[] levels = new int[((MLFQ) schedulers[0]).getLevelCount()];
+            for (Scheduler s : schedulers) {
+                MLFQ mlfq = (MLFQ) s;
+                for (int i = 0; i < levels.length; i++) {
+                    levels[i] += mlfq.getLevelSize(i);
+                }
+            }
+            return levels;
+        }
+        int total = 0;
+        for (Scheduler s : schedulers) {
+            total += s.size();
+        }
+        return new int[] {total};
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.cpusched.monitor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a sweep. Cells finish on many worker threads, so the counters are atomics.
+ */
+public class SweepProgress implements SweepProgressMBean {
+    private volatile int totalCells = 0;
+    private volatile long startNanos = System.nanoTime();
+    private final AtomicInteger completedCells = new AtomicInteger();
+    private final AtomicLong simulatedTicks = new AtomicLong();
+
+    public void start(int totalCells) {
+        this.totalCells = totalCells;
+        this.startNanos = System.nanoTime();
+        completedCells.set(0);
+        simulatedTicks.set(0);
+    }
+
+    public void cellFinished(long ticks) {
+        simulatedTicks.addAndGet(ticks);
+        completedCells.incrementAndGet();
+    }
+
+    @Override
+    public int getTotalCells() { return totalCells; }
+
+    @Override
+    public int getCompletedCells() { return completedCells.get(); }
+
+    @Override
+    public double getPercentComplete() {
+        int total = totalCells;
+        return total == 0 ? 0 : 100.0 * completedCells.get() / total;
+    }
+
+    @Override
+    public long getSimulatedTicks() { return simulatedTicks.get(); }
+
+    @Override
+    public double getSimulatedTicksPerSecond() {
+        double seconds = getElapsedSeconds();
+        return seconds == 0 ? 0 : simulatedTicks.get() / seconds;
+    }
+
+    @Override
+    public double getElapsedSeconds() {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+}
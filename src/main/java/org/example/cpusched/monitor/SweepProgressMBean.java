@@ -0,0 +1,25 @@
+package org.example.cpusched.monitor;
+
+/**
+ * JMX view of a running sweep, registered as org.example.cpusched:type=Sweep.
+ * Updated as each cell finishes.
+ */
+public interface SweepProgressMBean {
+    int getTotalCells();
+
+    int getCompletedCells();
+
+    double getPercentComplete();
+
+    /**
+     * Simulated ticks of the finished cells.
+     */
+    long getSimulatedTicks();
+
+    /**
+     * Simulated ticks of the finished cells per wall-clock second, across all worker threads.
+     */
+    double getSimulatedTicksPerSecond();
+
+    double getElapsedSeconds();
+}
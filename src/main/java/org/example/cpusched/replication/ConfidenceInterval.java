@@ -0,0 +1,69 @@
+package org.example.cpusched.replication;
+
+/**
+ * Student-t confidence interval for the mean of independent samples, e.g. one estimate per replication.
+ */
+public class ConfidenceInterval {
+    private final double mean;
+    private final double halfWidth;
+    private final double stdDev;
+    private final int count;
+    private final double level;
+
+    private ConfidenceInterval(double mean, double halfWidth, double stdDev, int count, double level) {
+        this.mean = mean;
+        this.halfWidth = halfWidth;
+        this.stdDev = stdDev;
+        this.count = count;
+        this.level = level;
+    }
+
+    /**
+     * Interval over the first count samples. With a single sample the half-width is infinite.
+     */
+    public static ConfidenceInterval of(double[] samples, int count, double level) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Need at least one sample");
+        }
+        if (!(level > 0 && level < 1)) {
+            throw new IllegalArgumentException("Confidence level must be in (0, 1): " + level);
+        }
+        // Welford, so a large common offset (e.g. turnaround times in the millions) doesn't cancel out
+        double mean = 0, m2 = 0;
+        for (int i = 0; i < count; i++) {
+            double delta = samples[i] - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (samples[i] - mean);
+        }
+        if (count == 1) {
+            return new ConfidenceInterval(mean, Double.POSITIVE_INFINITY, Double.NaN, 1, level);
+        }
+        double stdDev = Math.sqrt(m2 / (count - 1));
+        double t = StudentT.quantile(1 - (1 - level) / 2, count - 1);
+        return new ConfidenceInterval(mean, t * stdDev / Math.sqrt(count), stdDev, count, level);
+    }
+
+    public double getMean() { return mean; }
+    public double getHalfWidth() { return halfWidth; }
+    public double getStdDev() { return stdDev; }
+    public int getCount() { return count; }
+    public double getLevel() { return level; }
+    public double getLower() { return mean - halfWidth; }
+    public double getUpper() { return mean + halfWidth; }
+
+    /**
+     * Half-width as a fraction of the mean; 0 for an exact zero (every sample 0), infinite for any
+     * other interval around a zero mean.
+     */
+    public double getRelativeHalfWidth() {
+        if (mean == 0) return halfWidth == 0 ? 0 : Double.POSITIVE_INFINITY;
+        return halfWidth / Math.abs(mean);
+    }
+
+    /**
+     * True if zero lies outside the interval, i.e. for a paired difference: the two differ at this level.
+     */
+    public boolean excludesZero() {
+        return getLower() > 0 || getUpper() < 0;
+    }
+}
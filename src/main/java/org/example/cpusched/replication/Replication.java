@@ -0,0 +1,103 @@
+package org.example.cpusched.replication;
+
+import org.example.cpusched.metrics.MetricsCollector;
+import org.example.cpusched.model.ProcessTable;
+import java.util.Arrays;
+
+/**
+ * The estimates from one replication (one algorithm, one seed), taken over the processes left after
+ * the warm-up cut.
+ */
+public class Replication {
+
+    public enum Metric {
+        AVG_WAITING("Avg Waiting"),
+        AVG_TURNAROUND("Avg Turnaround"),
+        AVG_RESPONSE("Avg Response"),
+        P95_RESPONSE("P95 Response"),
+        P99_RESPONSE("P99 Response"),
+        THROUGHPUT("Throughput/s");
+
+        private final String label;
+
+        Metric(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Accepts the enum name or its short form: wait, tat, resp, p95, p99, thru.
+         */
+        public static Metric parse(String text) {
+            switch (text.toLowerCase()) {
+                case "wait": return AVG_WAITING;
+                case "tat": return AVG_TURNAROUND;
+                case "resp": return AVG_RESPONSE;
+                case "p95": return P95_RESPONSE;
+                case "p99": return P99_RESPONSE;
+                case "thru": return THROUGHPUT;
+                default:
+                    try {
+                        return valueOf(text.toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown metric: " + text + " (wait, tat, resp, p95, p99, thru)");
+                    }
+            }
+        }
+    }
+
+    private final String algorithm;
+    private final String schedulerName;
+    private final long seed;
+    private final int completed;
+    private final int warmup;
+    private final double[] values;
+
+    /**
+     * @param metrics EXACT metrics of the finished run.
+     * @param warmup Leading processes (in completion order) to leave out.
+     */
+    Replication(String algorithm, String schedulerName, long seed, MetricsCollector metrics, int warmup) {
+        this.algorithm = algorithm;
+        this.schedulerName = schedulerName;
+        this.seed = seed;
+        this.warmup = warmup;
+        ProcessTable table = metrics.getCompletedTable();
+        int n = table.size();
+        this.completed = n - warmup;
+        this.values = new double[Metric.values().length];
+        if (completed <= 0) return;
+
+        long sumWait = 0, sumTurnaround = 0, sumResponse = 0;
+        int[] responseTimes = new int[completed];
+        for (int h = warmup; h < n; h++) {
+            sumWait += table.getWaitingTime(h);
+            sumTurnaround += table.getTurnaroundTime(h);
+            responseTimes[h - warmup] = table.getResponseTime(h);
+            sumResponse += responseTimes[h - warmup];
+        }
+        Arrays.sort(responseTimes);
+        values[Metric.AVG_WAITING.ordinal()] = (double) sumWait / completed;
+        values[Metric.AVG_TURNAROUND.ordinal()] = (double) sumTurnaround / completed;
+        values[Metric.AVG_RESPONSE.ordinal()] = (double) sumResponse / completed;
+        values[Metric.P95_RESPONSE.ordinal()] = responseTimes[(int) (completed * 0.95)];
+        values[Metric.P99_RESPONSE.ordinal()] = responseTimes[(int) (completed * 0.99)];
+        // Over the window after the last dropped completion, same units as MetricsSummary (1 tick = 1 ms)
+        int end = metrics.getTotalSimulationTime();
+        int from = warmup > 0 ? table.getCompletionTime(warmup - 1) : 0;
+        values[Metric.THROUGHPUT.ordinal()] = end > from ? (double) completed / (end - from) * 1000.0 : 0;
+    }
+
+    public String getAlgorithm() { return algorithm; }
+    public String getSchedulerName() { return schedulerName; }
+    public long getSeed() { return seed; }
+    public int getCompletedCount() { return completed; }
+    public int getWarmup() { return warmup; }
+
+    public double get(Metric metric) {
+        return values[metric.ordinal()];
+    }
+}
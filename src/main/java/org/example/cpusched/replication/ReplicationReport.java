@@ -0,0 +1,91 @@
+package org.example.cpusched.replication;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Renders replication results: means with confidence intervals per algorithm and, with several
+ * algorithms, paired differences against the first one (console), or one CSV row per replication.
+ */
+public final class ReplicationReport {
+    private ReplicationReport() {}
+
+    public static void printTable(ReplicationResult result) {
+        List<String> algorithms = result.getAlgorithms();
+        double percent = result.getLevel() * 100;
+        String levelLabel = String.format(percent == Math.rint(percent) ? "%.0f%%" : "%.1f%%", percent);
+        System.out.print("Replications: " + result.getCount() + " per algorithm");
+        if (result.getTargetHalfWidth() > 0) {
+            String metric = result.getTargetMetric() == null ? "every metric" : result.getTargetMetric().getLabel();
+            System.out.printf(" (target +-%.2f%% on %s: %s)", result.getTargetHalfWidth() * 100, metric,
+                    result.isTargetReached() ? "reached" : "NOT reached, raise --replications");
+        }
+        System.out.println();
+        StringBuilder warmups = new StringBuilder();
+        for (String algorithm : algorithms) {
+            int warmup = result.getReplications(algorithm).get(0).getWarmup(); // The same in every replication
+            if (warmup > 0) {
+                warmups.append(warmups.length() == 0 ? "" : ", ").append(algorithm).append(' ').append(warmup);
+            }
+        }
+        if (warmups.length() > 0) {
+            System.out.println("Warm-up dropped (processes): " + warmups);
+        }
+        System.out.println();
+
+        String header = String.format("%-9s %-15s %12s %27s %9s", "Algorithm", "Metric", "Mean",
+                levelLabel + " CI", "+-%");
+        System.out.println(header);
+        System.out.println("-".repeat(header.length()));
+        for (String algorithm : algorithms) {
+            for (Replication.Metric metric : Replication.Metric.values()) {
+                ConfidenceInterval ci = result.getInterval(algorithm, metric);
+                System.out.printf("%-9s %-15s %12.2f %27s %8.2f%%%n", algorithm, metric.getLabel(), ci.getMean(),
+                        range(ci), ci.getRelativeHalfWidth() * 100);
+            }
+        }
+
+        if (algorithms.size() > 1) {
+            String baseline = algorithms.get(0);
+            System.out.println();
+            System.out.println("Paired differences vs " + baseline + " (same seeds, " + levelLabel + " CI):");
+            String diffHeader = String.format("%-9s %-15s %12s %27s  %s", "Algorithm", "Metric", "Diff",
+                    levelLabel + " CI", "Significant");
+            System.out.println(diffHeader);
+            System.out.println("-".repeat(diffHeader.length()));
+            for (String algorithm : algorithms.subList(1, algorithms.size())) {
+                for (Replication.Metric metric : Replication.Metric.values()) {
+                    ConfidenceInterval ci = result.getDifference(algorithm, baseline, metric);
+                    System.out.printf("%-9s %-15s %+12.2f %27s  %s%n", algorithm, metric.getLabel(), ci.getMean(),
+                            range(ci), ci.excludesZero() ? "yes" : "no");
+                }
+            }
+        }
+    }
+
+    public static void exportToCsv(ReplicationResult result, String filename) {
+        try (PrintWriter writer = new PrintWriter(filename)) {
+            writer.println("Algorithm,Scheduler,Replication,Seed,Warmup,Completed,AvgWaiting,AvgTurnaround,"
+                    + "AvgResponse,P95Response,P99Response,Throughput");
+            for (String algorithm : result.getAlgorithms()) {
+                List<Replication> list = result.getReplications(algorithm);
+                for (int i = 0; i < list.size(); i++) {
+                    Replication r = list.get(i);
+                    writer.printf("%s,\"%s\",%d,%d,%d,%d,%.4f,%.4f,%.4f,%.2f,%.2f,%.4f%n",
+                            algorithm, r.getSchedulerName(), i + 1, r.getSeed(), r.getWarmup(), r.getCompletedCount(),
+                            r.get(Replication.Metric.AVG_WAITING), r.get(Replication.Metric.AVG_TURNAROUND),
+                            r.get(Replication.Metric.AVG_RESPONSE), r.get(Replication.Metric.P95_RESPONSE),
+                            r.get(Replication.Metric.P99_RESPONSE), r.get(Replication.Metric.THROUGHPUT));
+                }
+            }
+            System.out.println("Replications exported to " + filename);
+        } catch (IOException e) {
+            System.err.println("Error writing CSV: " + e.getMessage());
+        }
+    }
+
+    private static String range(ConfidenceInterval ci) {
+        return String.format("[%.2f, %.2f]", ci.getLower(), ci.getUpper());
+    }
+}
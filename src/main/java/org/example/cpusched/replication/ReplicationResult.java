@@ -0,0 +1,83 @@
+package org.example.cpusched.replication;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All replications of a ReplicationRunner run, per algorithm in the order given. Replication i of every
+ * algorithm used the same seed, so algorithms can be compared pairwise (common random numbers).
+ */
+public class ReplicationResult {
+    private final Map<String, List<Replication>> replications = new LinkedHashMap<>();
+    private final double level;
+    private final double targetHalfWidth;
+    private final Replication.Metric targetMetric;
+    private final boolean targetReached;
+
+    ReplicationResult(Map<String, List<Replication>> replications, double level, double targetHalfWidth,
+                      Replication.Metric targetMetric, boolean targetReached) {
+        this.replications.putAll(replications);
+        this.level = level;
+        this.targetHalfWidth = targetHalfWidth;
+        this.targetMetric = targetMetric;
+        this.targetReached = targetReached;
+    }
+
+    public List<String> getAlgorithms() {
+        return new ArrayList<>(replications.keySet());
+    }
+
+    public List<Replication> getReplications(String algorithm) {
+        List<Replication> list = replications.get(algorithm);
+        if (list == null) {
+            throw new IllegalArgumentException("No replications of " + algorithm);
+        }
+        return list;
+    }
+
+    /**
+     * Replications per algorithm.
+     */
+    public int getCount() {
+        return replications.isEmpty() ? 0 : replications.values().iterator().next().size();
+    }
+
+    public double getLevel() { return level; }
+
+    /**
+     * Requested relative half-width, 0 if the run was not stopped on precision.
+     */
+    public double getTargetHalfWidth() { return targetHalfWidth; }
+
+    /**
+     * The metric the target applied to, null = all of them.
+     */
+    public Replication.Metric getTargetMetric() { return targetMetric; }
+
+    public boolean isTargetReached() { return targetReached; }
+
+    public ConfidenceInterval getInterval(String algorithm, Replication.Metric metric) {
+        List<Replication> list = getReplications(algorithm);
+        double[] samples = new double[list.size()];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = list.get(i).get(metric);
+        }
+        return ConfidenceInterval.of(samples, samples.length, level);
+    }
+
+    /**
+     * Interval for algorithm minus baseline, from the per-seed differences. Both ran on the same workloads,
+     * so the workload's own variance cancels and the interval is much tighter than the two separate ones suggest.
+     */
+    public ConfidenceInterval getDifference(String algorithm, String baseline, Replication.Metric metric) {
+        List<Replication> a = getReplications(algorithm);
+        List<Replication> b = getReplications(baseline);
+        double[] samples = new double[a.size()];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = a.get(i).get(metric) - b.get(i).get(metric);
+        }
+        return ConfidenceInterval.of(samples, samples.length, level);
+    }
+}
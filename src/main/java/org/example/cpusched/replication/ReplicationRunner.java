@@ -0,0 +1,211 @@
+package org.example.cpusched.replication;
+
+import org.example.cpusched.engine.SimulationEngine;
+import org.example.cpusched.metrics.MetricsCollector;
+import org.example.cpusched.model.ProcessTable;
+import org.example.cpusched.scheduler.Scheduler;
+import org.example.cpusched.scheduler.SchedulerConfig;
+import org.example.cpusched.scheduler.SchedulerFactory;
+import org.example.cpusched.workload.ArrivalProcess;
+import org.example.cpusched.workload.Distribution;
+import org.example.cpusched.workload.WorkloadGenerator;
+import org.example.cpusched.workload.WorkloadSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Independent replications: the same configuration run on workloads from different seeds, in parallel on
+ * a ForkJoinPool, with a Student-t interval over the per-replication estimates.
+ *
+ * Seeds are drawn from a SplittableRandom seeded with the base seed, so a run is reproducible and
+ * replication i uses the same seed for every algorithm. Replications run in rounds: the first round does
+ * at least the minimum, each following round about one per thread. After every round the intervals are
+ * checked and the run stops once each one (or the one for the target metric) is within the requested
+ * relative half-width, or when the maximum is reached. Since precision is checked per round, more
+ * threads can overshoot the needed count by up to one round.
+ *
+ * Each run keeps EXACT metrics. With warm-up detection on, MSER-5 runs once per algorithm on the
+ * waiting-time series of the first round averaged across its replications (Welch's averaging: a single
+ * run's series is too noisy and MSER then tends to cut at its limit). That many leading processes, in
+ * completion order, are left out of every replication of the algorithm.
+ */
+public class ReplicationRunner {
+    private final int parallelism;
+    private final SimulationEngine.Mode engineMode;
+    private final SchedulerConfig baseConfig;
+    private int contextSwitchCost = 0;
+    private int ioDevices = 1;
+    private ArrivalProcess arrivals = null;
+    private Distribution bursts = null;
+    private double level = 0.95;
+    private double targetHalfWidth = 0; // 0 = always run the maximum
+    private Replication.Metric targetMetric = null; // null = every metric
+    private int minReplications = 5;
+    private int maxReplications = 30;
+    private boolean warmupDetection = true;
+
+    public ReplicationRunner(int parallelism, SimulationEngine.Mode engineMode, SchedulerConfig baseConfig) {
+        this.parallelism = parallelism;
+        this.engineMode = engineMode;
+        this.baseConfig = new SchedulerConfig(baseConfig);
+    }
+
+    public void setContextSwitchCost(int contextSwitchCost) {
+        this.contextSwitchCost = contextSwitchCost;
+    }
+
+    public void setIoDeviceCount(int devices) {
+        this.ioDevices = devices;
+    }
+
+    /**
+     * Draws each replication's workload from these distributions instead of the workload profile.
+     */
+    public void setSynthetic(ArrivalProcess arrivals, Distribution bursts) {
+        this.arrivals = arrivals;
+        this.bursts = bursts;
+    }
+
+    /**
+     * Confidence level of the intervals, e.g. 0.95.
+     */
+    public void setLevel(double level) {
+        if (!(level > 0 && level < 1)) {
+            throw new IllegalArgumentException("Confidence level must be in (0, 1): " + level);
+        }
+        this.level = level;
+    }
+
+    /**
+     * Stop as soon as the half-width is at most this fraction of the mean, e.g. 0.05 for +-5%.
+     * @param metric The metric that has to get there, or null for all of them.
+     */
+    public void setTarget(double relativeHalfWidth, Replication.Metric metric) {
+        if (!(relativeHalfWidth >= 0)) {
+            throw new IllegalArgumentException("Target half-width must be >= 0: " + relativeHalfWidth);
+        }
+        this.targetHalfWidth = relativeHalfWidth;
+        this.targetMetric = metric;
+    }
+
+    public void setReplications(int min, int max) {
+        if (min < 2 || max < min) {
+            throw new IllegalArgumentException("Need 2 <= min <= max replications: " + min + ", " + max);
+        }
+        this.minReplications = min;
+        this.maxReplications = max;
+    }
+
+    public void setWarmupDetection(boolean warmupDetection) {
+        this.warmupDetection = warmupDetection;
+    }
+
+    public ReplicationResult run(List<String> algorithms, String workloadType, int processCount, long baseSeed) {
+        for (String algorithm : algorithms) {
+            if (SchedulerFactory.create(algorithm, baseConfig) == null) {
+                throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+            }
+        }
+        Map<String, List<Replication>> results = new LinkedHashMap<>();
+        Map<String, Integer> warmups = new LinkedHashMap<>();
+        for (String algorithm : algorithms) {
+            results.put(algorithm, new ArrayList<>());
+        }
+        SplittableRandom seeds = new SplittableRandom(baseSeed);
+        // Enough seeds per round that every algorithm together keeps the threads busy
+        int perRound = Math.max(1, (parallelism + algorithms.size() - 1) / algorithms.size());
+        int done = 0;
+        boolean reached = false;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            while (done < maxReplications) {
+                int round = Math.min(done == 0 ? Math.max(minReplications, perRound) : perRound, maxReplications - done);
+                long[] roundSeeds = new long[round];
+                for (int i = 0; i < round; i++) {
+                    roundSeeds[i] = seeds.nextLong();
+                }
+                // Results come back in (algorithm, seed) order regardless of completion order
+                List<ForkJoinTask<MetricsCollector>> tasks = new ArrayList<>();
+                for (String algorithm : algorithms) {
+                    for (long seed : roundSeeds) {
+                        tasks.add(pool.submit(() -> simulate(algorithm, seed, workloadType, processCount)));
+                    }
+                }
+                int t = 0;
+                for (String algorithm : algorithms) {
+                    List<MetricsCollector> runs = new ArrayList<>(round);
+                    for (int i = 0; i < round; i++) {
+                        runs.add(tasks.get(t++).join());
+                    }
+                    if (!warmups.containsKey(algorithm)) {
+                        warmups.put(algorithm, warmupDetection ? detectWarmup(runs) : 0);
+                    }
+                    String name = SchedulerFactory.create(algorithm, baseConfig).getName();
+                    for (int i = 0; i < round; i++) {
+                        results.get(algorithm).add(new Replication(algorithm, name, roundSeeds[i], runs.get(i),
+                                warmups.get(algorithm)));
+                    }
+                }
+                done += round;
+                if (targetHalfWidth > 0 && isPrecise(results)) {
+                    reached = true;
+                    break;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return new ReplicationResult(results, level, targetHalfWidth, targetMetric, reached);
+    }
+
+    private boolean isPrecise(Map<String, List<Replication>> results) {
+        ReplicationResult current = new ReplicationResult(results, level, targetHalfWidth, targetMetric, false);
+        for (String algorithm : results.keySet()) {
+            for (Replication.Metric metric : Replication.Metric.values()) {
+                if (targetMetric != null && metric != targetMetric) continue;
+                if (current.getInterval(algorithm, metric).getRelativeHalfWidth() > targetHalfWidth) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private MetricsCollector simulate(String algorithm, long seed, String workloadType, int processCount) {
+        Scheduler scheduler = SchedulerFactory.create(algorithm, new SchedulerConfig(baseConfig));
+        MetricsCollector metrics = new MetricsCollector(MetricsCollector.Mode.EXACT);
+        WorkloadGenerator generator = new WorkloadGenerator(seed);
+        WorkloadSource workload = arrivals != null
+                ? generator.stream(arrivals, bursts, processCount, 1)
+                : generator.stream(workloadType, processCount);
+        SimulationEngine engine = new SimulationEngine(scheduler, workload, metrics, contextSwitchCost, engineMode);
+        engine.setIoDeviceCount(ioDevices);
+        engine.run();
+        return metrics;
+    }
+
+    // MSER-5 on the mean waiting time of the i-th completion across the runs
+    private static int detectWarmup(List<MetricsCollector> runs) {
+        int length = Integer.MAX_VALUE;
+        for (MetricsCollector metrics : runs) {
+            length = Math.min(length, metrics.getCompletedCount());
+        }
+        long[] sums = new long[length];
+        for (MetricsCollector metrics : runs) {
+            ProcessTable completed = metrics.getCompletedTable();
+            for (int h = 0; h < length; h++) {
+                sums[h] += completed.getWaitingTime(h);
+            }
+        }
+        double[] series = new double[length];
+        for (int h = 0; h < length; h++) {
+            series[h] = (double) sums[h] / runs.size();
+        }
+        return WarmupDetector.mser5(series, length);
+    }
+}
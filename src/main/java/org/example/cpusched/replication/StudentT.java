@@ -0,0 +1,98 @@
+package org.example.cpusched.replication;
+
+/**
+ * Quantiles of Student's t distribution, for confidence intervals from a handful of replications.
+ * The CDF comes from the regularized incomplete beta function (continued fraction, as in Numerical
+ * Recipes); the quantile is found by bisection, which is plenty fast for a few calls per report.
+ */
+final class StudentT {
+    private StudentT() {
+    }
+
+    /**
+     * t such that P(T <= t) = p, for 0.5 <= p < 1.
+     */
+    static double quantile(double p, int dof) {
+        if (dof < 1) {
+            throw new IllegalArgumentException("Degrees of freedom must be >= 1: " + dof);
+        }
+        double lo = 0, hi = 1;
+        while (cdf(hi, dof) < p) {
+            hi *= 2;
+        }
+        for (int i = 0; i < 100 && hi - lo > 1e-12 * hi; i++) {
+            double mid = (lo + hi) / 2;
+            if (cdf(mid, dof) < p) lo = mid; else hi = mid;
+        }
+        return (lo + hi) / 2;
+    }
+
+    // P(T <= t) for t >= 0
+    static double cdf(double t, int dof) {
+        double x = dof / (dof + t * t);
+        return 1 - 0.5 * incompleteBeta(dof / 2.0, 0.5, x);
+    }
+
+    // Regularized incomplete beta I_x(a, b)
+    private static double incompleteBeta(double a, double b, double x) {
+        if (x <= 0) return 0;
+        if (x >= 1) return 1;
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b)
+                + a * Math.log(x) + b * Math.log(1 - x));
+        // The continued fraction converges fast only below the mean; use the symmetry relation above it
+        if (x < (a + 1) / (a + b + 2)) {
+            return front * betaFraction(a, b, x) / a;
+        }
+        return 1 - front * betaFraction(b, a, 1 - x) / b;
+    }
+
+    // Modified Lentz evaluation of the incomplete beta continued fraction
+    private static double betaFraction(double a, double b, double x) {
+        final double tiny = 1e-300;
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        if (Math.abs(d) < tiny) d = tiny;
+        d = 1 / d;
+        double h = d;
+        for (int m = 1; m <= 300; m++) {
+            int m2 = 2 * m;
+            double aa = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1 + aa * d;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = 1 + aa / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1 / d;
+            h *= d * c;
+            aa = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1 + aa * d;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = 1 + aa / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < 1e-15) break;
+        }
+        return h;
+    }
+
+    // Lanczos approximation (g = 7, 9 terms), accurate to about 15 digits for x > 0
+    private static final double[] LANCZOS = {
+            0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+            -176.61502916214059, 12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6,
+            1.5056327351493116e-7
+    };
+
+    private static double logGamma(double x) {
+        if (x < 0.5) {
+            return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+        }
+        x -= 1;
+        double sum = LANCZOS[0];
+        double t = x + 7.5;
+        for (int i = 1; i < LANCZOS.length; i++) {
+            sum += LANCZOS[i] / (x + i);
+        }
+        return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.cpusched.replication;
+
+/**
+ * MSER-5 truncation point (White, 1997) for an output series such as mean waiting times in completion order.
+ * The series is averaged in batches of 5; for each candidate cut d the statistic is the variance of the
+ * remaining batch means over their count, and the cut with the smallest statistic wins. Cuts are only
+ * tried over the first half of the series: a minimum further out means the run never settled, and
+ * dropping more would leave too little to estimate from.
+ */
+public final class WarmupDetector {
+    public static final int BATCH_SIZE = 5;
+
+    private WarmupDetector() {
+    }
+
+    /**
+     * Number of leading observations to drop, a multiple of the batch size; 0 for series too short to judge.
+     */
+    public static int mser5(double[] series, int length) {
+        int batches = length / BATCH_SIZE; // A partial last batch is left out of the statistic
+        if (batches < 4) return 0;
+        double[] means = new double[batches];
+        for (int b = 0, i = 0; b < batches; b++) {
+            double sum = 0;
+            for (int j = 0; j < BATCH_SIZE; j++) {
+                sum += series[i++];
+            }
+            means[b] = sum / BATCH_SIZE;
+        }
+
+        // Walk the cut back from the end, adding one batch at a time to a running mean and sum of squared
+        // deviations (Welford), so every candidate costs O(1) and stays accurate for large values
+        double mean = 0, m2 = 0;
+        int bestCut = 0;
+        double best = Double.POSITIVE_INFINITY;
+        for (int d = batches - 1; d >= 0; d--) {
+            int kept = batches - d;
+            double delta = means[d] - mean;
+            mean += delta / kept;
+            m2 += delta * (means[d] - mean);
+            if (d <= batches / 2) {
+                double statistic = m2 / ((double) kept * kept);
+                if (statistic <= best) { // <= keeps the earliest cut on ties
+                    best = statistic;
+                    bestCut = d;
+                }
+            }
+        }
+        return bestCut * BATCH_SIZE;
+    }
+}
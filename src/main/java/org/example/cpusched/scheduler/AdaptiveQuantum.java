@@ -0,0 +1,209 @@
+package org.example.cpusched.scheduler;
+
+import org.example.cpusched.model.Process;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * How AdaptiveRoundRobin and an adaptive MLFQ move their quanta while they run. Like ArrivalProcess it is
+ * an immutable description; start() returns the Controller that holds the state of one run.
+ *
+ * Text form:
+ *
+ * - burst or burst(q): size the quanta after the CPU bursts seen so far. Level 0 gets the q-quantile of the
+ *   burst lengths, so that a share q of the bursts finishes within one quantum; level i reaches the
+ *   1 - (1 - q)^(i + 1) quantile together with the levels above it. Default q = 0.8.
+ * - p99(target): feedback on the response time. When the p99 of the recent responses is above the target
+ *   the quanta shrink by 20% (new processes get the CPU sooner), when it is below half the target they grow
+ *   by 25% (fewer context switches). Starts from the configured quanta.
+ *
+ * Both collect WINDOW samples (bursts, or responses of first bursts) and only change the quanta once a
+ * window is full, then start a new one. The engines report bursts through Scheduler.onBurstComplete, when
+ * the process has just left the CPU, so a single-core run never changes a quantum under a running slice
+ * and ticksUntilPreemption stays exact. FCFS levels (Integer.MAX_VALUE) are left alone.
+ */
+public final class AdaptiveQuantum {
+    public static final int WINDOW = 256;
+    public static final AdaptiveQuantum DEFAULT = burst(0.8);
+
+    private static final double SMOOTHING = 0.5; // Weight of the new window for burst quanta
+    private static final double SHRINK = 0.8;
+    private static final double GROW = 1.25;
+    private static final double MIN_SCALE = 1.0 / 64;
+    private static final double MAX_SCALE = 64;
+
+    private enum Policy { BURST, P99 }
+
+    private final Policy policy;
+    private final double parameter; // Quantile for BURST, target in ticks for P99
+
+    private AdaptiveQuantum(Policy policy, double parameter) {
+        this.policy = policy;
+        this.parameter = parameter;
+    }
+
+    public static AdaptiveQuantum burst(double quantile) {
+        if (!(quantile > 0 && quantile < 1)) {
+            throw new IllegalArgumentException("burst quantile must be in (0, 1): " + quantile);
+        }
+        return new AdaptiveQuantum(Policy.BURST, quantile);
+    }
+
+    public static AdaptiveQuantum p99(double target) {
+        if (!(target > 0)) {
+            throw new IllegalArgumentException("p99 target must be positive: " + target);
+        }
+        return new AdaptiveQuantum(Policy.P99, target);
+    }
+
+    /**
+     * Parses "burst", "burst(0.9)" or "p99(200)".
+     */
+    public static AdaptiveQuantum parse(String spec) {
+        String s = spec.trim().toLowerCase();
+        if (s.equals("burst")) return DEFAULT;
+        int open = s.indexOf('(');
+        if (open < 0 || !s.endsWith(")")) {
+            throw new IllegalArgumentException("Unknown adaptive policy: " + spec + " (burst, burst(q) or p99(target))");
+        }
+        String name = s.substring(0, open).trim();
+        double value;
+        try {
+            value = Double.parseDouble(s.substring(open + 1, s.length() - 1).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad number in adaptive policy: " + spec);
+        }
+        switch (name) {
+            case "burst": return burst(value);
+            case "p99": return p99(value);
+            default: throw new IllegalArgumentException("Unknown adaptive policy: " + spec + " (burst, burst(q) or p99(target))");
+        }
+    }
+
+    /**
+     * @param baseQuanta The configured quanta, one per level; the p99 policy scales these.
+     */
+    public Controller start(int[] baseQuanta) {
+        return new Controller(baseQuanta);
+    }
+
+    @Override
+    public String toString() {
+        return (policy == Policy.BURST ? "burst(" : "p99(") + format(parameter) + ")";
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    /**
+     * State of one run: the current quanta and the window being filled.
+     */
+    public final class Controller {
+        private final int[] base;
+        private final int[] quanta;
+        private final int[] window = new int[WINDOW];
+        private int filled = 0;
+        private double scale = 1; // P99 only
+
+        private Controller(int[] baseQuanta) {
+            this.base = baseQuanta.clone();
+            this.quanta = baseQuanta.clone();
+        }
+
+        public int get(int level) {
+            return quanta[level];
+        }
+
+        public int[] getQuanta() {
+            return quanta.clone();
+        }
+
+        /**
+         * Feeds one completed CPU burst.
+         * @return true if the quanta changed.
+         */
+        public boolean observe(Process process) {
+            int sample;
+            if (policy == Policy.BURST) {
+                sample = process.getCurrentCpuBurst();
+            } else {
+                // Response time is fixed by the first burst; later ones add nothing new
+                if (process.getExecutedTime() != process.getCurrentCpuBurst()) return false;
+                sample = process.getResponseTime();
+            }
+            window[filled++] = sample;
+            if (filled < WINDOW) return false;
+            filled = 0;
+            int[] sorted = window.clone();
+            Arrays.sort(sorted);
+            return policy == Policy.BURST ? fitBursts(sorted) : steer(sorted);
+        }
+
+        private boolean fitBursts(int[] sorted) {
+            boolean changed = false;
+            long covered = 0; // Ticks a process has had by the time it reaches level i
+            double miss = 1 - parameter;
+            for (int i = 0; i < quanta.length; i++) {
+                if (quanta[i] == Integer.MAX_VALUE) continue;
+                long reach = quantile(sorted, 1 - miss);
+                long target = Math.max(1, reach - covered);
+                int next = (int) Math.max(1, Math.round((1 - SMOOTHING) * quanta[i] + SMOOTHING * target));
+                changed |= next != quanta[i];
+                quanta[i] = next;
+                covered += next;
+                miss *= 1 - parameter;
+            }
+            return changed;
+        }
+
+        private boolean steer(int[] sorted) {
+            long p99 = quantile(sorted, 0.99);
+            if (p99 > parameter) {
+                scale = Math.max(MIN_SCALE, scale * SHRINK);
+            } else if (p99 < parameter / 2) {
+                scale = Math.min(MAX_SCALE, scale * GROW);
+            } else {
+                return false;
+            }
+            boolean changed = false;
+            for (int i = 0; i < quanta.length; i++) {
+                if (base[i] == Integer.MAX_VALUE) continue;
+                int next = (int) Math.max(1, Math.round(base[i] * scale));
+                changed |= next != quanta[i];
+                quanta[i] = next;
+            }
+            return changed;
+        }
+
+        // Nearest-rank quantile of a sorted sample
+        private long quantile(int[] sorted, double q) {
+            int rank = (int) Math.ceil(q * sorted.length);
+            return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+        }
+
+        public void writeState(DataOutput out) throws IOException {
+            for (int q : quanta) {
+                out.writeInt(q);
+            }
+            out.writeDouble(scale);
+            out.writeInt(filled);
+            for (int i = 0; i < filled; i++) {
+                out.writeInt(window[i]);
+            }
+        }
+
+        public void readState(DataInput in) throws IOException {
+            for (int i = 0; i < quanta.length; i++) {
+                quanta[i] = in.readInt();
+            }
+            scale = in.readDouble();
+            filled = in.readInt();
+            for (int i = 0; i < filled; i++) {
+                window[i] = in.readInt();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.cpusched.scheduler;
+
+import org.example.cpusched.model.Process;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Round Robin whose quantum follows an AdaptiveQuantum policy instead of staying at --quantum,
+ * which is only where it starts.
+ */
+public final class AdaptiveRoundRobin implements Scheduler {
+    private final ArrayDeque<Process> readyQueue = new ArrayDeque<>();
+    private final int initialQuantum;
+    private final AdaptiveQuantum policy;
+    private final AdaptiveQuantum.Controller controller;
+    private int timeQuantum;
+
+    public AdaptiveRoundRobin(int initialQuantum, AdaptiveQuantum policy) {
+        if (initialQuantum <= 0) {
+            throw new IllegalArgumentException("Time quantum must be positive: " + initialQuantum);
+        }
+        this.initialQuantum = initialQuantum;
+        this.policy = policy;
+        this.controller = policy.start(new int[] {initialQuantum});
+        this.timeQuantum = initialQuantum;
+    }
+
+    @Override
+    public void onProcessArrival(Process process) {
+        readyQueue.add(process);
+    }
+
+    @Override
+    public Process pickNextProcess(int currentTime) {
+        return readyQueue.poll();
+    }
+
+    @Override
+    public boolean shouldPreempt(Process currentProcess, int currentTime, int quantumElapsed) {
+        return quantumElapsed >= timeQuantum && !readyQueue.isEmpty();
+    }
+
+    @Override
+    public int getTimeSlice(Process currentProcess) {
+        return timeQuantum;
+    }
+
+    @Override
+    public int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        if (readyQueue.isEmpty()) return Integer.MAX_VALUE;
+        return Math.max(1, timeQuantum - quantumElapsed);
+    }
+
+    @Override
+    public void onBurstComplete(Process process, int currentTime) {
+        if (controller.observe(process)) {
+            timeQuantum = controller.get(0);
+        }
+    }
+
+    /**
+     * The quantum right now.
+     */
+    public int getTimeQuantum() {
+        return timeQuantum;
+    }
+
+    // The starting quantum, not the current one: checkpoints match schedulers by name
+    @Override
+    public String getName() {
+        return "Adaptive Round Robin (" + policy + ", Q0=" + initialQuantum + ")";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return readyQueue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+
+    @Override
+    public List<Process> getReadyQueueSnapshot() {
+        return new ArrayList<>(readyQueue);
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        controller.writeState(out);
+    }
+
+    @Override
+    public void restoreState(List<Process> queued, DataInput in) throws IOException {
+        controller.readState(in);
+        timeQuantum = controller.get(0);
+        readyQueue.addAll(queued);
+    }
+}
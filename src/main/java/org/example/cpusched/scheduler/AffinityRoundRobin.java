@@ -0,0 +1,123 @@
+package org.example.cpusched.scheduler;
+
+import org.example.cpusched.model.CacheAffinityModel;
+import org.example.cpusched.model.Process;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cache-affinity-aware Round Robin for one core of the multi-core engine.
+ * Instead of always taking the head of the queue, it looks at the first few waiting processes and
+ * runs the one whose cache on this core is still the warmest, so warm processes resume before they go cold.
+ * The head can be passed over at most lookahead times in a row, so nobody starves.
+ */
+public final class AffinityRoundRobin implements Scheduler {
+    private final ArrayDeque<Process> readyQueue = new ArrayDeque<>();
+    private final int timeQuantum;
+    private final int lookahead;
+    private final CacheAffinityModel cacheModel;
+    private final int core;
+    private final Process[] window; // The first lookahead processes, taken off the queue while picking
+    private int headSkips = 0;
+
+    /**
+     * @param core The core this instance schedules; warmth is measured against it.
+     */
+    public AffinityRoundRobin(int timeQuantum, int lookahead, CacheAffinityModel cacheModel, int core) {
+        if (lookahead < 1) {
+            throw new IllegalArgumentException("Lookahead must be >= 1: " + lookahead);
+        }
+        this.timeQuantum = timeQuantum;
+        this.lookahead = lookahead;
+        this.cacheModel = cacheModel;
+        this.core = core;
+        this.window = new Process[lookahead];
+    }
+
+    @Override
+    public void onProcessArrival(Process process) {
+        readyQueue.add(process);
+    }
+
+    @Override
+    public Process pickNextProcess(int currentTime) {
+        if (readyQueue.isEmpty()) return null;
+        if (headSkips >= lookahead) {
+            headSkips = 0;
+            return readyQueue.poll();
+        }
+
+        // Warmest of the first lookahead processes; on a tie the one closer to the head wins
+        int n = Math.min(lookahead, readyQueue.size());
+        int bestIndex = 0;
+        double bestWarmth = -1;
+        for (int i = 0; i < n; i++) {
+            window[i] = readyQueue.poll();
+            double warmth = cacheModel.warmth(window[i], core, currentTime);
+            if (warmth > bestWarmth) {
+                bestIndex = i;
+                bestWarmth = warmth;
+            }
+        }
+        // Put the others back in their original order
+        for (int i = n - 1; i >= 0; i--) {
+            if (i != bestIndex) readyQueue.addFirst(window[i]);
+        }
+        Process best = window[bestIndex];
+        Arrays.fill(window, 0, n, null);
+        headSkips = bestIndex == 0 ? 0 : headSkips + 1;
+        return best;
+    }
+
+    @Override
+    public boolean shouldPreempt(Process currentProcess, int currentTime, int quantumElapsed) {
+        return quantumElapsed >= timeQuantum && !readyQueue.isEmpty();
+    }
+
+    @Override
+    public int getTimeSlice(Process currentProcess) {
+        return timeQuantum;
+    }
+
+    @Override
+    public int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        if (readyQueue.isEmpty()) return Integer.MAX_VALUE;
+        return Math.max(1, timeQuantum - quantumElapsed);
+    }
+
+    @Override
+    public String getName() {
+        return "Affinity Round Robin (Q=" + timeQuantum + ", lookahead=" + lookahead + ")";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return readyQueue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+
+    @Override
+    public List<Process> getReadyQueueSnapshot() {
+        return new ArrayList<>(readyQueue);
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(headSkips);
+    }
+
+    @Override
+    public void restoreState(List<Process> queued, DataInput in) throws IOException {
+        headSkips = in.readInt();
+        readyQueue.addAll(queued);
+    }
+}
@@ -0,0 +1,191 @@
+package org.example.cpusched.scheduler;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.queue.VruntimeHeap;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Completely Fair Scheduler in the style of Linux CFS.
+ * Every process accumulates virtual runtime: CPU time scaled by NICE_0_WEIGHT / weight, so heavier
+ * (higher priority) processes age slower. The process with the smallest vruntime runs next. Linux keeps
+ * the run queue in a red-black tree; only its leftmost node is ever needed, so a binary heap with the same
+ * ordering does here, and requeueing doesn't allocate a tree node every time.
+ *
+ * Timeslices are dynamic: the scheduling period is schedLatency, stretched to nr_running * minGranularity
+ * when too many processes are runnable, and each process gets a share of it proportional to its weight
+ * (never less than minGranularity). The running process is preempted when its slice is used up, or once
+ * it has run minGranularity and its vruntime is more than a slice ahead of the leftmost process.
+ */
+public final class CFS implements Scheduler {
+    public static final int DEFAULT_SCHED_LATENCY = 24;
+    public static final int DEFAULT_MIN_GRANULARITY = 3;
+
+    private static final int NICE_0_WEIGHT = 1024;
+    // vruntime is kept in 1/1024 tick units so weights above 1024 still advance it on every tick
+    private static final int VRUNTIME_SCALE = 1024;
+
+    // Linux sched_prio_to_weight: nice -20 .. 19, each step ~10% CPU
+    private static final int[] NICE_TO_WEIGHT = {
+            88761, 71755, 56483, 46273, 36291,
+            29154, 23254, 18705, 14949, 11916,
+            9548, 7620, 6100, 4904, 3906,
+            3121, 2501, 1991, 1586, 1277,
+            1024, 820, 655, 526, 423,
+            335, 272, 215, 172, 137,
+            110, 87, 70, 56, 45,
+            36, 29, 23, 18, 15,
+    };
+
+    private final VruntimeHeap runQueue = new VruntimeHeap();
+    private final int schedLatency;
+    private final int minGranularity;
+    private long totalQueuedWeight = 0;
+    private long minVruntime = 0; // Never decreases; new processes start here
+
+    public CFS() {
+        this(DEFAULT_SCHED_LATENCY, DEFAULT_MIN_GRANULARITY);
+    }
+
+    public CFS(int schedLatency, int minGranularity) {
+        if (minGranularity < 1 || schedLatency < minGranularity) {
+            throw new IllegalArgumentException("Need 1 <= minGranularity <= schedLatency, got "
+                    + minGranularity + " and " + schedLatency);
+        }
+        this.schedLatency = schedLatency;
+        this.minGranularity = minGranularity;
+    }
+
+    /**
+     * Priority 1..10 (lower = more important) mapped to nice -10..8, two nice levels per priority step.
+     */
+    public static int niceOf(Process p) {
+        return Math.max(-20, Math.min(19, 2 * p.getPriority() - 12));
+    }
+
+    public static int weightOf(Process p) {
+        return NICE_TO_WEIGHT[niceOf(p) + 20];
+    }
+
+    @Override
+    public void onProcessArrival(Process process) {
+        // Charge whatever the process ran since it was last queued (nothing for a new process)
+        long vruntime = vruntimeAfter(process, 0);
+        process.setAccountedRuntime(process.getExecutedTime());
+        // Newcomers and long sleepers start at min_vruntime so they can't monopolize the CPU.
+        // min_vruntime follows the leftmost process; it is only advanced here and on pick, so the result
+        // doesn't depend on how often the engine asks shouldPreempt.
+        if (!runQueue.isEmpty()) {
+            minVruntime = Math.max(minVruntime, runQueue.peek().getVruntime());
+        }
+        process.setVruntime(Math.max(vruntime, minVruntime));
+        runQueue.add(process);
+        totalQueuedWeight += weightOf(process);
+    }
+
+    @Override
+    public Process pickNextProcess(int currentTime) {
+        Process next = runQueue.poll();
+        if (next != null) {
+            totalQueuedWeight -= weightOf(next);
+            minVruntime = Math.max(minVruntime, next.getVruntime());
+        }
+        return next;
+    }
+
+    @Override
+    public boolean shouldPreempt(Process currentProcess, int currentTime, int quantumElapsed) {
+        if (runQueue.isEmpty()) return false;
+        return wouldPreempt(currentProcess, quantumElapsed, vruntimeAfter(currentProcess, 0));
+    }
+
+    @Override
+    public int getTimeSlice(Process currentProcess) {
+        return slice(currentProcess);
+    }
+
+    @Override
+    public int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        // Nothing in the run queue changes without an arrival, so the first tick at which shouldPreempt fires
+        // follows in closed form: the slice runs out, or minGranularity is reached and the vruntime has
+        // passed the leftmost one by more than a slice, whichever is later.
+        if (runQueue.isEmpty()) return Integer.MAX_VALUE;
+        int slice = slice(currentProcess);
+        int untilSliceEnd = Math.max(1, slice - quantumElapsed);
+        int untilGranularity = minGranularity - quantumElapsed;
+        long untilAhead = ticksUntilAhead(currentProcess,
+                runQueue.peek().getVruntime() + (long) slice * VRUNTIME_SCALE);
+        return (int) Math.min(untilSliceEnd, Math.max(1, Math.max(untilGranularity, untilAhead)));
+    }
+
+    // Smallest k with vruntimeAfter(p, k) > limit. vruntimeAfter is p.vruntime + floor((u + k) * C / w), so
+    // that is the first k with (u + k) * C >= (limit - p.vruntime + 1) * w.
+    private static long ticksUntilAhead(Process p, long limit) {
+        long needed = limit - p.getVruntime() + 1;
+        if (needed <= 0) return 0;
+        long perTick = (long) NICE_0_WEIGHT * VRUNTIME_SCALE;
+        long units = -Math.floorDiv(-needed * weightOf(p), perTick); // ceil(needed * w / C)
+        return units - (p.getExecutedTime() - p.getAccountedRuntime());
+    }
+
+    private boolean wouldPreempt(Process currentProcess, int ran, long vruntime) {
+        int slice = slice(currentProcess);
+        if (ran >= slice) return true;
+        return ran >= minGranularity
+                && vruntime - runQueue.peek().getVruntime() > (long) slice * VRUNTIME_SCALE;
+    }
+
+    // Ideal runtime of the running process: its weighted share of the scheduling period
+    private int slice(Process currentProcess) {
+        int nrRunning = runQueue.size() + 1;
+        long period = nrRunning > schedLatency / minGranularity ? (long) nrRunning * minGranularity : schedLatency;
+        long weight = weightOf(currentProcess);
+        long slice = period * weight / (totalQueuedWeight + weight);
+        return (int) Math.max(minGranularity, slice);
+    }
+
+    // vruntime including the ticks executed since the process was last queued, plus extraTicks more
+    private static long vruntimeAfter(Process p, int extraTicks) {
+        int executed = p.getExecutedTime();
+        int uncharged = executed - p.getAccountedRuntime() + extraTicks;
+        return p.getVruntime() + (long) uncharged * NICE_0_WEIGHT * VRUNTIME_SCALE / weightOf(p);
+    }
+
+    @Override
+    public String getName() {
+        return "CFS (latency=" + schedLatency + ", min_gran=" + minGranularity + ")";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return runQueue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return runQueue.size();
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(totalQueuedWeight);
+        out.writeLong(minVruntime);
+    }
+
+    // Straight into the heap: onProcessArrival would charge runtime and move min_vruntime again
+    @Override
+    public void restoreState(List<Process> queued, DataInput in) throws IOException {
+        totalQueuedWeight = in.readLong();
+        minVruntime = in.readLong();
+        for (Process p : queued) {
+            runQueue.add(p);
+        }
+    }
+
+    @Override
+    public List<Process> getReadyQueueSnapshot() {
+        return runQueue.toList();
+    }
+}
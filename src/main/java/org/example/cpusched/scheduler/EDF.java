@@ -0,0 +1,62 @@
+package org.example.cpusched.scheduler;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.queue.ProcessHeap;
+import java.util.List;
+
+/**
+ * Preemptive Earliest Deadline First. Optimal on one CPU: if any policy meets all deadlines, EDF does.
+ * Processes without a deadline run only when no deadline job is waiting.
+ */
+public final class EDF implements Scheduler {
+    // Sort by absolute Deadline ascending, then Arrival Time
+    private final ProcessHeap readyQueue = new ProcessHeap();
+
+    @Override
+    public void onProcessArrival(Process process) {
+        readyQueue.add(process, ProcessHeap.key(deadlineOf(process), process.getArrivalTime()));
+    }
+
+    @Override
+    public Process pickNextProcess(int currentTime) {
+        return readyQueue.poll();
+    }
+
+    @Override
+    public boolean shouldPreempt(Process currentProcess, int currentTime, int quantumElapsed) {
+        Process bestCandidate = readyQueue.peek();
+        if (bestCandidate == null) return false;
+        // Strictly earlier deadline only, so equal deadlines don't cause extra switches
+        return deadlineOf(bestCandidate) < deadlineOf(currentProcess);
+    }
+
+    @Override
+    public int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        // Deadlines are fixed per job, so only an arrival can change the answer
+        return shouldPreempt(currentProcess, currentTime, quantumElapsed) ? 1 : Integer.MAX_VALUE;
+    }
+
+    private static int deadlineOf(Process p) {
+        return p.hasDeadline() ? p.getDeadline() : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String getName() {
+        return "EDF (Preemptive)";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return readyQueue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+
+    @Override
+    public List<Process> getReadyQueueSnapshot() {
+        return readyQueue.toList();
+    }
+}
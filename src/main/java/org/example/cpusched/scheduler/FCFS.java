@@ -1,13 +1,12 @@
 package org.example.cpusched.scheduler;
 
 import org.example.cpusched.model.Process;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 import java.util.List;
-import java.util.Queue;
 import java.util.ArrayList;
 
-public class FCFS implements Scheduler {
-    private final Queue<Process> readyQueue = new LinkedList<>();
+public final class FCFS implements Scheduler {
+    private final ArrayDeque<Process> readyQueue = new ArrayDeque<>();
 
     @Override
     public void onProcessArrival(Process process) {
@@ -25,6 +24,11 @@ public class FCFS implements Scheduler {
         return false;
     }
 
+    @Override
+    public int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        return Integer.MAX_VALUE;
+    }
+
     @Override
     public String getName() {
         return "FCFS";
@@ -35,6 +39,11 @@ public class FCFS implements Scheduler {
         return readyQueue.isEmpty();
     }
 
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+
     @Override
     public List<Process> getReadyQueueSnapshot() {
         return new ArrayList<>(readyQueue);
@@ -1,53 +1,93 @@
 package org.example.cpusched.scheduler;
 
 import org.example.cpusched.model.Process;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
 
-public class MLFQ implements Scheduler {
-    // 3 Queues
+public final class MLFQ implements Scheduler {
+    // Default layout, 3 Queues
     // Q0: RR, Q=4 (Highest)
     // Q1: RR, Q=8
     // Q2: FCFS (Lowest)
-    private final List<Queue<Process>> queues;
-    private final int[] timeQuantums = {4, 8, Integer.MAX_VALUE}; // Q2 is FCFS ~ Infinite Quantum
-    private final int agingThreshold = 100; // Time units to wait before promotion
+    public static final int[] DEFAULT_TIME_QUANTUMS = {4, 8, Integer.MAX_VALUE}; // Q2 is FCFS ~ Infinite Quantum
+    public static final int DEFAULT_AGING_THRESHOLD = 100; // Time units to wait before promotion
+
+    private final ArrayDeque<Process>[] queues; // Ring buffers, so demotions and requeues don't allocate
+    private final int[] baseQuantums; // As configured; timeQuantums moves away from these when adaptive
+    private final int[] timeQuantums;
+    private final int agingThreshold; // 0 disables aging
+    private final AdaptiveQuantum adaptive; // null = fixed quanta
+    private final AdaptiveQuantum.Controller controller;
+    private int lastKnownTime = 0;
 
     public MLFQ() {
-        queues = new ArrayList<>();
-        queues.add(new LinkedList<>()); // Q0
-        queues.add(new LinkedList<>()); // Q1
-        queues.add(new LinkedList<>()); // Q2
+        this(DEFAULT_TIME_QUANTUMS, DEFAULT_AGING_THRESHOLD);
+    }
+
+    /**
+     * @param timeQuantums One quantum per level, highest priority first. Integer.MAX_VALUE makes a level FCFS.
+     * @param agingThreshold Time a process may wait in a level before it is promoted one level up (0 = no aging).
+     */
+    public MLFQ(int[] timeQuantums, int agingThreshold) {
+        this(timeQuantums, agingThreshold, null);
+    }
+
+    /**
+     * @param adaptive Moves the quanta while running, starting from timeQuantums; null keeps them fixed.
+     */
+    public MLFQ(int[] timeQuantums, int agingThreshold, AdaptiveQuantum adaptive) {
+        if (timeQuantums.length == 0) {
+            throw new IllegalArgumentException("MLFQ needs at least one level");
+        }
+        for (int q : timeQuantums) {
+            if (q <= 0) throw new IllegalArgumentException("Time quantum must be positive: " + q);
+        }
+        if (agingThreshold < 0) {
+            throw new IllegalArgumentException("Aging threshold must be >= 0: " + agingThreshold);
+        }
+        this.baseQuantums = timeQuantums.clone();
+        this.timeQuantums = timeQuantums.clone();
+        this.agingThreshold = agingThreshold;
+        this.adaptive = adaptive;
+        this.controller = adaptive != null ? adaptive.start(timeQuantums) : null;
+        @SuppressWarnings({"unchecked", "rawtypes"}) // No generic array creation
+        ArrayDeque<Process>[] levels = new ArrayDeque[timeQuantums.length];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = new ArrayDeque<>();
+        }
+        this.queues = levels;
     }
 
     @Override
     public void onProcessArrival(Process process) {
-        // New processes enter Q0
-        // But if this is a re-queue (demotion/preemption), the Engine needs to know WHERE to put it.
-        // The Engine typically calls onProcessArrival for NEW processes.
-        // For re-queuing preempted processes, we need logic.
-        // If the process was just running, its level is stored in the Process object.
-        
-        // However, 'onProcessArrival' in this interface usually implies "put this process into the scheduler".
-        // We rely on the Process state (currentQueueLevel) to decide where it goes.
-        
+        // No timestamp from the caller: the process entered the queue no earlier than it arrived
+        // and no earlier than the last time we were told about.
+        onProcessArrival(process, Math.max(process.getArrivalTime(), lastKnownTime));
+    }
+
+    @Override
+    public void onProcessArrival(Process process, int currentTime) {
+        // New processes enter Q0; preempted ones go back to the level stored in the Process
+        // (shouldPreempt already demoted them if their quantum ran out).
         int level = process.getCurrentQueueLevel();
-        if (level >= queues.size()) {
-            level = queues.size() - 1;
+        if (level >= queues.length) {
+            level = queues.length - 1;
             process.setCurrentQueueLevel(level);
         }
-        queues.get(level).add(process);
+        enqueue(process, level, currentTime);
     }
 
     @Override
     public Process pickNextProcess(int currentTime) {
-        // Check for aging first (optional optimization: do strictly periodically, but here every tick is safe for sim)
+        lastKnownTime = currentTime;
         performAging(currentTime);
 
         // Pick from highest priority non-empty queue
-        for (Queue<Process> q : queues) {
+        for (ArrayDeque<Process> q : queues) {
             if (!q.isEmpty()) {
                 return q.poll();
             }
@@ -57,13 +97,14 @@ public class MLFQ implements Scheduler {
 
     @Override
     public boolean shouldPreempt(Process currentProcess, int currentTime, int quantumElapsed) {
+        lastKnownTime = currentTime;
         int level = currentProcess.getCurrentQueueLevel();
         int quantum = timeQuantums[level];
 
         // 1. Quantum Expiration
         if (quantumElapsed >= quantum) {
             // Demote if not already at bottom
-            if (level < queues.size() - 1) {
+            if (level < queues.length - 1) {
                 currentProcess.incrementQueueLevel();
             }
             return true;
@@ -72,74 +113,138 @@ public class MLFQ implements Scheduler {
         // 2. Higher Priority Arrival
         // If a process exists in a higher priority queue than current, preempt immediately.
         for (int i = 0; i < level; i++) {
-            if (!queues.get(i).isEmpty()) {
-                return true; 
+            if (!queues[i].isEmpty()) {
+                return true;
             }
         }
 
         return false;
     }
 
+    @Override
+    public int getTimeSlice(Process currentProcess) {
+        return timeQuantums[currentProcess.getCurrentQueueLevel()];
+    }
+
+    @Override
+    public int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        // Aging only runs on pick, so while a process holds the CPU the higher queues change only on arrivals.
+        int level = currentProcess.getCurrentQueueLevel();
+        for (int i = 0; i < level; i++) {
+            if (!queues[i].isEmpty()) {
+                return 1;
+            }
+        }
+        return Math.max(1, timeQuantums[level] - quantumElapsed);
+    }
+
+    @Override
+    public void onBurstComplete(Process process, int currentTime) {
+        if (controller != null && controller.observe(process)) {
+            for (int i = 0; i < timeQuantums.length; i++) {
+                timeQuantums[i] = controller.get(i);
+            }
+        }
+    }
+
+    /**
+     * The quanta right now, highest level first; they differ from the configured ones only when adaptive.
+     */
+    public int[] getTimeQuantums() {
+        return timeQuantums.clone();
+    }
+
+    private void enqueue(Process process, int level, int currentTime) {
+        process.setQueueEntryTime(currentTime);
+        queues[level].add(process);
+    }
+
+    // Promote every process that has waited agingThreshold or longer in its current level by one level.
+    // Each queue is FIFO and entry times only grow, so the head is always the longest waiter: we stop at the
+    // first head that is still young, which makes aging amortized O(1) per promotion instead of a full scan.
     private void performAging(int currentTime) {
-        // Simple aging: iterate all processes in lower queues. 
-        // Note: This is O(N) where N is total ready processes. Acceptable for simulation.
-        // In real OS, done less frequently.
-        
-        for (int i = 1; i < queues.size(); i++) {
-            Queue<Process> q = queues.get(i);
-            // We need to iterate safely to remove.
-            int size = q.size();
-            for (int j = 0; j < size; j++) {
+        if (agingThreshold == 0) return;
+
+        for (int i = 1; i < queues.length; i++) {
+            ArrayDeque<Process> q = queues[i];
+            while (!q.isEmpty() && currentTime - q.peek().getQueueEntryTime() >= agingThreshold) {
                 Process p = q.poll();
-                // Check wait time. 
-                // We need to track 'lastActiveTime' or similar to know how long it's waited.
-                // Process.totalWaitingTime is cumulative.
-                // We can approximate or use a specific field. 
-                // Let's use a simplified heuristic: if we want rigorous aging, we need 'entryTimeInQueue'.
-                // Ideally, Process tracks 'wait start time'.
-                // Since this is a discrete sim, we can just say "if it's in a lower queue, maybe move it up randomly" 
-                // OR we strictly track wait time.
-                // Given the constraints and the 'Process' model, we don't have a 'currentWaitBurst'.
-                // I will skip complex aging logic for now to keep it simple, OR promote if it's been in the system long?
-                // Let's implement: If (currentTime - lastActiveTime) > agingThreshold -> promote.
-                // But lastActiveTime is updated when it runs. If it hasn't run, it grows.
-                
-                // wait, if I poll it, I must put it back somewhere.
-                
-                // For this implementation, let's keep it simple: No aging loop every tick to avoid complexity bugs 
-                // unless strictly required. The requirements say "aging and demotion".
-                // Okay, I'll assume standard MLFQ aging: 
-                // Processes in lower priority queues waiting too long move up.
-                
-                // NOTE: 'onProcessArrival' uses currentQueueLevel. So if we decrement level, and re-add, it goes up.
-                
-                // Let's skip aging for this specific method call to avoid concurrent modification issues 
-                // or infinite loops if not careful, unless I use an iterator.
-                
-                if (p != null) {
-                    q.add(p); // Put it back for now. Real aging requires tracking individual wait times per queue entry.
-                }
+                p.setCurrentQueueLevel(i - 1);
+                // Entering the upper level now keeps that queue ordered by entry time and
+                // makes the process wait a full threshold again before the next promotion.
+                enqueue(p, i - 1, currentTime);
+            }
+        }
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(lastKnownTime);
+        if (controller != null) controller.writeState(out);
+    }
+
+    // Back into the level each process was waiting in, keeping the queue entry times for aging
+    @Override
+    public void restoreState(List<Process> queued, DataInput in) throws IOException {
+        lastKnownTime = in.readInt();
+        if (controller != null) {
+            controller.readState(in);
+            for (int i = 0; i < timeQuantums.length; i++) {
+                timeQuantums[i] = controller.get(i);
             }
         }
+        for (Process p : queued) {
+            queues[p.getCurrentQueueLevel()].add(p);
+        }
+    }
+
+    public int getLevelCount() {
+        return queues.length;
+    }
+
+    /**
+     * Processes waiting in one level, 0 = highest priority.
+     */
+    public int getLevelSize(int level) {
+        return queues[level].size();
     }
 
     @Override
     public String getName() {
-        return "MLFQ (Q=4,8,FCFS) + Aging";
+        // The configured quanta, not the current ones: checkpoints match schedulers by name
+        StringBuilder name = new StringBuilder(adaptive != null ? "Adaptive MLFQ (" + adaptive + ", Q0=" : "MLFQ (Q=");
+        for (int i = 0; i < baseQuantums.length; i++) {
+            if (i > 0) name.append(',');
+            name.append(baseQuantums[i] == Integer.MAX_VALUE ? "FCFS" : String.valueOf(baseQuantums[i]));
+        }
+        name.append(')');
+        if (agingThreshold > 0) {
+            name.append(" + Aging(").append(agingThreshold).append(')');
+        }
+        return name.toString();
     }
 
     @Override
     public boolean isEmpty() {
-        for (Queue<Process> q : queues) {
-            if (!q.isEmpty()) return true;
+        for (ArrayDeque<Process> q : queues) {
+            if (!q.isEmpty()) return false;
         }
-        return false;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (ArrayDeque<Process> q : queues) {
+            size += q.size();
+        }
+        return size;
     }
-    
+
     @Override
     public List<Process> getReadyQueueSnapshot() {
         List<Process> all = new ArrayList<>();
-        for (Queue<Process> q : queues) {
+        for (ArrayDeque<Process> q : queues) {
             all.addAll(q);
         }
         return all;
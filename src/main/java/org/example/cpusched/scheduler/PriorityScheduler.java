@@ -1,37 +1,86 @@
 package org.example.cpusched.scheduler;
 
 import org.example.cpusched.model.Process;
-import java.util.Comparator;
-import java.util.PriorityQueue;
+import org.example.cpusched.scheduler.queue.PriorityBuckets;
+import org.example.cpusched.scheduler.queue.ProcessHeap;
+import java.io.DataInput;
+import java.io.IOException;
 import java.util.List;
-import java.util.ArrayList;
 
-public class PriorityScheduler implements Scheduler {
-    // Sort by Priority (lower is higher priority). Then Arrival.
-    private final PriorityQueue<Process> readyQueue = new PriorityQueue<>(
-        Comparator.comparingInt(Process::getPriority)
-                  .thenComparingInt(Process::getArrivalTime)
-    );
+public final class PriorityScheduler implements Scheduler {
+    // Exactly one of these backs the ready queue:
+    // - bounded range: bitmap-indexed buckets, O(1) insert/pick, FIFO by ready time within a priority
+    // - unbounded: heap sorted by Priority (lower is higher priority), then Arrival, O(log n)
+    // Within a priority they disagree twice: the buckets keep processes with the same arrival time in the
+    // order they were added (pid order for generated workloads) where the heap's order depends on its layout,
+    // and they queue a process coming back from I/O behind the ones already waiting where the heap puts it
+    // back by its original arrival.
+    // A process outside the bucket range switches the queue over to the heap for the rest of the run.
+    private PriorityBuckets buckets;
+    private ProcessHeap heap;
+
+    /**
+     * Unbounded priorities, heap-backed.
+     */
+    public PriorityScheduler() {
+        this.buckets = null;
+        this.heap = new ProcessHeap();
+    }
+
+    /**
+     * Priorities known to lie in [minPriority, maxPriority]. Ranges of up to 64 levels use the
+     * O(1) bucket queue; wider ranges fall back to the heap.
+     */
+    public PriorityScheduler(int minPriority, int maxPriority) {
+        if (maxPriority - minPriority + 1 <= PriorityBuckets.MAX_LEVELS) {
+            this.buckets = new PriorityBuckets(minPriority, maxPriority);
+            this.heap = null;
+        } else {
+            this.buckets = null;
+            this.heap = new ProcessHeap();
+        }
+    }
 
     @Override
     public void onProcessArrival(Process process) {
-        readyQueue.add(process);
+        if (buckets != null && !buckets.accepts(process.getPriority())) {
+            heap = new ProcessHeap();
+            for (Process p : buckets.toList()) {
+                addToHeap(p);
+            }
+            buckets = null;
+        }
+        if (buckets != null) {
+            buckets.add(process);
+        } else {
+            addToHeap(process);
+        }
+    }
+
+    private void addToHeap(Process process) {
+        heap.add(process, ProcessHeap.key(process.getPriority(), process.getArrivalTime()));
     }
 
     @Override
     public Process pickNextProcess(int currentTime) {
-        return readyQueue.poll();
+        return buckets != null ? buckets.poll() : heap.poll();
     }
 
     @Override
     public boolean shouldPreempt(Process currentProcess, int currentTime, int quantumElapsed) {
-        if (readyQueue.isEmpty()) return false;
-        
-        Process bestCandidate = readyQueue.peek();
+        Process bestCandidate = buckets != null ? buckets.peek() : heap.peek();
+        if (bestCandidate == null) return false;
+
         // Preempt if candidate has strictly higher priority (lower value)
         return bestCandidate.getPriority() < currentProcess.getPriority();
     }
 
+    @Override
+    public int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        // Priorities are static, so the answer can only change when something new arrives.
+        return shouldPreempt(currentProcess, currentTime, quantumElapsed) ? 1 : Integer.MAX_VALUE;
+    }
+
     @Override
     public String getName() {
         return "Priority (Preemptive)";
@@ -39,11 +88,28 @@ public class PriorityScheduler implements Scheduler {
 
     @Override
     public boolean isEmpty() {
-        return readyQueue.isEmpty();
+        return buckets != null ? buckets.isEmpty() : heap.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return buckets != null ? buckets.size() : heap.size();
     }
-    
+
     @Override
     public List<Process> getReadyQueueSnapshot() {
-        return new ArrayList<>(readyQueue);
+        return buckets != null ? buckets.toList() : heap.toList();
+    }
+
+    // Re-adding would put preempted processes back at the front of their bucket in reverse order
+    @Override
+    public void restoreState(List<Process> queued, DataInput in) throws IOException {
+        for (Process p : queued) {
+            if (buckets != null && buckets.accepts(p.getPriority())) {
+                buckets.addLast(p);
+            } else {
+                onProcessArrival(p);
+            }
+        }
     }
 }
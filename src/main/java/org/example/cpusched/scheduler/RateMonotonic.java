@@ -0,0 +1,60 @@
+package org.example.cpusched.scheduler;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.scheduler.queue.ProcessHeap;
+import java.util.List;
+
+/**
+ * Preemptive Rate-Monotonic Scheduling: fixed priorities, the shorter the task period the higher the priority.
+ * Aperiodic processes (period 0) rank below every periodic job.
+ */
+public final class RateMonotonic implements Scheduler {
+    // Sort by Period ascending, then Arrival Time
+    private final ProcessHeap readyQueue = new ProcessHeap();
+
+    @Override
+    public void onProcessArrival(Process process) {
+        readyQueue.add(process, ProcessHeap.key(periodOf(process), process.getArrivalTime()));
+    }
+
+    @Override
+    public Process pickNextProcess(int currentTime) {
+        return readyQueue.poll();
+    }
+
+    @Override
+    public boolean shouldPreempt(Process currentProcess, int currentTime, int quantumElapsed) {
+        Process bestCandidate = readyQueue.peek();
+        if (bestCandidate == null) return false;
+        return periodOf(bestCandidate) < periodOf(currentProcess);
+    }
+
+    @Override
+    public int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        return shouldPreempt(currentProcess, currentTime, quantumElapsed) ? 1 : Integer.MAX_VALUE;
+    }
+
+    private static int periodOf(Process p) {
+        return p.getPeriod() > 0 ? p.getPeriod() : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String getName() {
+        return "Rate Monotonic (Preemptive)";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return readyQueue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+
+    @Override
+    public List<Process> getReadyQueueSnapshot() {
+        return readyQueue.toList();
+    }
+}
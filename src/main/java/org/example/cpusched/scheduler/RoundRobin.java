@@ -1,13 +1,12 @@
 package org.example.cpusched.scheduler;
 
 import org.example.cpusched.model.Process;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.ArrayList;
 
-public class RoundRobin implements Scheduler {
-    private final Queue<Process> readyQueue = new LinkedList<>();
+public final class RoundRobin implements Scheduler {
+    private final ArrayDeque<Process> readyQueue = new ArrayDeque<>(); // Ring buffer: requeues don't allocate
     private final int timeQuantum;
 
     public RoundRobin(int timeQuantum) {
@@ -30,6 +29,18 @@ public class RoundRobin implements Scheduler {
         return quantumElapsed >= timeQuantum && !readyQueue.isEmpty();
     }
 
+    @Override
+    public int getTimeSlice(Process currentProcess) {
+        return timeQuantum;
+    }
+
+    @Override
+    public int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        // With nobody waiting the process keeps the CPU past its quantum until the next arrival.
+        if (readyQueue.isEmpty()) return Integer.MAX_VALUE;
+        return Math.max(1, timeQuantum - quantumElapsed);
+    }
+
     @Override
     public String getName() {
         return "Round Robin (Q=" + timeQuantum + ")";
@@ -39,6 +50,11 @@ public class RoundRobin implements Scheduler {
     public boolean isEmpty() {
         return readyQueue.isEmpty();
     }
+
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
     
     @Override
     public List<Process> getReadyQueueSnapshot() {
@@ -1,21 +1,16 @@
 package org.example.cpusched.scheduler;
 
 import org.example.cpusched.model.Process;
-import java.util.Comparator;
-import java.util.PriorityQueue;
+import org.example.cpusched.scheduler.queue.ProcessHeap;
 import java.util.List;
-import java.util.ArrayList;
 
-public class SJF implements Scheduler {
-    // Sort by Burst Time ascending. If tie, use Arrival Time (PID implicitly via Process.compareTo if needed, or consistent order)
-    private final PriorityQueue<Process> readyQueue = new PriorityQueue<>(
-        Comparator.comparingInt(Process::getBurstTime)
-                  .thenComparingInt(Process::getArrivalTime)
-    );
+public final class SJF implements Scheduler {
+    // Sort by (next CPU) Burst Time ascending. If tie, use Arrival Time (packed into one long key, see ProcessHeap)
+    private final ProcessHeap readyQueue = new ProcessHeap();
 
     @Override
     public void onProcessArrival(Process process) {
-        readyQueue.add(process);
+        readyQueue.add(process, ProcessHeap.key(process.getCurrentCpuBurst(), process.getArrivalTime()));
     }
 
     @Override
@@ -29,6 +24,11 @@ public class SJF implements Scheduler {
         return false;
     }
 
+    @Override
+    public int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        return Integer.MAX_VALUE;
+    }
+
     @Override
     public String getName() {
         return "SJF";
@@ -38,9 +38,14 @@ public class SJF implements Scheduler {
     public boolean isEmpty() {
         return readyQueue.isEmpty();
     }
+
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
     
     @Override
     public List<Process> getReadyQueueSnapshot() {
-        return new ArrayList<>(readyQueue);
+        return readyQueue.toList();
     }
 }
@@ -1,21 +1,17 @@
 package org.example.cpusched.scheduler;
 
 import org.example.cpusched.model.Process;
-import java.util.Comparator;
-import java.util.PriorityQueue;
+import org.example.cpusched.scheduler.queue.ProcessHeap;
 import java.util.List;
-import java.util.ArrayList;
 
-public class SRTF implements Scheduler {
-    // Sort by Remaining Time ascending.
-    private final PriorityQueue<Process> readyQueue = new PriorityQueue<>(
-        Comparator.comparingInt(Process::getRemainingTime)
-                  .thenComparingInt(Process::getArrivalTime)
-    );
+public final class SRTF implements Scheduler {
+    // Sort by Remaining Time ascending, then Arrival Time.
+    // The key is taken on insert; remaining time only changes while a process is off the heap.
+    private final ProcessHeap readyQueue = new ProcessHeap();
 
     @Override
     public void onProcessArrival(Process process) {
-        readyQueue.add(process);
+        readyQueue.add(process, ProcessHeap.key(process.getRemainingTime(), process.getArrivalTime()));
     }
 
     @Override
@@ -39,6 +35,13 @@ public class SRTF implements Scheduler {
         return bestCandidate.getRemainingTime() < currentProcess.getRemainingTime();
     }
 
+    @Override
+    public int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        // The running process only gets shorter, so if the head doesn't beat it after the next tick it never will.
+        if (readyQueue.isEmpty()) return Integer.MAX_VALUE;
+        return readyQueue.peek().getRemainingTime() < currentProcess.getRemainingTime() - 1 ? 1 : Integer.MAX_VALUE;
+    }
+
     @Override
     public String getName() {
         return "SRTF";
@@ -48,9 +51,14 @@ public class SRTF implements Scheduler {
     public boolean isEmpty() {
         return readyQueue.isEmpty();
     }
+
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
     
     @Override
     public List<Process> getReadyQueueSnapshot() {
-        return new ArrayList<>(readyQueue);
+        return readyQueue.toList();
     }
 }
@@ -1,6 +1,9 @@
 package org.example.cpusched.scheduler;
 
 import org.example.cpusched.model.Process;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -15,6 +18,15 @@ public interface Scheduler {
      */
     void onProcessArrival(Process process);
 
+    /**
+     * Same as {@link #onProcessArrival(Process)}, with the time the process enters the ready queue:
+     * its arrival time for new processes, or the preemption time for re-queued ones.
+     * Schedulers that track waiting time (e.g. for aging) override this; the engines always call it.
+     */
+    default void onProcessArrival(Process process, int currentTime) {
+        onProcessArrival(process);
+    }
+
     /**
      * Selects the next process to run on the CPU and removes it from the ready queue.
      * @param currentTime The current simulation time unit.
@@ -33,6 +45,37 @@ public interface Scheduler {
      */
     boolean shouldPreempt(Process currentProcess, int currentTime, int quantumElapsed);
 
+    /**
+     * Returns how many ticks the current process can run before {@link #shouldPreempt} may return true,
+     * assuming no new process arrives in the meantime. The event-driven engine uses this as the next
+     * preemption point so it can skip over ticks where nothing changes.
+     * The default of 1 is always safe: the engine then asks shouldPreempt after every tick.
+     *
+     * @return A value >= 1, or Integer.MAX_VALUE if the process is never preempted without a new arrival.
+     */
+    default int ticksUntilPreemption(Process currentProcess, int currentTime, int quantumElapsed) {
+        return 1;
+    }
+
+    /**
+     * Called when a process finishes a CPU burst, before it blocks for I/O or completes, with the time at
+     * the end of its last tick. The process is no longer on the CPU. Adaptive schedulers learn from this.
+     */
+    default void onBurstComplete(Process process, int currentTime) {
+    }
+
+    /**
+     * Length of the running process's time slice: a preemption once it has run this long in the current
+     * quantum is a quantum expiry, an earlier one is a preemption by another process. Only used to label
+     * timelines; the engines ask at dispatch and again when shouldPreempt fires (which may already have
+     * moved the process to another level).
+     *
+     * @return Integer.MAX_VALUE (the default) if the algorithm does not slice time.
+     */
+    default int getTimeSlice(Process currentProcess) {
+        return Integer.MAX_VALUE;
+    }
+
     /**
      * Returns the name of the algorithm.
      */
@@ -42,9 +85,36 @@ public interface Scheduler {
      * Optional: Returns true if the ready queue is empty.
      */
     boolean isEmpty();
+
+    /**
+     * Number of processes in the ready queue. Used by the multi-core engine for placement and load balancing.
+     */
+    default int size() {
+        return getReadyQueueSnapshot().size();
+    }
     
     /**
      * Optional: Allows inspecting the internal queue for debugging/logging.
      */
     List<Process> getReadyQueueSnapshot();
+
+    /**
+     * Checkpoints: writes whatever restoreState needs besides the queued processes themselves,
+     * which the engine saves from getReadyQueueSnapshot(). Nothing by default.
+     */
+    default void writeState(DataOutput out) throws IOException {
+    }
+
+    /**
+     * Rebuilds the ready queue of a checkpoint taken from a scheduler with the same getName(), so the run
+     * continues exactly as it would have. queued is the saved getReadyQueueSnapshot().
+     * The default re-adds the processes in that order, which is exact for FIFO queues and for heaps
+     * (re-inserting a heap in array order reproduces the array), as long as onProcessArrival does not
+     * change the process or depend on the time.
+     */
+    default void restoreState(List<Process> queued, DataInput in) throws IOException {
+        for (Process p : queued) {
+            onProcessArrival(p);
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package org.example.cpusched.scheduler;
+
+import org.example.cpusched.model.CacheAffinityModel;
+import org.example.cpusched.workload.WorkloadGenerator;
+import java.util.Arrays;
+
+/**
+ * Tunables for the schedulers built by SchedulerFactory. Each algorithm reads only the settings it uses;
+ * everything starts at the defaults of the command line.
+ */
+public class SchedulerConfig {
+    private int quantum = 4;
+    private int[] mlfqQuantums = MLFQ.DEFAULT_TIME_QUANTUMS;
+    private int agingThreshold = MLFQ.DEFAULT_AGING_THRESHOLD;
+    private int affinityLookahead = 8;
+    private int cfsLatency = CFS.DEFAULT_SCHED_LATENCY;
+    private int cfsMinGranularity = CFS.DEFAULT_MIN_GRANULARITY;
+    private CacheAffinityModel cacheModel = null; // null = caches are not modeled
+    private int minPriority = WorkloadGenerator.MIN_PRIORITY; // Range PRIORITY sizes its buckets for
+    private int maxPriority = WorkloadGenerator.MAX_PRIORITY;
+    private AdaptiveQuantum adaptive = AdaptiveQuantum.DEFAULT; // Policy of ARR and AMLFQ
+
+    public SchedulerConfig() {}
+
+    public SchedulerConfig(int quantum) {
+        this.quantum = quantum;
+    }
+
+    public SchedulerConfig(SchedulerConfig other) {
+        this.quantum = other.quantum;
+        this.mlfqQuantums = other.mlfqQuantums;
+        this.agingThreshold = other.agingThreshold;
+        this.affinityLookahead = other.affinityLookahead;
+        this.cfsLatency = other.cfsLatency;
+        this.cfsMinGranularity = other.cfsMinGranularity;
+        this.cacheModel = other.cacheModel;
+        this.minPriority = other.minPriority;
+        this.maxPriority = other.maxPriority;
+        this.adaptive = other.adaptive;
+    }
+
+    public int getQuantum() { return quantum; }
+    public void setQuantum(int quantum) { this.quantum = quantum; }
+
+    public int[] getMlfqQuantums() { return mlfqQuantums.clone(); }
+    public void setMlfqQuantums(int[] mlfqQuantums) { this.mlfqQuantums = mlfqQuantums.clone(); }
+
+    public int getAgingThreshold() { return agingThreshold; }
+    public void setAgingThreshold(int agingThreshold) { this.agingThreshold = agingThreshold; }
+
+    public int getAffinityLookahead() { return affinityLookahead; }
+    public void setAffinityLookahead(int affinityLookahead) { this.affinityLookahead = affinityLookahead; }
+
+    public int getCfsLatency() { return cfsLatency; }
+    public void setCfsLatency(int cfsLatency) { this.cfsLatency = cfsLatency; }
+
+    public int getCfsMinGranularity() { return cfsMinGranularity; }
+    public void setCfsMinGranularity(int cfsMinGranularity) { this.cfsMinGranularity = cfsMinGranularity; }
+
+    public CacheAffinityModel getCacheModel() { return cacheModel; }
+    public void setCacheModel(CacheAffinityModel cacheModel) { this.cacheModel = cacheModel; }
+
+    public int getMinPriority() { return minPriority; }
+    public int getMaxPriority() { return maxPriority; }
+
+    /**
+     * Priorities the workload uses, e.g. 1..n for the rate-monotonic ranks of n real-time tasks.
+     */
+    public void setPriorityRange(int minPriority, int maxPriority) {
+        if (minPriority > maxPriority) {
+            throw new IllegalArgumentException("Empty priority range: " + minPriority + ".." + maxPriority);
+        }
+        this.minPriority = minPriority;
+        this.maxPriority = maxPriority;
+    }
+
+    public AdaptiveQuantum getAdaptive() { return adaptive; }
+    public void setAdaptive(AdaptiveQuantum adaptive) { this.adaptive = adaptive; }
+
+    /**
+     * Every setting, e.g. for result cache keys.
+     */
+    @Override
+    public String toString() {
+        return "quantum=" + quantum + ",mlfq=" + Arrays.toString(mlfqQuantums) + ",aging=" + agingThreshold
+                + ",lookahead=" + affinityLookahead + ",cfsLatency=" + cfsLatency + ",cfsMinGranularity="
+                + cfsMinGranularity + ",cache=" + (cacheModel == null ? "off" : cacheModel.toString())
+                + ",adaptive=" + adaptive + ",priorities=" + minPriority + ".." + maxPriority;
+    }
+}
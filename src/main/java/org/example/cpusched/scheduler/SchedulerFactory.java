@@ -0,0 +1,93 @@
+package org.example.cpusched.scheduler;
+
+import org.example.cpusched.model.CacheAffinityModel;
+import org.example.cpusched.model.ProcessTable;
+import org.example.cpusched.scheduler.table.*;
+import org.example.cpusched.workload.WorkloadGenerator;
+import java.util.List;
+
+/**
+ * Creates schedulers from their command-line names.
+ * Every call returns a fresh instance, so each simulation run gets its own ready queue.
+ */
+public final class SchedulerFactory {
+    public static final List<String> ALGORITHMS = List.of("FCFS", "SJF", "SRTF", "PRIORITY", "RR", "MLFQ", "CFS");
+
+    // Half-life used for AFFINITY when no cache model is configured
+    private static final int DEFAULT_WARMTH_HALF_LIFE = 20;
+
+    private SchedulerFactory() {}
+
+    /**
+     * @return A new scheduler, or null if the name is unknown.
+     */
+    public static Scheduler create(String name, int quantum) {
+        return create(name, new SchedulerConfig(quantum));
+    }
+
+    /**
+     * @return A new scheduler, or null if the name is unknown.
+     */
+    public static Scheduler create(String name, SchedulerConfig config) {
+        return createForCore(name, config, 0);
+    }
+
+    /**
+     * Scheduler for one core of the multi-core engine. Only AFFINITY cares which core it runs on;
+     * it needs a cache model and falls back to a default one if the config has none.
+     * @return A new scheduler, or null if the name is unknown.
+     */
+    public static Scheduler createForCore(String name, SchedulerConfig config, int core) {
+        int quantum = config.getQuantum();
+        switch (name.toUpperCase()) {
+            case "FCFS": return new FCFS();
+            case "SJF": return new SJF();
+            case "SRTF": return new SRTF();
+            // Generated priorities are bounded, so use the O(1) bucket queue
+            case "PRIORITY": return new PriorityScheduler(config.getMinPriority(), config.getMaxPriority());
+            case "RR": return new RoundRobin(quantum);
+            case "MLFQ": return new MLFQ(config.getMlfqQuantums(), config.getAgingThreshold());
+            // Self-tuning variants; --quantum and --mlfq-quanta are where they start
+            case "ARR": return new AdaptiveRoundRobin(quantum, config.getAdaptive());
+            case "AMLFQ": return new MLFQ(config.getMlfqQuantums(), config.getAgingThreshold(), config.getAdaptive());
+            case "CFS": return new CFS(config.getCfsLatency(), config.getCfsMinGranularity());
+            // Real-time: these order by job deadline / task period, see JobReleaseGenerator
+            case "EDF": return new EDF();
+            case "RMS": return new RateMonotonic();
+            case "AFFINITY": {
+                CacheAffinityModel model = config.getCacheModel() != null
+                        ? config.getCacheModel() : new CacheAffinityModel(DEFAULT_WARMTH_HALF_LIFE, 0);
+                return new AffinityRoundRobin(quantum, config.getAffinityLookahead(), model, core);
+            }
+            default: return null;
+        }
+    }
+
+    /**
+     * Handle-based variant of {@link #create} for the columnar engine, bound to the given table.
+     * @return A new scheduler, or null if the name is unknown.
+     */
+    public static TableScheduler createTable(String name, int quantum, ProcessTable table) {
+        return createTable(name, new SchedulerConfig(quantum), table);
+    }
+
+    public static TableScheduler createTable(String name, SchedulerConfig config, ProcessTable table) {
+        int quantum = config.getQuantum();
+        switch (name.toUpperCase()) {
+            case "FCFS": return new TableFCFS();
+            case "SJF": return new TableSJF(table);
+            case "SRTF": return new TableSRTF(table);
+            case "PRIORITY": return new TablePriorityScheduler(table, config.getMinPriority(), config.getMaxPriority());
+            case "RR": return new TableRoundRobin(quantum);
+            case "MLFQ": return new TableMLFQ(table, config.getMlfqQuantums(), config.getAgingThreshold());
+            default: return null;
+        }
+    }
+
+    /**
+     * Returns true if the algorithm's behaviour depends on the --quantum value.
+     */
+    public static boolean usesQuantum(String name) {
+        return name.equalsIgnoreCase("RR") || name.equalsIgnoreCase("ARR");
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.cpusched.scheduler.queue;
+
+import org.example.cpusched.model.Process;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * O(1) ready queue for a bounded priority range, in the style of the Linux O(1) scheduler:
+ * one FIFO bucket per priority level plus a bitmap of non-empty buckets, so the best
+ * priority is found with a single numberOfTrailingZeros instead of an O(log n) heap sift.
+ * Inside a bucket processes are FIFO in the order they became ready (arrival, I/O wake-up or migration),
+ * except that a preempted process goes back to the front, where it was picked from. Both are O(1).
+ */
+public final class PriorityBuckets {
+    public static final int MAX_LEVELS = Long.SIZE;
+
+    private final int minPriority;
+    private final Bucket[] buckets;
+    private long nonEmpty = 0; // bit i set <=> buckets[i] has processes
+    private int size = 0;
+
+    public PriorityBuckets(int minPriority, int maxPriority) {
+        int levels = maxPriority - minPriority + 1;
+        if (levels < 1 || levels > MAX_LEVELS) {
+            throw new IllegalArgumentException("Priority range must span 1.." + MAX_LEVELS + " levels, got "
+                    + minPriority + ".." + maxPriority);
+        }
+        this.minPriority = minPriority;
+        this.buckets = new Bucket[levels];
+        for (int i = 0; i < levels; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    public boolean accepts(int priority) {
+        return priority >= minPriority && priority < minPriority + buckets.length;
+    }
+
+    public void add(Process process) {
+        int level = levelOf(process);
+        // Part of the current burst already ran: it was preempted
+        if (process.getRemainingTime() < process.getCurrentCpuBurst()) {
+            buckets[level].addFirst(process);
+        } else {
+            buckets[level].addLast(process);
+        }
+        nonEmpty |= 1L << level;
+        size++;
+    }
+
+    /**
+     * Appends to the end of the process's bucket whether or not it was preempted,
+     * e.g. to rebuild a queue from toList().
+     */
+    public void addLast(Process process) {
+        int level = levelOf(process);
+        buckets[level].addLast(process);
+        nonEmpty |= 1L << level;
+        size++;
+    }
+
+    private int levelOf(Process process) {
+        int level = process.getPriority() - minPriority;
+        if (level < 0 || level >= buckets.length) {
+            throw new IllegalArgumentException("Priority " + process.getPriority() + " of P" + process.getPid()
+                    + " is outside " + minPriority + ".." + (minPriority + buckets.length - 1));
+        }
+        return level;
+    }
+
+    public Process poll() {
+        if (nonEmpty == 0) return null;
+        int level = Long.numberOfTrailingZeros(nonEmpty);
+        Bucket bucket = buckets[level];
+        Process p = bucket.pollFirst();
+        if (bucket.size == 0) {
+            nonEmpty &= ~(1L << level);
+        }
+        size--;
+        return p;
+    }
+
+    public Process peek() {
+        if (nonEmpty == 0) return null;
+        return buckets[Long.numberOfTrailingZeros(nonEmpty)].peekFirst();
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    /**
+     * Processes in dispatch order.
+     */
+    public List<Process> toList() {
+        List<Process> all = new ArrayList<>(size);
+        for (Bucket bucket : buckets) {
+            for (int i = 0; i < bucket.size; i++) {
+                all.add(bucket.get(i));
+            }
+        }
+        return all;
+    }
+
+    // Ring buffer, so adding at either end never shifts anything
+    private static final class Bucket {
+        private Process[] elements = new Process[8];
+        private int head = 0;
+        private int size = 0;
+
+        void addFirst(Process p) {
+            if (size == elements.length) grow();
+            head = (head - 1) & (elements.length - 1);
+            elements[head] = p;
+            size++;
+        }
+
+        void addLast(Process p) {
+            if (size == elements.length) grow();
+            elements[(head + size) & (elements.length - 1)] = p;
+            size++;
+        }
+
+        Process pollFirst() {
+            Process p = elements[head];
+            elements[head] = null;
+            head = (head + 1) & (elements.length - 1);
+            size--;
+            return p;
+        }
+
+        Process peekFirst() {
+            return elements[head];
+        }
+
+        Process get(int i) {
+            return elements[(head + i) & (elements.length - 1)];
+        }
+
+        private void grow() {
+            Process[] bigger = new Process[elements.length << 1];
+            for (int i = 0; i < size; i++) {
+                bigger[i] = get(i);
+            }
+            elements = bigger;
+            head = 0;
+        }
+    }
+}
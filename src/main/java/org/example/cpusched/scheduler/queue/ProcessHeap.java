@@ -0,0 +1,105 @@
+package org.example.cpusched.scheduler.queue;
+
+import org.example.cpusched.model.Process;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary min-heap of processes ordered by a packed long key computed once on insert.
+ * Replaces PriorityQueue with a Comparator.comparingInt(..).thenComparingInt(..) chain: every sift
+ * is a single primitive comparison instead of two lambda calls plus getter dispatch.
+ * The sift logic mirrors java.util.PriorityQueue, so ties come out in exactly the same order.
+ */
+public final class ProcessHeap {
+    private long[] keys = new long[16];
+    private Process[] processes = new Process[16];
+    private int size = 0;
+
+    /**
+     * Packs two non-negative ints into a key that sorts by primary, then secondary.
+     */
+    public static long key(int primary, int secondary) {
+        return ((long) primary << 32) | (secondary & 0xFFFFFFFFL);
+    }
+
+    public void add(Process process, long key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+            processes = Arrays.copyOf(processes, size << 1);
+        }
+        // siftUp
+        int k = size++;
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (key >= keys[parent]) break;
+            keys[k] = keys[parent];
+            processes[k] = processes[parent];
+            k = parent;
+        }
+        keys[k] = key;
+        processes[k] = process;
+    }
+
+    /**
+     * Removes and returns the process with the smallest key, or null if empty.
+     */
+    public Process poll() {
+        if (size == 0) return null;
+        Process result = processes[0];
+        int n = --size;
+        long lastKey = keys[n];
+        Process last = processes[n];
+        processes[n] = null;
+        if (n > 0) {
+            siftDown(lastKey, last, n);
+        }
+        return result;
+    }
+
+    public Process peek() {
+        return size == 0 ? null : processes[0];
+    }
+
+    /**
+     * Key of the process peek() would return. The heap must not be empty.
+     */
+    public long peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Key of the entry at index i in toList() order.
+     */
+    public long keyAt(int i) {
+        return keys[i];
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    /**
+     * Processes in heap (array) order, the same order new ArrayList<>(priorityQueue) would give.
+     */
+    public List<Process> toList() {
+        return new ArrayList<>(Arrays.asList(processes).subList(0, size));
+    }
+
+    private void siftDown(long key, Process process, int n) {
+        int k = 0;
+        int half = n >>> 1;
+        while (k < half) {
+            int child = (k << 1) + 1;
+            int right = child + 1;
+            if (right < n && keys[child] > keys[right]) {
+                child = right;
+            }
+            if (key <= keys[child]) break;
+            keys[k] = keys[child];
+            processes[k] = processes[child];
+            k = child;
+        }
+        keys[k] = key;
+        processes[k] = process;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.cpusched.scheduler.queue;
+
+import org.example.cpusched.model.Process;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary min-heap of processes ordered by vruntime, then pid: the same total order as a TreeSet with
+ * comparingLong(getVruntime).thenComparingInt(getPid), so the minimum always comes out identically.
+ * vruntime is a long and doesn't fit ProcessHeap's packed key next to the pid, hence the separate class.
+ * The vruntime is read once on insert and must not change while the process is queued.
+ */
+public final class VruntimeHeap {
+    private long[] vruntimes = new long[16];
+    private int[] pids = new int[16];
+    private Process[] processes = new Process[16];
+    private int size = 0;
+
+    public void add(Process process) {
+        if (size == processes.length) {
+            vruntimes = Arrays.copyOf(vruntimes, size << 1);
+            pids = Arrays.copyOf(pids, size << 1);
+            processes = Arrays.copyOf(processes, size << 1);
+        }
+        long vruntime = process.getVruntime();
+        int pid = process.getPid();
+        // siftUp
+        int k = size++;
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (!less(vruntime, pid, parent)) break;
+            move(parent, k);
+            k = parent;
+        }
+        set(k, vruntime, pid, process);
+    }
+
+    /**
+     * Removes and returns the process with the smallest (vruntime, pid), or null if empty.
+     */
+    public Process poll() {
+        if (size == 0) return null;
+        Process result = processes[0];
+        int n = --size;
+        long vruntime = vruntimes[n];
+        int pid = pids[n];
+        Process last = processes[n];
+        processes[n] = null;
+        if (n > 0) {
+            // siftDown
+            int k = 0;
+            int half = n >>> 1;
+            while (k < half) {
+                int child = (k << 1) + 1;
+                int right = child + 1;
+                if (right < n && less(vruntimes[right], pids[right], child)) {
+                    child = right;
+                }
+                if (less(vruntime, pid, child)) break;
+                move(child, k);
+                k = child;
+            }
+            set(k, vruntime, pid, last);
+        }
+        return result;
+    }
+
+    public Process peek() {
+        return size == 0 ? null : processes[0];
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    /**
+     * Processes in heap (array) order.
+     */
+    public List<Process> toList() {
+        return new ArrayList<>(Arrays.asList(processes).subList(0, size));
+    }
+
+    // (vruntime, pid) < entry i
+    private boolean less(long vruntime, int pid, int i) {
+        return vruntime < vruntimes[i] || vruntime == vruntimes[i] && pid < pids[i];
+    }
+
+    private void move(int from, int to) {
+        vruntimes[to] = vruntimes[from];
+        pids[to] = pids[from];
+        processes[to] = processes[from];
+    }
+
+    private void set(int i, long vruntime, int pid, Process process) {
+        vruntimes[i] = vruntime;
+        pids[i] = pid;
+        processes[i] = process;
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.cpusched.scheduler.table;
+
+import org.example.cpusched.model.ProcessTable;
+
+/**
+ * Handle-based twin of scheduler.queue.PriorityBuckets: one int ring per priority level plus a
+ * bitmap of non-empty levels. Within a level handles stay ordered by (arrival, pid).
+ */
+final class HandleBuckets {
+    static final int MAX_LEVELS = Long.SIZE;
+
+    private final ProcessTable table;
+    private final int minPriority;
+    private final int[][] rings;
+    private final int[] heads;
+    private final int[] sizes;
+    private long nonEmpty = 0;
+    private int size = 0;
+
+    HandleBuckets(ProcessTable table, int minPriority, int maxPriority) {
+        int levels = maxPriority - minPriority + 1;
+        if (levels < 1 || levels > MAX_LEVELS) {
+            throw new IllegalArgumentException("Priority range must span 1.." + MAX_LEVELS + " levels, got "
+                    + minPriority + ".." + maxPriority);
+        }
+        this.table = table;
+        this.minPriority = minPriority;
+        this.rings = new int[levels][8];
+        this.heads = new int[levels];
+        this.sizes = new int[levels];
+    }
+
+    boolean accepts(int priority) {
+        return priority >= minPriority && priority < minPriority + rings.length;
+    }
+
+    void add(int handle) {
+        int level = table.getPriority(handle) - minPriority;
+        if (level < 0 || level >= rings.length) {
+            throw new IllegalArgumentException("Priority " + table.getPriority(handle) + " of P"
+                    + table.getPid(handle) + " is outside " + minPriority + ".." + (minPriority + rings.length - 1));
+        }
+        if (sizes[level] == rings[level].length) grow(level);
+        int[] ring = rings[level];
+        int mask = ring.length - 1;
+        int head = heads[level];
+        int n = sizes[level];
+        if (n > 0 && sortsBefore(handle, ring[head])) {
+            // Preempted process: it was ahead of everyone in its bucket, so it goes back to the front
+            heads[level] = (head - 1) & mask;
+            ring[heads[level]] = handle;
+        } else {
+            int i = n;
+            while (i > 0 && sortsBefore(handle, ring[(head + i - 1) & mask])) {
+                ring[(head + i) & mask] = ring[(head + i - 1) & mask];
+                i--;
+            }
+            ring[(head + i) & mask] = handle;
+        }
+        sizes[level]++;
+        nonEmpty |= 1L << level;
+        size++;
+    }
+
+    int poll() {
+        if (nonEmpty == 0) return TableScheduler.NO_PROCESS;
+        int level = Long.numberOfTrailingZeros(nonEmpty);
+        int[] ring = rings[level];
+        int handle = ring[heads[level]];
+        heads[level] = (heads[level] + 1) & (ring.length - 1);
+        if (--sizes[level] == 0) {
+            nonEmpty &= ~(1L << level);
+        }
+        size--;
+        return handle;
+    }
+
+    int peekHandle() {
+        if (nonEmpty == 0) return TableScheduler.NO_PROCESS;
+        int level = Long.numberOfTrailingZeros(nonEmpty);
+        return rings[level][heads[level]];
+    }
+
+    boolean isEmpty() { return size == 0; }
+    int size() { return size; }
+
+    private boolean sortsBefore(int a, int b) {
+        int arrivalA = table.getArrivalTime(a);
+        int arrivalB = table.getArrivalTime(b);
+        if (arrivalA != arrivalB) return arrivalA < arrivalB;
+        return table.getPid(a) < table.getPid(b);
+    }
+
+    private void grow(int level) {
+        int[] ring = rings[level];
+        int[] bigger = new int[ring.length << 1];
+        for (int i = 0; i < sizes[level]; i++) {
+            bigger[i] = ring[(heads[level] + i) & (ring.length - 1)];
+        }
+        rings[level] = bigger;
+        heads[level] = 0;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.cpusched.scheduler.table;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of process handles ordered by a packed long key.
+ * The key holds the primary sort column in the high 32 bits and the tie-breaker in the low 32 bits,
+ * so one primitive comparison replaces a comparator chain. The sift logic mirrors java.util.PriorityQueue,
+ * so even full ties come out in the same order as the object schedulers.
+ */
+final class HandleHeap {
+    private long[] keys = new long[16];
+    private int[] handles = new int[16];
+    private int size = 0;
+
+    /**
+     * Packs two non-negative ints into a key that sorts by primary, then secondary.
+     */
+    static long key(int primary, int secondary) {
+        return ((long) primary << 32) | (secondary & 0xFFFFFFFFL);
+    }
+
+    void add(int handle, long key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+            handles = Arrays.copyOf(handles, size << 1);
+        }
+        // siftUp
+        int k = size++;
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (key >= keys[parent]) break;
+            keys[k] = keys[parent];
+            handles[k] = handles[parent];
+            k = parent;
+        }
+        keys[k] = key;
+        handles[k] = handle;
+    }
+
+    /**
+     * @return The handle with the smallest key, or TableScheduler.NO_PROCESS if empty.
+     */
+    int poll() {
+        if (size == 0) return TableScheduler.NO_PROCESS;
+        int result = handles[0];
+        int n = --size;
+        if (n > 0) {
+            siftDown(keys[n], handles[n], n);
+        }
+        return result;
+    }
+
+    int peekHandle() {
+        return size == 0 ? TableScheduler.NO_PROCESS : handles[0];
+    }
+
+    boolean isEmpty() { return size == 0; }
+    int size() { return size; }
+
+    private void siftDown(long key, int handle, int n) {
+        int k = 0;
+        int half = n >>> 1;
+        while (k < half) {
+            int child = (k << 1) + 1;
+            int right = child + 1;
+            if (right < n && keys[child] > keys[right]) {
+                child = right;
+            }
+            if (key <= keys[child]) break;
+            keys[k] = keys[child];
+            handles[k] = handles[child];
+            k = child;
+        }
+        keys[k] = key;
+        handles[k] = handle;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.cpusched.scheduler.table;
+
+import java.util.Arrays;
+
+/**
+ * FIFO queue of ints (handles or timestamps) on a power-of-two ring buffer. No allocation once it has grown to its working size.
+ */
+final class IntRingQueue {
+    private int[] elements = new int[16];
+    private int head = 0;
+    private int size = 0;
+
+    void add(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * @return The oldest handle, or TableScheduler.NO_PROCESS if empty.
+     */
+    int poll() {
+        if (size == 0) return TableScheduler.NO_PROCESS;
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * @return The oldest handle without removing it, or TableScheduler.NO_PROCESS if empty.
+     */
+    int peek() {
+        return size == 0 ? TableScheduler.NO_PROCESS : elements[head];
+    }
+
+    boolean isEmpty() { return size == 0; }
+    int size() { return size; }
+
+    private void grow() {
+        // Unroll so the live elements start at index 0, then double
+        int[] bigger = new int[elements.length << 1];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, bigger, 0, firstPart);
+        System.arraycopy(elements, 0, bigger, firstPart, head);
+        elements = bigger;
+        head = 0;
+    }
+
+    @Override
+    public String toString() {
+        int[] live = new int[size];
+        for (int i = 0; i < size; i++) {
+            live[i] = elements[(head + i) & (elements.length - 1)];
+        }
+        return Arrays.toString(live);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.cpusched.scheduler.table;
+
+public class TableFCFS implements TableScheduler {
+    private final IntRingQueue readyQueue = new IntRingQueue();
+
+    @Override
+    public void onProcessArrival(int handle) {
+        readyQueue.add(handle);
+    }
+
+    @Override
+    public int pickNextProcess(int currentTime) {
+        return readyQueue.poll();
+    }
+
+    @Override
+    public boolean shouldPreempt(int handle, int currentTime, int quantumElapsed) {
+        // FCFS is non-preemptive
+        return false;
+    }
+
+    @Override
+    public int ticksUntilPreemption(int handle, int currentTime, int quantumElapsed) {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String getName() {
+        return "FCFS";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return readyQueue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.cpusched.scheduler.table;
+
+import org.example.cpusched.model.ProcessTable;
+import org.example.cpusched.scheduler.MLFQ;
+
+public class TableMLFQ implements TableScheduler {
+    // Same policy as MLFQ. Entry times live in a ring next to each level's handle ring
+    // (pushed and popped together), so the table itself needs no extra column.
+    private final ProcessTable table;
+    private final int[] timeQuantums;
+    private final int agingThreshold;
+    private final IntRingQueue[] queues;
+    private final IntRingQueue[] entryTimes;
+    private int lastKnownTime = 0;
+
+    public TableMLFQ(ProcessTable table) {
+        this(table, MLFQ.DEFAULT_TIME_QUANTUMS, MLFQ.DEFAULT_AGING_THRESHOLD);
+    }
+
+    public TableMLFQ(ProcessTable table, int[] timeQuantums, int agingThreshold) {
+        if (timeQuantums.length == 0) {
+            throw new IllegalArgumentException("MLFQ needs at least one level");
+        }
+        for (int q : timeQuantums) {
+            if (q <= 0) throw new IllegalArgumentException("Time quantum must be positive: " + q);
+        }
+        if (agingThreshold < 0) {
+            throw new IllegalArgumentException("Aging threshold must be >= 0: " + agingThreshold);
+        }
+        this.table = table;
+        this.timeQuantums = timeQuantums.clone();
+        this.agingThreshold = agingThreshold;
+        queues = new IntRingQueue[timeQuantums.length];
+        entryTimes = new IntRingQueue[timeQuantums.length];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new IntRingQueue();
+            entryTimes[i] = new IntRingQueue();
+        }
+    }
+
+    @Override
+    public void onProcessArrival(int handle) {
+        onProcessArrival(handle, Math.max(table.getArrivalTime(handle), lastKnownTime));
+    }
+
+    @Override
+    public void onProcessArrival(int handle, int currentTime) {
+        // The queue level lives in the table, so re-queued processes land where their last quantum left them
+        int level = table.getQueueLevel(handle);
+        if (level >= queues.length) {
+            level = queues.length - 1;
+            table.setQueueLevel(handle, level);
+        }
+        queues[level].add(handle);
+        entryTimes[level].add(currentTime);
+    }
+
+    @Override
+    public int pickNextProcess(int currentTime) {
+        lastKnownTime = currentTime;
+        performAging(currentTime);
+        for (int i = 0; i < queues.length; i++) {
+            if (!queues[i].isEmpty()) {
+                entryTimes[i].poll();
+                return queues[i].poll();
+            }
+        }
+        return NO_PROCESS;
+    }
+
+    @Override
+    public boolean shouldPreempt(int handle, int currentTime, int quantumElapsed) {
+        lastKnownTime = currentTime;
+        int level = table.getQueueLevel(handle);
+        if (quantumElapsed >= timeQuantums[level]) {
+            // Demote if not already at bottom
+            if (level < queues.length - 1) {
+                table.setQueueLevel(handle, level + 1);
+            }
+            return true;
+        }
+        return higherLevelReady(level);
+    }
+
+    @Override
+    public int ticksUntilPreemption(int handle, int currentTime, int quantumElapsed) {
+        int level = table.getQueueLevel(handle);
+        if (higherLevelReady(level)) return 1;
+        return Math.max(1, timeQuantums[level] - quantumElapsed);
+    }
+
+    private boolean higherLevelReady(int level) {
+        for (int i = 0; i < level; i++) {
+            if (!queues[i].isEmpty()) return true;
+        }
+        return false;
+    }
+
+    // Same amortized O(1) aging as MLFQ: only the oldest entry of each level can be due
+    private void performAging(int currentTime) {
+        if (agingThreshold == 0) return;
+
+        for (int i = 1; i < queues.length; i++) {
+            while (!queues[i].isEmpty() && currentTime - entryTimes[i].peek() >= agingThreshold) {
+                int handle = queues[i].poll();
+                entryTimes[i].poll();
+                table.setQueueLevel(handle, i - 1);
+                queues[i - 1].add(handle);
+                entryTimes[i - 1].add(currentTime);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        StringBuilder name = new StringBuilder("MLFQ (Q=");
+        for (int i = 0; i < timeQuantums.length; i++) {
+            if (i > 0) name.append(',');
+            name.append(timeQuantums[i] == Integer.MAX_VALUE ? "FCFS" : String.valueOf(timeQuantums[i]));
+        }
+        name.append(')');
+        if (agingThreshold > 0) {
+            name.append(" + Aging(").append(agingThreshold).append(')');
+        }
+        return name.toString();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (IntRingQueue q : queues) {
+            if (!q.isEmpty()) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        int total = 0;
+        for (IntRingQueue q : queues) {
+            total += q.size();
+        }
+        return total;
+    }
+}
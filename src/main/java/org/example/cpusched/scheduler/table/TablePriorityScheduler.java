@@ -0,0 +1,82 @@
+package org.example.cpusched.scheduler.table;
+
+import org.example.cpusched.model.ProcessTable;
+
+public class TablePriorityScheduler implements TableScheduler {
+    private final ProcessTable table;
+    // Exactly one of these backs the ready queue, chosen the same way as in PriorityScheduler:
+    // bounded range -> bitmap buckets, unbounded -> heap keyed by (priority, arrival);
+    // a handle outside the bucket range switches over to the heap
+    private HandleBuckets buckets;
+    private HandleHeap heap;
+
+    public TablePriorityScheduler(ProcessTable table) {
+        this.table = table;
+        this.buckets = null;
+        this.heap = new HandleHeap();
+    }
+
+    public TablePriorityScheduler(ProcessTable table, int minPriority, int maxPriority) {
+        this.table = table;
+        if (maxPriority - minPriority + 1 <= HandleBuckets.MAX_LEVELS) {
+            this.buckets = new HandleBuckets(table, minPriority, maxPriority);
+            this.heap = null;
+        } else {
+            this.buckets = null;
+            this.heap = new HandleHeap();
+        }
+    }
+
+    @Override
+    public void onProcessArrival(int handle) {
+        if (buckets != null && !buckets.accepts(table.getPriority(handle))) {
+            heap = new HandleHeap();
+            while (!buckets.isEmpty()) {
+                addToHeap(buckets.poll());
+            }
+            buckets = null;
+        }
+        if (buckets != null) {
+            buckets.add(handle);
+        } else {
+            addToHeap(handle);
+        }
+    }
+
+    private void addToHeap(int handle) {
+        heap.add(handle, HandleHeap.key(table.getPriority(handle), table.getArrivalTime(handle)));
+    }
+
+    @Override
+    public int pickNextProcess(int currentTime) {
+        return buckets != null ? buckets.poll() : heap.poll();
+    }
+
+    @Override
+    public boolean shouldPreempt(int handle, int currentTime, int quantumElapsed) {
+        int best = buckets != null ? buckets.peekHandle() : heap.peekHandle();
+        if (best == NO_PROCESS) return false;
+        // Preempt if candidate has strictly higher priority (lower value)
+        return table.getPriority(best) < table.getPriority(handle);
+    }
+
+    @Override
+    public int ticksUntilPreemption(int handle, int currentTime, int quantumElapsed) {
+        return shouldPreempt(handle, currentTime, quantumElapsed) ? 1 : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String getName() {
+        return "Priority (Preemptive)";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return buckets != null ? buckets.isEmpty() : heap.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return buckets != null ? buckets.size() : heap.size();
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.cpusched.scheduler.table;
+
+public class TableRoundRobin implements TableScheduler {
+    private final IntRingQueue readyQueue = new IntRingQueue();
+    private final int timeQuantum;
+
+    public TableRoundRobin(int timeQuantum) {
+        this.timeQuantum = timeQuantum;
+    }
+
+    @Override
+    public void onProcessArrival(int handle) {
+        readyQueue.add(handle);
+    }
+
+    @Override
+    public int pickNextProcess(int currentTime) {
+        return readyQueue.poll();
+    }
+
+    @Override
+    public boolean shouldPreempt(int handle, int currentTime, int quantumElapsed) {
+        // Preempt if quantum expired AND there are other processes waiting
+        return quantumElapsed >= timeQuantum && !readyQueue.isEmpty();
+    }
+
+    @Override
+    public int ticksUntilPreemption(int handle, int currentTime, int quantumElapsed) {
+        if (readyQueue.isEmpty()) return Integer.MAX_VALUE;
+        return Math.max(1, timeQuantum - quantumElapsed);
+    }
+
+    @Override
+    public String getName() {
+        return "Round Robin (Q=" + timeQuantum + ")";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return readyQueue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.cpusched.scheduler.table;
+
+import org.example.cpusched.model.ProcessTable;
+
+public class TableSJF implements TableScheduler {
+    private final ProcessTable table;
+    // Key: (burst, arrival), same order as SJF's comparator
+    private final HandleHeap readyQueue = new HandleHeap();
+
+    public TableSJF(ProcessTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public void onProcessArrival(int handle) {
+        readyQueue.add(handle, HandleHeap.key(table.getBurstTime(handle), table.getArrivalTime(handle)));
+    }
+
+    @Override
+    public int pickNextProcess(int currentTime) {
+        return readyQueue.poll();
+    }
+
+    @Override
+    public boolean shouldPreempt(int handle, int currentTime, int quantumElapsed) {
+        // SJF is non-preemptive
+        return false;
+    }
+
+    @Override
+    public int ticksUntilPreemption(int handle, int currentTime, int quantumElapsed) {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String getName() {
+        return "SJF";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return readyQueue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.cpusched.scheduler.table;
+
+import org.example.cpusched.model.ProcessTable;
+
+public class TableSRTF implements TableScheduler {
+    private final ProcessTable table;
+    // Key: (remaining, arrival). Remaining time only changes while a process is off the heap.
+    private final HandleHeap readyQueue = new HandleHeap();
+
+    public TableSRTF(ProcessTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public void onProcessArrival(int handle) {
+        readyQueue.add(handle, HandleHeap.key(table.getRemainingTime(handle), table.getArrivalTime(handle)));
+    }
+
+    @Override
+    public int pickNextProcess(int currentTime) {
+        return readyQueue.poll();
+    }
+
+    @Override
+    public boolean shouldPreempt(int handle, int currentTime, int quantumElapsed) {
+        if (readyQueue.isEmpty()) return false;
+        // Strict inequality to avoid context switch on ties (reduces overhead)
+        return table.getRemainingTime(readyQueue.peekHandle()) < table.getRemainingTime(handle);
+    }
+
+    @Override
+    public int ticksUntilPreemption(int handle, int currentTime, int quantumElapsed) {
+        if (readyQueue.isEmpty()) return Integer.MAX_VALUE;
+        return table.getRemainingTime(readyQueue.peekHandle()) < table.getRemainingTime(handle) - 1
+                ? 1 : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String getName() {
+        return "SRTF";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return readyQueue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return readyQueue.size();
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.cpusched.scheduler.table;
+
+/**
+ * Handle-based counterpart of {@link org.example.cpusched.scheduler.Scheduler} for workloads stored in a
+ * {@link org.example.cpusched.model.ProcessTable}. Processes are int handles into the table the scheduler
+ * was created with, so ready queues hold primitives instead of object references.
+ */
+public interface TableScheduler {
+    int NO_PROCESS = -1;
+
+    /**
+     * Called when a process arrives or is re-queued after preemption.
+     */
+    void onProcessArrival(int handle);
+
+    /**
+     * Same as {@link #onProcessArrival(int)}, with the time the process enters the ready queue.
+     * The engine always calls this one.
+     */
+    default void onProcessArrival(int handle, int currentTime) {
+        onProcessArrival(handle);
+    }
+
+    /**
+     * Selects the next process and removes it from the ready queue.
+     * @return The handle to run, or NO_PROCESS if the ready queue is empty.
+     */
+    int pickNextProcess(int currentTime);
+
+    boolean shouldPreempt(int handle, int currentTime, int quantumElapsed);
+
+    /**
+     * Same contract as Scheduler.ticksUntilPreemption.
+     */
+    int ticksUntilPreemption(int handle, int currentTime, int quantumElapsed);
+
+    String getName();
+
+    boolean isEmpty();
+
+    int size();
+}
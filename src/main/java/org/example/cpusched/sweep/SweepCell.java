@@ -0,0 +1,31 @@
+package org.example.cpusched.sweep;
+
+/**
+ * One point of a parameter sweep: a single simulation run.
+ */
+public class SweepCell {
+    private final String algorithm;
+    private final int quantum;
+    private final int contextSwitchCost;
+    private final String workloadType;
+    private final long seed;
+
+    public SweepCell(String algorithm, int quantum, int contextSwitchCost, String workloadType, long seed) {
+        this.algorithm = algorithm;
+        this.quantum = quantum;
+        this.contextSwitchCost = contextSwitchCost;
+        this.workloadType = workloadType;
+        this.seed = seed;
+    }
+
+    public String getAlgorithm() { return algorithm; }
+    public int getQuantum() { return quantum; }
+    public int getContextSwitchCost() { return contextSwitchCost; }
+    public String getWorkloadType() { return workloadType; }
+    public long getSeed() { return seed; }
+
+    @Override
+    public String toString() {
+        return algorithm + "[q=" + quantum + ", switch=" + contextSwitchCost + ", " + workloadType + ", seed=" + seed + "]";
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.cpusched.sweep;
+
+import org.example.cpusched.scheduler.SchedulerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cartesian product of algorithms x quantum x context-switch cost x workload x seed.
+ * Algorithms that ignore the quantum get a single cell per combination instead of one per quantum.
+ */
+public class SweepGrid {
+    private final List<String> algorithms;
+    private final List<Integer> quanta;
+    private final List<Integer> contextSwitchCosts;
+    private final List<String> workloadTypes;
+    private final List<Long> seeds;
+    private final int processCount;
+
+    public SweepGrid(List<String> algorithms, List<Integer> quanta, List<Integer> contextSwitchCosts,
+                     List<String> workloadTypes, List<Long> seeds, int processCount) {
+        if (algorithms.isEmpty() || quanta.isEmpty() || contextSwitchCosts.isEmpty()
+                || workloadTypes.isEmpty() || seeds.isEmpty()) {
+            throw new IllegalArgumentException("Every sweep dimension needs at least one value");
+        }
+        this.algorithms = List.copyOf(algorithms);
+        this.quanta = List.copyOf(quanta);
+        this.contextSwitchCosts = List.copyOf(contextSwitchCosts);
+        this.workloadTypes = List.copyOf(workloadTypes);
+        this.seeds = List.copyOf(seeds);
+        this.processCount = processCount;
+    }
+
+    public List<String> getWorkloadTypes() { return workloadTypes; }
+    public List<Long> getSeeds() { return seeds; }
+    public int getProcessCount() { return processCount; }
+
+    public List<SweepCell> cells() {
+        List<SweepCell> cells = new ArrayList<>();
+        for (String workloadType : workloadTypes) {
+            for (long seed : seeds) {
+                for (String algorithm : algorithms) {
+                    List<Integer> qs = SchedulerFactory.usesQuantum(algorithm) ? quanta : quanta.subList(0, 1);
+                    for (int quantum : qs) {
+                        for (int switchCost : contextSwitchCosts) {
+                            cells.add(new SweepCell(algorithm, quantum, switchCost, workloadType, seed));
+                        }
+                    }
+                }
+            }
+        }
+        return cells;
+    }
+}
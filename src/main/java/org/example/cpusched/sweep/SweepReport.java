@@ -0,0 +1,56 @@
+package org.example.cpusched.sweep;
+
+import org.example.cpusched.metrics.MetricsSummary;
+import org.example.cpusched.scheduler.SchedulerFactory;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Renders sweep results as one summary table (console) or one CSV row per cell.
+ */
+public final class SweepReport {
+    private SweepReport() {}
+
+    public static void printTable(List<SweepResult> results) {
+        String header = String.format("%-9s %5s %6s %-12s %8s %10s %10s %10s %9s %9s %10s %7s %8s",
+                "Algorithm", "Q", "Switch", "Workload", "Seed", "AvgWait", "AvgTAT", "AvgResp",
+                "P95Resp", "P99Resp", "Thru/s", "CPU%", "Switches");
+        System.out.println(header);
+        System.out.println("-".repeat(header.length()));
+        for (SweepResult r : results) {
+            SweepCell c = r.getCell();
+            MetricsSummary s = r.getSummary();
+            System.out.printf("%-9s %5s %6d %-12s %8d %10.2f %10.2f %10.2f %9.2f %9.2f %10.2f %7.2f %8d%n",
+                    c.getAlgorithm(), quantumLabel(c), c.getContextSwitchCost(), c.getWorkloadType(), c.getSeed(),
+                    s.getAvgWaitingTime(), s.getAvgTurnaroundTime(), s.getAvgResponseTime(),
+                    s.getP95ResponseTime(), s.getP99ResponseTime(), s.getThroughput(), s.getCpuUtilization(),
+                    s.getContextSwitches());
+        }
+    }
+
+    public static void exportToCsv(List<SweepResult> results, String filename) {
+        try (PrintWriter writer = new PrintWriter(filename)) {
+            writer.println("Algorithm,Scheduler,Quantum,Switch,Workload,Seed,Completed,AvgWaiting,AvgTurnaround,"
+                    + "AvgResponse,P95Response,P99Response,Throughput,CpuUtilization,ContextSwitches,SimulationTime");
+            for (SweepResult r : results) {
+                SweepCell c = r.getCell();
+                MetricsSummary s = r.getSummary();
+                writer.printf("%s,\"%s\",%s,%d,%s,%d,%d,%.4f,%.4f,%.4f,%.2f,%.2f,%.4f,%.4f,%d,%d%n",
+                        c.getAlgorithm(), r.getSchedulerName(), quantumLabel(c), c.getContextSwitchCost(),
+                        c.getWorkloadType(), c.getSeed(), s.getCompletedCount(),
+                        s.getAvgWaitingTime(), s.getAvgTurnaroundTime(), s.getAvgResponseTime(),
+                        s.getP95ResponseTime(), s.getP99ResponseTime(), s.getThroughput(), s.getCpuUtilization(),
+                        s.getContextSwitches(), s.getTotalSimulationTime());
+            }
+            System.out.println("Sweep summary exported to " + filename);
+        } catch (IOException e) {
+            System.err.println("Error writing CSV: " + e.getMessage());
+        }
+    }
+
+    private static String quantumLabel(SweepCell c) {
+        return SchedulerFactory.usesQuantum(c.getAlgorithm())
+                ? String.valueOf(c.getQuantum()) : "-";
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.cpusched.sweep;
+
+import org.example.cpusched.metrics.MetricsSummary;
+
+public class SweepResult {
+    private final SweepCell cell;
+    private final String schedulerName;
+    private final MetricsSummary summary;
+
+    public SweepResult(SweepCell cell, String schedulerName, MetricsSummary summary) {
+        this.cell = cell;
+        this.schedulerName = schedulerName;
+        this.summary = summary;
+    }
+
+    public SweepCell getCell() { return cell; }
+    public String getSchedulerName() { return schedulerName; }
+    public MetricsSummary getSummary() { return summary; }
+}
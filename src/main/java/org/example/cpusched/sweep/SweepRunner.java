@@ -0,0 +1,253 @@
+package org.example.cpusched.sweep;
+
+import org.example.cpusched.cache.CacheKey;
+import org.example.cpusched.cache.ResultCache;
+import org.example.cpusched.engine.SimulationEngine;
+import org.example.cpusched.metrics.MetricsCollector;
+import org.example.cpusched.metrics.MetricsSummary;
+import org.example.cpusched.monitor.SimulationProbe;
+import org.example.cpusched.monitor.SweepProgress;
+import org.example.cpusched.scheduler.Scheduler;
+import org.example.cpusched.scheduler.SchedulerConfig;
+import org.example.cpusched.scheduler.SchedulerFactory;
+import org.example.cpusched.trace.TraceReader;
+import org.example.cpusched.workload.ArrivalProcess;
+import org.example.cpusched.workload.Distribution;
+import org.example.cpusched.workload.WorkloadGenerator;
+import org.example.cpusched.workload.WorkloadSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs every cell of a SweepGrid on a ForkJoinPool.
+ * Cells share nothing mutable: each one gets its own Scheduler, MetricsCollector and its own
+ * streamed copy of the workload, so the sweep scales with the number of cores.
+ */
+public class SweepRunner {
+    private final int parallelism;
+    private final SimulationEngine.Mode engineMode;
+    private final SchedulerConfig baseConfig;
+    private MetricsCollector.Mode metricsMode = MetricsCollector.Mode.EXACT;
+    private int ioDevices = 1;
+    private Path trace = null;
+    private ArrivalProcess arrivals = null;
+    private Distribution bursts = null;
+    private SweepProgress progress = null;
+    private int eventSampling = 0; // 0 = no JFR events from the cells
+    private Path checkpointDir = null;
+    private int checkpointInterval = 0;
+    private ResultCache cache = null;
+    private String traceFingerprint = null;
+
+    public SweepRunner(int parallelism, SimulationEngine.Mode engineMode) {
+        this(parallelism, engineMode, new SchedulerConfig());
+    }
+
+    /**
+     * @param baseConfig Scheduler settings shared by all cells; each cell overrides only the quantum.
+     */
+    public SweepRunner(int parallelism, SimulationEngine.Mode engineMode, SchedulerConfig baseConfig) {
+        this.parallelism = parallelism;
+        this.engineMode = engineMode;
+        this.baseConfig = new SchedulerConfig(baseConfig);
+    }
+
+    public void setMetricsMode(MetricsCollector.Mode metricsMode) {
+        this.metricsMode = metricsMode;
+    }
+
+    /**
+     * I/O devices of every cell's engine; only matters for workloads with I/O bursts.
+     */
+    public void setIoDeviceCount(int devices) {
+        if (devices < 1) {
+            throw new IllegalArgumentException("I/O device count must be >= 1: " + devices);
+        }
+        this.ioDevices = devices;
+    }
+
+    /**
+     * Replays this WORKLOAD trace in every cell instead of generating a workload; the cells' workload type
+     * and seed are then only labels. Each cell maps the file itself, so nothing is regenerated or copied.
+     */
+    public void setTrace(Path trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Draws every cell's workload from these distributions, seeded by the cell's seed, instead of the
+     * cell's workload profile.
+     */
+    public void setSynthetic(ArrivalProcess arrivals, Distribution bursts) {
+        this.arrivals = arrivals;
+        this.bursts = bursts;
+    }
+
+    /**
+     * Counts finished cells and their simulated ticks, e.g. for the Sweep MBean.
+     */
+    public void setProgress(SweepProgress progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Gives every cell a SimulationProbe that emits every n-th JFR event of each kind; 0 = none.
+     */
+    public void setEventSampling(int sampleEvery) {
+        this.eventSampling = sampleEvery;
+    }
+
+    /**
+     * Checkpoints every cell to its own file in dir every interval ticks. A cell whose file is still there
+     * from an interrupted sweep resumes from it instead of starting over; the file is deleted once the cell is done.
+     * File names carry the digest of the cell's cache key (every setting, the workload and the code version),
+     * so a sweep with different settings never picks up another sweep's checkpoints.
+     */
+    public void setCheckpointing(Path dir, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be >= 1: " + interval);
+        }
+        this.checkpointDir = dir;
+        this.checkpointInterval = interval;
+    }
+
+    /**
+     * Serves cells that were already simulated with the same settings, workload and code from the cache,
+     * and stores every cell it computes.
+     */
+    public void setCache(ResultCache cache) {
+        this.cache = cache;
+    }
+
+    public List<SweepResult> run(SweepGrid grid) {
+        if (progress != null) progress.start(grid.cells().size());
+        if ((cache != null || checkpointDir != null) && trace != null) {
+            try {
+                traceFingerprint = CacheKey.traceWorkload(trace); // Once for all cells
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // Fan out the cells. Results come back in grid order regardless of completion order.
+            List<ForkJoinTask<SweepResult>> tasks = new ArrayList<>();
+            for (SweepCell cell : grid.cells()) {
+                tasks.add(pool.submit(() -> runCell(cell, grid.getProcessCount())));
+            }
+            List<SweepResult> results = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<SweepResult> task : tasks) {
+                results.add(task.join());
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private SweepResult runCell(SweepCell cell, int processCount) {
+        SchedulerConfig config = new SchedulerConfig(baseConfig);
+        config.setQuantum(cell.getQuantum());
+        Scheduler scheduler = SchedulerFactory.create(cell.getAlgorithm(), config);
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Unknown algorithm: " + cell.getAlgorithm());
+        }
+        MetricsCollector metrics = new MetricsCollector(metricsMode);
+        CacheKey key = cache != null || checkpointDir != null ? cacheKey(cell, scheduler, config, processCount) : null;
+        if (cache != null && cache.get(key, metrics)) {
+            MetricsSummary summary = metrics.summarize();
+            if (progress != null) progress.cellFinished(summary.getTotalSimulationTime());
+            return new SweepResult(cell, scheduler.getName(), summary);
+        }
+        if (trace != null) {
+            try (TraceReader reader = new TraceReader(trace)) {
+                run(cell, scheduler, reader.replay(), metrics, key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            // Regenerating from the seed is cheap and streams, so no cell ever holds the whole workload.
+            // Cells already run in parallel, so each one generates on its own thread.
+            WorkloadGenerator generator = new WorkloadGenerator(cell.getSeed());
+            WorkloadSource workload = arrivals != null
+                    ? generator.stream(arrivals, bursts, processCount, 1)
+                    : generator.stream(cell.getWorkloadType(), processCount);
+            run(cell, scheduler, workload, metrics, key);
+        }
+        if (cache != null) {
+            try {
+                cache.put(key, metrics);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        MetricsSummary summary = metrics.summarize();
+        if (progress != null) progress.cellFinished(summary.getTotalSimulationTime());
+        return new SweepResult(cell, scheduler.getName(), summary);
+    }
+
+    private CacheKey cacheKey(SweepCell cell, Scheduler scheduler, SchedulerConfig config, int processCount) {
+        String workload;
+        if (trace != null) {
+            workload = traceFingerprint;
+        } else if (arrivals != null) {
+            workload = CacheKey.syntheticWorkload(arrivals, bursts, cell.getSeed(), processCount);
+        } else {
+            workload = CacheKey.profileWorkload(cell.getWorkloadType(), cell.getSeed(), processCount);
+        }
+        return CacheKey.forRun(cell.getAlgorithm(), scheduler, config, cell.getContextSwitchCost(), engineMode,
+                metricsMode, ioDevices, workload);
+    }
+
+    private void run(SweepCell cell, Scheduler scheduler, WorkloadSource workload, MetricsCollector metrics,
+                     CacheKey key) {
+        Path checkpoint = checkpointDir != null ? checkpointDir.resolve(checkpointName(cell, key)) : null;
+        try {
+            SimulationEngine engine;
+            if (checkpoint != null && Files.exists(checkpoint)) {
+                engine = SimulationEngine.restore(checkpoint, scheduler, workload, metrics);
+                // A resume, never a fork: restore() would quietly hand the queue to a different scheduler
+                if (!scheduler.getName().equals(engine.getRestoredScheduler())) {
+                    throw new IllegalStateException("Checkpoint " + checkpoint + " was taken with "
+                            + engine.getRestoredScheduler() + ", not " + scheduler.getName()
+                            + "; delete it or use another checkpoint directory");
+                }
+            } else {
+                engine = newEngine(cell, scheduler, workload, metrics);
+            }
+            if (eventSampling > 0) {
+                engine.setProbe(new SimulationProbe(eventSampling, null)); // One per cell, probes are single-threaded
+            }
+            if (checkpoint != null) {
+                engine.setCheckpointing(checkpoint, checkpointInterval);
+            }
+            engine.run();
+            if (checkpoint != null) {
+                Files.deleteIfExists(checkpoint);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SimulationEngine newEngine(SweepCell cell, Scheduler scheduler, WorkloadSource workload,
+                                       MetricsCollector metrics) {
+        SimulationEngine engine = new SimulationEngine(scheduler, workload, metrics, cell.getContextSwitchCost(),
+                engineMode);
+        engine.setIoDeviceCount(ioDevices);
+        return engine;
+    }
+
+    // e.g. RR-q4-s0-mixed-12345-3f2a9c0d41b7e865.ckpt: readable cell label plus the start of the key digest
+    private static String checkpointName(SweepCell cell, CacheKey key) {
+        String name = cell.getAlgorithm() + "-q" + cell.getQuantum() + "-s" + cell.getContextSwitchCost() + "-"
+                + cell.getWorkloadType() + "-" + cell.getSeed();
+        return name.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + key.getDigest().substring(0, 16) + ".ckpt";
+    }
+}
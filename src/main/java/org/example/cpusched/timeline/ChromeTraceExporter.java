@@ -0,0 +1,60 @@
+package org.example.cpusched.timeline;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Writes a timeline as Chrome trace event JSON, which chrome://tracing and ui.perfetto.dev open:
+ * one complete ("X") event per slice, one track per core. Timestamps are in microseconds.
+ */
+public final class ChromeTraceExporter {
+    private ChromeTraceExporter() {}
+
+    /**
+     * @param tickMicros Length of one tick in microseconds, e.g. 1000 for 1 ms ticks.
+     * @return The number of slices written.
+     */
+    public static long export(TimelineReader reader, Path json, double tickMicros) throws IOException {
+        long count = 0;
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(json, StandardCharsets.UTF_8), 1 << 16)) {
+            out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+            // Track names first; every later event starts with the separator, so there is never a trailing comma
+            for (int core = 0; core < reader.getCoreCount(); core++) {
+                out.write((core > 0 ? ",\n" : "") + "{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":"
+                        + core + ",\"args\":{\"name\":\"Core " + core + "\"}}");
+            }
+            StringBuilder line = new StringBuilder(160);
+            while (reader.next()) {
+                TimelineFormat.Reason reason = reader.getReason();
+                line.setLength(0);
+                line.append(",\n{\"name\":\"");
+                if (reason == TimelineFormat.Reason.SWITCH) line.append("switch to ");
+                line.append('P').append(reader.getPid())
+                        .append("\",\"cat\":\"").append(reason.name().toLowerCase())
+                        .append("\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(reader.getCore())
+                        .append(",\"ts\":");
+                appendMicros(line, reader.getStart() * tickMicros);
+                line.append(",\"dur\":");
+                appendMicros(line, (reader.getEnd() - reader.getStart()) * tickMicros);
+                line.append(",\"args\":{\"pid\":").append(reader.getPid()).append("}}");
+                out.append(line);
+                count++;
+            }
+            out.write("\n]}\n");
+        }
+        return count;
+    }
+
+    private static void appendMicros(StringBuilder sb, double micros) {
+        if (micros == Math.rint(micros) && Math.abs(micros) < 1e15) {
+            sb.append((long) micros);
+        } else {
+            sb.append(String.format(Locale.ROOT, "%.3f", micros));
+        }
+    }
+}
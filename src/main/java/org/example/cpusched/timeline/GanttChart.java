@@ -0,0 +1,109 @@
+package org.example.cpusched.timeline;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ASCII Gantt chart of a window of a timeline: one row per process, in the order they first ran, one
+ * column per tick (or per group of ticks for wide windows).
+ *
+ * <pre>
+ *       0         10        20
+ *       |         |         |
+ * P1    ###Q      ##C
+ * P2       ~###P
+ * </pre>
+ */
+public final class GanttChart {
+    private GanttChart() {}
+
+    /**
+     * Renders the ticks [from, to) in at most width columns and at most maxRows processes.
+     */
+    public static void render(TimelineReader reader, int from, int to, int width, int maxRows, PrintStream out)
+            throws IOException {
+        if (from < 0 || to <= from || width < 1 || maxRows < 1) {
+            throw new IllegalArgumentException("Bad Gantt window " + from + "-" + to + ", width " + width
+                    + ", rows " + maxRows);
+        }
+        int ticksPerColumn = (int) Math.max(1, ((long) to - from + width - 1) / width);
+        int columns = (int) (((long) to - from + ticksPerColumn - 1) / ticksPerColumn);
+        boolean multiCore = reader.getCoreCount() > 1;
+
+        Map<Integer, char[]> rows = new LinkedHashMap<>();
+        Set<Integer> hidden = new HashSet<>();
+        boolean[] pastWindow = new boolean[reader.getCoreCount()];
+        int coresPast = 0;
+        while (coresPast < pastWindow.length && reader.next()) {
+            int start = reader.getStart();
+            int end = reader.getEnd();
+            if (start >= to) {
+                // Each core's slices come in time order, so once every core is past the window we are done
+                if (!pastWindow[reader.getCore()]) {
+                    pastWindow[reader.getCore()] = true;
+                    coresPast++;
+                }
+                continue;
+            }
+            if (end <= from) continue;
+            char[] row = rows.get(reader.getPid());
+            if (row == null) {
+                if (rows.size() == maxRows) {
+                    hidden.add(reader.getPid());
+                    continue;
+                }
+                row = new char[columns];
+                Arrays.fill(row, ' ');
+                rows.put(reader.getPid(), row);
+            }
+            TimelineFormat.Reason reason = reader.getReason();
+            char fill = reason == TimelineFormat.Reason.SWITCH ? '~'
+                    : multiCore ? Character.forDigit(reader.getCore() % 36, 36) : '#';
+            int first = (Math.max(start, from) - from) / ticksPerColumn;
+            int last = (Math.min(end, to) - 1 - from) / ticksPerColumn;
+            for (int c = first; c <= last; c++) {
+                if (row[c] == ' ' || row[c] == '~') row[c] = fill; // Running wins over switching in a shared column
+            }
+            if (reason != TimelineFormat.Reason.SWITCH && end <= to) {
+                row[last] = reason.getSymbol();
+            }
+        }
+
+        int labelWidth = 4;
+        for (int pid : rows.keySet()) {
+            labelWidth = Math.max(labelWidth, String.valueOf(pid).length() + 2);
+        }
+        String pad = " ".repeat(labelWidth);
+        out.println("Timeline " + from + "-" + to + ", " + ticksPerColumn + " tick" + (ticksPerColumn == 1 ? "" : "s")
+                + " per column, " + (rows.size() + hidden.size()) + " processes");
+        out.println(pad + axis(columns, from, ticksPerColumn, false));
+        out.println(pad + axis(columns, from, ticksPerColumn, true));
+        for (Map.Entry<Integer, char[]> e : rows.entrySet()) {
+            String label = "P" + e.getKey();
+            out.println(label + " ".repeat(labelWidth - label.length()) + new String(e.getValue()).stripTrailing());
+        }
+        if (!hidden.isEmpty()) {
+            out.println("... " + hidden.size() + " more processes (raise --gantt-rows or narrow --window)");
+        }
+        out.println((multiCore ? "0-9a-z core running" : "# running") + ", ~ switching; slice ends: C complete, "
+                + "I blocked on I/O, Q quantum used up, P preempted");
+    }
+
+    // Tick labels every 10 columns, or the tick marks under them
+    private static String axis(int columns, int from, int ticksPerColumn, boolean marks) {
+        char[] line = new char[columns];
+        Arrays.fill(line, ' ');
+        for (int c = 0; c < columns; c += 10) {
+            String text = marks ? "|" : String.valueOf((long) from + (long) c * ticksPerColumn);
+            for (int i = 0; i < text.length() && c + i < columns; i++) {
+                line[c + i] = text.charAt(i);
+            }
+        }
+        return new String(line).stripTrailing();
+    }
+}
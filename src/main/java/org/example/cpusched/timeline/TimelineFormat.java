@@ -0,0 +1,57 @@
+package org.example.cpusched.timeline;
+
+/**
+ * Timeline file layout shared by TimelineRecorder and TimelineReader.
+ *
+ * <pre>
+ * header (12 bytes): magic, version, core count (little-endian ints)
+ * slice  (repeated): tag byte, [core], pid delta, gap, length
+ * </pre>
+ *
+ * A slice is a run of ticks on one core: a process running until it stops for a Reason, or the switch
+ * into it. The tag's low 3 bits hold the reason; bit 3 says a core number follows (only when it differs
+ * from the previous slice's). The rest are unsigned LEB128 varints: pid as the zigzag-coded difference to
+ * the previous slice's pid, gap as the idle ticks since the previous slice on the same core ended, and the
+ * length in ticks. Slices of one core come in time order, so a typical slice takes 4-6 bytes.
+ */
+public final class TimelineFormat {
+    private TimelineFormat() {}
+
+    public static final int MAGIC = 0x4C544350; // "PCTL" in file byte order
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 12;
+
+    static final int REASON_MASK = 0x07;
+    static final int CORE_FLAG = 0x08;
+    static final int MAX_SLICE_BYTES = 1 + 5 * 4;
+
+    public enum Reason {
+        COMPLETE('C'), // Last CPU burst done
+        IO('I'),       // CPU burst done, blocked on I/O
+        QUANTUM('Q'),  // Time slice used up
+        PREEMPT('P'),  // Displaced by another process before its slice ran out
+        SWITCH('~');   // Context switch into the slice's process
+
+        private static final Reason[] VALUES = values();
+        private final char symbol;
+
+        Reason(char symbol) {
+            this.symbol = symbol;
+        }
+
+        /**
+         * One-character mark for the Gantt chart.
+         */
+        public char getSymbol() {
+            return symbol;
+        }
+
+        static int count() {
+            return VALUES.length;
+        }
+
+        static Reason of(int ordinal) {
+            return VALUES[ordinal];
+        }
+    }
+}
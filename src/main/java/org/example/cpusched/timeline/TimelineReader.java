@@ -0,0 +1,106 @@
+package org.example.cpusched.timeline;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams the slices of a timeline file. A cursor: next() moves to the following slice, whose fields the
+ * getters then return, so reading allocates nothing per slice.
+ */
+public class TimelineReader implements Closeable {
+    private final InputStream in;
+    private final int coreCount;
+    private final int[] lastEnd;
+    private int core = 0;
+    private int pid = 0;
+    private int start;
+    private int end;
+    private TimelineFormat.Reason reason;
+
+    public TimelineReader(Path file) throws IOException {
+        this.in = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+        try {
+            if (readIntLE() != TimelineFormat.MAGIC) {
+                throw new IOException(file + " is not a timeline");
+            }
+            int version = readIntLE();
+            if (version != TimelineFormat.VERSION) {
+                throw new IOException("Unsupported timeline version " + version + " (expected "
+                        + TimelineFormat.VERSION + ")");
+            }
+            coreCount = readIntLE();
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        lastEnd = new int[coreCount];
+    }
+
+    public int getCoreCount() {
+        return coreCount;
+    }
+
+    /**
+     * Moves to the next slice.
+     * @return false at the end of the file.
+     * @throws IOException If the file ends inside a slice, e.g. the run was killed before close().
+     */
+    public boolean next() throws IOException {
+        int tag = in.read();
+        if (tag < 0) return false;
+        if ((tag & TimelineFormat.CORE_FLAG) != 0) {
+            core = readVarint();
+            if (core >= coreCount) {
+                throw new IOException("Core " + core + " out of range in a timeline of " + coreCount + " cores");
+            }
+        }
+        int zigzag = readVarint();
+        pid += (zigzag >>> 1) ^ -(zigzag & 1);
+        start = lastEnd[core] + readVarint();
+        end = start + readVarint();
+        lastEnd[core] = end;
+        int code = tag & TimelineFormat.REASON_MASK;
+        if (code >= TimelineFormat.Reason.count()) {
+            throw new IOException("Unknown slice reason " + code + " in timeline");
+        }
+        reason = TimelineFormat.Reason.of(code);
+        return true;
+    }
+
+    public int getCore() { return core; }
+    public int getPid() { return pid; }
+    public int getStart() { return start; }
+    public int getEnd() { return end; }
+    public TimelineFormat.Reason getReason() { return reason; }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Timeline ends inside a slice");
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint in timeline");
+    }
+
+    private int readIntLE() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Timeline header is truncated");
+            value |= b << (8 * i);
+        }
+        return value;
+    }
+}
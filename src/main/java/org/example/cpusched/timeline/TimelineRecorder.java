@@ -0,0 +1,186 @@
+package org.example.cpusched.timeline;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Records which process ran when, as the slices described in TimelineFormat. The engines call onDispatch
+ * when a core picks a process and onStop when it gives the CPU up; everything in between is one slice,
+ * so the cost is per context switch, not per tick.
+ *
+ * Slices are encoded into a small pool of fixed buffers. A full buffer goes to a writer thread and the
+ * engine continues in the next free one, so it only waits on the disk if the disk falls a whole pool
+ * behind. Nothing is allocated per slice. One recorder serves one engine run on one thread.
+ * A write error doesn't stop the simulation; close() reports it.
+ */
+public final class TimelineRecorder implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int BUFFERS = 4;
+
+    private final OutputStream out;
+    private final BlockingQueue<Chunk> full = new ArrayBlockingQueue<>(BUFFERS + 1);
+    private final BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(BUFFERS);
+    private final Thread writer;
+    private volatile IOException failure = null;
+    private Chunk chunk;
+    private long slices = 0;
+
+    // Per core: start of the open slice (-1 = none), its pid, and where the last slice ended
+    private final int[] openStart;
+    private final int[] openPid;
+    private final int[] lastEnd;
+    private int lastCore = 0;
+    private int lastPid = 0;
+    private boolean closed = false;
+
+    private static final class Chunk {
+        final byte[] data = new byte[BUFFER_BYTES];
+        int length = 0;
+    }
+
+    private static final Chunk END = new Chunk();
+
+    public TimelineRecorder(Path file, int cores) throws IOException {
+        if (cores < 1) {
+            throw new IllegalArgumentException("Core count must be >= 1: " + cores);
+        }
+        this.out = Files.newOutputStream(file);
+        this.openStart = new int[cores];
+        this.openPid = new int[cores];
+        this.lastEnd = new int[cores];
+        Arrays.fill(openStart, -1);
+        for (int i = 0; i < BUFFERS - 1; i++) {
+            free.add(new Chunk());
+        }
+        chunk = new Chunk();
+        writeIntLE(TimelineFormat.MAGIC);
+        writeIntLE(TimelineFormat.VERSION);
+        writeIntLE(cores);
+        writer = new Thread(this::drain, "timeline-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * The core picked pid at time. It spends switchTicks switching (recorded as a SWITCH slice when > 0),
+     * then runs until onStop.
+     */
+    public void onDispatch(int core, int pid, int time, int switchTicks) {
+        if (switchTicks > 0) {
+            write(core, pid, time, time + switchTicks, TimelineFormat.Reason.SWITCH);
+        }
+        openStart[core] = time + switchTicks;
+        openPid[core] = pid;
+    }
+
+    /**
+     * The process on core stopped running at time (exclusive end of its last tick).
+     */
+    public void onStop(int core, int time, TimelineFormat.Reason reason) {
+        int start = openStart[core];
+        if (start < 0) return; // Not opened by this recorder, e.g. right after a checkpoint restore
+        openStart[core] = -1;
+        write(core, openPid[core], start, time, reason);
+    }
+
+    public long getSliceCount() {
+        return slices;
+    }
+
+    /**
+     * Writes out what is buffered and waits for the writer thread. Slices still open are dropped.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            if (chunk.length > 0) full.put(chunk);
+            full.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing the timeline", e);
+        } finally {
+            out.close();
+        }
+        if (failure != null) throw failure;
+    }
+
+    private void write(int core, int pid, int start, int end, TimelineFormat.Reason reason) {
+        if (chunk.length > BUFFER_BYTES - TimelineFormat.MAX_SLICE_BYTES) {
+            handOff();
+        }
+        // Position kept in a local: this runs once per context switch, so it is the recorder's hot path
+        byte[] data = chunk.data;
+        int i = chunk.length;
+        int tag = reason.ordinal();
+        if (core != lastCore) {
+            data[i++] = (byte) (tag | TimelineFormat.CORE_FLAG);
+            i = putVarint(data, i, core);
+            lastCore = core;
+        } else {
+            data[i++] = (byte) tag;
+        }
+        int delta = pid - lastPid;
+        i = putVarint(data, i, (delta << 1) ^ (delta >> 31)); // Zigzag: small negative deltas stay small
+        lastPid = pid;
+        i = putVarint(data, i, start - lastEnd[core]);
+        i = putVarint(data, i, end - start);
+        chunk.length = i;
+        lastEnd[core] = end;
+        slices++;
+    }
+
+    private static int putVarint(byte[] data, int i, int value) {
+        while ((value & ~0x7F) != 0) {
+            data[i++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[i++] = (byte) value;
+        return i;
+    }
+
+    private void writeIntLE(int value) {
+        for (int i = 0; i < 4; i++) {
+            chunk.data[chunk.length++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private void handOff() {
+        try {
+            full.put(chunk);
+            chunk = free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while recording the timeline", e);
+        }
+        chunk.length = 0;
+    }
+
+    // Writer thread. After a failure it keeps recycling buffers so the engine never blocks on a dead disk.
+    private void drain() {
+        try {
+            while (true) {
+                Chunk c = full.take();
+                if (c == END) return;
+                if (failure == null) {
+                    try {
+                        out.write(c.data, 0, c.length);
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                free.put(c);
+            }
+        } catch (InterruptedException e) {
+            failure = new IOException("Timeline writer interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.cpusched.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parses a large text file in parallel without loading it: the file is read through a FileChannel in
+ * fixed-size chunks cut at line boundaries, each chunk is parsed on a pool thread, and the results come
+ * back chunk by chunk in file order. At most two chunks per thread are in flight, so memory stays bounded.
+ *
+ * Blank lines and lines starting with '#' are skipped. Lines are decoded as ISO-8859-1, which is
+ * lossless for the ASCII that traces are made of.
+ */
+public final class ChunkedLineParser<T> implements Closeable {
+    public static final int DEFAULT_CHUNK_BYTES = 1 << 22; // 4 MiB
+
+    /**
+     * Turns one line into zero or more records. Called from several threads at once, so it must not
+     * keep state between calls.
+     */
+    public interface LineParser<T> {
+        void parse(String line, List<T> out);
+    }
+
+    private final FileChannel channel;
+    private final LineParser<T> parser;
+    private final ForkJoinPool pool;
+    private final int maxInFlight;
+    private final ByteBuffer buffer;
+    private final ArrayDeque<ForkJoinTask<List<T>>> inFlight = new ArrayDeque<>();
+    private boolean eof = false;
+
+    public ChunkedLineParser(Path path, int parallelism, LineParser<T> parser) throws IOException {
+        this(path, parallelism, DEFAULT_CHUNK_BYTES, parser);
+    }
+
+    public ChunkedLineParser(Path path, int parallelism, int chunkBytes, LineParser<T> parser) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be >= 1: " + parallelism);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.parser = parser;
+        this.pool = new ForkJoinPool(parallelism);
+        this.maxInFlight = 2 * parallelism;
+        this.buffer = ByteBuffer.allocate(Math.max(chunkBytes, 1024));
+        buffer.flip(); // Start empty
+    }
+
+    /**
+     * Consumes and returns the first line (e.g. a CSV header), or null for an empty file.
+     * Must be called before the first nextChunk().
+     */
+    public String readFirstLine() throws IOException {
+        if (!inFlight.isEmpty()) {
+            throw new IllegalStateException("Chunks are already being parsed");
+        }
+        while (true) {
+            for (int i = buffer.position(); i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') {
+                    String line = decode(buffer.array(), buffer.position(), i);
+                    buffer.position(i + 1);
+                    return line;
+                }
+            }
+            if (eof) {
+                if (!buffer.hasRemaining()) return null;
+                String line = decode(buffer.array(), buffer.position(), buffer.limit());
+                buffer.position(buffer.limit());
+                return line;
+            }
+            if (isFull()) {
+                throw new IOException("First line is longer than " + buffer.capacity() + " bytes");
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Records of the next chunk in file order, or null once the whole file has been parsed.
+     */
+    public List<T> nextChunk() throws IOException {
+        while (inFlight.size() < maxInFlight && submitNext()) {
+            // Keep the pool busy ahead of the consumer
+        }
+        ForkJoinTask<List<T>> task = inFlight.poll();
+        if (task == null) return null;
+        try {
+            return task.join();
+        } catch (RuntimeException e) {
+            // join() rethrows a copy that wraps the parser's exception; pass the original on
+            if (e.getCause() != null && e.getCause().getClass() == e.getClass()) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.shutdownNow();
+        channel.close();
+    }
+
+    // Cuts the next chunk at its last newline and hands it to the pool; false at end of file
+    private boolean submitNext() throws IOException {
+        if (!eof && !isFull()) {
+            fill(); // Chunks are cut from a full buffer so they are all about chunkBytes long
+        }
+        if (!buffer.hasRemaining()) return false;
+        int end = buffer.limit();
+        if (!eof) {
+            while (end > buffer.position() && buffer.get(end - 1) != '\n') end--;
+            if (end == buffer.position()) {
+                throw new IOException("Line longer than " + buffer.capacity() + " bytes");
+            }
+        }
+        byte[] chunk = Arrays.copyOfRange(buffer.array(), buffer.position(), end);
+        buffer.position(end);
+        inFlight.add(pool.submit(() -> parseChunk(chunk)));
+        return true;
+    }
+
+    private boolean isFull() {
+        return buffer.position() == 0 && buffer.limit() == buffer.capacity();
+    }
+
+    // Moves the unread tail to the front and reads until the buffer is full or the file ends
+    private void fill() throws IOException {
+        buffer.compact();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                eof = true;
+                break;
+            }
+        }
+        buffer.flip();
+    }
+
+    private List<T> parseChunk(byte[] chunk) {
+        List<T> out = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= chunk.length; i++) {
+            if (i == chunk.length || chunk[i] == '\n') {
+                String line = decode(chunk, start, i);
+                start = i + 1;
+                if (!line.isBlank() && line.charAt(0) != '#') {
+                    parser.parse(line, out);
+                }
+            }
+        }
+        return out;
+    }
+
+    private static String decode(byte[] bytes, int from, int to) {
+        if (to > from && bytes[to - 1] == '\r') to--; // CRLF files
+        return new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+}
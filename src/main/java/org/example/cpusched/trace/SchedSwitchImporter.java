@@ -0,0 +1,251 @@
+package org.example.cpusched.trace;
+
+import org.example.cpusched.model.Process;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds processes from Linux scheduler events, as printed by `perf sched script`, `perf script`
+ * or the ftrace text buffer:
+ *
+ * <pre>
+ *   bash-1234  [001] d..2  5678.123456: sched_switch: prev_comm=bash prev_pid=1234 prev_prio=120 prev_state=S ==&gt; next_comm=ls next_pid=1240 next_prio=120
+ *   bash  1234 [001]  5678.123460: sched:sched_wakeup: comm=bash pid=1234 prio=120 target_cpu=001
+ * </pre>
+ *
+ * Every task (pid 0, the idle task, excluded) becomes one process that arrives when it is first seen.
+ * Time on a CPU is a CPU burst; being switched out in state R (preempted) just pauses the burst. Being
+ * switched out asleep (S, D, ...) ends the burst and starts an I/O phase that lasts until the task's
+ * sched_wakeup, or until it is switched in again if the trace has no wakeups. A task ends when it is
+ * switched out dead (X or Z) or at the end of the trace. Linux reuses pids, so processes are numbered
+ * 1, 2, ... in order of appearance instead.
+ *
+ * Lines are parsed in parallel; only the event-to-process state machine runs sequentially.
+ */
+public class SchedSwitchImporter extends TraceImporter {
+    private static final byte SWITCH = 0, WAKEUP = 1;
+
+    private final ChunkedLineParser<Event> parser;
+    private final double tickMicros;
+
+    private final Map<Integer, Task> live = new HashMap<>(); // By Linux pid
+    private final ArrayDeque<Task> byArrival = new ArrayDeque<>(); // Handed out once complete, in this order
+    private boolean exhausted = false;
+    private long traceStart = -1;
+    private long now = -1; // Timestamp of the last event, in microseconds
+    private int nextPid = 1;
+
+    private static final class Event {
+        long time; // Microseconds
+        byte type;
+        int pid, prio; // SWITCH: prev task; WAKEUP: woken task
+        char prevState;
+        int nextPid, nextPrio;
+    }
+
+    private static final class Task {
+        final int pid;
+        final long arrival;
+        final int prio;
+        final List<Long> phases = new ArrayList<>(); // Finished cpu, io, cpu, io ... in microseconds
+        long cpu = 0; // Current CPU burst so far
+        long runningSince = -1;
+        long blockedSince = -1;
+        long wokenAt = -1;
+        boolean done = false;
+
+        Task(int pid, long arrival, int prio) {
+            this.pid = pid;
+            this.arrival = arrival;
+            this.prio = prio;
+        }
+    }
+
+    SchedSwitchImporter(Path path, double tickMicros, int parallelism) throws IOException {
+        this.tickMicros = tickMicros;
+        this.parser = new ChunkedLineParser<>(path, parallelism, SchedSwitchImporter::parseLine);
+    }
+
+    // Runs on parser threads. Lines that are not sched_switch / sched_wakeup events are skipped.
+    private static void parseLine(String line, List<Event> out) {
+        int at = line.indexOf("sched_switch:");
+        byte type = SWITCH;
+        if (at < 0) {
+            at = line.indexOf("sched_wakeup:");
+            if (at < 0) at = line.indexOf("sched_wakeup_new:");
+            if (at < 0) return;
+            type = WAKEUP;
+        }
+        try {
+            Event e = new Event();
+            e.type = type;
+            e.time = parseTimestamp(line, at);
+            if (type == SWITCH) {
+                e.pid = intValue(line, "prev_pid=", at);
+                e.prio = intValue(line, "prev_prio=", at);
+                e.prevState = stringValue(line, "prev_state=", at).charAt(0);
+                e.nextPid = intValue(line, "next_pid=", at);
+                e.nextPrio = intValue(line, "next_prio=", at);
+            } else {
+                e.pid = intValue(line, " pid=", at);
+                e.prio = intValue(line, " prio=", at);
+            }
+            out.add(e);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Bad scheduler event: " + line + " (" + ex.getMessage() + ")", ex);
+        }
+    }
+
+    // "... 5678.123456: sched:sched_switch: ..." -> 5678123456 (microseconds); nanosecond digits are dropped
+    private static long parseTimestamp(String line, int eventAt) {
+        int end = line.lastIndexOf(':', eventAt - 1);
+        while (end > 0 && !Character.isDigit(line.charAt(end - 1))) {
+            end = line.lastIndexOf(':', end - 1); // Skip the "sched:" prefix of perf output
+        }
+        int start = end;
+        while (start > 0 && (Character.isDigit(line.charAt(start - 1)) || line.charAt(start - 1) == '.')) start--;
+        String ts = line.substring(start, end);
+        int dot = ts.indexOf('.');
+        if (dot < 0) return Long.parseLong(ts) * 1_000_000;
+        String frac = (ts.substring(dot + 1) + "000000").substring(0, 6);
+        return Long.parseLong(ts.substring(0, dot)) * 1_000_000 + Long.parseLong(frac);
+    }
+
+    private static String stringValue(String line, String key, int from) {
+        int i = line.indexOf(key, from);
+        if (i < 0) throw new IllegalArgumentException("no " + key.trim());
+        i += key.length();
+        int j = i;
+        while (j < line.length() && line.charAt(j) != ' ') j++;
+        return line.substring(i, j);
+    }
+
+    private static int intValue(String line, String key, int from) {
+        return Integer.parseInt(stringValue(line, key, from));
+    }
+
+    @Override
+    protected Process readNext() throws IOException {
+        while (true) {
+            Task head = byArrival.peek();
+            if (head != null && head.done) {
+                byArrival.poll();
+                Process p = toProcess(head);
+                if (p != null) return p;
+                continue;
+            }
+            if (exhausted) {
+                return null; // Everything was finished at the end of the trace
+            }
+            List<Event> chunk = parser.nextChunk();
+            if (chunk == null) {
+                exhausted = true;
+                for (Task t : live.values()) finish(t);
+                live.clear();
+            } else {
+                for (Event e : chunk) apply(e);
+            }
+        }
+    }
+
+    private void apply(Event e) {
+        now = Math.max(now, e.time); // Per-CPU buffers can be slightly out of order; never go back in time
+        if (traceStart < 0) traceStart = now;
+        if (e.type == WAKEUP) {
+            Task t = live.get(e.pid);
+            if (t == null) {
+                taskFor(e.pid, e.prio);
+            } else if (t.blockedSince >= 0 && t.wokenAt < 0) {
+                t.wokenAt = now;
+            }
+            return;
+        }
+
+        if (e.pid != 0) {
+            Task prev = live.get(e.pid);
+            if (prev == null) {
+                // Already running when the trace started: its CPU time counts from the start, but it still
+                // arrives when first seen so arrivals stay in order
+                prev = taskFor(e.pid, e.prio);
+                prev.runningSince = traceStart;
+            }
+            if (prev.runningSince >= 0) {
+                prev.cpu += now - prev.runningSince;
+                prev.runningSince = -1;
+            }
+            if (e.prevState == 'X' || e.prevState == 'Z') {
+                live.remove(e.pid);
+                finish(prev);
+            } else if (e.prevState != 'R') {
+                prev.blockedSince = now;
+            }
+        }
+        if (e.nextPid != 0) {
+            Task next = taskFor(e.nextPid, e.nextPrio);
+            if (next.blockedSince >= 0) {
+                long ioEnd = next.wokenAt >= 0 ? next.wokenAt : now;
+                next.phases.add(next.cpu);
+                next.phases.add(ioEnd - next.blockedSince);
+                next.cpu = 0;
+                next.blockedSince = -1;
+                next.wokenAt = -1;
+            }
+            next.runningSince = now;
+        }
+    }
+
+    private Task taskFor(int linuxPid, int prio) {
+        Task t = live.get(linuxPid);
+        if (t == null) {
+            t = new Task(nextPid++, now, prio);
+            live.put(linuxPid, t);
+            byArrival.add(t);
+        }
+        return t;
+    }
+
+    private void finish(Task t) {
+        if (t.runningSince >= 0) {
+            t.cpu += now - t.runningSince; // Still on a CPU when the trace ended
+            t.runningSince = -1;
+        }
+        t.done = true;
+    }
+
+    // null for a task that never ran
+    private Process toProcess(Task t) {
+        // phases only holds cpu/io pairs that were followed by more CPU time, so a trailing sleep is
+        // dropped and the process ends with its last CPU burst (t.cpu)
+        List<Long> phases = t.phases;
+        int n = phases.size() / 2 + 1;
+        long total = t.cpu;
+        for (int i = 0; i < phases.size(); i += 2) total += phases.get(i);
+        if (total == 0) return null;
+
+        int[] cpu = new int[n];
+        int[] io = new int[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            cpu[i] = ticks(phases.get(2 * i));
+            io[i] = ticks(phases.get(2 * i + 1));
+        }
+        cpu[n - 1] = ticks(t.cpu);
+        int arrival = (int) Math.min(Integer.MAX_VALUE, (long) ((t.arrival - traceStart) / tickMicros));
+        int priority = fromKernelPriority(t.prio);
+        return n == 1 ? new Process(t.pid, arrival, cpu[0], priority) : new Process(t.pid, arrival, cpu, io, priority);
+    }
+
+    // Durations: at least one tick
+    private int ticks(long micros) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.round(micros / tickMicros)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.cpusched.trace;
+
+import org.example.cpusched.model.Process;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Imports a CSV task table, one task per line, in the style of cluster traces. Columns are found by
+ * header name (case-insensitive, any order, unknown columns ignored):
+ *
+ * - arrival (or arrival_time, submit_time, time, timestamp): required
+ * - burst (or cpu, cpu_time, duration, runtime): total CPU demand
+ * - bursts (or phases): optional I/O phases as "cpu io cpu ..." separated by spaces or ';'; when
+ *   present it replaces burst
+ * - pid (or id, task_id, job_id), priority (or prio), deadline (absolute time), period: optional
+ *
+ * The CSV written by TraceReader.toCsv for a workload trace imports back as the same processes, shifted
+ * so the first arrival is at tick 0 (use a 1 ms time unit and tick). Fields are not
+ * allowed to contain commas. Rows may be up to reorderWindow ticks out of arrival order; they are
+ * held in a small heap and released once no earlier row can still turn up.
+ */
+public class TaskTableImporter extends TraceImporter {
+    private static final int DEFAULT_PRIORITY = 5; // Middle of 1..10 when the table has no priority column
+    private static final Map<String, String> ALIASES = new HashMap<>();
+    static {
+        for (String a : new String[] {"arrival", "arrival_time", "submit_time", "time", "timestamp"}) ALIASES.put(a, "arrival");
+        for (String a : new String[] {"burst", "cpu", "cpu_time", "duration", "runtime"}) ALIASES.put(a, "burst");
+        for (String a : new String[] {"bursts", "phases"}) ALIASES.put(a, "bursts");
+        for (String a : new String[] {"pid", "id", "task_id", "job_id"}) ALIASES.put(a, "pid");
+        for (String a : new String[] {"priority", "prio"}) ALIASES.put(a, "priority");
+        ALIASES.put("deadline", "deadline");
+        ALIASES.put("period", "period");
+    }
+
+    private final ChunkedLineParser<Row> parser;
+    private final double ticksPerUnit;
+    private final int reorderWindow;
+    private final int arrivalCol, burstCol, burstsCol, pidCol, priorityCol, deadlineCol, periodCol;
+
+    private final PriorityQueue<Row> pending = new PriorityQueue<>(
+            Comparator.comparingLong((Row r) -> r.arrival).thenComparingLong(r -> r.sequence));
+    private List<Row> chunk = null;
+    private int chunkIndex = 0;
+    private boolean exhausted = false;
+    private long sequence = 0;
+    private long maxArrivalSeen = Long.MIN_VALUE;
+    private long base = Long.MIN_VALUE; // Arrival (ticks) that becomes tick 0
+    private long lastEmitted = Long.MIN_VALUE;
+
+    // One parsed line; times already in ticks but not rebased yet
+    private static final class Row {
+        long arrival;
+        long deadline = -1;
+        int pid = -1;
+        int burst;
+        int priority;
+        int period;
+        int[] bursts; // Alternating cpu, io, cpu ... or null
+        long sequence;
+    }
+
+    TaskTableImporter(Path path, double ticksPerUnit, int reorderWindow, int parallelism) throws IOException {
+        if (reorderWindow < 0) {
+            throw new IllegalArgumentException("Reorder window must be >= 0: " + reorderWindow);
+        }
+        this.ticksPerUnit = ticksPerUnit;
+        this.reorderWindow = reorderWindow;
+
+        // The header has to be read before the columns are known, so the line parser is set up after it
+        Map<String, Integer> columns = new HashMap<>();
+        ChunkedLineParser<Row> p = new ChunkedLineParser<>(path, parallelism, this::parseLine);
+        try {
+            String header = p.readFirstLine();
+            if (header == null) {
+                throw new IOException(path + " is empty");
+            }
+            String[] names = header.split(",");
+            for (int i = 0; i < names.length; i++) {
+                String canonical = ALIASES.get(unquote(names[i]).toLowerCase());
+                if (canonical != null) columns.putIfAbsent(canonical, i);
+            }
+            if (!columns.containsKey("arrival") || !columns.containsKey("burst") && !columns.containsKey("bursts")) {
+                throw new IOException(path + ": header needs an arrival column and a burst or bursts column, got: "
+                        + header);
+            }
+        } catch (IOException | RuntimeException e) {
+            p.close();
+            throw e;
+        }
+        this.parser = p;
+        this.arrivalCol = columns.get("arrival");
+        this.burstCol = columns.getOrDefault("burst", -1);
+        this.burstsCol = columns.getOrDefault("bursts", -1);
+        this.pidCol = columns.getOrDefault("pid", -1);
+        this.priorityCol = columns.getOrDefault("priority", -1);
+        this.deadlineCol = columns.getOrDefault("deadline", -1);
+        this.periodCol = columns.getOrDefault("period", -1);
+    }
+
+    // Runs on parser threads; only reads final fields
+    private void parseLine(String line, List<Row> out) {
+        String[] f = line.split(",", -1);
+        try {
+            Row r = new Row();
+            r.arrival = Math.round(Double.parseDouble(field(f, arrivalCol)) * ticksPerUnit);
+            String phases = burstsCol >= 0 ? field(f, burstsCol) : "";
+            if (!phases.isEmpty()) {
+                String[] parts = phases.trim().split("[ ;]+");
+                if (parts.length % 2 == 0) {
+                    throw new IllegalArgumentException("bursts needs an odd count (cpu io ... cpu): " + phases);
+                }
+                r.bursts = new int[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    r.bursts[i] = duration(parts[i]);
+                    r.burst += i % 2 == 0 ? r.bursts[i] : 0;
+                }
+            } else {
+                r.burst = duration(field(f, burstCol));
+            }
+            if (pidCol >= 0) r.pid = Integer.parseInt(field(f, pidCol));
+            r.priority = priorityCol >= 0 && !field(f, priorityCol).isEmpty()
+                    ? clampPriority(Integer.parseInt(field(f, priorityCol))) : DEFAULT_PRIORITY;
+            if (deadlineCol >= 0) {
+                String d = field(f, deadlineCol);
+                double value = d.isEmpty() ? -1 : Double.parseDouble(d);
+                r.deadline = value < 0 ? -1 : Math.round(value * ticksPerUnit);
+            }
+            if (periodCol >= 0 && !field(f, periodCol).isEmpty()) {
+                r.period = (int) Math.round(Double.parseDouble(field(f, periodCol)) * ticksPerUnit);
+            }
+            out.add(r);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Bad task line: " + line + " (" + e.getMessage() + ")", e);
+        }
+    }
+
+    private static String field(String[] fields, int col) {
+        return unquote(fields[col]);
+    }
+
+    private static String unquote(String s) {
+        s = s.trim();
+        return s.length() >= 2 && s.charAt(0) == '"' && s.charAt(s.length() - 1) == '"' ? s.substring(1, s.length() - 1) : s;
+    }
+
+    // CPU and I/O times: at least one tick
+    private int duration(String value) {
+        return (int) Math.max(1, Math.round(Double.parseDouble(value) * ticksPerUnit));
+    }
+
+    @Override
+    protected Process readNext() throws IOException {
+        // Pull rows until the earliest pending one can no longer be overtaken
+        while (!exhausted && (pending.isEmpty() || pending.peek().arrival + reorderWindow >= maxArrivalSeen)) {
+            if (chunk == null || chunkIndex == chunk.size()) {
+                chunk = parser.nextChunk();
+                chunkIndex = 0;
+                if (chunk == null) {
+                    exhausted = true;
+                    break;
+                }
+                continue;
+            }
+            Row r = chunk.get(chunkIndex++);
+            r.sequence = ++sequence; // File position, used for ties and missing pids
+            if (r.pid < 0) r.pid = (int) r.sequence;
+            maxArrivalSeen = Math.max(maxArrivalSeen, r.arrival);
+            pending.add(r);
+        }
+        Row r = pending.poll();
+        if (r == null) return null;
+        if (r.arrival < lastEmitted) {
+            throw new IllegalStateException("Task " + r.pid + " is more than " + reorderWindow
+                    + " ticks out of arrival order; sort the file or widen the reorder window");
+        }
+        lastEmitted = r.arrival;
+        if (base == Long.MIN_VALUE) base = r.arrival;
+        long arrival = r.arrival - base;
+        if (arrival > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Task " + r.pid + " arrives after tick " + Integer.MAX_VALUE
+                    + "; use a longer tick");
+        }
+
+        Process p;
+        if (r.bursts != null && r.bursts.length > 1) {
+            int n = (r.bursts.length + 1) / 2;
+            int[] cpu = new int[n];
+            int[] io = new int[n - 1];
+            for (int i = 0; i < r.bursts.length; i++) {
+                if (i % 2 == 0) cpu[i / 2] = r.bursts[i];
+                else io[i / 2] = r.bursts[i];
+            }
+            p = new Process(r.pid, (int) arrival, cpu, io, r.priority);
+        } else {
+            p = new Process(r.pid, (int) arrival, r.burst, r.priority);
+        }
+        if (r.deadline >= 0) p.setDeadline((int) Math.max(0, r.deadline - base));
+        p.setPeriod(r.period);
+        return p;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
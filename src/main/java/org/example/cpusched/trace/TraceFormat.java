@@ -0,0 +1,51 @@
+package org.example.cpusched.trace;
+
+import java.nio.ByteOrder;
+
+/**
+ * Binary trace layout shared by TraceWriter and TraceReader. All values are little-endian ints
+ * except the row count.
+ *
+ * <pre>
+ * header  (32 bytes): magic, version, kind, column count, row count (long), block rows, reserved
+ * block   (repeated): rows, extra ints, then one int column after another (rows values each),
+ *                     then the extra ints
+ * </pre>
+ *
+ * Rows are grouped in blocks so files can be written as a stream and mapped one block at a time.
+ * WORKLOAD blocks use the extra section for the bursts of processes with I/O: for every row with
+ * BURST_COUNT n &gt; 1, 2n - 1 ints cpu0, io0, cpu1, ..., cpu(n-1), in row order.
+ */
+public final class TraceFormat {
+    private TraceFormat() {}
+
+    public static final int MAGIC = 0x54555043; // "CPUT" in file byte order
+    public static final int VERSION = 1;
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    public static final int HEADER_BYTES = 32;
+    public static final int BLOCK_HEADER_BYTES = 8;
+    public static final int DEFAULT_BLOCK_ROWS = 65536;
+
+    // WORKLOAD columns: static process attributes, replayable into any engine
+    public static final int W_PID = 0, W_ARRIVAL = 1, W_BURST = 2, W_PRIORITY = 3, W_DEADLINE = 4, W_PERIOD = 5,
+            W_BURST_COUNT = 6;
+
+    // RESULTS columns: per-process results of a finished run
+    public static final int R_PID = 0, R_ARRIVAL = 1, R_BURST = 2, R_PRIORITY = 3, R_START = 4, R_COMPLETION = 5,
+            R_IO_TIME = 6;
+
+    public enum Kind {
+        WORKLOAD(7),
+        RESULTS(7);
+
+        private final int columnCount;
+
+        Kind(int columnCount) {
+            this.columnCount = columnCount;
+        }
+
+        public int getColumnCount() {
+            return columnCount;
+        }
+    }
+}
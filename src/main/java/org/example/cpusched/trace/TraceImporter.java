@@ -0,0 +1,120 @@
+package org.example.cpusched.trace;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.workload.WorkloadGenerator;
+import org.example.cpusched.workload.WorkloadSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams processes out of a recorded trace file. The file is parsed in parallel chunks (see
+ * ChunkedLineParser) and processes are handed out in arrival order as the engine pulls them, so
+ * the whole file is never in memory. Times are converted to engine ticks and rebased so the
+ * first arrival is at tick 0.
+ *
+ * - CSV: a task table with a header row, one task per line (see TaskTableImporter).
+ * - SCHED: Linux sched_switch / sched_wakeup events as printed by perf script or ftrace
+ *   (see SchedSwitchImporter).
+ */
+public abstract class TraceImporter implements WorkloadSource, Closeable {
+
+    public enum Format { CSV, SCHED }
+
+    public static final int MICROS_PER_MS = 1000;
+
+    private Process next; // One process of look-ahead for peek()
+    private boolean done = false;
+
+    /**
+     * @param timeUnitMicros Length of one CSV time unit in microseconds (0.001 = ns, 1000 = ms). SCHED
+     *                       timestamps are always seconds, so it is ignored there.
+     * @param tickMicros Length of one engine tick in microseconds (1000 = the usual 1 ms tick).
+     * @param reorderWindow CSV only: how many ticks a row may arrive earlier than a row above it.
+     */
+    public static TraceImporter open(Path path, Format format, double timeUnitMicros, double tickMicros,
+                                     int reorderWindow, int parallelism) throws IOException {
+        if (!(tickMicros > 0)) {
+            throw new IllegalArgumentException("Tick length must be > 0: " + tickMicros);
+        }
+        if (format == Format.SCHED) {
+            return new SchedSwitchImporter(path, tickMicros, parallelism);
+        }
+        if (!(timeUnitMicros > 0)) {
+            throw new IllegalArgumentException("Time unit must be > 0: " + timeUnitMicros);
+        }
+        return new TaskTableImporter(path, timeUnitMicros / tickMicros, reorderWindow, parallelism);
+    }
+
+    /**
+     * CSV for *.csv files, SCHED for anything else.
+     */
+    public static Format guessFormat(Path path) {
+        return path.getFileName().toString().toLowerCase().endsWith(".csv") ? Format.CSV : Format.SCHED;
+    }
+
+    /**
+     * Microseconds per unit for "ns", "us", "ms" or "s".
+     */
+    public static double unitMicros(String unit) {
+        switch (unit.toLowerCase()) {
+            case "ns": return 0.001;
+            case "us": return 1;
+            case "ms": return MICROS_PER_MS;
+            case "s": return 1_000_000;
+            default: throw new IllegalArgumentException("Unknown time unit: " + unit + " (ns, us, ms, s)");
+        }
+    }
+
+    /**
+     * Linux priority (0-99 real-time, 100-139 = nice -20..19) to 1..10, the inverse of CFS.niceOf
+     * (nice 0 = priority 6, two nice levels per step). Real-time tasks get the highest priority.
+     */
+    public static int fromKernelPriority(int prio) {
+        if (prio < 100) return WorkloadGenerator.MIN_PRIORITY;
+        int nice = prio - 120;
+        return clampPriority((int) Math.round((nice + 12) / 2.0));
+    }
+
+    static int clampPriority(int priority) {
+        return Math.max(WorkloadGenerator.MIN_PRIORITY, Math.min(WorkloadGenerator.MAX_PRIORITY, priority));
+    }
+
+    /**
+     * The next process in arrival order, or null once the trace is exhausted.
+     */
+    protected abstract Process readNext() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        return peekOrNull() != null;
+    }
+
+    @Override
+    public Process peek() {
+        Process p = peekOrNull();
+        if (p == null) throw new NoSuchElementException();
+        return p;
+    }
+
+    @Override
+    public Process next() {
+        Process p = peek();
+        next = null;
+        return p;
+    }
+
+    private Process peekOrNull() {
+        if (next == null && !done) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            done = next == null;
+        }
+        return next;
+    }
+}
@@ -0,0 +1,275 @@
+package org.example.cpusched.trace;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.model.ProcessTable;
+import org.example.cpusched.workload.WorkloadSource;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a binary trace (see TraceFormat) through memory-mapped blocks. Nothing is parsed up front:
+ * replay() maps one block at a time and reads each process straight out of the mapping as the engine
+ * pulls it, so a trace of any size replays in constant heap.
+ */
+public class TraceReader implements Closeable {
+    private final FileChannel channel;
+    private final TraceFormat.Kind kind;
+    private final int columnCount;
+    private final long rowCount;
+
+    public TraceReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(TraceFormat.HEADER_BYTES).order(TraceFormat.ORDER);
+            readFully(header, 0);
+            header.flip();
+            if (header.getInt() != TraceFormat.MAGIC) {
+                throw new IOException(path + " is not a trace file");
+            }
+            int version = header.getInt();
+            if (version != TraceFormat.VERSION) {
+                throw new IOException(path + " has trace version " + version + ", expected " + TraceFormat.VERSION);
+            }
+            int kindOrdinal = header.getInt();
+            if (kindOrdinal < 0 || kindOrdinal >= TraceFormat.Kind.values().length) {
+                throw new IOException(path + " has unknown trace kind " + kindOrdinal);
+            }
+            this.kind = TraceFormat.Kind.values()[kindOrdinal];
+            this.columnCount = header.getInt();
+            this.rowCount = header.getLong();
+            if (columnCount != kind.getColumnCount()) {
+                throw new IOException(path + " has " + columnCount + " columns, expected " + kind.getColumnCount());
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public TraceFormat.Kind getKind() {
+        return kind;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Streams the processes of a WORKLOAD trace in file order, which is arrival order for traces written
+     * from a WorkloadSource. Every call starts again from the first row; the sources are independent
+     * but must not outlive this reader.
+     */
+    public WorkloadSource replay() {
+        requireKind(TraceFormat.Kind.WORKLOAD);
+        return new ReplaySource();
+    }
+
+    /**
+     * Loads the whole trace into a columnar table. RESULTS rows keep their start and completion times.
+     * WORKLOAD traces must not contain processes with I/O bursts, which a table cannot hold.
+     */
+    public ProcessTable readTable() throws IOException {
+        ProcessTable table = new ProcessTable((int) Math.min(rowCount, Integer.MAX_VALUE - 8));
+        long position = TraceFormat.HEADER_BYTES;
+        while (position < channel.size()) {
+            Block b = mapBlock(position);
+            for (int r = 0; r < b.rows; r++) {
+                if (kind == TraceFormat.Kind.WORKLOAD) {
+                    if (b.get(TraceFormat.W_BURST_COUNT, r) > 1) {
+                        throw new IllegalStateException("Process " + b.get(TraceFormat.W_PID, r)
+                                + " has I/O bursts, which a ProcessTable cannot hold");
+                    }
+                    table.add(b.get(TraceFormat.W_PID, r), b.get(TraceFormat.W_ARRIVAL, r),
+                            b.get(TraceFormat.W_BURST, r), b.get(TraceFormat.W_PRIORITY, r));
+                } else {
+                    int h = table.add(b.get(TraceFormat.R_PID, r), b.get(TraceFormat.R_ARRIVAL, r),
+                            b.get(TraceFormat.R_BURST, r), b.get(TraceFormat.R_PRIORITY, r));
+                    table.setRemainingTime(h, 0);
+                    table.setStartTime(h, b.get(TraceFormat.R_START, r));
+                    table.setCompletionTime(h, b.get(TraceFormat.R_COMPLETION, r));
+                    table.setIoTime(h, b.get(TraceFormat.R_IO_TIME, r));
+                }
+            }
+            position = b.end;
+        }
+        return table;
+    }
+
+    /**
+     * Converts the trace to CSV. RESULTS traces get the same columns as MetricsCollector.exportToCsv;
+     * WORKLOAD traces list the static attributes, with the bursts of I/O processes as "cpu io cpu ...".
+     */
+    public void toCsv(Path csv) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(csv)) {
+            if (kind == TraceFormat.Kind.WORKLOAD) {
+                out.write("PID,Arrival,Burst,Priority,Deadline,Period,Bursts");
+            } else {
+                out.write("PID,Arrival,Burst,Priority,Start,Completion,Turnaround,Waiting,Response");
+            }
+            out.newLine();
+            StringBuilder line = new StringBuilder(64);
+            long position = TraceFormat.HEADER_BYTES;
+            while (position < channel.size()) {
+                Block b = mapBlock(position);
+                int extra = 0;
+                for (int r = 0; r < b.rows; r++) {
+                    line.setLength(0);
+                    if (kind == TraceFormat.Kind.WORKLOAD) {
+                        for (int c = TraceFormat.W_PID; c <= TraceFormat.W_PERIOD; c++) {
+                            line.append(b.get(c, r)).append(',');
+                        }
+                        int bursts = b.get(TraceFormat.W_BURST_COUNT, r);
+                        if (bursts > 1) {
+                            for (int i = 0; i < 2 * bursts - 1; i++) {
+                                if (i > 0) line.append(' ');
+                                line.append(b.extra(extra++));
+                            }
+                        }
+                    } else {
+                        int arrival = b.get(TraceFormat.R_ARRIVAL, r);
+                        int burst = b.get(TraceFormat.R_BURST, r);
+                        int start = b.get(TraceFormat.R_START, r);
+                        int completion = b.get(TraceFormat.R_COMPLETION, r);
+                        int turnaround = completion - arrival;
+                        line.append(b.get(TraceFormat.R_PID, r)).append(',').append(arrival).append(',')
+                                .append(burst).append(',').append(b.get(TraceFormat.R_PRIORITY, r)).append(',')
+                                .append(start).append(',').append(completion).append(',')
+                                .append(turnaround).append(',')
+                                .append(turnaround - burst - b.get(TraceFormat.R_IO_TIME, r)).append(',')
+                                .append(start - arrival);
+                    }
+                    out.append(line);
+                    out.newLine();
+                }
+                position = b.end;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void requireKind(TraceFormat.Kind expected) {
+        if (kind != expected) {
+            throw new IllegalStateException("This is a " + kind + " trace, not " + expected);
+        }
+    }
+
+    private Block mapBlock(long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(TraceFormat.BLOCK_HEADER_BYTES).order(TraceFormat.ORDER);
+        readFully(header, position);
+        header.flip();
+        int rows = header.getInt();
+        int extraInts = header.getInt();
+        long bytes = ((long) columnCount * rows + extraInts) * Integer.BYTES;
+        long bodyStart = position + TraceFormat.BLOCK_HEADER_BYTES;
+        if (rows < 1 || extraInts < 0 || bodyStart + bytes > channel.size()) {
+            throw new IOException("Corrupt trace block at offset " + position);
+        }
+        MappedByteBuffer body = channel.map(FileChannel.MapMode.READ_ONLY, bodyStart, bytes);
+        return new Block(body.order(TraceFormat.ORDER).asIntBuffer(), rows, bodyStart + bytes);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) throw new IOException("Trace file is truncated");
+            position += n;
+        }
+    }
+
+    // One mapped block: column c of row r is at c * rows + r, the extra ints follow the last column
+    private final class Block {
+        final IntBuffer ints;
+        final int rows;
+        final long end; // File offset of the next block
+
+        Block(IntBuffer ints, int rows, long end) {
+            this.ints = ints;
+            this.rows = rows;
+            this.end = end;
+        }
+
+        int get(int column, int row) {
+            return ints.get(column * rows + row);
+        }
+
+        int extra(int i) {
+            return ints.get(columnCount * rows + i);
+        }
+    }
+
+    private class ReplaySource implements WorkloadSource {
+        private long position = TraceFormat.HEADER_BYTES;
+        private Block block;
+        private int row;
+        private int extra; // Next unread int of the block's burst section
+        private Process next; // One process of look-ahead for peek()
+
+        @Override
+        public boolean hasNext() {
+            return peekOrNull() != null;
+        }
+
+        @Override
+        public Process peek() {
+            Process p = peekOrNull();
+            if (p == null) throw new NoSuchElementException();
+            return p;
+        }
+
+        @Override
+        public Process next() {
+            Process p = peek();
+            next = null;
+            return p;
+        }
+
+        private Process peekOrNull() {
+            if (next != null) return next;
+            try {
+                if (block == null || row == block.rows) {
+                    if (position >= channel.size()) return null;
+                    block = mapBlock(position);
+                    position = block.end;
+                    row = 0;
+                    extra = 0;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            int r = row++;
+            int pid = block.get(TraceFormat.W_PID, r);
+            int arrival = block.get(TraceFormat.W_ARRIVAL, r);
+            int priority = block.get(TraceFormat.W_PRIORITY, r);
+            int bursts = block.get(TraceFormat.W_BURST_COUNT, r);
+            if (bursts > 1) {
+                int[] cpu = new int[bursts];
+                int[] io = new int[bursts - 1];
+                for (int i = 0; i < bursts; i++) {
+                    cpu[i] = block.extra(extra++);
+                    if (i < bursts - 1) io[i] = block.extra(extra++);
+                }
+                next = new Process(pid, arrival, cpu, io, priority);
+            } else {
+                next = new Process(pid, arrival, block.get(TraceFormat.W_BURST, r), priority);
+            }
+            next.setDeadline(block.get(TraceFormat.W_DEADLINE, r));
+            next.setPeriod(block.get(TraceFormat.W_PERIOD, r));
+            return next;
+        }
+    }
+}
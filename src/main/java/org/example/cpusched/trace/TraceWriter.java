@@ -0,0 +1,161 @@
+package org.example.cpusched.trace;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.model.ProcessTable;
+import org.example.cpusched.workload.WorkloadSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes a binary trace (see TraceFormat). Rows are buffered column by column and written one block
+ * at a time with a single FileChannel write, so memory use is bounded by the block size however many
+ * rows go in. The row count in the header is filled in by close().
+ */
+public class TraceWriter implements Closeable {
+    private final FileChannel channel;
+    private final TraceFormat.Kind kind;
+    private final int blockRows;
+    private final int[][] columns;
+    private int[] extra = new int[1024];
+    private int extraSize = 0;
+    private int rows = 0;
+    private long totalRows = 0;
+
+    public TraceWriter(Path path, TraceFormat.Kind kind) throws IOException {
+        this(path, kind, TraceFormat.DEFAULT_BLOCK_ROWS);
+    }
+
+    public TraceWriter(Path path, TraceFormat.Kind kind, int blockRows) throws IOException {
+        if (blockRows < 1) {
+            throw new IllegalArgumentException("Block rows must be >= 1: " + blockRows);
+        }
+        this.kind = kind;
+        this.blockRows = blockRows;
+        this.columns = new int[kind.getColumnCount()][blockRows];
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        writeHeader(); // Placeholder until the row count is known
+    }
+
+    /**
+     * Appends the static attributes of a process (WORKLOAD traces).
+     */
+    public void append(Process p) throws IOException {
+        requireKind(TraceFormat.Kind.WORKLOAD);
+        int r = rows;
+        columns[TraceFormat.W_PID][r] = p.getPid();
+        columns[TraceFormat.W_ARRIVAL][r] = p.getArrivalTime();
+        columns[TraceFormat.W_BURST][r] = p.getBurstTime();
+        columns[TraceFormat.W_PRIORITY][r] = p.getPriority();
+        columns[TraceFormat.W_DEADLINE][r] = p.getDeadline();
+        columns[TraceFormat.W_PERIOD][r] = p.getPeriod();
+        int bursts = p.getCpuBurstCount();
+        columns[TraceFormat.W_BURST_COUNT][r] = bursts;
+        if (bursts > 1) {
+            ensureExtra(2 * bursts - 1);
+            for (int i = 0; i < bursts; i++) {
+                extra[extraSize++] = p.getCpuBurst(i);
+                if (i < bursts - 1) extra[extraSize++] = p.getIoBurst(i);
+            }
+        }
+        endRow();
+    }
+
+    /**
+     * Appends the results of a completed process (RESULTS traces).
+     */
+    public void appendResult(ProcessTable table, int h) throws IOException {
+        requireKind(TraceFormat.Kind.RESULTS);
+        int r = rows;
+        columns[TraceFormat.R_PID][r] = table.getPid(h);
+        columns[TraceFormat.R_ARRIVAL][r] = table.getArrivalTime(h);
+        columns[TraceFormat.R_BURST][r] = table.getBurstTime(h);
+        columns[TraceFormat.R_PRIORITY][r] = table.getPriority(h);
+        columns[TraceFormat.R_START][r] = table.getStartTime(h);
+        columns[TraceFormat.R_COMPLETION][r] = table.getCompletionTime(h);
+        columns[TraceFormat.R_IO_TIME][r] = table.getIoTime(h);
+        endRow();
+    }
+
+    public long getRowCount() {
+        return totalRows + rows;
+    }
+
+    /**
+     * Drains the source into a new WORKLOAD trace and returns the number of processes written.
+     */
+    public static long writeWorkload(WorkloadSource source, Path path) throws IOException {
+        try (TraceWriter writer = new TraceWriter(path, TraceFormat.Kind.WORKLOAD)) {
+            while (source.hasNext()) {
+                writer.append(source.next());
+            }
+            return writer.getRowCount();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            writeHeader();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void requireKind(TraceFormat.Kind expected) {
+        if (kind != expected) {
+            throw new IllegalStateException("This is a " + kind + " trace, not " + expected);
+        }
+    }
+
+    private void ensureExtra(int more) {
+        if (extraSize + more > extra.length) {
+            extra = Arrays.copyOf(extra, Math.max(extra.length << 1, extraSize + more));
+        }
+    }
+
+    private void endRow() throws IOException {
+        if (++rows == blockRows) {
+            flushBlock();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (rows == 0) return;
+        int ints = columns.length * rows + extraSize;
+        ByteBuffer block = ByteBuffer.allocate(TraceFormat.BLOCK_HEADER_BYTES + ints * Integer.BYTES)
+                .order(TraceFormat.ORDER);
+        block.putInt(rows).putInt(extraSize);
+        IntBuffer body = block.asIntBuffer(); // Bulk puts, no per-value byte shuffling
+        for (int[] column : columns) {
+            body.put(column, 0, rows);
+        }
+        body.put(extra, 0, extraSize);
+        block.clear();
+        writeFully(block, channel.size());
+        totalRows += rows;
+        rows = 0;
+        extraSize = 0;
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(TraceFormat.HEADER_BYTES).order(TraceFormat.ORDER);
+        header.putInt(TraceFormat.MAGIC).putInt(TraceFormat.VERSION).putInt(kind.ordinal())
+                .putInt(columns.length).putLong(totalRows).putInt(blockRows).putInt(0);
+        header.flip();
+        writeFully(header, 0);
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
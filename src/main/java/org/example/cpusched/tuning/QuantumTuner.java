@@ -0,0 +1,176 @@
+package org.example.cpusched.tuning;
+
+import org.example.cpusched.engine.SimulationEngine;
+import org.example.cpusched.metrics.MetricsCollector;
+import org.example.cpusched.metrics.MetricsSummary;
+import org.example.cpusched.scheduler.Scheduler;
+import org.example.cpusched.scheduler.SchedulerConfig;
+import org.example.cpusched.scheduler.SchedulerFactory;
+import org.example.cpusched.workload.ArrivalProcess;
+import org.example.cpusched.workload.Distribution;
+import org.example.cpusched.workload.WorkloadGenerator;
+import org.example.cpusched.workload.WorkloadSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Offline quantum search: simulates RR or MLFQ at every candidate quantum on the same seeds, in parallel
+ * on a ForkJoinPool, and marks the Pareto frontier of throughput vs p99 response vs context switches.
+ *
+ * For MLFQ the candidate is the top-level quantum and the lower levels keep their ratio to it
+ * (4,8,fcfs at q=6 becomes 6,12,fcfs). The adaptive variant of the algorithm (ARR or AMLFQ, with the
+ * config's policy and starting quanta) runs as one more candidate, so the table shows whether online
+ * tuning gets close to the best fixed setting.
+ */
+public class QuantumTuner {
+    private final int parallelism;
+    private final SimulationEngine.Mode engineMode;
+    private final SchedulerConfig baseConfig;
+    private int contextSwitchCost = 0;
+    private int ioDevices = 1;
+    private ArrivalProcess arrivals = null;
+    private Distribution bursts = null;
+
+    public QuantumTuner(int parallelism, SimulationEngine.Mode engineMode, SchedulerConfig baseConfig) {
+        this.parallelism = parallelism;
+        this.engineMode = engineMode;
+        this.baseConfig = new SchedulerConfig(baseConfig);
+    }
+
+    public void setContextSwitchCost(int contextSwitchCost) {
+        this.contextSwitchCost = contextSwitchCost;
+    }
+
+    public void setIoDeviceCount(int devices) {
+        this.ioDevices = devices;
+    }
+
+    /**
+     * Draws the workloads from these distributions instead of the workload profile.
+     */
+    public void setSynthetic(ArrivalProcess arrivals, Distribution bursts) {
+        this.arrivals = arrivals;
+        this.bursts = bursts;
+    }
+
+    /**
+     * @param algorithm RR or MLFQ (ARR and AMLFQ mean the same).
+     * @return One point per quantum in the given order, then the adaptive one, with the frontier marked.
+     */
+    public List<TuningPoint> run(String algorithm, List<Integer> quanta, String workloadType, int processCount,
+                                 List<Long> seeds) {
+        String fixed = fixedAlgorithm(algorithm);
+        if (quanta.isEmpty() || seeds.isEmpty()) {
+            throw new IllegalArgumentException("Need at least one quantum and one seed");
+        }
+        List<SchedulerConfig> configs = new ArrayList<>();
+        List<String> algorithms = new ArrayList<>();
+        for (int q : quanta) {
+            if (q <= 0) throw new IllegalArgumentException("Time quantum must be positive: " + q);
+            configs.add(withTopQuantum(q));
+            algorithms.add(fixed);
+        }
+        configs.add(baseConfig);
+        algorithms.add("A" + fixed);
+
+        // Results come back in (candidate, seed) order regardless of completion order
+        List<ForkJoinTask<MetricsSummary>> tasks = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int c = 0; c < configs.size(); c++) {
+                String name = algorithms.get(c);
+                SchedulerConfig config = configs.get(c);
+                for (long seed : seeds) {
+                    tasks.add(pool.submit(() -> simulate(name, config, seed, workloadType, processCount)));
+                }
+            }
+            List<TuningPoint> points = new ArrayList<>();
+            int t = 0;
+            for (int c = 0; c < configs.size(); c++) {
+                double throughput = 0, p99 = 0, switches = 0, waiting = 0, response = 0;
+                for (int i = 0; i < seeds.size(); i++) {
+                    MetricsSummary s = tasks.get(t++).join();
+                    throughput += s.getThroughput();
+                    p99 += s.getP99ResponseTime();
+                    switches += s.getContextSwitches();
+                    waiting += s.getAvgWaitingTime();
+                    response += s.getAvgResponseTime();
+                }
+                int n = seeds.size();
+                boolean adaptive = c == quanta.size();
+                String label = adaptive ? "adaptive " + baseConfig.getAdaptive() : "q=" + quanta.get(c);
+                String schedulerName = SchedulerFactory.create(algorithms.get(c), configs.get(c)).getName();
+                points.add(new TuningPoint(label, schedulerName, adaptive ? 0 : quanta.get(c), n, throughput / n,
+                        p99 / n, switches / n, waiting / n, response / n));
+            }
+            markFrontier(points);
+            return points;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Whether run() accepts the algorithm: RR, MLFQ or their adaptive variants.
+     */
+    public static boolean isTunable(String algorithm) {
+        return List.of("RR", "ARR", "MLFQ", "AMLFQ").contains(algorithm.toUpperCase());
+    }
+
+    private static String fixedAlgorithm(String algorithm) {
+        switch (algorithm.toUpperCase()) {
+            case "RR":
+            case "ARR":
+                return "RR";
+            case "MLFQ":
+            case "AMLFQ":
+                return "MLFQ";
+            default:
+                throw new IllegalArgumentException("The tuner searches RR or MLFQ quanta, not " + algorithm);
+        }
+    }
+
+    private SchedulerConfig withTopQuantum(int q) {
+        SchedulerConfig config = new SchedulerConfig(baseConfig);
+        config.setQuantum(q);
+        int[] levels = baseConfig.getMlfqQuantums();
+        int top = levels[0];
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] != Integer.MAX_VALUE) {
+                levels[i] = (int) Math.max(1, Math.round((double) levels[i] * q / top));
+            }
+        }
+        config.setMlfqQuantums(levels);
+        return config;
+    }
+
+    private MetricsSummary simulate(String algorithm, SchedulerConfig config, long seed, String workloadType,
+                                    int processCount) {
+        Scheduler scheduler = SchedulerFactory.create(algorithm, config);
+        MetricsCollector metrics = new MetricsCollector(MetricsCollector.Mode.STREAMING);
+        WorkloadGenerator generator = new WorkloadGenerator(seed);
+        WorkloadSource workload = arrivals != null
+                ? generator.stream(arrivals, bursts, processCount, 1)
+                : generator.stream(workloadType, processCount);
+        SimulationEngine engine = new SimulationEngine(scheduler, workload, metrics, contextSwitchCost, engineMode);
+        engine.setIoDeviceCount(ioDevices);
+        engine.run();
+        return metrics.summarize();
+    }
+
+    // O(n^2), fine for the few dozen candidates of a search
+    private static void markFrontier(List<TuningPoint> points) {
+        for (TuningPoint p : points) {
+            boolean dominated = false;
+            for (TuningPoint other : points) {
+                if (other.dominates(p)) {
+                    dominated = true;
+                    break;
+                }
+            }
+            p.setPareto(!dominated);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.cpusched.tuning;
+
+/**
+ * One candidate of a quantum search: its metrics averaged over the seeds, and whether it is on the
+ * Pareto frontier of throughput (higher is better), p99 response and context switches (lower is better).
+ */
+public class TuningPoint {
+    private final String label;
+    private final String schedulerName;
+    private final int quantum; // 0 for the adaptive candidate
+    private final int seeds;
+    private final double throughput;
+    private final double p99Response;
+    private final double contextSwitches;
+    private final double avgWaiting;
+    private final double avgResponse;
+    private boolean pareto = false;
+
+    TuningPoint(String label, String schedulerName, int quantum, int seeds, double throughput, double p99Response,
+                double contextSwitches, double avgWaiting, double avgResponse) {
+        this.label = label;
+        this.schedulerName = schedulerName;
+        this.quantum = quantum;
+        this.seeds = seeds;
+        this.throughput = throughput;
+        this.p99Response = p99Response;
+        this.contextSwitches = contextSwitches;
+        this.avgWaiting = avgWaiting;
+        this.avgResponse = avgResponse;
+    }
+
+    /**
+     * "q=8", or "adaptive burst(0.8)" for the adaptive scheduler run alongside.
+     */
+    public String getLabel() { return label; }
+    public String getSchedulerName() { return schedulerName; }
+
+    /**
+     * The searched quantum (RR) or top-level quantum (MLFQ); 0 for the adaptive candidate.
+     */
+    public int getQuantum() { return quantum; }
+    public boolean isAdaptive() { return quantum == 0; }
+    public int getSeedCount() { return seeds; }
+    public double getThroughput() { return throughput; }
+    public double getP99Response() { return p99Response; }
+    public double getContextSwitches() { return contextSwitches; }
+    public double getAvgWaiting() { return avgWaiting; }
+    public double getAvgResponse() { return avgResponse; }
+    public boolean isPareto() { return pareto; }
+
+    void setPareto(boolean pareto) {
+        this.pareto = pareto;
+    }
+
+    /**
+     * At least as good as other on all three objectives and better on one.
+     */
+    public boolean dominates(TuningPoint other) {
+        boolean noWorse = throughput >= other.throughput && p99Response <= other.p99Response
+                && contextSwitches <= other.contextSwitches;
+        boolean better = throughput > other.throughput || p99Response < other.p99Response
+                || contextSwitches < other.contextSwitches;
+        return noWorse && better;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.cpusched.tuning;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Renders a quantum search: every candidate with the frontier marked (console), or one CSV row per
+ * candidate.
+ */
+public final class TuningReport {
+    private TuningReport() {}
+
+    public static void printTable(List<TuningPoint> points) {
+        if (points.isEmpty()) return;
+        System.out.println("Quantum search: " + points.size() + " candidates, means over "
+                + points.get(0).getSeedCount() + " seed(s); * = Pareto frontier (throughput, p99 response, switches)");
+        System.out.println();
+        String header = String.format("%-2s %-22s %12s %12s %12s %12s %12s", "", "Candidate", "Throughput",
+                "P99 Resp", "Switches", "Avg Wait", "Avg Resp");
+        System.out.println(header);
+        System.out.println("-".repeat(header.length()));
+        StringBuilder frontier = new StringBuilder();
+        for (TuningPoint p : points) {
+            System.out.printf("%-2s %-22s %12.4f %12.2f %12.1f %12.2f %12.2f%n", p.isPareto() ? "*" : "",
+                    p.getLabel(), p.getThroughput(), p.getP99Response(), p.getContextSwitches(), p.getAvgWaiting(),
+                    p.getAvgResponse());
+            if (p.isPareto()) {
+                frontier.append(frontier.length() == 0 ? "" : ", ").append(p.getLabel());
+            }
+        }
+        System.out.println();
+        System.out.println("Pareto frontier: " + frontier);
+    }
+
+    public static void exportToCsv(List<TuningPoint> points, String filename) {
+        try (PrintWriter writer = new PrintWriter(filename)) {
+            writer.println("Candidate,Scheduler,Quantum,Seeds,Throughput,P99Response,ContextSwitches,"
+                    + "AvgWaiting,AvgResponse,Pareto");
+            for (TuningPoint p : points) {
+                writer.printf("%s,\"%s\",%d,%d,%.4f,%.2f,%.1f,%.4f,%.4f,%s%n", p.getLabel(), p.getSchedulerName(),
+                        p.getQuantum(), p.getSeedCount(), p.getThroughput(), p.getP99Response(),
+                        p.getContextSwitches(), p.getAvgWaiting(), p.getAvgResponse(), p.isPareto());
+            }
+            System.out.println("Tuning results exported to " + filename);
+        } catch (IOException e) {
+            System.err.println("Error writing CSV: " + e.getMessage());
+        }
+    }
+}
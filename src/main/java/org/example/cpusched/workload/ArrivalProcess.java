@@ -0,0 +1,202 @@
+package org.example.cpusched.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * A random arrival process over continuous time in ticks. Like Distribution it is an immutable
+ * description; start() returns the stateful sampler that walks through one realization.
+ *
+ * Text form (rates in arrivals per tick):
+ *
+ * - poisson(rate): exponential inter-arrival times
+ * - mmpp(rate0,rate1,hold0,hold1): two-state Markov-modulated Poisson process. It stays an exponential
+ *   time with mean hold0 (ticks) in the calm state with rate0, then hold1 in the bursty state with rate1
+ * - diurnal(rate,amplitude,period): Poisson with a rate that follows
+ *   rate * (1 + amplitude * sin(2 pi t / period)), amplitude in [0, 1]
+ */
+public abstract class ArrivalProcess {
+
+    /**
+     * One realization of the process.
+     */
+    public interface Sampler {
+        /**
+         * Time of the next arrival, never earlier than the previous one.
+         */
+        double nextArrival();
+    }
+
+    /**
+     * Long-run arrivals per tick.
+     */
+    public abstract double getMeanRate();
+
+    /**
+     * The same shape (burstiness, daily cycle) scaled to a different mean rate.
+     */
+    public abstract ArrivalProcess withMeanRate(double meanRate);
+
+    public abstract Sampler start(SplittableRandom random);
+
+    public static ArrivalProcess poisson(double rate) {
+        requirePositive("poisson rate", rate);
+        return new ArrivalProcess() {
+            @Override
+            public double getMeanRate() {
+                return rate;
+            }
+
+            @Override
+            public ArrivalProcess withMeanRate(double meanRate) {
+                return poisson(meanRate);
+            }
+
+            @Override
+            public Sampler start(SplittableRandom random) {
+                double[] now = {0};
+                return () -> now[0] += exponential(random, rate);
+            }
+
+            @Override
+            public String toString() {
+                return "poisson(" + rate + ")";
+            }
+        };
+    }
+
+    public static ArrivalProcess mmpp(double rate0, double rate1, double hold0, double hold1) {
+        if (!(rate0 >= 0 && rate1 >= 0 && rate0 + rate1 > 0)) {
+            throw new IllegalArgumentException("mmpp rates must be >= 0 and not both 0: " + rate0 + ", " + rate1);
+        }
+        requirePositive("mmpp hold0", hold0);
+        requirePositive("mmpp hold1", hold1);
+        return new ArrivalProcess() {
+            @Override
+            public double getMeanRate() {
+                // Time-weighted by the share of time spent in each state
+                return (rate0 * hold0 + rate1 * hold1) / (hold0 + hold1);
+            }
+
+            @Override
+            public ArrivalProcess withMeanRate(double meanRate) {
+                double scale = meanRate / getMeanRate();
+                return mmpp(rate0 * scale, rate1 * scale, hold0, hold1);
+            }
+
+            @Override
+            public Sampler start(SplittableRandom random) {
+                return new Sampler() {
+                    private double now = 0;
+                    private boolean bursty = random.nextDouble() < hold1 / (hold0 + hold1); // Stationary start
+
+                    @Override
+                    public double nextArrival() {
+                        // Both clocks are memoryless, so racing a fresh arrival against a fresh state change
+                        // at every step samples the process exactly
+                        while (true) {
+                            double rate = bursty ? rate1 : rate0;
+                            double toSwitch = exponential(random, 1 / (bursty ? hold1 : hold0));
+                            double toArrival = rate > 0 ? exponential(random, rate) : Double.POSITIVE_INFINITY;
+                            if (toArrival < toSwitch) {
+                                now += toArrival;
+                                return now;
+                            }
+                            now += toSwitch;
+                            bursty = !bursty;
+                        }
+                    }
+                };
+            }
+
+            @Override
+            public String toString() {
+                return "mmpp(" + rate0 + "," + rate1 + "," + hold0 + "," + hold1 + ")";
+            }
+        };
+    }
+
+    public static ArrivalProcess diurnal(double rate, double amplitude, double period) {
+        requirePositive("diurnal rate", rate);
+        requirePositive("diurnal period", period);
+        if (!(amplitude >= 0 && amplitude <= 1)) {
+            throw new IllegalArgumentException("diurnal amplitude must be in [0, 1]: " + amplitude);
+        }
+        return new ArrivalProcess() {
+            @Override
+            public double getMeanRate() {
+                return rate; // The sine averages out over a period
+            }
+
+            @Override
+            public ArrivalProcess withMeanRate(double meanRate) {
+                return diurnal(meanRate, amplitude, period);
+            }
+
+            @Override
+            public Sampler start(SplittableRandom random) {
+                double peak = rate * (1 + amplitude);
+                double[] now = {0};
+                return () -> {
+                    // Thinning: candidates at the peak rate, each kept with probability rate(t) / peak
+                    while (true) {
+                        now[0] += exponential(random, peak);
+                        double current = rate * (1 + amplitude * Math.sin(2 * Math.PI * now[0] / period));
+                        if (random.nextDouble() * peak < current) return now[0];
+                    }
+                };
+            }
+
+            @Override
+            public String toString() {
+                return "diurnal(" + rate + "," + amplitude + "," + period + ")";
+            }
+        };
+    }
+
+    /**
+     * Parses the text form described above.
+     */
+    public static ArrivalProcess parse(String text) {
+        Spec s = Spec.parse(text);
+        if (s.name == null) {
+            throw new IllegalArgumentException("Expected poisson(...), mmpp(...) or diurnal(...), got " + text);
+        }
+        switch (s.name) {
+            case "poisson":
+                s.requireArgs(1, "poisson(rate)");
+                return poisson(s.number(0));
+            case "mmpp":
+                s.requireArgs(4, "mmpp(rate0,rate1,hold0,hold1)");
+                return mmpp(s.number(0), s.number(1), s.number(2), s.number(3));
+            case "diurnal":
+                s.requireArgs(3, "diurnal(rate,amplitude,period)");
+                return diurnal(s.number(0), s.number(1), s.number(2));
+            default:
+                throw new IllegalArgumentException("Unknown arrival process: " + s.name + " (poisson, mmpp, diurnal)");
+        }
+    }
+
+    /**
+     * This shape with the arrival rate that loads the given number of cores to the target utilization
+     * (rho = rate * E[burst] / cores, using the mean of the whole-tick bursts).
+     */
+    public ArrivalProcess calibrate(double utilization, Distribution bursts, int cores) {
+        if (!(utilization > 0)) {
+            throw new IllegalArgumentException("Utilization must be > 0: " + utilization);
+        }
+        if (Double.isInfinite(bursts.getMean())) {
+            throw new IllegalArgumentException("Cannot calibrate to a utilization: " + bursts + " has no finite mean");
+        }
+        return withMeanRate(utilization * cores / bursts.getTickMean());
+    }
+
+    private static double exponential(SplittableRandom random, double rate) {
+        return -Math.log(1.0 - random.nextDouble()) / rate;
+    }
+
+    private static void requirePositive(String what, double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException(what + " must be > 0: " + value);
+        }
+    }
+}
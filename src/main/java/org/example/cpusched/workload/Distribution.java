@@ -0,0 +1,193 @@
+package org.example.cpusched.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * A continuous distribution of durations in ticks, e.g. CPU bursts. Distributions are immutable and
+ * take the random source as an argument, so one instance can be sampled from many threads at once.
+ *
+ * Text form, as used on the command line (numbers in ticks):
+ *
+ * - const(v), uniform(min,max), exp(mean)
+ * - pareto(alpha,xm): heavy-tailed, minimum xm; the mean is only finite for alpha &gt; 1
+ * - lognormal(mean,sigma): sigma is the standard deviation of the underlying normal
+ * - bimodal(p,a,b): distribution a with probability p, otherwise b, e.g.
+ *   bimodal(0.7,uniform(1,10),uniform(20,200)) is the "mixed" workload
+ */
+public interface Distribution {
+
+    double sample(SplittableRandom random);
+
+    /**
+     * Mean of the distribution, or positive infinity if it has none.
+     */
+    double getMean();
+
+    /**
+     * A sample as a whole number of ticks, at least 1.
+     */
+    default int sampleTicks(SplittableRandom random) {
+        return toTicks(sample(random));
+    }
+
+    /**
+     * Mean of sampleTicks. Rounding moves each sample by at most one tick, so that shift is estimated by
+     * sampling (accurately even for heavy tails) and added to getMean(). Matters for means of a few ticks.
+     */
+    default double getTickMean() {
+        SplittableRandom random = new SplittableRandom(0);
+        int samples = 200_000;
+        double shift = 0;
+        for (int i = 0; i < samples; i++) {
+            double x = sample(random);
+            shift += toTicks(x) - x;
+        }
+        return getMean() + shift / samples;
+    }
+
+    static Distribution constant(double value) {
+        return new Distribution() {
+            @Override
+            public double sample(SplittableRandom random) {
+                return value;
+            }
+
+            @Override
+            public double getMean() {
+                return value;
+            }
+
+            @Override
+            public String toString() {
+                return "const(" + value + ")";
+            }
+        };
+    }
+
+    static Distribution uniform(double min, double max) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("uniform needs min <= max: " + min + ", " + max);
+        }
+        return new Distribution() {
+            @Override
+            public double sample(SplittableRandom random) {
+                return min + random.nextDouble() * (max - min);
+            }
+
+            @Override
+            public double getMean() {
+                return (min + max) / 2;
+            }
+
+            @Override
+            public String toString() {
+                return "uniform(" + min + "," + max + ")";
+            }
+        };
+    }
+
+    static Distribution exponential(double mean) {
+        requirePositive("exp mean", mean);
+        return new Distribution() {
+            @Override
+            public double sample(SplittableRandom random) {
+                return -Math.log(1.0 - random.nextDouble()) * mean;
+            }
+
+            @Override
+            public double getMean() {
+                return mean;
+            }
+
+            @Override
+            public String toString() {
+                return "exp(" + mean + ")";
+            }
+        };
+    }
+
+    static Distribution pareto(double alpha, double xm) {
+        requirePositive("pareto alpha", alpha);
+        requirePositive("pareto xm", xm);
+        return new Distribution() {
+            @Override
+            public double sample(SplittableRandom random) {
+                // Inverse CDF; 1 - u is in (0, 1], so the sample is never infinite
+                return xm * Math.pow(1.0 - random.nextDouble(), -1 / alpha);
+            }
+
+            @Override
+            public double getMean() {
+                return alpha > 1 ? alpha * xm / (alpha - 1) : Double.POSITIVE_INFINITY;
+            }
+
+            @Override
+            public String toString() {
+                return "pareto(" + alpha + "," + xm + ")";
+            }
+        };
+    }
+
+    static Distribution lognormal(double mean, double sigma) {
+        requirePositive("lognormal mean", mean);
+        if (!(sigma >= 0)) {
+            throw new IllegalArgumentException("lognormal sigma must be >= 0: " + sigma);
+        }
+        double mu = Math.log(mean) - sigma * sigma / 2; // So that E[X] = mean
+        return new Distribution() {
+            @Override
+            public double sample(SplittableRandom random) {
+                return Math.exp(mu + sigma * random.nextGaussian());
+            }
+
+            @Override
+            public double getMean() {
+                return mean;
+            }
+
+            @Override
+            public String toString() {
+                return "lognormal(" + mean + "," + sigma + ")";
+            }
+        };
+    }
+
+    static Distribution bimodal(double p, Distribution a, Distribution b) {
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("bimodal probability must be in [0, 1]: " + p);
+        }
+        return new Distribution() {
+            @Override
+            public double sample(SplittableRandom random) {
+                return random.nextDouble() < p ? a.sample(random) : b.sample(random);
+            }
+
+            @Override
+            public double getMean() {
+                return p * a.getMean() + (1 - p) * b.getMean();
+            }
+
+            @Override
+            public String toString() {
+                return "bimodal(" + p + "," + a + "," + b + ")";
+            }
+        };
+    }
+
+    /**
+     * Parses the text form described above. A bare number is a constant.
+     */
+    static Distribution parse(String spec) {
+        return Spec.parse(spec).toDistribution();
+    }
+
+    private static int toTicks(double x) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.round(x)));
+    }
+
+    private static void requirePositive(String what, double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException(what + " must be > 0: " + value);
+        }
+    }
+}
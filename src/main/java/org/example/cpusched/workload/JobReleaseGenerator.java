@@ -0,0 +1,143 @@
+package org.example.cpusched.workload;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.model.RealTimeTask;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Streams the jobs released by a set of real-time tasks, in release order, up to a time horizon.
+ * Each job is a Process with arrival = release time, deadline = release + relative deadline and
+ * period = the task period. Its priority is the task's rate-monotonic rank (1 = shortest period).
+ */
+public class JobReleaseGenerator implements WorkloadSource {
+    private static final double MAX_ROUNDING_ERROR = 0.005; // Of the last task's utilization in randomTaskSet
+
+    private final List<RealTimeTask> tasks;
+    private final int horizon;
+    private final double minExecutionFraction;
+    private final Random random;
+    private final int[] nextRelease;
+    private final int[] rmRank;
+    private int nextPid = 1;
+    private Process next; // One job of look-ahead for peek()
+
+    /**
+     * @param horizon Jobs are released strictly before this time.
+     * @param minExecutionFraction Each job runs for a uniform random time in [fraction * WCET, WCET];
+     *                             1.0 makes every job run for exactly its WCET.
+     */
+    public JobReleaseGenerator(List<RealTimeTask> tasks, int horizon, long seed, double minExecutionFraction) {
+        if (!(minExecutionFraction > 0 && minExecutionFraction <= 1)) {
+            throw new IllegalArgumentException("Execution fraction must be in (0, 1]: " + minExecutionFraction);
+        }
+        this.tasks = new ArrayList<>(tasks);
+        this.horizon = horizon;
+        this.minExecutionFraction = minExecutionFraction;
+        this.random = new Random(seed);
+        this.nextRelease = new int[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            nextRelease[i] = tasks.get(i).getPhase();
+        }
+
+        // Rate-monotonic rank: shorter period = higher priority (lower value), ties by task order
+        Integer[] byPeriod = new Integer[tasks.size()];
+        for (int i = 0; i < byPeriod.length; i++) byPeriod[i] = i;
+        Arrays.sort(byPeriod, Comparator.comparingInt(i -> this.tasks.get(i).getPeriod()));
+        this.rmRank = new int[tasks.size()];
+        for (int r = 0; r < byPeriod.length; r++) {
+            rmRank[byPeriod[r]] = r + 1;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return peekOrNull() != null;
+    }
+
+    @Override
+    public Process peek() {
+        Process p = peekOrNull();
+        if (p == null) throw new NoSuchElementException();
+        return p;
+    }
+
+    @Override
+    public Process next() {
+        Process p = peek();
+        next = null;
+        return p;
+    }
+
+    private Process peekOrNull() {
+        if (next != null) return next;
+
+        // Task sets are small, so a linear scan for the earliest release beats a heap
+        int task = -1;
+        for (int i = 0; i < nextRelease.length; i++) {
+            if (nextRelease[i] < horizon && (task == -1 || nextRelease[i] < nextRelease[task])) {
+                task = i;
+            }
+        }
+        if (task == -1) return null;
+
+        RealTimeTask t = tasks.get(task);
+        int release = nextRelease[task];
+        int minExec = Math.max(1, (int) Math.ceil(t.getWcet() * minExecutionFraction));
+        int exec = minExec + random.nextInt(t.getWcet() - minExec + 1);
+        next = new Process(nextPid++, release, exec, rmRank[task]);
+        next.setDeadline(release + t.getRelativeDeadline());
+        next.setPeriod(t.getPeriod());
+
+        int gap = t.getPeriod();
+        if (t.isSporadic()) {
+            // At least one period apart, plus an exponential delay with a mean of half a period
+            gap += (int) (-Math.log(1.0 - random.nextDouble()) * t.getPeriod() / 2);
+        }
+        nextRelease[task] = release + gap > release ? release + gap : Integer.MAX_VALUE; // Overflow = done
+        return next;
+    }
+
+    /**
+     * Random implicit-deadline task set with the given total utilization (UUniFast), periods log-uniform
+     * in [minPeriod, maxPeriod]. WCETs are whole ticks, so each task's period is drawn from
+     * [max(minPeriod, 1/u), maxPeriod] to give its share at least one tick, and the rounding error of each
+     * WCET is carried over to the next task. The last task takes what is left and a period long enough that
+     * its own rounding is at most MAX_ROUNDING_ERROR, so the achieved total ends that close to the target
+     * (as long as maxPeriod allows it and the leftover share is not below 1/maxPeriod).
+     */
+    public static List<RealTimeTask> randomTaskSet(long seed, int n, double utilization, int minPeriod, int maxPeriod,
+                                                   boolean sporadic) {
+        Random random = new Random(seed);
+        List<RealTimeTask> tasks = new ArrayList<>(n);
+        double remaining = utilization;
+        double carry = 0; // Utilization asked for so far but not yet given to a task
+        double logMax = Math.log(maxPeriod);
+        for (int i = 0; i < n; i++) {
+            double u;
+            if (i < n - 1) {
+                double nextRemaining = remaining * Math.pow(random.nextDouble(), 1.0 / (n - i - 1));
+                u = remaining - nextRemaining;
+                remaining = nextRemaining;
+            } else {
+                u = remaining;
+            }
+            double target = u + carry;
+            // Shortest period at which the share still rounds to one tick or more
+            double shortest = target > 0 ? Math.min(maxPeriod, Math.max(minPeriod, Math.ceil(1 / target))) : maxPeriod;
+            if (i == n - 1) {
+                shortest = Math.max(shortest, Math.min(maxPeriod, Math.ceil(0.5 / MAX_ROUNDING_ERROR)));
+            }
+            double logMin = Math.log(shortest);
+            int period = (int) Math.round(Math.exp(logMin + random.nextDouble() * (logMax - logMin)));
+            int wcet = (int) Math.max(1, Math.min(period, Math.round(target * period)));
+            carry = target - (double) wcet / period;
+            tasks.add(new RealTimeTask(i + 1, period, period, wcet, 0, sporadic));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.cpusched.workload;
+
+import org.example.cpusched.model.Process;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * WorkloadSource over an in-memory list. A list that is already in arrival order is read as is;
+ * anything else is copied and stably sorted by arrival first (same order the engine used to produce).
+ */
+public class ListWorkloadSource implements WorkloadSource {
+    private final List<Process> processes;
+    private int index = 0;
+
+    public ListWorkloadSource(List<Process> processes) {
+        if (isSortedByArrival(processes)) {
+            this.processes = processes;
+        } else {
+            this.processes = new ArrayList<>(processes);
+            this.processes.sort(Comparator.comparingInt(Process::getArrivalTime));
+        }
+    }
+
+    private static boolean isSortedByArrival(List<Process> processes) {
+        int last = Integer.MIN_VALUE;
+        for (Process p : processes) {
+            if (p.getArrivalTime() < last) return false;
+            last = p.getArrivalTime();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < processes.size();
+    }
+
+    @Override
+    public Process peek() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return processes.get(index);
+    }
+
+    @Override
+    public Process next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return processes.get(index++);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.cpusched.workload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parsed "name(arg,arg,...)" expression, the text form of Distribution and ArrivalProcess.
+ */
+final class Spec {
+    final String name;
+    final List<Spec> args = new ArrayList<>();
+    final double value; // For bare numbers
+
+    private Spec(String name, double value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    static Spec parse(String text) {
+        int[] pos = {0};
+        String compact = text.replace(" ", "");
+        Spec s = parse(compact, pos);
+        if (pos[0] != compact.length()) {
+            throw new IllegalArgumentException("Unexpected '" + compact.substring(pos[0]) + "' in " + text);
+        }
+        return s;
+    }
+
+    private static Spec parse(String text, int[] pos) {
+        int start = pos[0];
+        while (pos[0] < text.length() && "(),".indexOf(text.charAt(pos[0])) < 0) pos[0]++;
+        String token = text.substring(start, pos[0]);
+        if (pos[0] == text.length() || text.charAt(pos[0]) != '(') {
+            try {
+                return new Spec(null, Double.parseDouble(token));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Expected a number or name(...), got '" + token + "' in " + text);
+            }
+        }
+        Spec s = new Spec(token.toLowerCase(), Double.NaN);
+        pos[0]++; // '('
+        while (true) {
+            s.args.add(parse(text, pos));
+            if (pos[0] == text.length()) {
+                throw new IllegalArgumentException("Missing ')' in " + text);
+            }
+            char c = text.charAt(pos[0]++);
+            if (c == ')') return s;
+            if (c != ',') throw new IllegalArgumentException("Unexpected '" + c + "' in " + text);
+        }
+    }
+
+    double number(int i) {
+        Spec arg = args.get(i);
+        if (arg.name != null) {
+            throw new IllegalArgumentException(name + ": argument " + (i + 1) + " must be a number");
+        }
+        return arg.value;
+    }
+
+    void requireArgs(int n, String usage) {
+        if (args.size() != n) {
+            throw new IllegalArgumentException("Usage: " + usage);
+        }
+    }
+
+    Distribution toDistribution() {
+        if (name == null) return Distribution.constant(value);
+        switch (name) {
+            case "const":
+                requireArgs(1, "const(value)");
+                return Distribution.constant(number(0));
+            case "uniform":
+                requireArgs(2, "uniform(min,max)");
+                return Distribution.uniform(number(0), number(1));
+            case "exp":
+                requireArgs(1, "exp(mean)");
+                return Distribution.exponential(number(0));
+            case "pareto":
+                requireArgs(2, "pareto(alpha,xm)");
+                return Distribution.pareto(number(0), number(1));
+            case "lognormal":
+                requireArgs(2, "lognormal(mean,sigma)");
+                return Distribution.lognormal(number(0), number(1));
+            case "bimodal":
+                requireArgs(3, "bimodal(p,a,b)");
+                return Distribution.bimodal(number(0), args.get(1).toDistribution(), args.get(2).toDistribution());
+            default:
+                throw new IllegalArgumentException("Unknown distribution: " + name
+                        + " (const, uniform, exp, pareto, lognormal, bimodal)");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.cpusched.workload;
+
+import org.example.cpusched.model.Process;
+import org.example.cpusched.model.ProcessTable;
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Streams a workload drawn from an ArrivalProcess and a burst Distribution, with uniform priorities.
+ *
+ * Bursts and priorities are generated in blocks of BLOCK_SIZE processes on a ForkJoinPool, ahead of the
+ * consumer; arrivals are cheap and stay on the consumer thread because they depend on the previous one.
+ * Each block gets its own SplittableRandom, split off the seed's root in block order, so the workload
+ * depends only on the seed and never on the number of threads, and no Random is shared between threads.
+ */
+public class SyntheticWorkload implements WorkloadSource, Closeable {
+    public static final int BLOCK_SIZE = 1 << 14;
+
+    private final Distribution bursts;
+    private final long count;
+    private final SplittableRandom root;
+    private final ArrivalProcess.Sampler arrivals;
+    private final ForkJoinPool pool; // null = generate blocks inline
+    private final int maxInFlight;
+    private final ArrayDeque<ForkJoinTask<int[]>> inFlight = new ArrayDeque<>();
+    private long submitted = 0; // Processes handed to blocks so far
+
+    private int[] block; // Burst and priority of each process, interleaved
+    private int blockIndex = 0;
+    private long generated = 0;
+    private Process next; // One process of look-ahead for peek()
+
+    /**
+     * @param parallelism Threads generating bursts; 1 generates everything on the calling thread.
+     */
+    public SyntheticWorkload(ArrivalProcess arrivals, Distribution bursts, long count, long seed, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be >= 1: " + parallelism);
+        }
+        this.bursts = bursts;
+        this.count = count;
+        this.root = new SplittableRandom(seed);
+        this.arrivals = arrivals.start(root.split());
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        this.maxInFlight = 2 * parallelism;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null || generated < count;
+    }
+
+    @Override
+    public Process peek() {
+        if (next == null) {
+            if (generated >= count) throw new NoSuchElementException();
+            if (block == null || blockIndex == block.length) {
+                block = nextBlock();
+                blockIndex = 0;
+            }
+            double t = arrivals.nextArrival();
+            if (t >= Integer.MAX_VALUE) {
+                throw new IllegalStateException("Arrivals passed tick " + Integer.MAX_VALUE + " after "
+                        + generated + " processes; use a higher arrival rate");
+            }
+            generated++;
+            next = new Process((int) generated, (int) t, block[blockIndex], block[blockIndex + 1]);
+            blockIndex += 2;
+        }
+        return next;
+    }
+
+    @Override
+    public Process next() {
+        Process p = peek();
+        next = null;
+        return p;
+    }
+
+    /**
+     * Drains the rest of the stream into a columnar table.
+     */
+    public ProcessTable toTable() {
+        ProcessTable table = new ProcessTable((int) Math.min(count - generated, Integer.MAX_VALUE - 8));
+        while (hasNext()) {
+            Process p = next();
+            table.add(p.getPid(), p.getArrivalTime(), p.getBurstTime(), p.getPriority());
+        }
+        return table;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) pool.shutdownNow();
+    }
+
+    private int[] nextBlock() {
+        if (pool == null) {
+            return generateBlock(root.split(), blockSize());
+        }
+        while (inFlight.size() < maxInFlight && submitted < count) {
+            SplittableRandom random = root.split(); // Split here, in block order, to stay deterministic
+            int size = blockSize();
+            inFlight.add(pool.submit(() -> generateBlock(random, size)));
+        }
+        if (submitted >= count) {
+            pool.shutdown(); // Lets the queued blocks finish, then the threads go away
+        }
+        return inFlight.poll().join();
+    }
+
+    private int blockSize() {
+        int size = (int) Math.min(BLOCK_SIZE, count - submitted);
+        submitted += size;
+        return size;
+    }
+
+    private int[] generateBlock(SplittableRandom random, int size) {
+        int[] out = new int[2 * size];
+        for (int i = 0; i < out.length; i += 2) {
+            out[i] = bursts.sampleTicks(random);
+            out[i + 1] = random.nextInt(WorkloadGenerator.MIN_PRIORITY, WorkloadGenerator.MAX_PRIORITY + 1);
+        }
+        return out;
+    }
+}
@@ -1,52 +1,178 @@
 package org.example.cpusched.workload;
 
 import org.example.cpusched.model.Process;
+import org.example.cpusched.model.ProcessTable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
 
 public class WorkloadGenerator {
+    // Range of generated priorities (lower value = higher priority)
+    public static final int MIN_PRIORITY = 1;
+    public static final int MAX_PRIORITY = 10;
+
+    private final long seed;
     private final Random random;
 
     public WorkloadGenerator(long seed) {
+        this.seed = seed;
         this.random = new Random(seed);
     }
 
     public List<Process> generateWorkload(String type, int count) {
         List<Process> processes = new ArrayList<>();
+        WorkloadSource source = stream(type, count);
+        while (source.hasNext()) {
+            processes.add(source.next());
+        }
+        return processes;
+    }
+
+    /**
+     * Same workload as generateWorkload for the same seed, but generated one process at a time as the
+     * engine pulls it. Arrivals are generated in order, so the engine never has to sort or buffer them.
+     * Shares this generator's Random, so don't mix it with other generate calls on the same instance.
+     */
+    public WorkloadSource stream(String type, long count) {
+        return new GeneratedSource(type, count);
+    }
+
+    /**
+     * Workload drawn from pluggable arrival and burst distributions instead of a named profile (see
+     * SyntheticWorkload). Uses this generator's seed but not its Random, so it can be mixed with other calls.
+     */
+    public SyntheticWorkload stream(ArrivalProcess arrivals, Distribution bursts, long count, int parallelism) {
+        return new SyntheticWorkload(arrivals, bursts, count, seed, parallelism);
+    }
+
+    /**
+     * Same workload as generateWorkload for the same seed, written straight into a columnar table.
+     */
+    public ProcessTable generateTable(String type, int count) {
+        if (isIoProfile(type)) {
+            throw new IllegalArgumentException("Columnar tables hold single-burst processes only, not " + type);
+        }
+        ProcessTable table = new ProcessTable(count);
         int arrivalTime = 0;
 
         for (int i = 0; i < count; i++) {
-            // Poisson arrival approximation (exponential inter-arrival)
-            // lambda = 0.5 (mean inter-arrival = 2ms)
-            int interArrival = (int) (-Math.log(1.0 - random.nextDouble()) * 2);
-            arrivalTime += interArrival;
-
-            int burstTime = 0;
-            int priority = random.nextInt(10) + 1; // 1-10
-
-            switch (type.toLowerCase()) {
-                case "interactive":
-                    // Short bursts: 1-10ms
-                    burstTime = random.nextInt(10) + 1;
-                    break;
-                case "batch":
-                    // Long bursts: 20-200ms
-                    burstTime = random.nextInt(181) + 20;
-                    break;
-                case "mixed":
-                default:
-                    // 70% short, 30% long
-                    if (random.nextDouble() < 0.7) {
-                        burstTime = random.nextInt(10) + 1;
-                    } else {
-                        burstTime = random.nextInt(181) + 20;
-                    }
-                    break;
+            arrivalTime += nextInterArrival();
+            int priority = nextPriority();
+            int burstTime = nextBurst(type);
+            table.add(i + 1, arrivalTime, burstTime, priority);
+        }
+        return table;
+    }
+
+    private int nextInterArrival() {
+        // Poisson arrival approximation (exponential inter-arrival)
+        // lambda = 0.5 (mean inter-arrival = 2ms)
+        return (int) (-Math.log(1.0 - random.nextDouble()) * 2);
+    }
+
+    private int nextPriority() {
+        return random.nextInt(MAX_PRIORITY - MIN_PRIORITY + 1) + MIN_PRIORITY; // 1-10
+    }
+
+    /**
+     * interactive-io, batch-io and mixed-io: processes that alternate CPU and I/O bursts.
+     */
+    public static boolean isIoProfile(String type) {
+        return type.toLowerCase().endsWith("-io");
+    }
+
+    private Process nextProcess(int pid, int arrivalTime, int priority, String type) {
+        if (!isIoProfile(type)) {
+            return new Process(pid, arrivalTime, nextBurst(type), priority);
+        }
+        boolean interactive;
+        switch (type.toLowerCase()) {
+            case "interactive-io":
+                interactive = true;
+                break;
+            case "batch-io":
+                interactive = false;
+                break;
+            case "mixed-io":
+            default:
+                interactive = random.nextDouble() < 0.7;
+        }
+        int[] cpu;
+        int[] io;
+        if (interactive) {
+            // I/O bound: 2-5 short CPU bursts (1-4ms) separated by long waits (5-20ms)
+            cpu = new int[random.nextInt(4) + 2];
+            io = new int[cpu.length - 1];
+            for (int i = 0; i < cpu.length; i++) {
+                cpu[i] = random.nextInt(4) + 1;
+                if (i < io.length) io[i] = random.nextInt(16) + 5;
             }
+        } else {
+            // CPU bound: 2-4 long CPU bursts (20-100ms) separated by short I/O (2-10ms)
+            cpu = new int[random.nextInt(3) + 2];
+            io = new int[cpu.length - 1];
+            for (int i = 0; i < cpu.length; i++) {
+                cpu[i] = random.nextInt(81) + 20;
+                if (i < io.length) io[i] = random.nextInt(9) + 2;
+            }
+        }
+        return new Process(pid, arrivalTime, cpu, io, priority);
+    }
 
-            processes.add(new Process(i + 1, arrivalTime, burstTime, priority));
+    private int nextBurst(String type) {
+        switch (type.toLowerCase()) {
+            case "interactive":
+                // Short bursts: 1-10ms
+                return random.nextInt(10) + 1;
+            case "batch":
+                // Long bursts: 20-200ms
+                return random.nextInt(181) + 20;
+            case "mixed":
+            default:
+                // 70% short, 30% long
+                if (random.nextDouble() < 0.7) {
+                    return random.nextInt(10) + 1;
+                } else {
+                    return random.nextInt(181) + 20;
+                }
+        }
+    }
+
+    private class GeneratedSource implements WorkloadSource {
+        private final String type;
+        private final long count;
+        private long generated = 0;
+        private int arrivalTime = 0;
+        private Process next; // One process of look-ahead for peek()
+
+        GeneratedSource(String type, long count) {
+            this.type = type;
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null || generated < count;
+        }
+
+        @Override
+        public Process peek() {
+            if (next == null) {
+                if (generated >= count) throw new NoSuchElementException();
+                arrivalTime += nextInterArrival();
+                int priority = nextPriority();
+                generated++;
+                next = nextProcess((int) generated, arrivalTime, priority, type);
+            }
+            return next;
+        }
+
+        @Override
+        public Process next() {
+            Process p = peek();
+            next = null;
+            return p;
         }
-        return processes;
     }
 }
@@ -0,0 +1,17 @@
+package org.example.cpusched.workload;
+
+import org.example.cpusched.model.Process;
+import java.util.Iterator;
+
+/**
+ * Pull-based stream of processes in non-decreasing arrival order.
+ * The engine takes a process only once its arrival time has come, so a source that generates or reads
+ * processes on demand keeps just the next pending arrival in memory instead of the whole workload.
+ */
+public interface WorkloadSource extends Iterator<Process> {
+
+    /**
+     * The process next() would return, without consuming it. Must only be called while hasNext().
+     */
+    Process peek();
+}